@@ -34,6 +34,7 @@ public final class Response {
     int code = 200;
     byte[] bytes;
     Charset charset; // can be null (raw bytes)
+    byte[] gzippedBytes; // can be null (compressed when sent)
 
     Response() {
         headers = new HashMap<>();
@@ -47,6 +48,15 @@ public final class Response {
         return bytes;
     }
 
+    /**
+     * Get gzip compressed variant of the content, if it was compressed ahead of time.
+     *
+     * @return gzip compressed bytes of {@link #getBytes()} or empty if the content has not been compressed.
+     */
+    public Optional<byte[]> getGzippedBytes() {
+        return Optional.ofNullable(gzippedBytes);
+    }
+
     public String getAsString() {
         return new String(bytes, StandardCharsets.UTF_8);
     }
@@ -87,6 +87,8 @@ public class ResponseBuilder {
 
     public ResponseBuilder setContent(byte[] bytes) {
         response.bytes = bytes;
+        // Compressed variant of previous content no longer matches.
+        response.gzippedBytes = null;
         return setHeader("Content-Length", bytes.length)
                 .setHeader("Accept-Ranges", "bytes"); // Does not compress
     }
@@ -98,6 +100,18 @@ public class ResponseBuilder {
     public ResponseBuilder setContent(String content, Charset charset) {
         if (content == null) return setContent(new byte[0]);
         if (charset == null) return setContent(content); // UTF-8 used
+        return setContent(content.getBytes(charset), charset);
+    }
+
+    /**
+     * Set content that has already been encoded with a charset.
+     *
+     * @param encodedContent Text content encoded with the charset.
+     * @param charset        Charset used for encoding the content.
+     * @return this builder.
+     */
+    public ResponseBuilder setContent(byte[] encodedContent, Charset charset) {
+        if (charset == null) return setContent(encodedContent);
         String mimeType = getMimeType();
         response.charset = charset;
 
@@ -108,10 +122,24 @@ public class ResponseBuilder {
             }
         }
 
-        return setContent(content.getBytes(charset))
+        return setContent(encodedContent)
                 .removeHeader("Accept-Ranges"); // Can compress
     }
 
+    /**
+     * Set gzip compressed variant of the content.
+     * <p>
+     * The compressed bytes are sent as is when the response is compressed, instead of compressing the content again on every request.
+     * Call after setting the content, setting the content again removes the compressed variant.
+     *
+     * @param gzippedContent Content given to {@link #setContent(byte[])} compressed with gzip.
+     * @return this builder.
+     */
+    public ResponseBuilder setGzippedContent(byte[] gzippedContent) {
+        response.gzippedBytes = gzippedContent;
+        return this;
+    }
+
     /**
      * Set content as serialized JSON object.
      *
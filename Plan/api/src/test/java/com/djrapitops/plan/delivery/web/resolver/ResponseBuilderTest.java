@@ -0,0 +1,55 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.web.resolver;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link ResponseBuilder}.
+ *
+ * @author AuroraLS3
+ */
+class ResponseBuilderTest {
+
+    @Test
+    void gzippedContentIsKept() {
+        byte[] gzipped = {1, 2, 3};
+        Response response = Response.builder()
+                .setMimeType(MimeType.JSON)
+                .setContent("{}")
+                .setGzippedContent(gzipped)
+                .build();
+        assertArrayEquals(gzipped, response.getGzippedBytes().orElse(null));
+    }
+
+    @Test
+    void replacingContentRemovesGzippedContent() {
+        Response response = Response.builder()
+                .setMimeType(MimeType.JSON)
+                .setContent("{}")
+                .setGzippedContent(new byte[]{1, 2, 3})
+                .setContent("{\"replaced\":true}".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8)
+                .build();
+        assertEquals(Optional.empty(), response.getGzippedBytes());
+    }
+}
@@ -43,19 +43,10 @@ public class BukkitSensor implements ServerSensor<World> {
             Server server
     ) {
         this.server = server;
-        boolean hasPaper = isPaperAvailable();
-        hasTPSMethod = hasPaper && hasPaperMethod(Server.class, "getTPS");
-        hasEntityCountMethod = hasPaper && hasPaperMethod(World.class, "getEntityCount");
-        hasChunkCountMethod = hasPaper && hasPaperMethod(World.class, "getChunkCount");
-    }
-
-    public static boolean isPaperAvailable() {
-        try {
-            Class.forName("co.aikar.timings.Timing");
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        // Methods are looked up directly, since Paper versions without Timings still have them.
+        hasTPSMethod = hasPaperMethod(Server.class, "getTPS");
+        hasEntityCountMethod = hasPaperMethod(World.class, "getEntityCount");
+        hasChunkCountMethod = hasPaperMethod(World.class, "getChunkCount");
     }
 
     @Override
@@ -101,6 +92,7 @@ public class BukkitSensor implements ServerSensor<World> {
     }
 
     private int getEntitiesSpigotWay(World world) {
+        // Spigot has no way to count entities without listing them, WorldCountSampler limits this to one world per pulse.
         return world.getEntities().size();
     }
 
@@ -108,6 +100,12 @@ public class BukkitSensor implements ServerSensor<World> {
         return world.getEntityCount();
     }
 
+    @Override
+    public boolean supportsFastWorldCounts() {
+        // Spigot methods create a list of all entities and an array of all chunks.
+        return hasEntityCountMethod && hasChunkCountMethod;
+    }
+
     @Override
     public int getOnlinePlayerCount() {
         return server.getOnlinePlayers().size();
@@ -29,6 +29,7 @@ import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.queries.LargeStoreQueries;
 import com.djrapitops.plan.storage.database.queries.objects.UserIdentifierQueries;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
+import com.djrapitops.plan.storage.database.transactions.events.RebuildPlayerSummariesTransaction;
 
 import java.util.*;
 import java.util.concurrent.ExecutorService;
@@ -144,6 +145,7 @@ public abstract class BukkitImporter implements Importer {
                 execute(LargeStoreQueries.storePerServerUserInformation(userInformation));
                 execute(LargeStoreQueries.storeAllNicknameData(Collections.singletonMap(serverUUID.get(), nickNames)));
                 execute(LargeStoreQueries.storeAllGeoInformation(geoInfo));
+                executeOther(RebuildPlayerSummariesTransaction.all());
             }
         });
     }
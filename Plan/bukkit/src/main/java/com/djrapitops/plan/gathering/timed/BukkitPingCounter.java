@@ -24,13 +24,13 @@
 package com.djrapitops.plan.gathering.timed;
 
 import com.djrapitops.plan.TaskSystem;
-import com.djrapitops.plan.delivery.domain.DateObj;
+import com.djrapitops.plan.gathering.domain.Ping;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.transactions.events.PingStoreTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.PingBatchStoreTransaction;
 import net.playeranalytics.plugin.scheduling.RunnableFactory;
 import net.playeranalytics.plugin.scheduling.TimeAmount;
 import net.playeranalytics.plugin.server.Listeners;
@@ -65,7 +65,7 @@ public class BukkitPingCounter extends TaskSystem.Task implements Listener {
 
 
     private final Map<UUID, Long> startRecording;
-    private final Map<UUID, List<DateObj<Integer>>> playerHistory;
+    private final PingAggregator pingAggregator;
 
     private final Listeners listeners;
     private final PlanConfig config;
@@ -87,7 +87,7 @@ public class BukkitPingCounter extends TaskSystem.Task implements Listener {
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
         startRecording = new ConcurrentHashMap<>();
-        playerHistory = new HashMap<>();
+        pingAggregator = new PingAggregator();
 
         Optional<PingMethod> loaded = loadPingMethod();
         if (loaded.isPresent()) {
@@ -149,12 +149,10 @@ public class BukkitPingCounter extends TaskSystem.Task implements Listener {
             }
         }
 
-        Iterator<Map.Entry<UUID, List<DateObj<Integer>>>> iterator = playerHistory.entrySet().iterator();
+        Iterator<UUID> iterator = pingAggregator.getRecordedPlayers().iterator();
 
         while (iterator.hasNext()) {
-            Map.Entry<UUID, List<DateObj<Integer>>> entry = iterator.next();
-            UUID uuid = entry.getKey();
-            List<DateObj<Integer>> history = entry.getValue();
+            UUID uuid = iterator.next();
             Player player = Bukkit.getPlayer(uuid);
             if (player != null) {
                 int ping = getPing(player);
@@ -162,26 +160,27 @@ public class BukkitPingCounter extends TaskSystem.Task implements Listener {
                     // Don't accept bad values
                     continue;
                 }
-                history.add(new DateObj<>(time, ping));
-                if (history.size() >= 30) {
-                    dbSystem.getDatabase().executeTransaction(
-                            new PingStoreTransaction(uuid, serverInfo.getServerUUID(), new ArrayList<>(history))
-                    );
-                    history.clear();
-                }
+                pingAggregator.addPing(uuid, time, ping);
             } else {
                 iterator.remove();
             }
         }
+
+        if (pingAggregator.completeSample()) {
+            Map<UUID, Ping> aggregated = pingAggregator.aggregateWindow(serverInfo.getServerUUID());
+            if (!aggregated.isEmpty()) {
+                dbSystem.getDatabase().executeTransaction(new PingBatchStoreTransaction(serverInfo.getServerUUID(), aggregated));
+            }
+        }
     }
 
     public void addPlayer(UUID uuid) {
-        playerHistory.put(uuid, new ArrayList<>());
+        pingAggregator.startRecording(uuid);
     }
 
     public void removePlayer(Player player) {
         startRecording.remove(player.getUniqueId());
-        playerHistory.remove(player.getUniqueId());
+        pingAggregator.stopRecording(player.getUniqueId());
     }
 
     private int getPing(Player player) {
@@ -207,6 +206,6 @@ public class BukkitPingCounter extends TaskSystem.Task implements Listener {
     }
 
     public void clear() {
-        playerHistory.clear();
+        pingAggregator.clear();
     }
 }
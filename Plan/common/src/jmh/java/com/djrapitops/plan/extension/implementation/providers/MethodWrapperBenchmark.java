@@ -0,0 +1,384 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.providers;
+
+import com.djrapitops.plan.extension.DataExtension;
+import com.djrapitops.plan.extension.NotReadyException;
+import com.djrapitops.plan.extension.annotation.NumberProvider;
+import com.djrapitops.plan.extension.annotation.PluginInfo;
+import com.djrapitops.plan.identification.ServerUUID;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures cost of calling DataExtension provider methods through {@link MethodWrapper}.
+ * <p>
+ * Uses a synthetic DataExtension with 50 player providers. One operation is one provider call.
+ * Compares the compiled {@link java.lang.invoke.MethodHandle} in the wrapper against the previous behavior, which
+ * called {@link Method#invoke(Object, Object...)} and unwrapped {@link InvocationTargetException} on each call.
+ * <p>
+ * Run with {@code ./gradlew :common:jmh} or the main method, which adds the GC profiler.
+ *
+ * @author AuroraLS3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodWrapperBenchmark {
+
+    private static final int PROVIDERS = 50;
+
+    private DataExtension extension;
+    private Parameters parameters;
+    private UUID playerUUID;
+    private Method[] methods;
+    private MethodWrapper<Long>[] wrappers;
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MethodWrapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        extension = new SyntheticExtension();
+        playerUUID = UUID.randomUUID();
+        parameters = Parameters.player(ServerUUID.randomUUID(), playerUUID, "Player");
+        methods = Arrays.stream(SyntheticExtension.class.getDeclaredMethods())
+                .filter(method -> method.isAnnotationPresent(NumberProvider.class))
+                .sorted(Comparator.comparing(Method::getName))
+                .toArray(Method[]::new);
+        if (methods.length != PROVIDERS) {
+            throw new IllegalStateException("Expected " + PROVIDERS + " providers, found " + methods.length);
+        }
+        wrappers = new MethodWrapper[PROVIDERS];
+        for (int i = 0; i < PROVIDERS; i++) {
+            methods[i].setAccessible(true);
+            wrappers[i] = new MethodWrapper<>(methods[i], Long.class);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROVIDERS)
+    public long compiledCall() {
+        long sum = 0L;
+        for (MethodWrapper<Long> wrapper : wrappers) {
+            sum += wrapper.callMethod(extension, parameters);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROVIDERS)
+    public long previousReflectiveCall() {
+        long sum = 0L;
+        for (Method method : methods) {
+            sum += Long.class.cast(invokeReflectively(method));
+        }
+        return sum;
+    }
+
+    private Object invokeReflectively(Method method) {
+        try {
+            Class<?> parameterType = method.getParameterTypes()[0];
+            if (UUID.class.equals(parameterType)) {
+                return method.invoke(extension, playerUUID);
+            } else {
+                return method.invoke(extension, "Player");
+            }
+        } catch (InvocationTargetException notReadyToBeCalled) {
+            Throwable cause = notReadyToBeCalled.getCause();
+            if (cause instanceof NotReadyException || cause instanceof UnsupportedOperationException) {
+                return null;
+            }
+            throw new IllegalStateException(cause);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PluginInfo(name = "Synthetic")
+    public static class SyntheticExtension implements DataExtension {
+        @NumberProvider(text = "Value 0")
+        public long value0(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 0;
+        }
+
+        @NumberProvider(text = "Value 1")
+        public long value1(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 1;
+        }
+
+        @NumberProvider(text = "Value 2")
+        public long value2(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 2;
+        }
+
+        @NumberProvider(text = "Value 3")
+        public long value3(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 3;
+        }
+
+        @NumberProvider(text = "Value 4")
+        public long value4(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 4;
+        }
+
+        @NumberProvider(text = "Value 5")
+        public long value5(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 5;
+        }
+
+        @NumberProvider(text = "Value 6")
+        public long value6(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 6;
+        }
+
+        @NumberProvider(text = "Value 7")
+        public long value7(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 7;
+        }
+
+        @NumberProvider(text = "Value 8")
+        public long value8(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 8;
+        }
+
+        @NumberProvider(text = "Value 9")
+        public long value9(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 9;
+        }
+
+        @NumberProvider(text = "Value 10")
+        public long value10(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 10;
+        }
+
+        @NumberProvider(text = "Value 11")
+        public long value11(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 11;
+        }
+
+        @NumberProvider(text = "Value 12")
+        public long value12(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 12;
+        }
+
+        @NumberProvider(text = "Value 13")
+        public long value13(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 13;
+        }
+
+        @NumberProvider(text = "Value 14")
+        public long value14(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 14;
+        }
+
+        @NumberProvider(text = "Value 15")
+        public long value15(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 15;
+        }
+
+        @NumberProvider(text = "Value 16")
+        public long value16(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 16;
+        }
+
+        @NumberProvider(text = "Value 17")
+        public long value17(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 17;
+        }
+
+        @NumberProvider(text = "Value 18")
+        public long value18(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 18;
+        }
+
+        @NumberProvider(text = "Value 19")
+        public long value19(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 19;
+        }
+
+        @NumberProvider(text = "Value 20")
+        public long value20(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 20;
+        }
+
+        @NumberProvider(text = "Value 21")
+        public long value21(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 21;
+        }
+
+        @NumberProvider(text = "Value 22")
+        public long value22(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 22;
+        }
+
+        @NumberProvider(text = "Value 23")
+        public long value23(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 23;
+        }
+
+        @NumberProvider(text = "Value 24")
+        public long value24(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 24;
+        }
+
+        @NumberProvider(text = "Value 25")
+        public long value25(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 25;
+        }
+
+        @NumberProvider(text = "Value 26")
+        public long value26(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 26;
+        }
+
+        @NumberProvider(text = "Value 27")
+        public long value27(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 27;
+        }
+
+        @NumberProvider(text = "Value 28")
+        public long value28(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 28;
+        }
+
+        @NumberProvider(text = "Value 29")
+        public long value29(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 29;
+        }
+
+        @NumberProvider(text = "Value 30")
+        public long value30(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 30;
+        }
+
+        @NumberProvider(text = "Value 31")
+        public long value31(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 31;
+        }
+
+        @NumberProvider(text = "Value 32")
+        public long value32(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 32;
+        }
+
+        @NumberProvider(text = "Value 33")
+        public long value33(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 33;
+        }
+
+        @NumberProvider(text = "Value 34")
+        public long value34(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 34;
+        }
+
+        @NumberProvider(text = "Value 35")
+        public long value35(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 35;
+        }
+
+        @NumberProvider(text = "Value 36")
+        public long value36(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 36;
+        }
+
+        @NumberProvider(text = "Value 37")
+        public long value37(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 37;
+        }
+
+        @NumberProvider(text = "Value 38")
+        public long value38(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 38;
+        }
+
+        @NumberProvider(text = "Value 39")
+        public long value39(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 39;
+        }
+
+        @NumberProvider(text = "Value 40")
+        public long value40(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 40;
+        }
+
+        @NumberProvider(text = "Value 41")
+        public long value41(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 41;
+        }
+
+        @NumberProvider(text = "Value 42")
+        public long value42(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 42;
+        }
+
+        @NumberProvider(text = "Value 43")
+        public long value43(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 43;
+        }
+
+        @NumberProvider(text = "Value 44")
+        public long value44(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 44;
+        }
+
+        @NumberProvider(text = "Value 45")
+        public long value45(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 45;
+        }
+
+        @NumberProvider(text = "Value 46")
+        public long value46(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 46;
+        }
+
+        @NumberProvider(text = "Value 47")
+        public long value47(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 47;
+        }
+
+        @NumberProvider(text = "Value 48")
+        public long value48(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 48;
+        }
+
+        @NumberProvider(text = "Value 49")
+        public long value49(UUID playerUUID) {
+            return playerUUID.getLeastSignificantBits() + 49;
+        }
+    }
+}
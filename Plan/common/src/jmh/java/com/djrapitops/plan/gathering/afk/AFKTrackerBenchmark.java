@@ -0,0 +1,116 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.gathering.afk;
+
+import com.djrapitops.plan.gathering.cache.SessionCache;
+import com.djrapitops.plan.gathering.domain.ActiveSession;
+import com.djrapitops.plan.identification.ServerUUID;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures cost of {@link AFKTracker#performedAction(UUID, long)} on movement events.
+ * <p>
+ * Simulates 200 online players that each move 20 times per tick. One operation is one movement event.
+ * Compares the current tracker against the previous behavior, which looked up the session twice through
+ * {@link SessionCache#getCachedSession(UUID)} and boxed the last movement time.
+ * <p>
+ * Run with {@code ./gradlew :common:jmh} or the main method, which adds the GC profiler.
+ * {@code gc.alloc.rate.norm} of {@code afkTrackerMove} should be 0 B/op.
+ *
+ * @author AuroraLS3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AFKTrackerBenchmark {
+
+    private static final int PLAYERS = 200;
+    private static final int MOVES_PER_TICK = 20;
+    private static final long TICK_MS = 50L;
+
+    private UUID[] playerUUIDs;
+    private AFKTracker afkTracker;
+    private long time;
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AFKTrackerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        time = System.currentTimeMillis();
+        afkTracker = new AFKTracker(TimeUnit.MINUTES.toMillis(3L));
+        playerUUIDs = new UUID[PLAYERS];
+        SessionCache sessionCache = new SessionCache();
+        ServerUUID serverUUID = ServerUUID.randomUUID();
+        for (int i = 0; i < PLAYERS; i++) {
+            playerUUIDs[i] = UUID.randomUUID();
+            sessionCache.cacheSession(playerUUIDs[i], new ActiveSession(playerUUIDs[i], serverUUID, time, "world", "SURVIVAL"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        SessionCache.clear();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PLAYERS * MOVES_PER_TICK)
+    public long afkTrackerMove() {
+        time += TICK_MS;
+        long afkTime = 0L;
+        for (int move = 0; move < MOVES_PER_TICK; move++) {
+            for (UUID playerUUID : playerUUIDs) {
+                afkTime += afkTracker.performedAction(playerUUID, time);
+            }
+        }
+        return afkTime;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PLAYERS * MOVES_PER_TICK)
+    public long previousSessionLookupMove() {
+        time += TICK_MS;
+        long lastMoved = 0L;
+        for (int move = 0; move < MOVES_PER_TICK; move++) {
+            for (UUID playerUUID : playerUUIDs) {
+                lastMoved += SessionCache.getCachedSession(playerUUID)
+                        .map(ActiveSession::getLastMovementForAfkCalculation)
+                        .orElse(time);
+                long now = time;
+                SessionCache.getCachedSession(playerUUID)
+                        .ifPresent(session -> session.setLastMovementForAfkCalculation(now));
+            }
+        }
+        return lastMoved;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Measures connection acquire/release throughput of {@link MySQLDB#getValidConnection(DataSource)}.
+ * <p>
+ * Compares the lock-free acquisition against the previous behavior of acquiring under a monitor.
+ * The pool is a real HikariCP pool, but connections are in-memory stubs so that only pool and locking
+ * overhead is measured.
+ * <p>
+ * Run with {@code ./gradlew :common:jmh} or the main method, which runs both benchmarks with 1-32 threads.
+ *
+ * @author AuroraLS3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MySQLConnectionBenchmark {
+
+    private static final Object MONITOR = new Object();
+
+    private HikariDataSource dataSource;
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 2, 4, 8, 16, 32}) {
+            Options options = new OptionsBuilder()
+                    .include(MySQLConnectionBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setDataSource(new StubDataSource());
+        config.setAutoCommit(false);
+        // Same default as Database.MySQL.Max_connections
+        config.setMaximumPoolSize(8);
+        config.setPoolName("Plan Benchmark Pool");
+        dataSource = new HikariDataSource(config);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public void lockFreeAcquireRelease() throws SQLException {
+        Connection connection = MySQLDB.getValidConnection(dataSource);
+        connection.close();
+    }
+
+    @Benchmark
+    public void synchronizedAcquireRelease() throws SQLException {
+        Connection connection;
+        synchronized (MONITOR) {
+            connection = MySQLDB.getValidConnection(dataSource);
+        }
+        connection.close();
+    }
+
+    private static Connection stubConnection() {
+        Statement statement = (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class[]{Statement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "execute":
+                            return false;
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+        boolean[] autoCommit = {true};
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "isValid":
+                            return true;
+                        case "getAutoCommit":
+                            return autoCommit[0];
+                        case "setAutoCommit":
+                            autoCommit[0] = (boolean) args[0];
+                            return null;
+                        case "createStatement":
+                            return statement;
+                        case "getTransactionIsolation":
+                            return Connection.TRANSACTION_READ_COMMITTED;
+                        case "getNetworkTimeout":
+                            return 0;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        return null;
+    }
+
+    private static class StubDataSource implements DataSource {
+        @Override
+        public Connection getConnection() {
+            return stubConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return stubConnection();
+        }
+
+        @Override
+        public PrintWriter getLogWriter() {
+            return null;
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) {
+            // Not needed for stub
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+            // Not needed for stub
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return 0;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            throw new SQLException("Not a wrapper");
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return false;
+        }
+    }
+}
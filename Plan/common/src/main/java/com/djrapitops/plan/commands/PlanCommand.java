@@ -348,6 +348,7 @@ public class PlanCommand {
                 .subcommand(uninstalledCommand())
                 .subcommand(removeJoinAddressesCommand())
                 .subcommand(onlineUuidMigration())
+                .subcommand(statsCommand())
                 .requirePermission(Permissions.DATA_BASE)
                 .description(locale.getString(HelpLang.DB))
                 .inDepthDescription(locale.getString(DeepHelpLang.DB))
@@ -477,6 +478,16 @@ public class PlanCommand {
                 .build();
     }
 
+    private Subcommand statsCommand() {
+        return Subcommand.builder()
+                .aliases("stats")
+                .requirePermission(Permissions.DATA_BASE)
+                .description(locale.getString(HelpLang.DB_STATS))
+                .inDepthDescription(locale.getString(DeepHelpLang.DB_STATS))
+                .onCommand(databaseCommands::onStats)
+                .build();
+    }
+
     private Subcommand exportCommand() {
         return Subcommand.builder()
                 .aliases("export")
@@ -38,6 +38,7 @@ import com.djrapitops.plan.settings.locale.lang.HelpLang;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.DBType;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.QueryStatistics;
 import com.djrapitops.plan.storage.database.SQLiteDB;
 import com.djrapitops.plan.storage.database.queries.objects.BaseUserQueries;
 import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
@@ -80,6 +81,7 @@ public class DatabaseCommands {
 
     private final Formatter<Long> timestamp;
     private final Formatter<Long> clock;
+    private final Formatter<Double> decimals;
 
     @Inject
     public DatabaseCommands(
@@ -113,6 +115,7 @@ public class DatabaseCommands {
 
         this.timestamp = formatters.iso8601NoClockLong();
         clock = formatters.clockLong();
+        decimals = formatters.decimals();
         this.processing = processing;
     }
 
@@ -140,7 +143,7 @@ public class DatabaseCommands {
             sender.send(locale.getString(CommandLang.DB_BACKUP_CREATE, fileName, dbName));
             toDB = sqliteFactory.usingFileCalled(fileName);
             toDB.init();
-            toDB.executeTransaction(new BackupCopyTransaction(fromDB, toDB)).get();
+            toDB.executeTransaction(new BackupCopyTransaction(fromDB, toDB, copyProgress(sender))).get();
         } catch (DBOpException | ExecutionException e) {
             errorLogger.error(e, ErrorContext.builder().related(sender, arguments).build());
         } catch (InterruptedException e) {
@@ -193,13 +196,17 @@ public class DatabaseCommands {
         });
     }
 
+    private BackupCopyTransaction.ProgressListener copyProgress(CMDSender sender) {
+        return (tableName, rows, rowsPerSecond) -> sender.send(locale.getString(CommandLang.DB_COPY_PROGRESS, tableName, rows, rowsPerSecond));
+    }
+
     public void performRestore(CMDSender sender, File backupDBFile, Database toDB) {
         try {
             SQLiteDB fromDB = sqliteFactory.usingFile(backupDBFile);
             fromDB.init();
 
             sender.send(locale.getString(CommandLang.DB_WRITE, toDB.getType().getName()));
-            toDB.executeTransaction(new BackupCopyTransaction(fromDB, toDB)).get();
+            toDB.executeTransaction(new BackupCopyTransaction(fromDB, toDB, copyProgress(sender))).get();
             sender.send(locale.getString(CommandLang.PROGRESS_SUCCESS));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -242,7 +249,7 @@ public class DatabaseCommands {
 
             sender.send(locale.getString(CommandLang.DB_WRITE, toDB.getName()));
 
-            toDatabase.executeTransaction(new BackupCopyTransaction(fromDatabase, toDatabase)).get();
+            toDatabase.executeTransaction(new BackupCopyTransaction(fromDatabase, toDatabase, copyProgress(sender))).get();
 
             sender.send(locale.getString(CommandLang.PROGRESS_SUCCESS));
 
@@ -392,6 +399,29 @@ public class DatabaseCommands {
         sender.send(locale.getString(CommandLang.DB_UNINSTALLED));
     }
 
+    public void onStats(CMDSender sender, @Untrusted Arguments arguments) {
+        List<QueryStatistics.Entry> slowest = QueryStatistics.getInstance().getSlowest(10);
+
+        List<String> messages = new ArrayList<>();
+        messages.add(locale.getString(CommandLang.HEADER_DB_STATS));
+        messages.add("");
+        if (slowest.isEmpty()) {
+            messages.add(locale.getString(CommandLang.DB_NO_QUERY_STATS));
+        }
+        for (QueryStatistics.Entry entry : slowest) {
+            messages.add(locale.getString(CommandLang.DB_QUERY_STATS,
+                    entry.getName(),
+                    decimals.apply(entry.getAverageMs()),
+                    decimals.apply(entry.getMaxMs()),
+                    entry.getExecutions(),
+                    decimals.apply(entry.getAverageRows())
+            ));
+        }
+        messages.add("");
+        messages.add(">");
+        sender.send(messages.toArray(new String[0]));
+    }
+
     public void onHotswap(CMDSender sender, @Untrusted Arguments arguments) {
         DBType toDB = arguments.get(0).flatMap(DBType::getForName)
                 .orElseThrow(() -> new IllegalArgumentException(locale.getString(CommandLang.FAIL_INCORRECT_DB, arguments.get(0).orElse(SUPPORTED_DB_OPTIONS))));
@@ -0,0 +1,110 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.domain;
+
+import java.util.Objects;
+
+/**
+ * Represents summary of sessions that started within a day or an hour.
+ *
+ * @author AuroraLS3
+ */
+public class SessionRollup {
+
+    private final long date;
+    private final int uniquePlayers;
+    private final int newPlayers;
+    private final int sessionCount;
+    private final long playtime;
+    private final long afkTime;
+
+    public SessionRollup(long date, int uniquePlayers, int newPlayers, int sessionCount, long playtime, long afkTime) {
+        this.date = date;
+        this.uniquePlayers = uniquePlayers;
+        this.newPlayers = newPlayers;
+        this.sessionCount = sessionCount;
+        this.playtime = playtime;
+        this.afkTime = afkTime;
+    }
+
+    public static SessionRollup empty(long date) {
+        return new SessionRollup(date, 0, 0, 0, 0L, 0L);
+    }
+
+    /**
+     * Get the start of the day or hour.
+     *
+     * @return Epoch ms (Start of day at 0 AM, no offset)
+     */
+    public long getDate() {
+        return date;
+    }
+
+    public int getUniquePlayers() {
+        return uniquePlayers;
+    }
+
+    public int getNewPlayers() {
+        return newPlayers;
+    }
+
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    public long getPlaytime() {
+        return playtime;
+    }
+
+    public long getAfkTime() {
+        return afkTime;
+    }
+
+    public SessionRollup withNewPlayers(int newPlayers) {
+        return new SessionRollup(date, uniquePlayers, newPlayers, sessionCount, playtime, afkTime);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SessionRollup that = (SessionRollup) o;
+        return date == that.date &&
+                uniquePlayers == that.uniquePlayers &&
+                newPlayers == that.newPlayers &&
+                sessionCount == that.sessionCount &&
+                playtime == that.playtime &&
+                afkTime == that.afkTime;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(date, uniquePlayers, newPlayers, sessionCount, playtime, afkTime);
+    }
+
+    @Override
+    public String toString() {
+        return "SessionRollup{" +
+                "date=" + date +
+                ", uniquePlayers=" + uniquePlayers +
+                ", newPlayers=" + newPlayers +
+                ", sessionCount=" + sessionCount +
+                ", playtime=" + playtime +
+                ", afkTime=" + afkTime +
+                '}';
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.domain.datatransfer;
+
+import com.djrapitops.plan.delivery.domain.datatransfer.extension.ExtensionDescriptionDto;
+
+import java.util.List;
+
+/**
+ * Represents a single page of the players table.
+ *
+ * @author AuroraLS3
+ */
+public class PlayerListPageDto {
+
+    private final List<TablePlayerDto> players;
+    private final List<ExtensionDescriptionDto> extensionDescriptors;
+    private final int offset;
+    private final int pageSize;
+    private final int totalCount;
+    private final String nextCursor;
+
+    public PlayerListPageDto(PlayerListDto playerList, int offset, int pageSize, int totalCount, String nextCursor) {
+        this.players = playerList.getPlayers();
+        this.extensionDescriptors = playerList.getExtensionDescriptors();
+        this.offset = offset;
+        this.pageSize = pageSize;
+        this.totalCount = totalCount;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TablePlayerDto> getPlayers() {
+        return players;
+    }
+
+    public List<ExtensionDescriptionDto> getExtensionDescriptors() {
+        return extensionDescriptors;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerListPageDto{" +
+                "players=" + players +
+                ", extensionDescriptors=" + extensionDescriptors +
+                ", offset=" + offset +
+                ", pageSize=" + pageSize +
+                ", totalCount=" + totalCount +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -18,7 +18,10 @@ package com.djrapitops.plan.delivery.rendering.json;
 
 import com.djrapitops.plan.delivery.domain.DateObj;
 import com.djrapitops.plan.delivery.domain.RetentionData;
+import com.djrapitops.plan.delivery.domain.TablePlayer;
 import com.djrapitops.plan.delivery.domain.datatransfer.PlayerJoinAddresses;
+import com.djrapitops.plan.delivery.domain.datatransfer.PlayerListDto;
+import com.djrapitops.plan.delivery.domain.datatransfer.PlayerListPageDto;
 import com.djrapitops.plan.delivery.domain.datatransfer.ServerDto;
 import com.djrapitops.plan.delivery.domain.mutators.PlayerKillMutator;
 import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
@@ -36,7 +39,6 @@ import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.DisplaySettings;
-import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.locale.lang.GenericLang;
 import com.djrapitops.plan.settings.locale.lang.HtmlLang;
@@ -44,10 +46,12 @@ import com.djrapitops.plan.settings.theme.Theme;
 import com.djrapitops.plan.settings.theme.ThemeVal;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerRetentionQueries;
 import com.djrapitops.plan.storage.database.queries.objects.*;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.NetworkTablePlayersQuery;
+import com.djrapitops.plan.storage.database.queries.objects.playertable.PlayersTablePage;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.ServerTablePlayersQuery;
 import com.djrapitops.plan.utilities.comparators.SessionStartComparator;
 import com.djrapitops.plan.utilities.dev.Untrusted;
@@ -57,6 +61,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -99,13 +104,12 @@ public class JSONFactory {
 
     public PlayersTableJSONCreator serverPlayersTableJSON(ServerUUID serverUUID) {
         Integer xMostRecentPlayers = config.get(DisplaySettings.PLAYERS_PER_SERVER_PAGE);
-        Long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
         boolean openPlayerLinksInNewTab = config.isTrue(DisplaySettings.OPEN_PLAYER_LINKS_IN_NEW_TAB);
 
         Database database = dbSystem.getDatabase();
 
         return new PlayersTableJSONCreator(
-                database.query(new ServerTablePlayersQuery(serverUUID, System.currentTimeMillis(), playtimeThreshold, xMostRecentPlayers)),
+                database.query(new ServerTablePlayersQuery(serverUUID, System.currentTimeMillis(), xMostRecentPlayers)),
                 database.query(new ExtensionServerTableDataQuery(serverUUID, xMostRecentPlayers)),
                 openPlayerLinksInNewTab,
                 formatters, locale
@@ -114,11 +118,26 @@ public class JSONFactory {
 
     public PlayersTableJSONCreator networkPlayersTableJSON() {
         Integer xMostRecentPlayers = config.get(DisplaySettings.PLAYERS_PER_PLAYERS_PAGE);
-        Long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
         boolean openPlayerLinksInNewTab = config.isTrue(DisplaySettings.OPEN_PLAYER_LINKS_IN_NEW_TAB);
 
         Database database = dbSystem.getDatabase();
 
+        Map<UUID, ExtensionTabData> allPluginData = networkExtensionTableData(
+                serverUUID -> new ExtensionServerTableDataQuery(serverUUID, xMostRecentPlayers)
+        );
+
+        return new PlayersTableJSONCreator(
+                database.query(new NetworkTablePlayersQuery(System.currentTimeMillis(), xMostRecentPlayers)),
+                allPluginData,
+                openPlayerLinksInNewTab,
+                formatters, locale,
+                true // players page
+        );
+    }
+
+    private Map<UUID, ExtensionTabData> networkExtensionTableData(Function<ServerUUID, Query<Map<UUID, ExtensionTabData>>> queryForServer) {
+        Database database = dbSystem.getDatabase();
+
         List<ServerUUID> mainServerUUIDs = database.query(ServerQueries.fetchProxyServers())
                 .stream()
                 .map(Server::getUuid)
@@ -128,7 +147,7 @@ public class JSONFactory {
         Map<UUID, ExtensionTabData> allPluginData = new HashMap<>();
 
         for (ServerUUID serverUUID : mainServerUUIDs) {
-            Map<UUID, ExtensionTabData> pluginData = database.query(new ExtensionServerTableDataQuery(serverUUID, xMostRecentPlayers));
+            Map<UUID, ExtensionTabData> pluginData = database.query(queryForServer.apply(serverUUID));
             for (Map.Entry<UUID, ExtensionTabData> entry : pluginData.entrySet()) {
                 UUID playerUUID = entry.getKey();
                 ExtensionTabData dataFromServer = entry.getValue();
@@ -140,15 +159,58 @@ public class JSONFactory {
                 }
             }
         }
+        return allPluginData;
+    }
 
+    public PlayerListPageDto serverPlayersTablePage(ServerUUID serverUUID, PlayersTablePage page) {
+        boolean openPlayerLinksInNewTab = config.isTrue(DisplaySettings.OPEN_PLAYER_LINKS_IN_NEW_TAB);
 
-        return new PlayersTableJSONCreator(
-                database.query(new NetworkTablePlayersQuery(System.currentTimeMillis(), playtimeThreshold, xMostRecentPlayers)),
-                allPluginData,
+        Database database = dbSystem.getDatabase();
+
+        List<TablePlayer> players = database.query(new ServerTablePlayersQuery(serverUUID, System.currentTimeMillis(), page));
+        int totalCount = database.query(ServerTablePlayersQuery.countPlayers(serverUUID, page));
+        Map<UUID, ExtensionTabData> extensionData = database.query(new ExtensionServerTableDataQuery(serverUUID, getPlayerUUIDs(players)));
+
+        PlayerListDto playerList = new PlayersTableJSONCreator(
+                players, extensionData,
+                openPlayerLinksInNewTab,
+                formatters, locale
+        ).toPlayerList();
+        return toPlayerListPage(playerList, page, players, totalCount);
+    }
+
+    public PlayerListPageDto networkPlayersTablePage(PlayersTablePage page) {
+        boolean openPlayerLinksInNewTab = config.isTrue(DisplaySettings.OPEN_PLAYER_LINKS_IN_NEW_TAB);
+
+        Database database = dbSystem.getDatabase();
+
+        List<TablePlayer> players = database.query(new NetworkTablePlayersQuery(System.currentTimeMillis(), page));
+        int totalCount = database.query(NetworkTablePlayersQuery.countPlayers(page));
+        List<UUID> playerUUIDs = getPlayerUUIDs(players);
+        Map<UUID, ExtensionTabData> extensionData = networkExtensionTableData(
+                serverUUID -> new ExtensionServerTableDataQuery(serverUUID, playerUUIDs)
+        );
+
+        PlayerListDto playerList = new PlayersTableJSONCreator(
+                players, extensionData,
                 openPlayerLinksInNewTab,
                 formatters, locale,
                 true // players page
-        );
+        ).toPlayerList();
+        return toPlayerListPage(playerList, page, players, totalCount);
+    }
+
+    private List<UUID> getPlayerUUIDs(List<TablePlayer> players) {
+        return players.stream()
+                .map(TablePlayer::getPlayerUUID)
+                .collect(Collectors.toList());
+    }
+
+    private PlayerListPageDto toPlayerListPage(PlayerListDto playerList, PlayersTablePage page, List<TablePlayer> players, int totalCount) {
+        String nextCursor = page.nextCursor(players)
+                .map(PlayersTablePage.Cursor::encode)
+                .orElse(null);
+        return new PlayerListPageDto(playerList, page.getOffset(), page.getLimit(), totalCount, nextCursor);
     }
 
     public List<RetentionData> playerRetentionAsJSONMap(ServerUUID serverUUID) {
@@ -20,6 +20,7 @@ import com.djrapitops.plan.delivery.domain.DateMap;
 import com.djrapitops.plan.delivery.domain.DateObj;
 import com.djrapitops.plan.delivery.domain.JoinAddressCount;
 import com.djrapitops.plan.delivery.domain.JoinAddressCounts;
+import com.djrapitops.plan.delivery.domain.SessionRollup;
 import com.djrapitops.plan.delivery.domain.datatransfer.ServerDto;
 import com.djrapitops.plan.delivery.domain.datatransfer.graphs.GraphCollection;
 import com.djrapitops.plan.delivery.domain.datatransfer.graphs.ServerSpecificLineGraph;
@@ -50,9 +51,8 @@ import com.djrapitops.plan.settings.theme.Theme;
 import com.djrapitops.plan.settings.theme.ThemeVal;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
-import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQueries;
-import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
-import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexSnapshotQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.SessionRollupQueries;
 import com.djrapitops.plan.storage.database.queries.objects.*;
 import com.djrapitops.plan.storage.database.sql.tables.JoinAddressTable;
 import com.djrapitops.plan.utilities.comparators.DateHolderOldestComparator;
@@ -65,6 +65,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -208,12 +209,11 @@ public class GraphJSONCreator {
         long now = System.currentTimeMillis();
         long halfYearAgo = now - TimeUnit.DAYS.toMillis(180L);
         int timeZoneOffset = config.getTimeZone().getOffset(now);
-        NavigableMap<Long, Integer> uniquePerDay = db.query(
-                PlayerCountQueries.uniquePlayerCounts(halfYearAgo, now, timeZoneOffset, serverUUID)
-        );
-        NavigableMap<Long, Integer> newPerDay = db.query(
-                PlayerCountQueries.newPlayerCounts(halfYearAgo, now, timeZoneOffset, serverUUID)
+        NavigableMap<Long, SessionRollup> rollups = db.query(
+                SessionRollupQueries.fetchSessionRollups(serverUUID, timeZoneOffset, TimeUnit.DAYS.toMillis(1L), halfYearAgo, now)
         );
+        NavigableMap<Long, Integer> uniquePerDay = toValuesPerDate(rollups, SessionRollup::getUniquePlayers);
+        NavigableMap<Long, Integer> newPerDay = toValuesPerDate(rollups, SessionRollup::getNewPlayers);
 
         return createUniqueAndNewJSON(lineGraphs, uniquePerDay, newPerDay, TimeUnit.DAYS.toMillis(1L));
     }
@@ -224,12 +224,12 @@ public class GraphJSONCreator {
         long now = System.currentTimeMillis();
         long weekAgo = now - TimeUnit.DAYS.toMillis(7L);
         int timeZoneOffset = config.getTimeZone().getOffset(now);
-        NavigableMap<Long, Integer> uniquePerDay = db.query(
-                PlayerCountQueries.hourlyUniquePlayerCounts(weekAgo, now, timeZoneOffset, serverUUID)
-        );
-        NavigableMap<Long, Integer> newPerDay = db.query(
-                PlayerCountQueries.newPlayerCounts(weekAgo, now, timeZoneOffset, serverUUID)
-        );
+        NavigableMap<Long, Integer> uniquePerDay = toValuesPerDate(db.query(
+                SessionRollupQueries.fetchSessionRollups(serverUUID, timeZoneOffset, TimeUnit.HOURS.toMillis(1L), weekAgo, now)
+        ), SessionRollup::getUniquePlayers);
+        NavigableMap<Long, Integer> newPerDay = toValuesPerDate(db.query(
+                SessionRollupQueries.fetchSessionRollups(serverUUID, timeZoneOffset, TimeUnit.DAYS.toMillis(1L), weekAgo, now)
+        ), SessionRollup::getNewPlayers);
 
         return createUniqueAndNewJSON(lineGraphs, uniquePerDay, newPerDay, TimeUnit.HOURS.toMillis(1L));
     }
@@ -256,12 +256,11 @@ public class GraphJSONCreator {
         long now = System.currentTimeMillis();
         long halfYearAgo = now - TimeUnit.DAYS.toMillis(180L);
         int timeZoneOffset = config.getTimeZone().getOffset(now);
-        NavigableMap<Long, Integer> uniquePerDay = db.query(
-                PlayerCountQueries.uniquePlayerCounts(halfYearAgo, now, timeZoneOffset)
-        );
-        NavigableMap<Long, Integer> newPerDay = db.query(
-                PlayerCountQueries.newPlayerCounts(halfYearAgo, now, timeZoneOffset)
+        NavigableMap<Long, SessionRollup> rollups = db.query(
+                SessionRollupQueries.fetchSessionRollups(null, timeZoneOffset, TimeUnit.DAYS.toMillis(1L), halfYearAgo, now)
         );
+        NavigableMap<Long, Integer> uniquePerDay = toValuesPerDate(rollups, SessionRollup::getUniquePlayers);
+        NavigableMap<Long, Integer> newPerDay = toValuesPerDate(rollups, SessionRollup::getNewPlayers);
 
         return createUniqueAndNewJSON(lineGraphs, uniquePerDay, newPerDay, TimeUnit.DAYS.toMillis(1L));
     }
@@ -272,12 +271,11 @@ public class GraphJSONCreator {
         long now = System.currentTimeMillis();
         long weekAgo = now - TimeUnit.DAYS.toMillis(7L);
         int timeZoneOffset = config.getTimeZone().getOffset(now);
-        NavigableMap<Long, Integer> uniquePerDay = db.query(
-                PlayerCountQueries.hourlyUniquePlayerCounts(weekAgo, now, timeZoneOffset)
-        );
-        NavigableMap<Long, Integer> newPerDay = db.query(
-                PlayerCountQueries.hourlyNewPlayerCounts(weekAgo, now, timeZoneOffset)
+        NavigableMap<Long, SessionRollup> rollups = db.query(
+                SessionRollupQueries.fetchSessionRollups(null, timeZoneOffset, TimeUnit.HOURS.toMillis(1L), weekAgo, now)
         );
+        NavigableMap<Long, Integer> uniquePerDay = toValuesPerDate(rollups, SessionRollup::getUniquePlayers);
+        NavigableMap<Long, Integer> newPerDay = toValuesPerDate(rollups, SessionRollup::getNewPlayers);
 
         return createUniqueAndNewJSON(lineGraphs, uniquePerDay, newPerDay, TimeUnit.HOURS.toMillis(1L));
     }
@@ -287,24 +285,15 @@ public class GraphJSONCreator {
         long now = System.currentTimeMillis();
         long twoYearsAgo = now - TimeUnit.DAYS.toMillis(730L);
         int timeZoneOffset = config.getTimeZone().getOffset(now);
-        NavigableMap<Long, Integer> uniquePerDay = db.query(
-                PlayerCountQueries.uniquePlayerCounts(twoYearsAgo, now, timeZoneOffset, serverUUID)
-        );
-        NavigableMap<Long, Integer> newPerDay = db.query(
-                PlayerCountQueries.newPlayerCounts(twoYearsAgo, now, timeZoneOffset, serverUUID)
-        );
-        NavigableMap<Long, Long> playtimePerDay = db.query(
-                SessionQueries.playtimePerDay(twoYearsAgo, now, timeZoneOffset, serverUUID)
-        );
-        NavigableMap<Long, Integer> sessionsPerDay = db.query(
-                SessionQueries.sessionCountPerDay(twoYearsAgo, now, timeZoneOffset, serverUUID)
+        NavigableMap<Long, SessionRollup> rollups = db.query(
+                SessionRollupQueries.fetchSessionRollups(serverUUID, timeZoneOffset, TimeUnit.DAYS.toMillis(1L), twoYearsAgo, now)
         );
         return "{\"data\":" +
                 graphs.calendar().serverCalendar(
-                        uniquePerDay,
-                        newPerDay,
-                        playtimePerDay,
-                        sessionsPerDay
+                        toValuesPerDate(rollups, SessionRollup::getUniquePlayers),
+                        toValuesPerDate(rollups, SessionRollup::getNewPlayers),
+                        toValuesPerDate(rollups, SessionRollup::getPlaytime),
+                        toValuesPerDate(rollups, SessionRollup::getSessionCount)
                 ).toCalendarSeries() +
                 ",\"firstDay\":" + 1 + '}';
     }
@@ -314,28 +303,29 @@ public class GraphJSONCreator {
         long now = System.currentTimeMillis();
         long twoYearsAgo = now - TimeUnit.DAYS.toMillis(730L);
         int timeZoneOffset = config.getTimeZone().getOffset(now);
-        NavigableMap<Long, Integer> uniquePerDay = db.query(
-                PlayerCountQueries.uniquePlayerCounts(twoYearsAgo, now, timeZoneOffset)
-        );
-        NavigableMap<Long, Integer> newPerDay = db.query(
-                PlayerCountQueries.newPlayerCounts(twoYearsAgo, now, timeZoneOffset)
-        );
-        NavigableMap<Long, Long> playtimePerDay = db.query(
-                SessionQueries.playtimePerDay(twoYearsAgo, now, timeZoneOffset)
-        );
-        NavigableMap<Long, Integer> sessionsPerDay = db.query(
-                SessionQueries.sessionCountPerDay(twoYearsAgo, now, timeZoneOffset)
+        NavigableMap<Long, SessionRollup> rollups = db.query(
+                SessionRollupQueries.fetchSessionRollups(null, timeZoneOffset, TimeUnit.DAYS.toMillis(1L), twoYearsAgo, now)
         );
         return "{\"data\":" +
                 graphs.calendar().serverCalendar(
-                        uniquePerDay,
-                        newPerDay,
-                        playtimePerDay,
-                        sessionsPerDay
+                        toValuesPerDate(rollups, SessionRollup::getUniquePlayers),
+                        toValuesPerDate(rollups, SessionRollup::getNewPlayers),
+                        toValuesPerDate(rollups, SessionRollup::getPlaytime),
+                        toValuesPerDate(rollups, SessionRollup::getSessionCount)
                 ).toCalendarSeries() +
                 ",\"firstDay\":" + 1 + '}';
     }
 
+    private static <T extends Number> NavigableMap<Long, T> toValuesPerDate(NavigableMap<Long, SessionRollup> rollups, Function<SessionRollup, T> value) {
+        // Rollups include days without any activity, they are left out like they would be in the grouped queries.
+        NavigableMap<Long, T> valuesPerDate = new TreeMap<>();
+        for (Map.Entry<Long, SessionRollup> entry : rollups.entrySet()) {
+            T found = value.apply(entry.getValue());
+            if (found.longValue() > 0) valuesPerDate.put(entry.getKey(), found);
+        }
+        return valuesPerDate;
+    }
+
     public Map<String, Object> serverWorldPieJSONAsMap(ServerUUID serverUUID) {
         Database db = dbSystem.getDatabase();
         WorldTimes worldTimes = db.query(WorldTimesQueries.fetchServerTotalWorldTimes(serverUUID));
@@ -352,10 +342,9 @@ public class GraphJSONCreator {
         long date = System.currentTimeMillis();
         Long threshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
-        DateMap<Map<String, Integer>> activityData = new DateMap<>();
-        for (long time = date; time >= date - TimeAmount.MONTH.toMillis(2L); time -= TimeAmount.WEEK.toMillis(1L)) {
-            activityData.put(time, db.query(ActivityIndexQueries.fetchActivityIndexGroupingsOn(time, serverUUID, threshold)));
-        }
+        DateMap<Map<String, Integer>> activityData = db.query(ActivityIndexSnapshotQueries.fetchWeeklyActivityIndexGroupings(
+                serverUUID, date, date - TimeAmount.MONTH.toMillis(2L), threshold
+        ));
 
         return createActivityGraphJSON(activityData);
     }
@@ -377,10 +366,9 @@ public class GraphJSONCreator {
         long date = System.currentTimeMillis();
         Long threshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
-        DateMap<Map<String, Integer>> activityData = new DateMap<>();
-        for (long time = date; time >= date - TimeAmount.MONTH.toMillis(2L); time -= TimeAmount.WEEK.toMillis(1L)) {
-            activityData.put(time, db.query(NetworkActivityIndexQueries.fetchActivityIndexGroupingsOn(time, threshold)));
-        }
+        DateMap<Map<String, Integer>> activityData = db.query(ActivityIndexSnapshotQueries.fetchNetworkWeeklyActivityIndexGroupings(
+                date, date - TimeAmount.MONTH.toMillis(2L), threshold
+        ));
 
         return createActivityGraphJSON(activityData);
     }
@@ -18,6 +18,7 @@ package com.djrapitops.plan.delivery.webserver;
 
 import com.djrapitops.plan.SubSystem;
 import com.djrapitops.plan.delivery.webserver.auth.ActiveCookieStore;
+import com.djrapitops.plan.delivery.webserver.cache.AsyncJSONResolverService;
 import com.djrapitops.plan.delivery.webserver.http.WebServer;
 import com.djrapitops.plan.storage.file.PublicHtmlFiles;
 import net.playeranalytics.plugin.server.PluginLogger;
@@ -35,6 +36,7 @@ public class WebServerSystem implements SubSystem {
 
     private final Addresses addresses;
     private final ActiveCookieStore activeCookieStore;
+    private final AsyncJSONResolverService jsonResolverService;
     private final PublicHtmlFiles publicHtmlFiles;
     private final WebServer webServer;
     private final PluginLogger logger;
@@ -43,11 +45,13 @@ public class WebServerSystem implements SubSystem {
     public WebServerSystem(
             Addresses addresses,
             ActiveCookieStore activeCookieStore,
+            AsyncJSONResolverService jsonResolverService,
             PublicHtmlFiles publicHtmlFiles,
             WebServer webServer,
             PluginLogger logger) {
         this.addresses = addresses;
         this.activeCookieStore = activeCookieStore;
+        this.jsonResolverService = jsonResolverService;
         this.publicHtmlFiles = publicHtmlFiles;
         this.webServer = webServer;
         this.logger = logger;
@@ -56,6 +60,7 @@ public class WebServerSystem implements SubSystem {
     @Override
     public void enable() {
         activeCookieStore.enable();
+        jsonResolverService.enable();
         webServer.enable();
 
         if (publicHtmlFiles.findPublicHtmlResource("index.html").isPresent()) {
@@ -66,6 +71,7 @@ public class WebServerSystem implements SubSystem {
     @Override
     public void disable() {
         webServer.disable();
+        jsonResolverService.disable();
         activeCookieStore.disable();
     }
 
@@ -19,61 +19,109 @@ package com.djrapitops.plan.delivery.webserver.cache;
 import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.identification.ServerUUID;
-import com.djrapitops.plan.processing.Processing;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.djrapitops.plan.utilities.logging.ErrorContext;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
  * Service for resolving json asynchronously in order to move database queries off server thread.
+ * <p>
+ * Each identifier is generated by at most one task at a time, concurrent requests for it share the same future.
+ * Generation happens in a dedicated pool where requests from the website are run before exports.
+ * <p>
+ * Requests from the website are counted per identifier so that {@link JSONPreWarmingTask} can regenerate the most
+ * requested json before it expires from the memory cache.
  *
  * @author AuroraLS3
  */
 @Singleton
 public class AsyncJSONResolverService {
 
+    private static final int GENERATION_THREADS = 4;
+
     private final PlanConfig config;
-    private final Processing processing;
     private final JSONStorage jsonStorage;
-    private final Map<String, Future<JSONStorage.StoredJSON>> currentlyProcessing;
+    private final ErrorLogger errorLogger;
+    private final Map<String, CompletableFuture<JSONStorage.StoredJSON>> currentlyProcessing;
     private final Map<String, Long> previousUpdates;
-    private final ReentrantLock accessLock; // Access lock prevents double processing same resource
+    private final Map<DataID, JSONGenerationMetrics> metrics;
+    private final Map<String, RequestedJSON> requestedJSON;
+    private final AtomicLong taskSequence;
     private final Formatter<Long> httpLastModifiedFormatter;
 
+    private ThreadPoolExecutor generationExecutor;
+
     @Inject
     public AsyncJSONResolverService(
             PlanConfig config,
             Formatters formatters,
-            Processing processing,
-            JSONStorage jsonStorage
+            JSONStorage jsonStorage,
+            ErrorLogger errorLogger
     ) {
         this.config = config;
-        this.processing = processing;
         this.jsonStorage = jsonStorage;
+        this.errorLogger = errorLogger;
 
         currentlyProcessing = new ConcurrentHashMap<>();
         previousUpdates = new ConcurrentHashMap<>();
-        accessLock = new ReentrantLock();
+        // All keys are added here so the map is only read afterwards.
+        Map<DataID, JSONGenerationMetrics> metricsByDataID = new EnumMap<>(DataID.class);
+        for (DataID dataID : DataID.values()) {
+            metricsByDataID.put(dataID, new JSONGenerationMetrics());
+        }
+        metrics = Collections.unmodifiableMap(metricsByDataID);
+        requestedJSON = new ConcurrentHashMap<>();
+        taskSequence = new AtomicLong();
+        generationExecutor = createGenerationExecutor();
 
         httpLastModifiedFormatter = formatters.httpLastModifiedLong();
     }
 
+    private ThreadPoolExecutor createGenerationExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                GENERATION_THREADS, GENERATION_THREADS,
+                60L, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(),
+                new BasicThreadFactory.Builder()
+                        .namingPattern("Plan JSON-generation-pool-%d")
+                        .uncaughtExceptionHandler((thread, throwable) ->
+                                errorLogger.warn(throwable, ErrorContext.builder().build())
+                        ).build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public void enable() {
+        if (generationExecutor.isShutdown()) {
+            generationExecutor = createGenerationExecutor();
+        }
+    }
+
+    public void disable() {
+        generationExecutor.shutdownNow();
+        for (CompletableFuture<JSONStorage.StoredJSON> waiting : currentlyProcessing.values()) {
+            waiting.cancel(false);
+        }
+        currentlyProcessing.clear();
+    }
+
     public <T> JSONStorage.StoredJSON resolve(
             Optional<Long> newerThanTimestamp, DataID dataID, ServerUUID serverUUID, Function<ServerUUID, T> creator
     ) {
         String identifier = dataID.of(serverUUID);
         Supplier<T> jsonCreator = () -> creator.apply(serverUUID);
-        return getStoredOrCreateJSON(newerThanTimestamp, identifier, jsonCreator);
+        return getStoredOrCreateJSON(newerThanTimestamp, dataID, identifier, jsonCreator);
     }
 
 
@@ -81,33 +129,43 @@ public class AsyncJSONResolverService {
             Optional<Long> newerThanTimestamp, DataID dataID, Supplier<T> jsonCreator
     ) {
         String identifier = dataID.name();
-        return getStoredOrCreateJSON(newerThanTimestamp, identifier, jsonCreator);
+        return getStoredOrCreateJSON(newerThanTimestamp, dataID, identifier, jsonCreator);
     }
 
     private <T> JSONStorage.StoredJSON getStoredOrCreateJSON(
-            Optional<Long> givenTimestamp, String identifier, Supplier<T> jsonCreator
+            Optional<Long> givenTimestamp, DataID dataID, String identifier, Supplier<T> jsonCreator
     ) {
+        JSONGenerationMetrics dataMetrics = metrics.get(dataID);
         JSONStorage.StoredJSON storedJSON = null;
-        Future<JSONStorage.StoredJSON> updatedJSON = null;
+        CompletableFuture<JSONStorage.StoredJSON> updatedJSON = null;
         if (givenTimestamp.isPresent()) {
             long timestamp = givenTimestamp.get();
+            requestedJSON.computeIfAbsent(identifier, id -> new RequestedJSON(dataID)).requested(jsonCreator);
             storedJSON = getNewFromCache(timestamp, identifier);
-            if (storedJSON != null) return storedJSON;
+            if (storedJSON != null) {
+                dataMetrics.served(false);
+                return storedJSON;
+            }
 
             // No new enough version, let's refresh and send old version of the file
-            updatedJSON = scheduleJSONForUpdate(timestamp, identifier, jsonCreator);
+            updatedJSON = scheduleJSONForUpdate(timestamp, dataID, identifier, jsonCreator);
             storedJSON = getOldFromCache(timestamp, identifier).orElse(null);
         }
 
         if (storedJSON != null) {
+            dataMetrics.served(true);
             return storedJSON; // Found old from cache
         } else {
             // Update not performed if the last update was recent and the file is deleted before next update
             // Fall back to waiting for the updated file if old version of the file doesn't exist.
             if (updatedJSON == null) {
-                updatedJSON = submitToProcessing(identifier, jsonCreator);
+                // Requests without a timestamp come from exports and other non-browser sources.
+                Priority priority = givenTimestamp.isPresent() ? Priority.INTERACTIVE : Priority.EXPORT;
+                updatedJSON = generateOnce(dataID, identifier, jsonCreator, priority);
             }
-            return waitAndGetUpdated(updatedJSON);
+            JSONStorage.StoredJSON updated = waitAndGetUpdated(updatedJSON);
+            if (updated != null) dataMetrics.served(false);
+            return updated;
         }
     }
 
@@ -118,7 +176,7 @@ public class AsyncJSONResolverService {
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             return null;
-        } catch (ExecutionException e) {
+        } catch (ExecutionException | CancellationException e) {
             throw new IllegalStateException(e);
         }
     }
@@ -133,36 +191,202 @@ public class AsyncJSONResolverService {
                         .orElse(null));
     }
 
-    private <T> Future<JSONStorage.StoredJSON> scheduleJSONForUpdate(long newerThanTimestamp, String identifier, Supplier<T> jsonCreator) {
+    private <T> CompletableFuture<JSONStorage.StoredJSON> scheduleJSONForUpdate(
+            long newerThanTimestamp, DataID dataID, String identifier, Supplier<T> jsonCreator
+    ) {
+        // Check if the json is already being created
+        CompletableFuture<JSONStorage.StoredJSON> inProgress = currentlyProcessing.get(identifier);
+        if (inProgress != null) return inProgress;
+
         long updateThreshold = config.get(WebserverSettings.REDUCED_REFRESH_BARRIER);
+        if (previousUpdates.getOrDefault(identifier, 0L) >= newerThanTimestamp - updateThreshold) {
+            return null; // Updated recently enough
+        }
+        // Submit a task to refresh the data if the json is old
+        return generateOnce(dataID, identifier, jsonCreator, Priority.INTERACTIVE);
+    }
+
+    private <T> CompletableFuture<JSONStorage.StoredJSON> generateOnce(
+            DataID dataID, String identifier, Supplier<T> jsonCreator, Priority priority
+    ) {
+        CompletableFuture<JSONStorage.StoredJSON> created = new CompletableFuture<>();
+        CompletableFuture<JSONStorage.StoredJSON> inProgress = currentlyProcessing.putIfAbsent(identifier, created);
+        if (inProgress != null) return inProgress; // Another request started generating the same json first
 
-        Future<JSONStorage.StoredJSON> updatedJSON;
-        accessLock.lock();
+        long queuedAt = System.nanoTime();
         try {
-            // Check if the json is already being created
-            updatedJSON = currentlyProcessing.get(identifier);
-            if (updatedJSON == null && previousUpdates.getOrDefault(identifier, 0L) < newerThanTimestamp - updateThreshold) {
-                // Submit a task to refresh the data if the json is old
-                updatedJSON = submitToProcessing(identifier, jsonCreator);
-                currentlyProcessing.put(identifier, updatedJSON);
-            }
-        } finally {
-            accessLock.unlock();
+            generationExecutor.execute(new GenerationTask(priority, taskSequence.getAndIncrement(),
+                    () -> generate(dataID, identifier, jsonCreator, created, queuedAt)));
+        } catch (RejectedExecutionException shuttingDown) {
+            currentlyProcessing.remove(identifier, created);
+            created.completeExceptionally(shuttingDown);
         }
-        return updatedJSON;
+        return created;
     }
 
-    private <T> Future<JSONStorage.StoredJSON> submitToProcessing(String identifier, Supplier<T> jsonCreator) {
-        return processing.submitNonCritical(() -> {
+    private <T> void generate(
+            DataID dataID, String identifier, Supplier<T> jsonCreator,
+            CompletableFuture<JSONStorage.StoredJSON> future, long queuedAt
+    ) {
+        long startedAt = System.nanoTime();
+        boolean failed = false;
+        try {
             JSONStorage.StoredJSON created = jsonStorage.storeJson(identifier, jsonCreator.get());
-            currentlyProcessing.remove(identifier);
             jsonStorage.invalidateOlder(identifier, created.timestamp);
             previousUpdates.put(identifier, created.timestamp);
-            return created;
-        });
+            future.complete(created);
+        } catch (Exception | NoClassDefFoundError | NoSuchMethodError | NoSuchFieldError e) {
+            failed = true;
+            errorLogger.warn(e, ErrorContext.builder().related(identifier).build());
+            future.completeExceptionally(e);
+        } finally {
+            currentlyProcessing.remove(identifier, future);
+            metrics.get(dataID).generated(startedAt - queuedAt, System.nanoTime() - startedAt, failed);
+        }
+    }
+
+    /**
+     * Regenerate the most requested json that would expire from memory cache soon.
+     * <p>
+     * Blocks until done. Time spent waiting for each generation is counted against the budget, so that the
+     * budget is never exceeded even if the generation pool is busy with other requests.
+     *
+     * @param timeBudgetMs  Maximum time to spend generating.
+     * @param maxEntries    Maximum number of identifiers to consider.
+     * @param expiresWithin How soon the json needs to expire to be regenerated.
+     * @return How many identifiers were regenerated.
+     */
+    public int preWarm(long timeBudgetMs, int maxEntries, long expiresWithin) {
+        long memoryCacheLifetime = config.get(WebserverSettings.INVALIDATE_MEMORY_CACHE);
+        long regenerateIfOlderThan = System.currentTimeMillis() - memoryCacheLifetime + expiresWithin;
+
+        List<Map.Entry<String, RequestedJSON>> mostRequested = new ArrayList<>();
+        for (Map.Entry<String, RequestedJSON> entry : requestedJSON.entrySet()) {
+            if (entry.getValue().decayRequests() >= RequestedJSON.MIN_REQUEST_SCORE) {
+                mostRequested.add(entry);
+            } else {
+                requestedJSON.remove(entry.getKey(), entry.getValue()); // Not requested in a while
+            }
+        }
+        mostRequested.sort(Comparator.comparingDouble((Map.Entry<String, RequestedJSON> entry) -> entry.getValue().requestScore).reversed());
+
+        long budgetNs = TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+        long spentNs = 0L;
+        int regenerated = 0;
+        for (Map.Entry<String, RequestedJSON> entry : mostRequested.subList(0, Math.min(maxEntries, mostRequested.size()))) {
+            if (spentNs >= budgetNs) break;
+            String identifier = entry.getKey();
+            Long previousUpdate = previousUpdates.get(identifier);
+            // Nothing to keep warm if json was never generated, or it was generated recently
+            if (previousUpdate == null || previousUpdate > regenerateIfOlderThan) continue;
+
+            RequestedJSON requested = entry.getValue();
+            long start = System.nanoTime();
+            try {
+                generateOnce(requested.dataID, identifier, requested.creator, Priority.PRE_WARM)
+                        .get(budgetNs - spentNs, TimeUnit.NANOSECONDS);
+                regenerated++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | CancellationException | TimeoutException e) {
+                // Failures are logged by the generation, timed out generation finishes in the background.
+            }
+            spentNs += System.nanoTime() - start;
+        }
+        return regenerated;
+    }
+
+    /**
+     * Get generation metrics of each {@link DataID}.
+     *
+     * @return Unmodifiable map with an entry for every DataID.
+     */
+    public Map<DataID, JSONGenerationMetrics> getMetrics() {
+        return metrics;
+    }
+
+    public int getQueuedGenerationCount() {
+        return generationExecutor.getQueue().size();
     }
 
     public Formatter<Long> getHttpLastModifiedFormatter() {
         return httpLastModifiedFormatter;
     }
+
+    enum Priority {
+        INTERACTIVE,
+        EXPORT,
+        PRE_WARM
+    }
+
+    /**
+     * Latest way to create json of an identifier and how often it has been requested.
+     */
+    static class RequestedJSON {
+        static final double MIN_REQUEST_SCORE = 0.2;
+
+        private final DataID dataID;
+        private final LongAdder requests = new LongAdder();
+        private volatile Supplier<?> creator;
+        private double requestScore; // Only accessed by the pre-warming thread
+
+        RequestedJSON(DataID dataID) {
+            this.dataID = dataID;
+        }
+
+        void requested(Supplier<?> creator) {
+            this.creator = creator;
+            requests.increment();
+        }
+
+        /**
+         * Combine requests since last call with half of the earlier score, so old popularity fades away.
+         *
+         * @return Decayed request score.
+         */
+        double decayRequests() {
+            requestScore = requestScore / 2.0 + requests.sumThenReset();
+            return requestScore;
+        }
+    }
+
+    /**
+     * Runnable ordered by priority, and in submission order within the same priority.
+     */
+    static class GenerationTask implements Runnable, Comparable<GenerationTask> {
+        private final Priority priority;
+        private final long sequence;
+        private final Runnable task;
+
+        GenerationTask(Priority priority, long sequence, Runnable task) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public int compareTo(GenerationTask other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            GenerationTask that = (GenerationTask) o;
+            return sequence == that.sequence && priority == that.priority;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(sequence);
+        }
+    }
 }
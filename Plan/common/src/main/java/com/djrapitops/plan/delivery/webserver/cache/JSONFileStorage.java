@@ -32,19 +32,16 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.function.BiPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Stream;
 
 /**
  * In charge of storing json files on disk for later retrieval.
@@ -64,6 +61,14 @@ public class JSONFileStorage implements JSONStorage {
 
     private final Formatter<Long> dateFormatter;
 
+    /**
+     * Identifier -> timestamps of stored files, so that lookups don't need to list the directory.
+     * <p>
+     * Built from the directory contents on first use and kept up to date on store and delete.
+     */
+    private final Map<String, NavigableSet<Long>> index = new ConcurrentHashMap<>();
+    private volatile boolean indexBuilt = false;
+
     @Inject
     public JSONFileStorage(
             PlanFiles files,
@@ -89,17 +94,19 @@ public class JSONFileStorage implements JSONStorage {
 
     @Override
     public StoredJSON storeJson(String identifier, String json, long timestamp) {
-        Path writingTo = jsonDirectory.resolve(identifier + '-' + timestamp + JSON_FILE_EXTENSION);
-        String jsonToWrite = addMissingTimestamp(json, timestamp);
-        write(writingTo, jsonToWrite);
-        return new StoredJSON(jsonToWrite, timestamp);
+        Path writingTo = getFilePath(identifier, timestamp);
+        StoredJSON stored = new StoredJSON(addMissingTimestamp(json, timestamp), timestamp);
+        getIndex(); // Make sure the index is built before the write is recorded to it.
+        write(writingTo, stored.getBytes(), () -> addToIndex(identifier, timestamp));
+        return stored;
     }
 
-    private void write(Path writingTo, String jsonToWrite) {
+    private void write(Path writingTo, byte[] jsonToWrite, Runnable afterWrite) {
         readWriteProtectionLock.performWriteOperation(() -> {
             try {
                 if (!Files.isSymbolicLink(jsonDirectory)) Files.createDirectories(jsonDirectory);
-                Files.write(writingTo, jsonToWrite.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                Files.write(writingTo, jsonToWrite, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                afterWrite.run();
             } catch (IOException e) {
                 logger.warn("Could not write a file to " + writingTo.toFile().getAbsolutePath() + ": " + e.getMessage());
             }
@@ -127,28 +134,78 @@ public class JSONFileStorage implements JSONStorage {
 
     @Override
     public Optional<StoredJSON> fetchJSON(String identifier) {
-        File[] stored = jsonDirectory.toFile().listFiles();
-        if (stored == null) return Optional.empty();
-
-        String lookForStart = identifier + '-';
-        for (File file : stored) {
-            String fileName = file.getName();
-            if (fileName.endsWith(JSON_FILE_EXTENSION) && fileName.startsWith(lookForStart)) {
-                return Optional.ofNullable(readStoredJSON(file));
+        return getStoredTimestamps(identifier)
+                .map(timestamps -> timestamps.floor(Long.MAX_VALUE))
+                .flatMap(newest -> readIndexedJSON(identifier, newest));
+    }
+
+    private Optional<NavigableSet<Long>> getStoredTimestamps(String identifier) {
+        return Optional.ofNullable(getIndex().get(identifier));
+    }
+
+    private Map<String, NavigableSet<Long>> getIndex() {
+        if (!indexBuilt) buildIndex();
+        return index;
+    }
+
+    private synchronized void buildIndex() {
+        if (indexBuilt) return;
+        readWriteProtectionLock.performWriteOperation(() -> {
+            File[] stored = jsonDirectory.toFile().listFiles();
+            if (stored != null) {
+                for (File file : stored) {
+                    addToIndex(file.getName());
+                }
             }
+            indexBuilt = true;
+        });
+    }
+
+    private void addToIndex(String fileName) {
+        if (!fileName.endsWith(JSON_FILE_EXTENSION)) return;
+        int timestampStart = fileName.lastIndexOf('-');
+        if (timestampStart <= 0) return;
+        try {
+            long timestamp = Long.parseLong(fileName.substring(timestampStart + 1, fileName.length() - JSON_FILE_EXTENSION.length()));
+            addToIndex(fileName.substring(0, timestampStart), timestamp);
+        } catch (NumberFormatException e) {
+            // Ignore this file, malformed timestamp
         }
-        return Optional.empty();
+    }
+
+    private void addToIndex(String identifier, long timestamp) {
+        index.computeIfAbsent(identifier, key -> new ConcurrentSkipListSet<>()).add(timestamp);
+    }
+
+    private void removeFromIndex(String identifier, long timestamp) {
+        NavigableSet<Long> timestamps = index.get(identifier);
+        if (timestamps == null) return;
+        timestamps.remove(timestamp);
+        if (timestamps.isEmpty()) index.remove(identifier, timestamps);
+    }
+
+    private Path getFilePath(String identifier, long timestamp) {
+        return jsonDirectory.resolve(identifier + '-' + timestamp + JSON_FILE_EXTENSION);
+    }
+
+    private Optional<StoredJSON> readIndexedJSON(String identifier, Long timestamp) {
+        if (timestamp == null) return Optional.empty();
+        File found = getFilePath(identifier, timestamp).toFile();
+        if (!found.exists()) {
+            // File was removed outside Plan, forget about it.
+            readWriteProtectionLock.performWriteOperation(() -> removeFromIndex(identifier, timestamp));
+            return Optional.empty();
+        }
+        return Optional.ofNullable(readStoredJSON(found));
     }
 
     private StoredJSON readStoredJSON(File from) {
         return readWriteProtectionLock.performReadOperation(() -> {
             Matcher timestampMatch = timestampRegex.matcher(from.getName());
             if (timestampMatch.find()) {
-                try (Stream<String> lines = Files.lines(from.toPath())) {
+                try {
                     long timestamp = Long.parseLong(timestampMatch.group(1));
-                    StringBuilder json = new StringBuilder();
-                    lines.forEach(json::append);
-                    return new StoredJSON(json.toString(), timestamp);
+                    return new StoredJSON(Files.readAllBytes(from.toPath()), timestamp);
                 } catch (IOException e) {
                     logger.warn(jsonDirectory.toFile().getAbsolutePath() + " file '" + from.getName() + "' could not be read: " + e.getMessage());
                 } catch (NumberFormatException e) {
@@ -163,112 +220,70 @@ public class JSONFileStorage implements JSONStorage {
 
     @Override
     public Optional<StoredJSON> fetchExactJson(String identifier, long timestamp) {
-        File found = jsonDirectory.resolve(identifier + "-" + timestamp + JSON_FILE_EXTENSION).toFile();
+        File found = getFilePath(identifier, timestamp).toFile();
         if (!found.exists()) return Optional.empty();
         return Optional.ofNullable(readStoredJSON(found));
     }
 
     @Override
     public Optional<StoredJSON> fetchJsonMadeBefore(String identifier, long timestamp) {
-        return fetchJSONWithTimestamp(identifier, timestamp, (timestampMatch, time) -> Long.parseLong(timestampMatch.group(1)) < time);
+        return getStoredTimestamps(identifier)
+                .map(timestamps -> timestamps.lower(timestamp))
+                .flatMap(found -> readIndexedJSON(identifier, found));
     }
 
     @Override
     public Optional<StoredJSON> fetchJsonMadeAfter(String identifier, long timestamp) {
-        return fetchJSONWithTimestamp(identifier, timestamp, (timestampMatch, time) -> Long.parseLong(timestampMatch.group(1)) > time);
-    }
-
-    private Optional<StoredJSON> fetchJSONWithTimestamp(String identifier, long timestamp, BiPredicate<Matcher, Long> timestampComparator) {
-        File[] stored = jsonDirectory.toFile().listFiles();
-        if (stored == null) return Optional.empty();
-
-        String lookForStart = identifier + '-';
-        for (File file : stored) {
-            try {
-                String fileName = file.getName();
-                if (fileName.endsWith(JSON_FILE_EXTENSION) && fileName.startsWith(lookForStart)) {
-                    Matcher timestampMatch = timestampRegex.matcher(fileName);
-                    if (timestampMatch.find() && timestampComparator.test(timestampMatch, timestamp)) {
-                        return Optional.ofNullable(readStoredJSON(file));
-                    }
-                }
-            } catch (NumberFormatException e) {
-                // Ignore this file, malformed timestamp
-            }
-        }
-        return Optional.empty();
+        return getStoredTimestamps(identifier)
+                .map(timestamps -> timestamps.floor(Long.MAX_VALUE))
+                .filter(newest -> newest > timestamp)
+                .flatMap(found -> readIndexedJSON(identifier, found));
     }
 
     @Override
     public void invalidateOlder(String identifier, long timestamp) {
-        File[] stored = jsonDirectory.toFile().listFiles();
-        if (stored == null) return;
-
-        List<File> toDelete = new ArrayList<>();
-        for (File file : stored) {
-            if (shouldDeleteFile(identifier, timestamp, file)) {
-                toDelete.add(file);
-            }
-        }
+        Map<String, List<Long>> toDelete = new HashMap<>();
+        getStoredTimestamps(identifier)
+                .map(timestamps -> new ArrayList<>(timestamps.headSet(timestamp)))
+                .filter(older -> !older.isEmpty())
+                .ifPresent(older -> toDelete.put(identifier, older));
         deleteFiles(toDelete);
     }
 
-    private boolean shouldDeleteFile(String identifier, long timestamp, File file) {
-        try {
-            String fileName = file.getName();
-            if (fileName.endsWith(JSON_FILE_EXTENSION) && fileName.startsWith(identifier + '-')) {
-                Matcher timestampMatch = timestampRegex.matcher(fileName);
-                if (timestampMatch.find() && Long.parseLong(timestampMatch.group(1)) < timestamp) {
-                    return true;
-                }
-            }
-        } catch (NumberFormatException e) {
-            // Ignore this file, malformed timestamp
-        }
-        return false;
-    }
-
     private void invalidateOlderButIgnore(long timestamp, String... ignoredIdentifiers) {
-        File[] stored = jsonDirectory.toFile().listFiles();
-        if (stored == null) return;
+        Map<String, List<Long>> toDelete = new HashMap<>();
+        for (Map.Entry<String, NavigableSet<Long>> entry : getIndex().entrySet()) {
+            String identifier = entry.getKey();
+            if (isIgnored(identifier, ignoredIdentifiers)) continue;
 
-        List<File> toDelete = new ArrayList<>();
-        for (File file : stored) {
-            if (shouldDeleteFile(timestamp, file, ignoredIdentifiers)) {
-                toDelete.add(file);
-            }
+            List<Long> older = new ArrayList<>(entry.getValue().headSet(timestamp));
+            if (!older.isEmpty()) toDelete.put(identifier, older);
         }
 
         deleteFiles(toDelete);
     }
 
-    private boolean shouldDeleteFile(long timestamp, File file, String[] ignoredIdentifiers) {
-        try {
-            String fileName = file.getName();
-            if (fileName.endsWith(JSON_FILE_EXTENSION)) {
-                Matcher timestampMatch = timestampRegex.matcher(fileName);
-                boolean isOlder = timestampMatch.find() && Long.parseLong(timestampMatch.group(1)) < timestamp;
-                if (isOlder) {
-                    for (String ignoredIdentifier : ignoredIdentifiers) {
-                        if (fileName.startsWith(ignoredIdentifier + "-")) return false;
-                    }
-                    return true;
-                }
-            }
-        } catch (NumberFormatException e) {
-            // Ignore this file, malformed timestamp
+    private boolean isIgnored(String identifier, String[] ignoredIdentifiers) {
+        for (String ignoredIdentifier : ignoredIdentifiers) {
+            if (identifier.equals(ignoredIdentifier) || identifier.startsWith(ignoredIdentifier + '-')) return true;
         }
         return false;
     }
 
-    private void deleteFiles(List<File> toDelete) {
+    private void deleteFiles(Map<String, List<Long>> toDelete) {
+        if (toDelete.isEmpty()) return;
         readWriteProtectionLock.performWriteOperation(() -> {
-            for (File fileToDelete : toDelete) {
-                try {
-                    Files.delete(fileToDelete.toPath());
-                } catch (IOException e) {
-                    // Failed to delete, set for deletion on next server shutdown.
-                    fileToDelete.deleteOnExit();
+            for (Map.Entry<String, List<Long>> entry : toDelete.entrySet()) {
+                String identifier = entry.getKey();
+                for (Long timestamp : entry.getValue()) {
+                    File fileToDelete = getFilePath(identifier, timestamp).toFile();
+                    try {
+                        Files.deleteIfExists(fileToDelete.toPath());
+                    } catch (IOException e) {
+                        // Failed to delete, set for deletion on next server shutdown.
+                        fileToDelete.deleteOnExit();
+                    }
+                    removeFromIndex(identifier, timestamp);
                 }
             }
         });
@@ -276,24 +291,8 @@ public class JSONFileStorage implements JSONStorage {
 
     @Override
     public Optional<Long> getTimestamp(String identifier) {
-        File[] stored = jsonDirectory.toFile().listFiles();
-        if (stored == null) return Optional.empty();
-
-        String lookForStart = identifier + '-';
-        for (File file : stored) {
-            try {
-                String fileName = file.getName();
-                if (fileName.endsWith(JSON_FILE_EXTENSION) && fileName.startsWith(lookForStart)) {
-                    Matcher timestampMatch = timestampRegex.matcher(fileName);
-                    if (timestampMatch.find()) {
-                        return Optional.of(Long.parseLong(timestampMatch.group(1)));
-                    }
-                }
-            } catch (NumberFormatException e) {
-                // Ignore this file, malformed timestamp
-            }
-        }
-        return Optional.empty();
+        return getStoredTimestamps(identifier)
+                .map(timestamps -> timestamps.floor(Long.MAX_VALUE));
     }
 
     @Singleton
@@ -0,0 +1,99 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters about JSON generation of a single {@link DataID}.
+ * <p>
+ * Updated by {@link AsyncJSONResolverService} without locking.
+ *
+ * @author AuroraLS3
+ */
+public class JSONGenerationMetrics {
+
+    private final LongAdder generations = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder generationNanos = new LongAdder();
+    private final LongAdder serves = new LongAdder();
+    private final LongAdder staleServes = new LongAdder();
+
+    void generated(long queueWaitNs, long generationNs, boolean failed) {
+        generations.increment();
+        if (failed) failures.increment();
+        queueWaitNanos.add(queueWaitNs);
+        generationNanos.add(generationNs);
+    }
+
+    void served(boolean stale) {
+        serves.increment();
+        if (stale) staleServes.increment();
+    }
+
+    public long getGenerations() {
+        return generations.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public double getAverageQueueWaitMs() {
+        return averageMs(queueWaitNanos.sum(), generations.sum());
+    }
+
+    public double getAverageGenerationMs() {
+        return averageMs(generationNanos.sum(), generations.sum());
+    }
+
+    public long getServes() {
+        return serves.sum();
+    }
+
+    public long getStaleServes() {
+        return staleServes.sum();
+    }
+
+    /**
+     * Get the share of served responses that were older than the requested timestamp.
+     *
+     * @return value between 0.0 and 1.0
+     */
+    public double getStaleServeRate() {
+        long total = serves.sum();
+        return total == 0 ? 0.0 : (double) staleServes.sum() / total;
+    }
+
+    private static double averageMs(long totalNanos, long count) {
+        return count == 0 ? 0.0 : (double) totalNanos / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return "JSONGenerationMetrics{" +
+                "generations=" + getGenerations() +
+                ", failures=" + getFailures() +
+                ", averageQueueWaitMs=" + getAverageQueueWaitMs() +
+                ", averageGenerationMs=" + getAverageGenerationMs() +
+                ", serves=" + getServes() +
+                ", staleServeRate=" + getStaleServeRate() +
+                '}';
+    }
+}
@@ -20,16 +20,31 @@ import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.WebserverSettings;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.TimeUnit;
-
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * In-memory cache in front of another {@link JSONStorage}.
+ * <p>
+ * Entries are held in a Caffeine cache that handles expiry and bounds the cache by json byte size.
+ * The cached entries are additionally indexed by identifier and timestamp so that lookups don't need to go through
+ * every cached entry.
+ *
+ * @author AuroraLS3
+ */
 public class JSONMemoryStorageShim implements JSONStorage {
 
     private final PlanConfig config;
     private final JSONStorage underlyingStorage;
 
-    private Cache<TimestampedIdentifier, StoredJSON> cache;
+    private volatile Cache<TimestampedIdentifier, StoredJSON> cache;
+    private final Map<String, NavigableMap<Long, StoredJSON>> index = new ConcurrentHashMap<>();
 
     public JSONMemoryStorageShim(
             PlanConfig config,
@@ -40,103 +55,152 @@ public class JSONMemoryStorageShim implements JSONStorage {
     }
 
     @Override
-    public void enable() {
+    public synchronized void enable() {
+        if (cache != null) return;
+        long maxSizeBytes = config.get(WebserverSettings.MEMORY_CACHE_MAX_SIZE_MB) * 1024L * 1024L;
         cache = Caffeine.newBuilder()
                 .expireAfterWrite(config.get(WebserverSettings.INVALIDATE_MEMORY_CACHE), TimeUnit.MILLISECONDS)
+                .maximumWeight(maxSizeBytes)
+                .weigher(JSONMemoryStorageShim::weigh)
+                // Index is updated on the thread that caused the removal so it doesn't hold on to removed entries.
+                .executor(Runnable::run)
+                .removalListener(this::removeFromIndex)
                 .build();
     }
 
+    private static int weigh(TimestampedIdentifier key, StoredJSON value) {
+        long bytes = (long) value.getBytes().length + value.getGzippedBytes().length + key.identifier.length();
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private void removeFromIndex(TimestampedIdentifier key, StoredJSON value, RemovalCause cause) {
+        if (key == null || value == null || cause == RemovalCause.REPLACED) return;
+        NavigableMap<Long, StoredJSON> entries = index.get(key.getIndexKey());
+        if (entries == null) return;
+        entries.remove(key.timestamp, value);
+        if (entries.isEmpty()) index.remove(key.getIndexKey(), entries);
+    }
+
     @Override
     public StoredJSON storeJson(String identifier, String json, long timestamp) {
         StoredJSON storedJSON = underlyingStorage.storeJson(identifier, json, timestamp);
-        getCache().put(new TimestampedIdentifier(identifier, timestamp), storedJSON);
+        cache(identifier, storedJSON);
         return storedJSON;
     }
 
+    private void cache(String identifier, StoredJSON storedJSON) {
+        TimestampedIdentifier key = new TimestampedIdentifier(identifier, storedJSON.timestamp);
+        index.computeIfAbsent(key.getIndexKey(), k -> new ConcurrentSkipListMap<>()).put(storedJSON.timestamp, storedJSON);
+        getCache().put(key, storedJSON);
+    }
+
     public Cache<TimestampedIdentifier, StoredJSON> getCache() {
         if (cache == null) enable();
         return cache;
     }
 
-    @Override
-    public Optional<StoredJSON> fetchJSON(String identifier) {
-        for (Map.Entry<TimestampedIdentifier, StoredJSON> entry : getCache().asMap().entrySet()) {
-            if (entry.getKey().identifier.equalsIgnoreCase(identifier)) {
-                return Optional.of(entry.getValue());
-            }
+    /**
+     * Find the first cached entry walking from a starting entry.
+     * <p>
+     * Entries that have been expired by the cache but not yet cleaned up are removed from the index on the way.
+     *
+     * @param identifier Identifier of the json.
+     * @param start      Function to get the first candidate from the entries of the identifier.
+     * @param next       Function to get the next candidate after a candidate was no longer in the cache.
+     * @return Cached entry, or empty if none is cached.
+     */
+    private Optional<StoredJSON> findCached(
+            String identifier,
+            Function<NavigableMap<Long, StoredJSON>, Map.Entry<Long, StoredJSON>> start,
+            BiFunction<NavigableMap<Long, StoredJSON>, Long, Map.Entry<Long, StoredJSON>> next
+    ) {
+        String indexKey = TimestampedIdentifier.toIndexKey(identifier);
+        NavigableMap<Long, StoredJSON> entries = index.get(indexKey);
+        if (entries == null) return Optional.empty();
+
+        Map.Entry<Long, StoredJSON> candidate = start.apply(entries);
+        while (candidate != null) {
+            StoredJSON cached = getCache().getIfPresent(new TimestampedIdentifier(identifier, candidate.getKey()));
+            if (cached != null) return Optional.of(cached);
+            entries.remove(candidate.getKey(), candidate.getValue());
+            candidate = next.apply(entries, candidate.getKey());
         }
-        Optional<StoredJSON> found = underlyingStorage.fetchJSON(identifier);
-        found.ifPresent(storedJSON -> getCache().put(new TimestampedIdentifier(identifier, storedJSON.timestamp), storedJSON));
+        return Optional.empty();
+    }
+
+    private Optional<StoredJSON> cacheFound(String identifier, Optional<StoredJSON> found) {
+        found.ifPresent(storedJSON -> cache(identifier, storedJSON));
         return found;
     }
 
+    @Override
+    public Optional<StoredJSON> fetchJSON(String identifier) {
+        Optional<StoredJSON> cached = findCached(identifier, NavigableMap::lastEntry, NavigableMap::lowerEntry);
+        if (cached.isPresent()) return cached;
+        return cacheFound(identifier, underlyingStorage.fetchJSON(identifier));
+    }
+
     @Override
     public Optional<StoredJSON> fetchExactJson(String identifier, long timestamp) {
         StoredJSON cached = getCache().getIfPresent(new TimestampedIdentifier(identifier, timestamp));
         if (cached != null) return Optional.of(cached);
 
-        Optional<StoredJSON> found = underlyingStorage.fetchExactJson(identifier, timestamp);
-        found.ifPresent(storedJSON -> getCache().put(new TimestampedIdentifier(identifier, timestamp), storedJSON));
-        return found;
+        return cacheFound(identifier, underlyingStorage.fetchExactJson(identifier, timestamp));
     }
 
     @Override
     public Optional<StoredJSON> fetchJsonMadeBefore(String identifier, long timestamp) {
-        for (Map.Entry<TimestampedIdentifier, StoredJSON> entry : getCache().asMap().entrySet()) {
-            TimestampedIdentifier key = entry.getKey();
-            if (key.timestamp < timestamp && key.identifier.equalsIgnoreCase(identifier)) {
-                return Optional.of(entry.getValue());
-            }
-        }
-
-        Optional<StoredJSON> found = underlyingStorage.fetchJsonMadeBefore(identifier, timestamp);
-        found.ifPresent(storedJSON -> getCache().put(new TimestampedIdentifier(identifier, storedJSON.timestamp), storedJSON));
-        return found;
+        Optional<StoredJSON> cached = findCached(identifier, entries -> entries.lowerEntry(timestamp), NavigableMap::lowerEntry);
+        if (cached.isPresent()) return cached;
+        return cacheFound(identifier, underlyingStorage.fetchJsonMadeBefore(identifier, timestamp));
     }
 
     @Override
     public Optional<StoredJSON> fetchJsonMadeAfter(String identifier, long timestamp) {
-        for (Map.Entry<TimestampedIdentifier, StoredJSON> entry : getCache().asMap().entrySet()) {
-            TimestampedIdentifier key = entry.getKey();
-            if (key.timestamp > timestamp && key.identifier.equalsIgnoreCase(identifier)) {
-                return Optional.of(entry.getValue());
-            }
-        }
-        Optional<StoredJSON> found = underlyingStorage.fetchJsonMadeAfter(identifier, timestamp);
-        found.ifPresent(storedJSON -> getCache().put(new TimestampedIdentifier(identifier, storedJSON.timestamp), storedJSON));
-        return found;
+        Optional<StoredJSON> cached = findCached(identifier, NavigableMap::lastEntry, NavigableMap::lowerEntry)
+                .filter(found -> found.timestamp > timestamp);
+        if (cached.isPresent()) return cached;
+        return cacheFound(identifier, underlyingStorage.fetchJsonMadeAfter(identifier, timestamp));
     }
 
     @Override
     public void invalidateOlder(String identifier, long timestamp) {
-        Set<TimestampedIdentifier> toInvalidate = new HashSet<>();
-        for (TimestampedIdentifier key : getCache().asMap().keySet()) {
-            if (key.timestamp < timestamp && key.identifier.equalsIgnoreCase(identifier)) {
-                toInvalidate.add(key);
+        NavigableMap<Long, StoredJSON> entries = index.get(TimestampedIdentifier.toIndexKey(identifier));
+        if (entries != null) {
+            Set<TimestampedIdentifier> toInvalidate = new HashSet<>();
+            for (Long older : entries.headMap(timestamp).keySet()) {
+                toInvalidate.add(new TimestampedIdentifier(identifier, older));
             }
+            getCache().invalidateAll(toInvalidate);
+            entries.headMap(timestamp).clear();
         }
-        toInvalidate.forEach(getCache()::invalidate);
 
         underlyingStorage.invalidateOlder(identifier, timestamp);
     }
 
     @Override
     public Optional<Long> getTimestamp(String identifier) {
-        for (TimestampedIdentifier key : getCache().asMap().keySet()) {
-            if (key.identifier.equalsIgnoreCase(identifier)) {
-                return Optional.of(key.timestamp);
-            }
-        }
-        return Optional.empty();
+        return findCached(identifier, NavigableMap::lastEntry, NavigableMap::lowerEntry)
+                .map(StoredJSON::getTimestamp);
     }
 
     static class TimestampedIdentifier {
         private final String identifier;
         private final long timestamp;
+        private final String indexKey;
 
         public TimestampedIdentifier(String identifier, long timestamp) {
             this.identifier = identifier;
             this.timestamp = timestamp;
+            this.indexKey = toIndexKey(identifier);
+        }
+
+        static String toIndexKey(String identifier) {
+            return identifier.toLowerCase(Locale.ROOT);
+        }
+
+        String getIndexKey() {
+            return indexKey;
         }
 
         @Override
@@ -144,12 +208,12 @@ public class JSONMemoryStorageShim implements JSONStorage {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             TimestampedIdentifier that = (TimestampedIdentifier) o;
-            return timestamp == that.timestamp && identifier.equals(that.identifier);
+            return timestamp == that.timestamp && indexKey.equals(that.indexKey);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(identifier, timestamp);
+            return Objects.hash(getIndexKey(), timestamp);
         }
     }
 }
@@ -0,0 +1,68 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.TaskSystem;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import net.playeranalytics.plugin.scheduling.RunnableFactory;
+import net.playeranalytics.plugin.scheduling.TimeAmount;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task that regenerates frequently requested json before it expires from memory cache.
+ * <p>
+ * This way the first visitor after expiry doesn't need to wait for the queries.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class JSONPreWarmingTask extends TaskSystem.Task {
+
+    private static final long PERIOD_MS = TimeUnit.MINUTES.toMillis(1L);
+
+    private final PlanConfig config;
+    private final AsyncJSONResolverService jsonResolverService;
+
+    @Inject
+    public JSONPreWarmingTask(
+            PlanConfig config,
+            AsyncJSONResolverService jsonResolverService
+    ) {
+        this.config = config;
+        this.jsonResolverService = jsonResolverService;
+    }
+
+    @Override
+    public void register(RunnableFactory runnableFactory) {
+        long period = TimeAmount.toTicks(PERIOD_MS, TimeUnit.MILLISECONDS);
+        runnableFactory.create(this).runTaskTimerAsynchronously(period, period);
+    }
+
+    @Override
+    public void run() {
+        long timeBudget = config.get(WebserverSettings.PRE_WARM_TIME_BUDGET);
+        int maxEntries = config.get(WebserverSettings.PRE_WARM_MAX_ENTRIES);
+        if (timeBudget <= 0L || maxEntries <= 0) return;
+
+        // Anything that could expire before the next run is regenerated now, with one period of margin.
+        jsonResolverService.preWarm(timeBudget, maxEntries, PERIOD_MS * 2);
+    }
+}
@@ -19,8 +19,13 @@ package com.djrapitops.plan.delivery.webserver.cache;
 import com.djrapitops.plan.SubSystem;
 import com.google.gson.Gson;
 
-import java.util.Objects;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * In charge of storing json somewhere for later retrieval.
@@ -66,20 +71,59 @@ public interface JSONStorage extends SubSystem {
     Optional<Long> getTimestamp(String identifier);
 
     final class StoredJSON {
-        public final String json;
+        private final byte[] bytes;
+        private final byte[] gzippedBytes;
         public final long timestamp;
 
         public StoredJSON(String json, long timestamp) {
-            this.json = json;
+            this(json.getBytes(StandardCharsets.UTF_8), timestamp);
+        }
+
+        /**
+         * Create a new StoredJSON.
+         * <p>
+         * The gzip compressed variant is created here once, so that sending the json doesn't need to compress it again.
+         *
+         * @param bytes     UTF-8 encoded json.
+         * @param timestamp Epoch ms the json was created.
+         */
+        public StoredJSON(byte[] bytes, long timestamp) {
+            this.bytes = bytes;
+            this.gzippedBytes = gzip(bytes);
             this.timestamp = timestamp;
         }
 
+        private static byte[] gzip(byte[] bytes) {
+            try (ByteArrayOutputStream bufferStream = new ByteArrayOutputStream(Math.max(32, bytes.length / 4))) {
+                try (GZIPOutputStream gzipStream = new GZIPOutputStream(bufferStream)) {
+                    gzipStream.write(bytes);
+                }
+                return bufferStream.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to gzip in memory, this should never happen", e);
+            }
+        }
+
         public static StoredJSON fromObject(Object json, long timestamp) {
             return new StoredJSON(new Gson().toJson(json), timestamp);
         }
 
         public String getJson() {
-            return json;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * @return UTF-8 encoded json.
+         */
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return gzip compressed UTF-8 encoded json.
+         */
+        public byte[] getGzippedBytes() {
+            return gzippedBytes;
         }
 
         public long getTimestamp() {
@@ -91,12 +135,12 @@ public interface JSONStorage extends SubSystem {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             StoredJSON that = (StoredJSON) o;
-            return timestamp == that.timestamp && Objects.equals(json, that.json);
+            return timestamp == that.timestamp && Arrays.equals(bytes, that.bytes);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(json, timestamp);
+            return 31 * Arrays.hashCode(bytes) + Long.hashCode(timestamp);
         }
     }
 }
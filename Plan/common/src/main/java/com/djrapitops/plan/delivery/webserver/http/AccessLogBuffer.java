@@ -0,0 +1,83 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.http;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-memory buffer of access log entries that are written to the database in batches by {@link AccessLogWriteTask}.
+ * <p>
+ * When the buffer is full the oldest entry is dropped, so that a slow database doesn't cause
+ * the webserver to use more memory or wait.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class AccessLogBuffer {
+
+    static final int CAPACITY = 10000;
+
+    private final BlockingQueue<AccessLogEntry> entries;
+    private final LongAdder dropped;
+
+    @Inject
+    public AccessLogBuffer() {
+        this(CAPACITY);
+    }
+
+    AccessLogBuffer(int capacity) {
+        entries = new ArrayBlockingQueue<>(capacity);
+        dropped = new LongAdder();
+    }
+
+    public void add(AccessLogEntry entry) {
+        while (!entries.offer(entry)) {
+            if (entries.poll() != null) dropped.increment();
+        }
+    }
+
+    /**
+     * Remove entries from the buffer.
+     *
+     * @param maxEntries Maximum number of entries to remove.
+     * @return Oldest entries in the order they were added.
+     */
+    public List<AccessLogEntry> drain(int maxEntries) {
+        List<AccessLogEntry> drained = new ArrayList<>(Math.min(maxEntries, entries.size()));
+        entries.drainTo(drained, maxEntries);
+        return drained;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get how many entries were dropped since last call.
+     *
+     * @return Count of dropped entries.
+     */
+    public long getAndResetDropped() {
+        return dropped.sumThenReset();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.http;
+
+/**
+ * A request to the webserver waiting to be stored in the access log.
+ *
+ * @author AuroraLS3
+ */
+public class AccessLogEntry {
+
+    private final long timestamp;
+    private final String accessAddress;
+    private final String method;
+    private final String url;
+    private final int responseCode;
+
+    public AccessLogEntry(long timestamp, String accessAddress, String method, String url, int responseCode) {
+        this.timestamp = timestamp;
+        this.accessAddress = accessAddress;
+        this.method = method;
+        this.url = url;
+        this.responseCode = responseCode;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getAccessAddress() {
+        return accessAddress;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getResponseCode() {
+        return responseCode;
+    }
+}
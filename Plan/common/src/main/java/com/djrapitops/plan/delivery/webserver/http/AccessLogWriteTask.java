@@ -0,0 +1,90 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.http;
+
+import com.djrapitops.plan.TaskSystem;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.transactions.events.StoreAccessLogTransaction;
+import net.playeranalytics.plugin.scheduling.RunnableFactory;
+import net.playeranalytics.plugin.scheduling.TimeAmount;
+import net.playeranalytics.plugin.server.PluginLogger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task that writes buffered access log entries to the database in batches.
+ * <p>
+ * Writing is skipped while the database is under heavy load, and the buffer drops the oldest entries if it fills up.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class AccessLogWriteTask extends TaskSystem.Task {
+
+    static final int MAX_BATCH_SIZE = 2500;
+
+    private final PlanConfig config;
+    private final AccessLogBuffer accessLogBuffer;
+    private final DBSystem dbSystem;
+    private final PluginLogger logger;
+
+    @Inject
+    public AccessLogWriteTask(
+            PlanConfig config,
+            AccessLogBuffer accessLogBuffer,
+            DBSystem dbSystem,
+            PluginLogger logger
+    ) {
+        this.config = config;
+        this.accessLogBuffer = accessLogBuffer;
+        this.dbSystem = dbSystem;
+        this.logger = logger;
+    }
+
+    @Override
+    public void register(RunnableFactory runnableFactory) {
+        long period = TimeAmount.toTicks(5L, TimeUnit.SECONDS);
+        runnableFactory.create(this).runTaskTimerAsynchronously(period, period);
+    }
+
+    @Override
+    public void run() {
+        Database database = dbSystem.getDatabase();
+        if (database.getState() != Database.State.OPEN || database.isUnderHeavyLoad()) return;
+
+        long dropped = accessLogBuffer.getAndResetDropped();
+        if (dropped > 0) {
+            logger.warn("Database was too slow to store access log, " + dropped + " oldest entries were not stored.");
+        }
+
+        // Entries older than this would be removed by next RemoveOldAccessLogTransaction
+        long removeOlderThan = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(config.get(WebserverSettings.REMOVE_ACCESS_LOG_AFTER_DAYS));
+        int batches = accessLogBuffer.size() / MAX_BATCH_SIZE + 1;
+        for (int i = 0; i < batches; i++) {
+            List<AccessLogEntry> entries = accessLogBuffer.drain(MAX_BATCH_SIZE);
+            entries.removeIf(entry -> entry.getTimestamp() < removeOlderThan);
+            if (entries.isEmpty()) continue;
+            database.executeTransaction(new StoreAccessLogTransaction(entries));
+        }
+    }
+}
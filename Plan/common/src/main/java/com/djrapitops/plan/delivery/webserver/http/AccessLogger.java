@@ -19,32 +19,25 @@ package com.djrapitops.plan.delivery.webserver.http;
 import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
 import com.djrapitops.plan.delivery.webserver.configuration.WebserverConfiguration;
-import com.djrapitops.plan.exceptions.database.DBOpException;
-import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.transactions.events.StoreRequestTransaction;
 import com.djrapitops.plan.utilities.dev.Untrusted;
-import com.djrapitops.plan.utilities.logging.ErrorContext;
-import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import net.playeranalytics.plugin.server.PluginLogger;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.concurrent.CompletionException;
 
 @Singleton
 public class AccessLogger {
 
     private final WebserverConfiguration webserverConfiguration;
-    private final DBSystem dbSystem;
+    private final AccessLogBuffer accessLogBuffer;
     private final PluginLogger logger;
-    private final ErrorLogger errorLogger;
 
     @Inject
-    public AccessLogger(WebserverConfiguration webserverConfiguration, DBSystem dbSystem, PluginLogger logger, ErrorLogger errorLogger) {
+    public AccessLogger(WebserverConfiguration webserverConfiguration, AccessLogBuffer accessLogBuffer, PluginLogger logger) {
         this.webserverConfiguration = webserverConfiguration;
-        this.dbSystem = dbSystem;
+        this.accessLogBuffer = accessLogBuffer;
         this.logger = logger;
-        this.errorLogger = errorLogger;
     }
 
     public void log(@Untrusted InternalRequest internalRequest, @Untrusted Request request, Response response) {
@@ -74,22 +67,14 @@ public class AccessLogger {
                     break;
             }
         }
-        try {
-            long timestamp = internalRequest.getTimestamp();
-            String accessAddress = internalRequest.getAccessAddress(webserverConfiguration);
-            String method = internalRequest.getMethod();
-            method = method != null ? method : "?";
-            String url = StoreRequestTransaction.getTruncatedURI(request, internalRequest);
-            int responseCode = response.getCode();
-            dbSystem.getDatabase().executeTransaction(
-                    new StoreRequestTransaction(timestamp, accessAddress, method, url, responseCode)
-            );
-        } catch (CompletionException | DBOpException e) {
-            errorLogger.warn(e, ErrorContext.builder()
-                    .related("Logging request failed")
-                    .related(getRequestURI(internalRequest, request))
-                    .build());
-        }
+        long timestamp = internalRequest.getTimestamp();
+        String accessAddress = internalRequest.getAccessAddress(webserverConfiguration);
+        String method = internalRequest.getMethod();
+        method = method != null ? method : "?";
+        String url = StoreRequestTransaction.getTruncatedURI(request, internalRequest);
+        int responseCode = response.getCode();
+        // Stored in batches by AccessLogWriteTask
+        accessLogBuffer.add(new AccessLogEntry(timestamp, accessAddress, method, url, responseCode));
     }
 
     @Untrusted
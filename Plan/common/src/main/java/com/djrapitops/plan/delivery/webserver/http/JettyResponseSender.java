@@ -24,11 +24,11 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jetty.http.HttpHeader;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Map;
+import java.util.Optional;
 import java.util.zip.GZIPOutputStream;
 
 public class JettyResponseSender {
@@ -105,6 +105,9 @@ public class JettyResponseSender {
     }
 
     private byte[] gzip() throws IOException {
+        Optional<byte[]> compressedAheadOfTime = response.getGzippedBytes();
+        if (compressedAheadOfTime.isPresent()) return compressedAheadOfTime.get();
+
         try (ByteArrayOutputStream bufferStream = new ByteArrayOutputStream();
              GZIPOutputStream gzipStream = new GZIPOutputStream(bufferStream)
         ) {
@@ -142,14 +145,6 @@ public class JettyResponseSender {
     }
 
     private void send(OutputStream out, byte[] bytes) throws IOException {
-        try (
-                ByteArrayInputStream bis = new ByteArrayInputStream(bytes)
-        ) {
-            byte[] buffer = new byte[2048];
-            int count;
-            while ((count = bis.read(buffer)) != -1) {
-                out.write(buffer, 0, count);
-            }
-        }
+        out.write(bytes);
     }
 }
@@ -28,6 +28,7 @@ import com.djrapitops.plan.utilities.dev.Untrusted;
 import com.djrapitops.plan.utilities.java.Maps;
 import org.eclipse.jetty.http.HttpHeader;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 /**
@@ -55,7 +56,8 @@ public abstract class JSONResolver implements Resolver {
 
         return Response.builder()
                 .setMimeType(MimeType.JSON)
-                .setJSONContent(storedJSON.getJson())
+                .setContent(storedJSON.getBytes(), StandardCharsets.UTF_8)
+                .setGzippedContent(storedJSON.getGzippedBytes())
                 .setHeader(HttpHeader.CACHE_CONTROL.asString(), CacheStrategy.CHECK_ETAG_USER_SPECIFIC)
                 .setHeader(HttpHeader.LAST_MODIFIED.asString(), getHttpLastModifiedFormatter().apply(storedJSON.getTimestamp()))
                 .setHeader(HttpHeader.ETAG.asString(), storedJSON.getTimestamp())
@@ -0,0 +1,168 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.resolver.json;
+
+import com.djrapitops.plan.delivery.domain.auth.WebPermission;
+import com.djrapitops.plan.delivery.domain.datatransfer.PlayerListPageDto;
+import com.djrapitops.plan.delivery.rendering.json.JSONFactory;
+import com.djrapitops.plan.delivery.web.resolver.MimeType;
+import com.djrapitops.plan.delivery.web.resolver.Resolver;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.web.resolver.exception.BadRequestException;
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import com.djrapitops.plan.delivery.web.resolver.request.URIQuery;
+import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.identification.Identifiers;
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.queries.objects.playertable.PlayersTablePage;
+import com.djrapitops.plan.utilities.dev.Untrusted;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Optional;
+
+/**
+ * Resolves /v1/playersTablePage JSON requests.
+ * <p>
+ * Unlike /v1/playersTable only a single page of the table is sorted and searched in the database and returned.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+@Path("/v1/playersTablePage")
+public class PlayersTablePageJSONResolver implements Resolver {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final Identifiers identifiers;
+    private final JSONFactory jsonFactory;
+
+    @Inject
+    public PlayersTablePageJSONResolver(
+            Identifiers identifiers,
+            JSONFactory jsonFactory
+    ) {
+        this.identifiers = identifiers;
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    public boolean canAccess(Request request) {
+        WebUser user = request.getUser().orElse(new WebUser(""));
+        if (request.getQuery().get("server").isPresent()) {
+            return user.hasPermission(WebPermission.PAGE_SERVER_PLAYERS);
+        }
+        // Assume players page
+        return user.hasPermission(WebPermission.ACCESS_PLAYERS)
+                || user.hasPermission(WebPermission.ACCESS_NETWORK) && user.hasPermission(WebPermission.PAGE_NETWORK_PLAYERS);
+    }
+
+    @GET
+    @Operation(
+            description = "Get a single page of player table data for /players page or a server",
+            responses = {
+                    @ApiResponse(responseCode = "200", content = @Content(mediaType = MimeType.JSON)),
+                    @ApiResponse(responseCode = "400", description = "If a parameter is not valid", content = @Content(mediaType = MimeType.JSON,
+                            examples = @ExampleObject("{\"status\": 400, \"error\": \"'size' must be between 1 and 1000\"}"))),
+            },
+            parameters = {
+                    @Parameter(in = ParameterIn.QUERY, name = "server", description = "Server identifier to get data for (optional)", examples = {
+                            @ExampleObject("Server 1"),
+                            @ExampleObject("1"),
+                            @ExampleObject("1fb39d2a-eb82-4868-b245-1fad17d823b3"),
+                    }),
+                    @Parameter(in = ParameterIn.QUERY, name = "page", description = "Page number starting from 0, ignored if 'cursor' is given (default 0)", example = "0"),
+                    @Parameter(in = ParameterIn.QUERY, name = "size", description = "Number of players on a page, 1-1000 (default 50)", example = "50"),
+                    @Parameter(in = ParameterIn.QUERY, name = "sort", description = "Column to sort by: playerName, activityIndex, playtimeActive, sessionCount, lastSeen, registered or country (default lastSeen)", example = "lastSeen"),
+                    @Parameter(in = ParameterIn.QUERY, name = "order", description = "asc or desc (default desc)", example = "desc"),
+                    @Parameter(in = ParameterIn.QUERY, name = "search", description = "Part of player name to search for (optional)", example = "Aurora"),
+                    @Parameter(in = ParameterIn.QUERY, name = "cursor", description = "'nextCursor' of the previous page, to get the page after it, not available when sorting by activityIndex (optional)"),
+            },
+            requestBody = @RequestBody(content = @Content(schema = @Schema(implementation = PlayerListPageDto.class)))
+    )
+    @Override
+    public Optional<Response> resolve(Request request) {
+        return Optional.of(getResponse(request));
+    }
+
+    private Response getResponse(@Untrusted Request request) {
+        PlayersTablePage page = getPage(request.getQuery());
+        PlayerListPageDto playerListPage;
+        if (request.getQuery().get("server").isPresent()) {
+            ServerUUID serverUUID = identifiers.getServerUUID(request); // Can throw BadRequestException
+            playerListPage = jsonFactory.serverPlayersTablePage(serverUUID, page);
+        } else {
+            // Assume players page
+            playerListPage = jsonFactory.networkPlayersTablePage(page);
+        }
+        return Response.builder()
+                .setMimeType(MimeType.JSON)
+                .setJSONContent(playerListPage)
+                .build();
+    }
+
+    private PlayersTablePage getPage(@Untrusted URIQuery query) {
+        int pageNumber = getInt(query, "page", 0);
+        if (pageNumber < 0) throw new BadRequestException("'page' can not be negative");
+        int pageSize = getInt(query, "size", DEFAULT_PAGE_SIZE);
+        if (pageSize < 1 || MAX_PAGE_SIZE < pageSize) {
+            throw new BadRequestException("'size' must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        @Untrusted String sort = query.get("sort").orElse(PlayersTablePage.SortColumn.LAST_SEEN.getName());
+        PlayersTablePage.SortColumn sortColumn = PlayersTablePage.SortColumn.getByName(sort)
+                .orElseThrow(() -> new BadRequestException("'sort' is not a sortable column"));
+
+        @Untrusted String order = query.get("order").orElse("desc");
+        if (!"asc".equalsIgnoreCase(order) && !"desc".equalsIgnoreCase(order)) {
+            throw new BadRequestException("'order' must be 'asc' or 'desc'");
+        }
+        boolean descending = "desc".equalsIgnoreCase(order);
+
+        @Untrusted PlayersTablePage.Cursor cursor = null;
+        Optional<String> encodedCursor = query.get("cursor");
+        if (encodedCursor.isPresent()) {
+            cursor = PlayersTablePage.Cursor.decode(encodedCursor.get())
+                    .filter(decoded -> sortColumn.isValidValue(decoded.getValue()))
+                    .orElseThrow(() -> new BadRequestException("'cursor' is not valid for the sorted column"));
+        }
+
+        @Untrusted String search = query.get("search").orElse(null);
+        long offset = (long) pageNumber * pageSize;
+        if (Integer.MAX_VALUE < offset) throw new BadRequestException("'page' is too large");
+        return new PlayersTablePage(sortColumn, descending, search, (int) offset, pageSize, cursor);
+    }
+
+    private int getInt(@Untrusted URIQuery query, String parameter, int defaultValue) {
+        try {
+            return query.get(parameter).map(Integer::parseInt).orElse(defaultValue);
+        } catch (@Untrusted NumberFormatException e) {
+            throw new BadRequestException("'" + parameter + "' is not a number");
+        }
+    }
+}
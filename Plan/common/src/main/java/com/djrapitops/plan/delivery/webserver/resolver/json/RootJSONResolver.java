@@ -22,6 +22,9 @@ import com.djrapitops.plan.delivery.web.resolver.CompositeResolver;
 import com.djrapitops.plan.delivery.webserver.cache.AsyncJSONResolverService;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
 import com.djrapitops.plan.delivery.webserver.http.WebServer;
+import com.djrapitops.plan.delivery.webserver.resolver.json.debug.ExtensionUpdatesJSONResolver;
+import com.djrapitops.plan.delivery.webserver.resolver.json.debug.JSONGenerationJSONResolver;
+import com.djrapitops.plan.delivery.webserver.resolver.json.debug.QueryStatisticsJSONResolver;
 import com.djrapitops.plan.delivery.webserver.resolver.json.metadata.*;
 import com.djrapitops.plan.delivery.webserver.resolver.json.plugins.ExtensionJSONResolver;
 import com.djrapitops.plan.delivery.webserver.resolver.json.plugins.PluginHistoryJSONResolver;
@@ -67,6 +70,7 @@ public class RootJSONResolver {
             SessionsJSONResolver sessionsJSONResolver,
             PlayersJSONResolver playersJSONResolver,
             PlayersTableJSONResolver playersTableJSONResolver,
+            PlayersTablePageJSONResolver playersTablePageJSONResolver,
             ServerOverviewJSONCreator serverOverviewJSONCreator,
             OnlineActivityOverviewJSONCreator onlineActivityOverviewJSONCreator,
             SessionsOverviewJSONCreator sessionsOverviewJSONCreator,
@@ -98,7 +102,10 @@ public class RootJSONResolver {
             WebGroupPermissionJSONResolver webGroupPermissionJSONResolver,
             WebPermissionJSONResolver webPermissionJSONResolver,
             WebGroupSaveJSONResolver webGroupSaveJSONResolver,
-            WebGroupDeleteJSONResolver webGroupDeleteJSONResolver
+            WebGroupDeleteJSONResolver webGroupDeleteJSONResolver,
+            ExtensionUpdatesJSONResolver extensionUpdatesJSONResolver,
+            QueryStatisticsJSONResolver queryStatisticsJSONResolver,
+            JSONGenerationJSONResolver jsonGenerationJSONResolver
     ) {
         this.identifiers = identifiers;
         this.asyncJSONResolverService = asyncJSONResolverService;
@@ -106,6 +113,7 @@ public class RootJSONResolver {
         readOnlyResourcesBuilder = CompositeResolver.builder()
                 .add("players", playersJSONResolver)
                 .add("playersTable", playersTableJSONResolver)
+                .add("playersTablePage", playersTablePageJSONResolver)
                 .add("sessions", sessionsJSONResolver)
                 .add("kills", playerKillsJSONResolver)
                 .add("graph", graphsJSONResolver)
@@ -131,7 +139,12 @@ public class RootJSONResolver {
                 .add("retention", retentionJSONResolver)
                 .add("joinAddresses", playerJoinAddressJSONResolver)
                 .add("preferences", preferencesJSONResolver)
-                .add("gameAllowlistBounces", allowlistJSONResolver);
+                .add("gameAllowlistBounces", allowlistJSONResolver)
+                .add("debug", CompositeResolver.builder()
+                        .add("extensions", extensionUpdatesJSONResolver)
+                        .add("queries", queryStatisticsJSONResolver)
+                        .add("json", jsonGenerationJSONResolver)
+                        .build());
 
         this.webServer = webServer;
         // These endpoints require authentication to be enabled.
@@ -0,0 +1,98 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.resolver.json.debug;
+
+import com.djrapitops.plan.delivery.domain.auth.WebPermission;
+import com.djrapitops.plan.delivery.web.resolver.MimeType;
+import com.djrapitops.plan.delivery.web.resolver.Resolver;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.extension.ExtensionSvc;
+import com.djrapitops.plan.extension.implementation.ExtensionUpdateHealth;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.*;
+
+/**
+ * Resolves requests for /v1/debug/extensions.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+@Path("/v1/debug/extensions")
+public class ExtensionUpdatesJSONResolver implements Resolver {
+
+    private final ExtensionSvc extensionService;
+
+    @Inject
+    public ExtensionUpdatesJSONResolver(ExtensionSvc extensionService) {
+        this.extensionService = extensionService;
+    }
+
+    @Override
+    public boolean canAccess(Request request) {
+        return request.getUser().orElse(new WebUser("")).hasPermission(WebPermission.ACCESS_ERRORS);
+    }
+
+    @GET
+    @Operation(
+            description = "Get how long updates of each DataExtension take on this server, which extensions are skipped for going over their time budget, and how many updates were cancelled before they started",
+            responses = {
+                    @ApiResponse(responseCode = "200", content = @Content(mediaType = MimeType.JSON)),
+            },
+            requestBody = @RequestBody(content = @Content(examples = @ExampleObject()))
+    )
+    @Override
+    public Optional<Response> resolve(Request request) {
+        return Optional.of(getResponse());
+    }
+
+    private Response getResponse() {
+        long now = System.currentTimeMillis();
+        List<Map<String, Object>> extensions = new ArrayList<>();
+        for (Map.Entry<String, ExtensionUpdateHealth> entry : extensionService.getExtensionHealth().entrySet()) {
+            ExtensionUpdateHealth health = entry.getValue();
+            long skipUntil = health.getSkipUntil();
+
+            Map<String, Object> json = new HashMap<>();
+            json.put("extension", entry.getKey());
+            json.put("updates", health.getUpdateCount());
+            json.put("averageMs", health.getAverageMs());
+            json.put("maxMs", health.getMaxMs());
+            json.put("overBudget", health.getOverBudgetCount());
+            json.put("skipped", health.getSkippedCount());
+            json.put("queuedTimeouts", health.getQueuedTimeoutCount());
+            json.put("skippedUntil", skipUntil > now ? skipUntil : null);
+            json.put("histogram", health.getHistogram());
+            extensions.add(json);
+        }
+
+        return Response.builder()
+                .setMimeType(MimeType.JSON)
+                .setJSONContent(Collections.singletonMap("extensions", extensions))
+                .build();
+    }
+}
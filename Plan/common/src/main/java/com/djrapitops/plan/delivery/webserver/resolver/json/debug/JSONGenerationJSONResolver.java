@@ -0,0 +1,100 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.resolver.json.debug;
+
+import com.djrapitops.plan.delivery.domain.auth.WebPermission;
+import com.djrapitops.plan.delivery.web.resolver.MimeType;
+import com.djrapitops.plan.delivery.web.resolver.Resolver;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.delivery.webserver.cache.AsyncJSONResolverService;
+import com.djrapitops.plan.delivery.webserver.cache.DataID;
+import com.djrapitops.plan.delivery.webserver.cache.JSONGenerationMetrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.*;
+
+/**
+ * Resolves requests for /v1/debug/json.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+@Path("/v1/debug/json")
+public class JSONGenerationJSONResolver implements Resolver {
+
+    private final AsyncJSONResolverService asyncJSONResolverService;
+
+    @Inject
+    public JSONGenerationJSONResolver(AsyncJSONResolverService asyncJSONResolverService) {
+        this.asyncJSONResolverService = asyncJSONResolverService;
+    }
+
+    @Override
+    public boolean canAccess(Request request) {
+        return request.getUser().orElse(new WebUser("")).hasPermission(WebPermission.ACCESS_ERRORS);
+    }
+
+    @GET
+    @Operation(
+            description = "Get how long cached JSON of each type waits in queue and takes to generate, and how often stale JSON is served",
+            responses = {
+                    @ApiResponse(responseCode = "200", content = @Content(mediaType = MimeType.JSON)),
+            },
+            requestBody = @RequestBody(content = @Content(examples = @ExampleObject()))
+    )
+    @Override
+    public Optional<Response> resolve(Request request) {
+        return Optional.of(getResponse());
+    }
+
+    private Response getResponse() {
+        List<Map<String, Object>> generated = new ArrayList<>();
+        for (Map.Entry<DataID, JSONGenerationMetrics> entry : asyncJSONResolverService.getMetrics().entrySet()) {
+            JSONGenerationMetrics metrics = entry.getValue();
+            if (metrics.getGenerations() == 0 && metrics.getServes() == 0) continue;
+
+            Map<String, Object> json = new HashMap<>();
+            json.put("dataID", entry.getKey().name());
+            json.put("generations", metrics.getGenerations());
+            json.put("failures", metrics.getFailures());
+            json.put("averageQueueWaitMs", metrics.getAverageQueueWaitMs());
+            json.put("averageGenerationMs", metrics.getAverageGenerationMs());
+            json.put("serves", metrics.getServes());
+            json.put("staleServes", metrics.getStaleServes());
+            json.put("staleServeRate", metrics.getStaleServeRate());
+            generated.add(json);
+        }
+
+        Map<String, Object> json = new HashMap<>();
+        json.put("queuedGenerations", asyncJSONResolverService.getQueuedGenerationCount());
+        json.put("json", generated);
+        return Response.builder()
+                .setMimeType(MimeType.JSON)
+                .setJSONContent(json)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.resolver.json.debug;
+
+import com.djrapitops.plan.delivery.domain.auth.WebPermission;
+import com.djrapitops.plan.delivery.web.resolver.MimeType;
+import com.djrapitops.plan.delivery.web.resolver.Resolver;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.web.resolver.exception.BadRequestException;
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.storage.database.QueryStatistics;
+import com.djrapitops.plan.utilities.dev.Untrusted;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.*;
+
+/**
+ * Resolves requests for /v1/debug/queries.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+@Path("/v1/debug/queries")
+public class QueryStatisticsJSONResolver implements Resolver {
+
+    private static final int DEFAULT_LIMIT = 25;
+
+    @Inject
+    public QueryStatisticsJSONResolver() {
+        // Inject Constructor.
+    }
+
+    @Override
+    public boolean canAccess(Request request) {
+        return request.getUser().orElse(new WebUser("")).hasPermission(WebPermission.ACCESS_ERRORS);
+    }
+
+    @GET
+    @Operation(
+            description = "Get database queries that took the longest on average since the plugin was enabled",
+            parameters = @Parameter(in = ParameterIn.QUERY, name = "limit", description = "How many queries to return (default 25)"),
+            responses = {
+                    @ApiResponse(responseCode = "200", content = @Content(mediaType = MimeType.JSON)),
+                    @ApiResponse(responseCode = "400", description = "If 'limit' is not a number", content = @Content(mediaType = MimeType.JSON,
+                            examples = @ExampleObject("{\"status\": 400, \"error\": \"'limit' is not a number\"}"))),
+            },
+            requestBody = @RequestBody(content = @Content(examples = @ExampleObject()))
+    )
+    @Override
+    public Optional<Response> resolve(Request request) {
+        return Optional.of(getResponse(getLimit(request)));
+    }
+
+    private int getLimit(Request request) {
+        try {
+            return request.getQuery().get("limit").map(Integer::parseInt).orElse(DEFAULT_LIMIT);
+        } catch (@Untrusted NumberFormatException e) {
+            throw new BadRequestException("'limit' is not a number");
+        }
+    }
+
+    private Response getResponse(int limit) {
+        QueryStatistics statistics = QueryStatistics.getInstance();
+        List<Map<String, Object>> queries = new ArrayList<>();
+        for (QueryStatistics.Entry entry : statistics.getSlowest(limit)) {
+            Map<String, Object> json = new HashMap<>();
+            json.put("query", entry.getName());
+            json.put("sql", entry.getSql());
+            json.put("sqlBytes", entry.getSqlBytes());
+            json.put("executions", entry.getExecutions());
+            json.put("averageMs", entry.getAverageMs());
+            json.put("maxMs", entry.getMaxMs());
+            json.put("totalMs", entry.getTotalMs());
+            json.put("averageRows", entry.getAverageRows());
+            json.put("maxRows", entry.getMaxRows());
+            json.put("histogram", entry.getHistogram());
+            queries.add(json);
+        }
+
+        Map<String, Object> json = new HashMap<>();
+        json.put("tracked", statistics.getQueryCount());
+        json.put("queries", queries);
+        return Response.builder()
+                .setMimeType(MimeType.JSON)
+                .setJSONContent(json)
+                .build();
+    }
+}
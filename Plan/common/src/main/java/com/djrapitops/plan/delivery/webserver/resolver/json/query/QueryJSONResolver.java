@@ -43,9 +43,10 @@ import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
-import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexSnapshotQueries;
 import com.djrapitops.plan.storage.database.queries.filter.Filter;
 import com.djrapitops.plan.storage.database.queries.filter.QueryFilters;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.queries.objects.GeoInfoQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.QueryTablePlayersQuery;
@@ -232,7 +233,8 @@ public class QueryJSONResolver implements Resolver {
                     .flatMap(queryTimestamp -> jsonStorage.fetchExactJson("query", queryTimestamp))
                     .map(results -> Response.builder()
                             .setMimeType(MimeType.JSON)
-                            .setJSONContent(results.json)
+                            .setContent(results.getBytes(), StandardCharsets.UTF_8)
+                            .setGzippedContent(results.getGzippedBytes())
                             .build());
         } catch (@Untrusted NumberFormatException e) {
             throw new BadRequestException("Could not parse 'timestamp' into a number. Remove parameter or fix it.");
@@ -256,14 +258,15 @@ public class QueryJSONResolver implements Resolver {
 
             return Response.builder()
                     .setMimeType(MimeType.JSON)
-                    .setJSONContent(stored.json)
+                    .setContent(stored.getBytes(), StandardCharsets.UTF_8)
+                    .setGzippedContent(stored.getGzippedBytes())
                     .build();
         } catch (ParseException e) {
             throw new BadRequestException("'view' date format was incorrect (expecting afterDate dd/mm/yyyy, afterTime hh:mm, beforeDate dd/mm/yyyy, beforeTime hh:mm})");
         }
     }
 
-    private Map<String, Object> getDataFor(Set<Integer> userIds, ViewDto view) throws ParseException {
+    private Map<String, Object> getDataFor(UserIdSet userIds, ViewDto view) throws ParseException {
         long after = view.getAfterEpochMs();
         long before = view.getBeforeEpochMs();
         List<ServerUUID> serverUUIDs = view.getServerUUIDs();
@@ -276,7 +279,7 @@ public class QueryJSONResolver implements Resolver {
                 .build();
     }
 
-    private Map<String, String> getSessionSummaryData(Set<Integer> userIds, List<ServerUUID> serverUUIDs, long after, long before) {
+    private Map<String, String> getSessionSummaryData(UserIdSet userIds, List<ServerUUID> serverUUIDs, long after, long before) {
         Database database = dbSystem.getDatabase();
         Map<String, Long> summary = database.query(SessionQueries.summaryOfPlayers(userIds, serverUUIDs, after, before));
         Map<String, String> formattedSummary = new HashMap<>();
@@ -289,29 +292,28 @@ public class QueryJSONResolver implements Resolver {
         return formattedSummary;
     }
 
-    private Map<String, Object> getGeolocationData(Set<Integer> userIds) {
+    private Map<String, Object> getGeolocationData(UserIdSet userIds) {
         Database database = dbSystem.getDatabase();
         return graphJSONCreator.createGeolocationJSON(
                 database.query(GeoInfoQueries.networkGeolocationCounts(userIds))
         );
     }
 
-    private Map<String, Object> getActivityGraphData(Set<Integer> userIds, List<ServerUUID> serverUUIDs, long after, long before) {
+    private Map<String, Object> getActivityGraphData(UserIdSet userIds, List<ServerUUID> serverUUIDs, long after, long before) {
         Database database = dbSystem.getDatabase();
         Long threshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
         long twoMonthsBeforeLastDate = before - TimeAmount.MONTH.toMillis(2L);
         long stopDate = Math.max(twoMonthsBeforeLastDate, after);
 
-        DateMap<Map<String, Integer>> activityData = new DateMap<>();
-        for (long time = before; time >= stopDate; time -= TimeAmount.WEEK.toMillis(1L)) {
-            activityData.put(time, database.query(NetworkActivityIndexQueries.fetchActivityIndexGroupingsOn(time, threshold, userIds, serverUUIDs)));
-        }
+        DateMap<Map<String, Integer>> activityData = database.query(ActivityIndexSnapshotQueries.fetchNetworkWeeklyActivityIndexGroupings(
+                before, stopDate, threshold, userIds, serverUUIDs
+        ));
 
         return graphJSONCreator.createActivityGraphJSON(activityData);
     }
 
-    private PlayerListDto getPlayersTableData(Set<Integer> userIds, List<ServerUUID> serverUUIDs, long after, long before) {
+    private PlayerListDto getPlayersTableData(UserIdSet userIds, List<ServerUUID> serverUUIDs, long after, long before) {
         Database database = dbSystem.getDatabase();
         return new PlayersTableJSONCreator(
                 database.query(new QueryTablePlayersQuery(userIds, serverUUIDs, after, before, config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD))),
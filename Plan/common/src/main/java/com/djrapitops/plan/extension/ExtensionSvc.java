@@ -20,6 +20,7 @@ import com.djrapitops.plan.component.ComponentSvc;
 import com.djrapitops.plan.extension.builder.ExtensionDataBuilder;
 import com.djrapitops.plan.extension.implementation.CallerImplementation;
 import com.djrapitops.plan.extension.implementation.ExtensionRegister;
+import com.djrapitops.plan.extension.implementation.ExtensionUpdateHealth;
 import com.djrapitops.plan.extension.implementation.ExtensionWrapper;
 import com.djrapitops.plan.extension.implementation.builder.ExtDataBuilder;
 import com.djrapitops.plan.extension.implementation.providers.gathering.DataValueGatherer;
@@ -28,18 +29,18 @@ import com.djrapitops.plan.identification.UUIDUtility;
 import com.djrapitops.plan.processing.Processing;
 import com.djrapitops.plan.settings.config.ExtensionSettings;
 import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import net.playeranalytics.plugin.server.PluginLogger;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -61,7 +62,9 @@ public class ExtensionSvc implements ExtensionService {
     private final ErrorLogger errorLogger;
 
     private final Map<String, DataValueGatherer> extensionGatherers;
+    private final Map<String, ExtensionUpdateHealth> extensionHealth;
     private final AtomicBoolean enabled;
+    private ThreadPoolExecutor updateExecutor;
 
     @Inject
     public ExtensionSvc(
@@ -85,10 +88,26 @@ public class ExtensionSvc implements ExtensionService {
         this.logger = logger;
         this.errorLogger = errorLogger;
 
-        extensionGatherers = new HashMap<>();
+        extensionGatherers = new ConcurrentHashMap<>();
+        extensionHealth = new ConcurrentHashMap<>();
         enabled = new AtomicBoolean(true);
     }
 
+    private synchronized ExecutorService getUpdateExecutor() {
+        if (updateExecutor == null || updateExecutor.isShutdown()) {
+            int threads = config.get(DataGatheringSettings.EXTENSION_THREADS);
+            updateExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(1000),
+                    new BasicThreadFactory.Builder()
+                            .namingPattern("Plan Extension-update-pool-%d")
+                            .uncaughtExceptionHandler((thread, throwable) ->
+                                    errorLogger.warn(throwable, ErrorContext.builder().build())
+                            ).build());
+            updateExecutor.allowCoreThreadTimeOut(true);
+        }
+        return updateExecutor;
+    }
+
     public void register() {
         Holder.set(this);
     }
@@ -123,6 +142,7 @@ public class ExtensionSvc implements ExtensionService {
         DataValueGatherer gatherer = new DataValueGatherer(extension, dbSystem, componentService, serverInfo, errorLogger);
         gatherer.storeExtensionInformation();
         extensionGatherers.put(pluginName, gatherer);
+        extensionHealth.put(pluginName, new ExtensionUpdateHealth());
 
         processing.submitNonCritical(() -> updateServerValues(gatherer, CallEvents.SERVER_EXTENSION_REGISTER));
 
@@ -133,6 +153,7 @@ public class ExtensionSvc implements ExtensionService {
     @Override
     public void unregister(DataExtension extension) {
         extensionGatherers.remove(extension.getPluginName());
+        extensionHealth.remove(extension.getPluginName());
     }
 
     @Override
@@ -161,9 +182,21 @@ public class ExtensionSvc implements ExtensionService {
 
     public void updatePlayerValues(UUID playerUUID, String playerName, CallEvents event) {
         if (!enabled.get()) return; // Plugin is disabling
+        if (playerUUID == null && playerName == null) return;
+
+        UUID realUUID = playerUUID != null ? playerUUID : uuidUtility.getUUIDOf(playerName);
+        if (realUUID == null) return;
+
+        String realPlayerName = playerName != null ?
+                playerName :
+                uuidUtility.getNameOf(realUUID).orElse(null);
+
+        List<ExtensionUpdate> updates = new ArrayList<>();
         for (DataValueGatherer gatherer : extensionGatherers.values()) {
-            updatePlayerValues(gatherer, playerUUID, playerName, event);
+            if (gatherer.shouldSkipEvent(event)) continue;
+            startUpdate(gatherer, () -> gatherer.updateValues(realUUID, realPlayerName)).ifPresent(updates::add);
         }
+        awaitUpdates(updates);
     }
 
     public void updatePlayerValues(DataValueGatherer gatherer, UUID playerUUID, String playerName, CallEvents event) {
@@ -178,24 +211,137 @@ public class ExtensionSvc implements ExtensionService {
                 playerName :
                 uuidUtility.getNameOf(realUUID).orElse(null);
 
-        gatherer.updateValues(realUUID, realPlayerName);
+        startUpdate(gatherer, () -> gatherer.updateValues(realUUID, realPlayerName))
+                .ifPresent(update -> awaitUpdates(Collections.singletonList(update)));
     }
 
     public void updateServerValues(CallEvents event) {
         if (!enabled.get()) return; // Plugin is disabling
+        List<ExtensionUpdate> updates = new ArrayList<>();
         for (DataValueGatherer gatherer : extensionGatherers.values()) {
-            updateServerValues(gatherer, event);
+            if (gatherer.shouldSkipEvent(event)) continue;
+            startUpdate(gatherer, gatherer::updateValues).ifPresent(updates::add);
         }
+        awaitUpdates(updates);
     }
 
     public void updateServerValues(DataValueGatherer gatherer, CallEvents event) {
         if (!enabled.get()) return; // Plugin is disabling
         if (gatherer.shouldSkipEvent(event)) return;
 
-        gatherer.updateValues();
+        startUpdate(gatherer, gatherer::updateValues)
+                .ifPresent(update -> awaitUpdates(Collections.singletonList(update)));
+    }
+
+    private Optional<ExtensionUpdate> startUpdate(DataValueGatherer gatherer, Runnable updateValues) {
+        String pluginName = gatherer.getPluginName();
+        ExtensionUpdateHealth health = extensionHealth.computeIfAbsent(pluginName, key -> new ExtensionUpdateHealth());
+        if (health.shouldSkip(System.currentTimeMillis())) return Optional.empty();
+
+        long budgetMs = config.get(DataGatheringSettings.EXTENSION_TIME_BUDGET);
+        ExtensionUpdate update = new ExtensionUpdate(pluginName, health, budgetMs, updateValues);
+        try {
+            update.future = getUpdateExecutor().submit(update);
+            return Optional.of(update);
+        } catch (RejectedExecutionException tooManyUpdates) {
+            // Plugin is disabling or too many updates are waiting, skip this update.
+            return Optional.empty();
+        }
+    }
+
+    private void awaitUpdates(List<ExtensionUpdate> updates) {
+        // Updates are waited for one by one, but each of them is running in parallel with the others.
+        for (ExtensionUpdate update : updates) {
+            try {
+                awaitUpdate(update);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (ExtensionUpdate notWaited : updates) {
+                    notWaited.future.cancel(true);
+                }
+                return;
+            }
+        }
+    }
+
+    private void awaitUpdate(ExtensionUpdate update) throws InterruptedException {
+        // Time spent waiting for a free thread does not count towards the budget of the extension,
+        // but an update that has not started within the budget is cancelled and counted as a queued timeout.
+        long waitForStartUntil = System.currentTimeMillis() + update.budgetMs;
+        while (true) {
+            long startedAt = update.startedAt;
+            long deadline = startedAt > 0 ? startedAt + update.budgetMs : waitForStartUntil;
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) break;
+            try {
+                update.future.get(remaining, TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException notYetDone) {
+                // Check the deadline again, the update might have started while waiting.
+            } catch (ExecutionException e) {
+                errorLogger.warn(e.getCause(), ErrorContext.builder()
+                        .whatToDo("Report and/or disable " + update.pluginName + " extension in the Plan config.")
+                        .related(update.pluginName)
+                        .build());
+                return;
+            } catch (CancellationException disabling) {
+                return;
+            }
+        }
+
+        if (!update.future.cancel(true)) return; // Finished just now
+        if (update.startedAt <= 0) {
+            update.health.recordQueuedTimeout();
+        } else {
+            long skippedForMs = update.health.recordOverBudget(System.currentTimeMillis());
+            if (skippedForMs > 0) {
+                logger.warn("Extension " + update.pluginName + " took longer than " + update.budgetMs + "ms to update " +
+                        ExtensionUpdateHealth.OVER_BUDGET_LIMIT + " times in a row, its data is not updated for the next " +
+                        TimeUnit.MILLISECONDS.toMinutes(skippedForMs) + " minutes.");
+            }
+        }
+    }
+
+    /**
+     * Get update statistics of registered extensions.
+     *
+     * @return Map of plugin name to statistics, ordered by plugin name.
+     */
+    public Map<String, ExtensionUpdateHealth> getExtensionHealth() {
+        return new TreeMap<>(extensionHealth);
     }
 
     public void disableUpdates() {
         enabled.set(false);
+        synchronized (this) {
+            if (updateExecutor != null) updateExecutor.shutdownNow();
+        }
+    }
+
+    private static class ExtensionUpdate implements Runnable {
+        private final String pluginName;
+        private final ExtensionUpdateHealth health;
+        private final long budgetMs;
+        private final Runnable updateValues;
+        private volatile long startedAt;
+        private Future<?> future;
+
+        ExtensionUpdate(String pluginName, ExtensionUpdateHealth health, long budgetMs, Runnable updateValues) {
+            this.pluginName = pluginName;
+            this.health = health;
+            this.budgetMs = budgetMs;
+            this.updateValues = updateValues;
+        }
+
+        @Override
+        public void run() {
+            long start = System.currentTimeMillis();
+            startedAt = start;
+            try {
+                updateValues.run();
+            } finally {
+                health.recordUpdate(System.currentTimeMillis() - start, budgetMs);
+            }
+        }
     }
 }
\ No newline at end of file
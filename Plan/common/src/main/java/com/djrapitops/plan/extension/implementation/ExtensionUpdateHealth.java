@@ -0,0 +1,196 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of how long updates of a DataExtension take, and whether the updates should be skipped.
+ * <p>
+ * After {@link #OVER_BUDGET_LIMIT} updates in a row go over the time budget the extension is skipped for a while.
+ * The skip doubles every time the next update after a skip goes over the budget again, up to {@link #MAX_BACKOFF_MS}.
+ * <p>
+ * Updates that are cancelled before they start, because all update threads were busy, are counted separately.
+ *
+ * @author AuroraLS3
+ */
+public class ExtensionUpdateHealth {
+
+    public static final int OVER_BUDGET_LIMIT = 3;
+    public static final long BASE_BACKOFF_MS = TimeUnit.MINUTES.toMillis(1L);
+    public static final long MAX_BACKOFF_MS = TimeUnit.HOURS.toMillis(1L);
+
+    private static final long[] BUCKET_LIMITS_MS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final AtomicLongArray histogram;
+    private final LongAdder updates;
+    private final LongAdder totalMs;
+    private final LongAdder overBudget;
+    private final LongAdder skipped;
+    private final LongAdder queuedTimeouts;
+    private final AtomicLong maxMs;
+
+    private int overBudgetInARow;
+    private int backoffs;
+    private long skipUntil;
+
+    public ExtensionUpdateHealth() {
+        histogram = new AtomicLongArray(BUCKET_LIMITS_MS.length + 1);
+        updates = new LongAdder();
+        totalMs = new LongAdder();
+        overBudget = new LongAdder();
+        skipped = new LongAdder();
+        queuedTimeouts = new LongAdder();
+        maxMs = new AtomicLong();
+    }
+
+    /**
+     * Check if an update should be skipped, counting the skip.
+     *
+     * @param now Epoch ms
+     * @return true if the extension is backing off.
+     */
+    public synchronized boolean shouldSkip(long now) {
+        if (now < skipUntil) {
+            skipped.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Record an update that finished.
+     *
+     * @param durationMs How long the update took.
+     * @param budgetMs   Time budget of the update.
+     */
+    public void recordUpdate(long durationMs, long budgetMs) {
+        updates.increment();
+        totalMs.add(durationMs);
+        histogram.incrementAndGet(getBucket(durationMs));
+        maxMs.accumulateAndGet(durationMs, Math::max);
+
+        if (durationMs <= budgetMs) {
+            recordWithinBudget();
+        }
+        // Over budget updates are recorded by the caller that stopped waiting for the update.
+    }
+
+    private synchronized void recordWithinBudget() {
+        overBudgetInARow = 0;
+        backoffs = 0;
+    }
+
+    /**
+     * Record an update that did not finish within the time budget.
+     *
+     * @param now Epoch ms
+     * @return How long the extension is skipped for in ms, 0 if it is not skipped.
+     */
+    public synchronized long recordOverBudget(long now) {
+        overBudget.increment();
+        overBudgetInARow++;
+        if (overBudgetInARow < OVER_BUDGET_LIMIT) return 0L;
+
+        long backoff = Math.min(BASE_BACKOFF_MS << Math.min(backoffs, 16), MAX_BACKOFF_MS);
+        backoffs++;
+        skipUntil = now + backoff;
+        // Next update after the skip decides if the extension is skipped again.
+        overBudgetInARow = OVER_BUDGET_LIMIT - 1;
+        return backoff;
+    }
+
+    /**
+     * Record an update that was cancelled because it did not start within the time budget.
+     */
+    public void recordQueuedTimeout() {
+        queuedTimeouts.increment();
+    }
+
+    private static int getBucket(long durationMs) {
+        for (int i = 0; i < BUCKET_LIMITS_MS.length; i++) {
+            if (durationMs < BUCKET_LIMITS_MS[i]) return i;
+        }
+        return BUCKET_LIMITS_MS.length;
+    }
+
+    public long getUpdateCount() {
+        return updates.sum();
+    }
+
+    public double getAverageMs() {
+        long count = updates.sum();
+        return count == 0 ? 0.0 : (double) totalMs.sum() / count;
+    }
+
+    public long getMaxMs() {
+        return maxMs.get();
+    }
+
+    public long getOverBudgetCount() {
+        return overBudget.sum();
+    }
+
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    public long getQueuedTimeoutCount() {
+        return queuedTimeouts.sum();
+    }
+
+    public synchronized long getSkipUntil() {
+        return skipUntil;
+    }
+
+    /**
+     * Get the latency histogram.
+     *
+     * @return Buckets in order, each with the upper limit (exclusive, null for the last bucket) and count.
+     */
+    public List<Bucket> getHistogram() {
+        List<Bucket> buckets = new ArrayList<>();
+        for (int i = 0; i < histogram.length(); i++) {
+            Long lessThanMs = i < BUCKET_LIMITS_MS.length ? BUCKET_LIMITS_MS[i] : null;
+            buckets.add(new Bucket(lessThanMs, histogram.get(i)));
+        }
+        return buckets;
+    }
+
+    public static class Bucket {
+        private final Long lessThanMs;
+        private final long count;
+
+        public Bucket(Long lessThanMs, long count) {
+            this.lessThanMs = lessThanMs;
+            this.count = count;
+        }
+
+        public Long getLessThanMs() {
+            return lessThanMs;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
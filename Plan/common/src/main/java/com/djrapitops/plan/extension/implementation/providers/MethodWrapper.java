@@ -21,13 +21,16 @@ import com.djrapitops.plan.extension.DataExtension;
 import com.djrapitops.plan.extension.NotReadyException;
 import com.djrapitops.plan.extension.implementation.MethodType;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.util.Objects;
-import java.util.Optional;
 
 /**
  * Wrap a Method so that it is easier to call.
+ * <p>
+ * The method is turned into a {@link MethodHandle} once when the wrapper is created, so that calls avoid the
+ * access checks and argument array of {@link Method#invoke(Object, Object...)}.
  *
  * @author AuroraLS3
  */
@@ -36,33 +39,54 @@ public class MethodWrapper<T> {
     private final Method method;
     private final Class<T> returnType;
     private final MethodType methodType;
+    private final Class<?> parameterType;
+    private final MethodHandle handle;
+    private final IllegalAccessException accessFailure;
     private boolean disabled = false;
 
     public MethodWrapper(Method method, Class<T> returnType) {
         this.method = method;
         this.returnType = returnType;
         methodType = MethodType.forMethod(this.method);
+        parameterType = method.getParameterCount() == 0 ? null : method.getParameterTypes()[0];
+
+        MethodHandle compiled = null;
+        IllegalAccessException failure = null;
+        try {
+            // (DataExtension, parameter) -> Object, so that the handle can be called with invokeExact.
+            compiled = MethodHandles.lookup().unreflect(method)
+                    .asType(java.lang.invoke.MethodType.genericMethodType(method.getParameterCount() + 1));
+        } catch (IllegalAccessException e) {
+            failure = e;
+        }
+        handle = compiled;
+        accessFailure = failure;
     }
 
     public T callMethod(DataExtension extension, Parameters with) {
         if (disabled) return null;
+        if (accessFailure != null) {
+            throw new DataExtensionMethodCallException(extension.getPluginName() + '.' + getMethodName() + " could not be accessed: " + accessFailure.getMessage(), accessFailure, extension.getPluginName(), getMethodName());
+        }
+        return returnType.cast(invoke(extension, with));
+    }
+
+    private Object invoke(DataExtension extension, Parameters with) {
         try {
-            return returnType.cast(with.usingOn(extension, method));
-        } catch (InvocationTargetException notReadyToBeCalled) {
-            Throwable cause = notReadyToBeCalled.getCause();
-            if (cause instanceof NotReadyException || cause instanceof UnsupportedOperationException) {
-                return null; // Data or API not available to make the call.
+            if (parameterType == null) {
+                return (Object) handle.invokeExact((Object) extension);
             } else {
-                throw new DataExtensionMethodCallException(getErrorMessage(extension, notReadyToBeCalled), notReadyToBeCalled, extension.getPluginName(), getMethodName());
+                return (Object) handle.invokeExact((Object) extension, with.getArgument(parameterType));
             }
-        } catch (IllegalAccessException e) {
-            throw new DataExtensionMethodCallException(extension.getPluginName() + '.' + getMethodName() + " could not be accessed: " + e.getMessage(), e, extension.getPluginName(), getMethodName());
+        } catch (NotReadyException | UnsupportedOperationException notReadyToBeCalled) {
+            return null; // Data or API not available to make the call.
+        } catch (Throwable e) {
+            throw new DataExtensionMethodCallException(getErrorMessage(extension, e), e, extension.getPluginName(), getMethodName());
         }
     }
 
-    private String getErrorMessage(DataExtension extension, InvocationTargetException e) {
-        Optional<Throwable> actualCause = Optional.ofNullable(e.getCause()); // InvocationTargetException
-        return extension.getPluginName() + '.' + getMethodName() + " errored: " + actualCause.orElse(e).toString();
+    private String getErrorMessage(DataExtension extension, Throwable e) {
+        return extension.getPluginName() + '.' + getMethodName() + " errored: " + e.toString();
     }
 
     public String getMethodName() {
@@ -16,13 +16,10 @@
  */
 package com.djrapitops.plan.extension.implementation.providers;
 
-import com.djrapitops.plan.extension.DataExtension;
 import com.djrapitops.plan.extension.Group;
 import com.djrapitops.plan.extension.implementation.MethodType;
 import com.djrapitops.plan.identification.ServerUUID;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.UUID;
 
 public interface Parameters {
@@ -38,7 +35,13 @@ public interface Parameters {
         return new GroupParameters(serverUUID, groupName);
     }
 
-    Object usingOn(DataExtension extension, Method method) throws InvocationTargetException, IllegalAccessException;
+    /**
+     * Get the argument to give to a provider method.
+     *
+     * @param parameterType Type of the parameter the method has.
+     * @return Argument for the parameter, null for methods without parameters.
+     */
+    Object getArgument(Class<?> parameterType);
 
     MethodType getMethodType();
 
@@ -60,8 +63,8 @@ public interface Parameters {
         }
 
         @Override
-        public Object usingOn(DataExtension extension, Method method) throws InvocationTargetException, IllegalAccessException {
-            return method.invoke(extension);
+        public Object getArgument(Class<?> parameterType) {
+            return null;
         }
 
         @Override
@@ -91,12 +94,11 @@ public interface Parameters {
         }
 
         @Override
-        public Object usingOn(DataExtension extension, Method method) throws InvocationTargetException, IllegalAccessException {
-            Class<?> parameterType = method.getParameterTypes()[0];
+        public Object getArgument(Class<?> parameterType) {
             if (UUID.class.equals(parameterType)) {
-                return method.invoke(extension, playerUUID);
+                return playerUUID;
             } else {
-                return method.invoke(extension, playerName);
+                return playerName;
             }
         }
 
@@ -120,9 +122,9 @@ public interface Parameters {
         }
 
         @Override
-        public Object usingOn(DataExtension extension, Method method) throws InvocationTargetException, IllegalAccessException {
+        public Object getArgument(Class<?> parameterType) {
             Group group = this::getGroupName;
-            return method.invoke(extension, group);
+            return group;
         }
 
         public String getGroupName() {
@@ -48,10 +48,8 @@ import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionException;
 
 /**
@@ -69,6 +67,8 @@ public class DataValueGatherer {
     private final ErrorLogger errorLogger;
 
     private final Set<ExtensionMethod> brokenMethods;
+    private final Map<ExtensionMethod, MethodWrapper<Object>> compiledMethods;
+    private final Map<String, List<Object>> storedProviders;
 
     public DataValueGatherer(
             ExtensionWrapper extension,
@@ -85,6 +85,28 @@ public class DataValueGatherer {
         this.errorLogger = errorLogger;
 
         this.brokenMethods = new HashSet<>();
+        this.compiledMethods = new ConcurrentHashMap<>();
+        compileMethods();
+        this.storedProviders = new ConcurrentHashMap<>();
+    }
+
+    private void compileMethods() {
+        for (ExtensionMethods methods : extension.getMethods().values()) {
+            List<List<ExtensionMethod>> providers = Arrays.asList(
+                    methods.getBooleanProviders(), methods.getNumberProviders(), methods.getDoubleProviders(),
+                    methods.getPercentageProviders(), methods.getStringProviders(), methods.getComponentProviders(),
+                    methods.getTableProviders(), methods.getGroupProviders(), methods.getDataBuilderProviders()
+            );
+            for (List<ExtensionMethod> ofType : providers) {
+                for (ExtensionMethod provider : ofType) {
+                    compiledMethods.put(provider, compile(provider));
+                }
+            }
+        }
+    }
+
+    private MethodWrapper<Object> compile(ExtensionMethod provider) {
+        return new MethodWrapper<>(provider.getMethod(), Object.class);
     }
 
     public boolean shouldSkipEvent(CallEvents event) {
@@ -119,6 +141,8 @@ public class DataValueGatherer {
         }
 
         database.executeTransaction(new RemoveInvalidResultsTransaction(pluginName, serverUUID, extension.getInvalidatedMethods()));
+        // Providers are stored again during next update in case they were removed.
+        storedProviders.clear();
     }
 
     private void addValuesToBuilder(ExtensionDataBuilder dataBuilder, ExtensionMethods methods, Parameters parameters) {
@@ -318,8 +342,8 @@ public class DataValueGatherer {
 
     private <T> T callMethod(ExtensionMethod provider, Parameters params, Class<T> returnType) {
         try {
-            return new MethodWrapper<>(provider.getMethod(), returnType)
-                    .callMethod(extension.getExtension(), params);
+            MethodWrapper<Object> method = compiledMethods.computeIfAbsent(provider, this::compile);
+            return returnType.cast(method.callMethod(extension.getExtension(), params));
         } catch (DataExtensionMethodCallException e) {
             brokenMethods.add(provider);
             throw e;
@@ -341,9 +365,10 @@ public class DataValueGatherer {
         addValuesToBuilder(dataBuilder, extension.getMethods().get(ExtensionMethod.ParameterType.PLAYER_STRING), parameters);
         addValuesToBuilder(dataBuilder, extension.getMethods().get(ExtensionMethod.ParameterType.PLAYER_UUID), parameters);
 
-        gatherPlayer(parameters, (ExtDataBuilder) dataBuilder);
-
-        dbSystem.getDatabase().executeTransaction(new RemoveInvalidResultsTransaction(extension.getPluginName(), serverInfo.getServerUUID(), ((ExtDataBuilder) dataBuilder).getInvalidatedValues()));
+        ValueFlush flush = new ValueFlush(parameters);
+        gatherPlayer(parameters, (ExtDataBuilder) dataBuilder, flush);
+        flush.removeInvalidResults(((ExtDataBuilder) dataBuilder).getInvalidatedValues());
+        flush.execute();
     }
 
     public void updateValues() {
@@ -360,28 +385,30 @@ public class DataValueGatherer {
 
         addValuesToBuilder(dataBuilder, extension.getMethods().get(ExtensionMethod.ParameterType.SERVER_NONE), parameters);
 
-        gather(parameters, (ExtDataBuilder) dataBuilder);
+        ValueFlush flush = new ValueFlush(parameters);
+        gather(parameters, (ExtDataBuilder) dataBuilder, flush);
+        flush.execute();
     }
 
 
-    private void gatherPlayer(Parameters parameters, ExtDataBuilder dataBuilder) {
+    private void gatherPlayer(Parameters parameters, ExtDataBuilder dataBuilder, ValueFlush flush) {
         Conditions conditions = new Conditions();
         for (ExtDataBuilder.ClassValuePair pair : dataBuilder.getValues()) {
             try {
                 pair.getValue(Boolean.class).flatMap(data -> data.getMetadata(BooleanDataValue.class))
-                        .ifPresent(data -> storePlayerBoolean(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerBoolean(parameters, conditions, data, flush));
                 pair.getValue(Long.class).flatMap(data -> data.getMetadata(NumberDataValue.class))
-                        .ifPresent(data -> storePlayerNumber(parameters, conditions, data));
+                        .ifPresent(data -> storeNumber(parameters, conditions, data, flush));
                 pair.getValue(Double.class).flatMap(data -> data.getMetadata(DoubleDataValue.class))
-                        .ifPresent(data -> storePlayerDouble(parameters, conditions, data));
+                        .ifPresent(data -> storeDouble(parameters, conditions, data, flush));
                 pair.getValue(String.class).flatMap(data -> data.getMetadata(StringDataValue.class))
-                        .ifPresent(data -> storePlayerString(parameters, conditions, data));
+                        .ifPresent(data -> storeString(parameters, conditions, data, flush));
                 pair.getValue(Component.class).flatMap(data -> data.getMetadata(ComponentDataValue.class))
-                        .ifPresent(data -> storePlayerComponent(parameters, conditions, data));
+                        .ifPresent(data -> storeComponent(parameters, conditions, data, flush));
                 pair.getValue(String[].class).flatMap(data -> data.getMetadata(GroupsDataValue.class))
-                        .ifPresent(data -> storePlayerGroups(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerGroups(parameters, conditions, data, flush));
                 pair.getValue(Table.class).flatMap(data -> data.getMetadata(TableDataValue.class))
-                        .ifPresent(data -> storePlayerTable(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerTable(parameters, conditions, data, flush));
             } catch (DataExtensionMethodCallException methodError) {
                 logFailure(methodError);
             } catch (Exception | NoClassDefFoundError | NoSuchFieldError | NoSuchMethodError unexpectedError) {
@@ -390,26 +417,24 @@ public class DataValueGatherer {
         }
     }
 
-    private void gather(Parameters parameters, ExtDataBuilder dataBuilder) {
+    private void gather(Parameters parameters, ExtDataBuilder dataBuilder, ValueFlush flush) {
         Conditions conditions = new Conditions();
         for (ExtDataBuilder.ClassValuePair pair : dataBuilder.getValues()) {
             try {
                 pair.getValue(Boolean.class).flatMap(data -> data.getMetadata(BooleanDataValue.class))
-                        .ifPresent(data -> storeBoolean(parameters, conditions, data));
+                        .ifPresent(data -> storeBoolean(parameters, conditions, data, flush));
                 pair.getValue(Long.class).flatMap(data -> data.getMetadata(NumberDataValue.class))
-                        .ifPresent(data -> storeNumber(parameters, conditions, data));
+                        .ifPresent(data -> storeNumber(parameters, conditions, data, flush));
                 pair.getValue(Double.class).flatMap(data -> data.getMetadata(DoubleDataValue.class))
-                        .ifPresent(data -> storeDouble(parameters, conditions, data));
+                        .ifPresent(data -> storeDouble(parameters, conditions, data, flush));
                 pair.getValue(String.class).flatMap(data -> data.getMetadata(StringDataValue.class))
-                        .ifPresent(data -> storeString(parameters, conditions, data));
+                        .ifPresent(data -> storeString(parameters, conditions, data, flush));
                 pair.getValue(Component.class).flatMap(data -> data.getMetadata(ComponentDataValue.class))
-                        .ifPresent(data -> storeComponent(parameters, conditions, data));
+                        .ifPresent(data -> storeComponent(parameters, conditions, data, flush));
                 pair.getValue(Table.class).flatMap(data -> data.getMetadata(TableDataValue.class))
-                        .ifPresent(data -> storeTable(parameters, conditions, data));
+                        .ifPresent(data -> storeTable(parameters, conditions, data, flush));
             } catch (DataExtensionMethodCallException methodError) {
                 logFailure(methodError);
-            } catch (RejectedExecutionException ignore) {
-                // Processing or Database has shut down, which can be ignored
             } catch (Exception | ExceptionInInitializerError | NoClassDefFoundError | NoSuchFieldError |
                      NoSuchMethodError unexpectedError) {
                 logFailure(unexpectedError);
@@ -462,7 +487,28 @@ public class DataValueGatherer {
         return json;
     }
 
-    private void storeBoolean(Parameters parameters, Conditions conditions, BooleanDataValue data) {
+    private List<Object> getProviderMetadata(ProviderInformation information) {
+        // Icon is compared as text, because the hashCode of an Icon changes when it is stored.
+        return Arrays.asList(
+                information.getPluginName(), information.getText(), information.getDescription().orElse(null),
+                Objects.toString(information.getIcon()), information.getPriority(), information.getTab().orElse(null),
+                information.getCondition().orElse(null), information.isShownInPlayersTable(), information.isHidden(),
+                information.getProvidedCondition(), information.getFormatType().orElse(null), information.isPlayerName(),
+                information.getTableColor(), information.isPercentage(), information.isComponent()
+        );
+    }
+
+    private List<Object> getTableProviderMetadata(ProviderInformation information, Table table) {
+        List<Object> metadata = new ArrayList<>(getProviderMetadata(information));
+        metadata.addAll(Arrays.asList(table.getColumns()));
+        for (Icon icon : table.getIcons()) {
+            metadata.add(Objects.toString(icon));
+        }
+        metadata.addAll(Arrays.asList(table.getTableColumnFormats()));
+        return metadata;
+    }
+
+    private void storeBoolean(Parameters parameters, Conditions conditions, BooleanDataValue data, ValueFlush flush) {
         ProviderInformation information = data.getInformation();
         Boolean value = getValue(conditions, data, information);
         if (value == null) return;
@@ -472,71 +518,56 @@ public class DataValueGatherer {
             conditions.conditionFulfilled("not_" + information.getProvidedCondition());
         }
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StoreServerBooleanResultTransaction(information, parameters, value));
+        flush.storeProvider(information, parameters);
+        flush.transaction.addResult(new StoreServerBooleanResultTransaction(information, parameters, value));
     }
 
-    private void storeNumber(Parameters parameters, Conditions conditions, NumberDataValue data) {
+    private void storeNumber(Parameters parameters, Conditions conditions, NumberDataValue data, ValueFlush flush) {
         ProviderInformation information = data.getInformation();
         Long value = getValue(conditions, data, information);
         if (value == null) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StoreServerNumberResultTransaction(information, parameters, value));
+        flush.storeProvider(information, parameters);
+        flush.transaction.addNumber(information, parameters, value);
     }
 
-
-    private void storeDouble(Parameters parameters, Conditions conditions, DoubleDataValue data) {
+    private void storeDouble(Parameters parameters, Conditions conditions, DoubleDataValue data, ValueFlush flush) {
         ProviderInformation information = data.getInformation();
         Double value = getValue(conditions, data, information);
         if (value == null) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StoreServerDoubleResultTransaction(information, parameters, value));
+        flush.storeProvider(information, parameters);
+        flush.transaction.addDouble(information, parameters, value);
     }
 
-    private void storeString(Parameters parameters, Conditions conditions, StringDataValue data) {
+    private void storeString(Parameters parameters, Conditions conditions, StringDataValue data, ValueFlush flush) {
         ProviderInformation information = data.getInformation();
         String value = getValue(conditions, data, information);
         if (value == null) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StoreServerStringResultTransaction(information, parameters, value));
+        flush.storeProvider(information, parameters);
+        flush.transaction.addString(information, parameters, value);
     }
 
-    private void storeComponent(Parameters parameters, Conditions conditions, ComponentDataValue data) {
+    private void storeComponent(Parameters parameters, Conditions conditions, ComponentDataValue data, ValueFlush flush) {
         ProviderInformation information = data.getInformation();
         String value = getComponentAsJson(getValue(conditions, data, information));
         if (value == null) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StoreServerStringResultTransaction(information, parameters, value));
+        flush.storeProvider(information, parameters);
+        flush.transaction.addString(information, parameters, value);
     }
 
-    private void storeTable(Parameters parameters, Conditions conditions, TableDataValue data) {
+    private void storeTable(Parameters parameters, Conditions conditions, TableDataValue data, ValueFlush flush) {
         ProviderInformation information = data.getInformation();
         Table value = getValue(conditions, data, information);
         if (value == null) return;
 
-        Database db = dbSystem.getDatabase();
-        for (Icon icon : value.getIcons()) {
-            if (icon != null) db.executeTransaction(new StoreIconTransaction(icon));
-        }
-        db.executeTransaction(new StoreTableProviderTransaction(information, parameters, value));
-        db.executeTransaction(new StoreServerTableResultTransaction(information, parameters, value));
+        flush.storeTableProvider(information, parameters, value);
+        flush.transaction.addResult(new StoreServerTableResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerBoolean(Parameters parameters, Conditions conditions, BooleanDataValue data) {
+    private void storePlayerBoolean(Parameters parameters, Conditions conditions, BooleanDataValue data, ValueFlush flush) {
         ProviderInformation information = data.getInformation();
         Boolean value = getValue(conditions, data, information);
         if (value == null) return;
@@ -546,77 +577,86 @@ public class DataValueGatherer {
             conditions.conditionFulfilled("not_" + information.getProvidedCondition());
         }
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerBooleanResultTransaction(information, parameters, value));
+        flush.storeProvider(information, parameters);
+        flush.transaction.addResult(new StorePlayerBooleanResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerNumber(Parameters parameters, Conditions conditions, NumberDataValue data) {
+    private void storePlayerGroups(Parameters parameters, Conditions conditions, GroupsDataValue data, ValueFlush flush) {
         ProviderInformation information = data.getInformation();
-        Long value = getValue(conditions, data, information);
+        String[] value = getValue(conditions, data, information);
         if (value == null) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerNumberResultTransaction(information, parameters, value));
+        flush.storeProvider(information, parameters);
+        flush.transaction.addResult(new StorePlayerGroupsResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerDouble(Parameters parameters, Conditions conditions, DoubleDataValue data) {
+    private void storePlayerTable(Parameters parameters, Conditions conditions, TableDataValue data, ValueFlush flush) {
         ProviderInformation information = data.getInformation();
-        Double value = getValue(conditions, data, information);
+        Table value = getValue(conditions, data, information);
         if (value == null) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerDoubleResultTransaction(information, parameters, value));
+        flush.storeTableProvider(information, parameters, value);
+        flush.transaction.addResult(new StorePlayerTableResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerString(Parameters parameters, Conditions conditions, StringDataValue data) {
-        ProviderInformation information = data.getInformation();
-        String value = getValue(conditions, data, information);
-        if (value == null) return;
+    /**
+     * Values of one update, stored in a single transaction.
+     * <p>
+     * Icons and providers are only stored if their metadata is different from what was last stored successfully.
+     */
+    private class ValueFlush {
+        private final StoreExtensionValuesTransaction transaction;
+        private final Map<String, List<Object>> providersToStore;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerStringResultTransaction(information, parameters, value));
-    }
+        ValueFlush(Parameters parameters) {
+            transaction = new StoreExtensionValuesTransaction(extension.getPluginName(), parameters.getServerUUID());
+            providersToStore = new HashMap<>();
+        }
 
-    private void storePlayerComponent(Parameters parameters, Conditions conditions, ComponentDataValue data) {
-        ProviderInformation information = data.getInformation();
-        String value = getComponentAsJson(getValue(conditions, data, information));
-        if (value == null) return;
+        void storeProvider(ProviderInformation information, Parameters parameters) {
+            List<Object> metadata = getProviderMetadata(information);
+            if (isStored(information, metadata)) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerStringResultTransaction(information, parameters, value));
-    }
+            transaction.addMetadata(new StoreIconTransaction(information.getIcon()));
+            transaction.addMetadata(new StoreProviderTransaction(information, parameters));
+            providersToStore.put(information.getName(), metadata);
+        }
 
-    private void storePlayerGroups(Parameters parameters, Conditions conditions, GroupsDataValue data) {
-        ProviderInformation information = data.getInformation();
-        String[] value = getValue(conditions, data, information);
-        if (value == null) return;
+        void storeTableProvider(ProviderInformation information, Parameters parameters, Table table) {
+            List<Object> metadata = getTableProviderMetadata(information, table);
+            if (isStored(information, metadata)) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerGroupsResultTransaction(information, parameters, value));
-    }
+            for (Icon icon : table.getIcons()) {
+                if (icon != null) transaction.addMetadata(new StoreIconTransaction(icon));
+            }
+            transaction.addMetadata(new StoreTableProviderTransaction(information, parameters, table));
+            providersToStore.put(information.getName(), metadata);
+        }
 
-    private void storePlayerTable(Parameters parameters, Conditions conditions, TableDataValue data) {
-        ProviderInformation information = data.getInformation();
-        Table value = getValue(conditions, data, information);
-        if (value == null) return;
+        void removeInvalidResults(Collection<String> invalidatedValues) {
+            if (invalidatedValues.isEmpty()) return;
+
+            transaction.addResult(new RemoveInvalidResultsTransaction(extension.getPluginName(), serverInfo.getServerUUID(), invalidatedValues));
+            providersToStore.keySet().removeAll(invalidatedValues);
+            storedProviders.keySet().removeAll(invalidatedValues);
+        }
+
+        private boolean isStored(ProviderInformation information, List<Object> metadata) {
+            String providerName = information.getName();
+            return metadata.equals(providersToStore.get(providerName)) || metadata.equals(storedProviders.get(providerName));
+        }
 
-        Database db = dbSystem.getDatabase();
-        for (Icon icon : value.getIcons()) {
-            if (icon != null) db.executeTransaction(new StoreIconTransaction(icon));
+        void execute() {
+            if (transaction.isEmpty()) return;
+            dbSystem.getDatabase().executeTransaction(transaction).whenComplete((done, failure) -> {
+                if (transaction.wasSuccessful()) {
+                    storedProviders.putAll(providersToStore);
+                } else {
+                    // Values are not stored if provider rows were removed (eg. /plan db restore, other server),
+                    // so all providers are stored again during next update.
+                    storedProviders.clear();
+                }
+            });
         }
-        db.executeTransaction(new StoreTableProviderTransaction(information, parameters, value));
-        db.executeTransaction(new StorePlayerTableResultTransaction(information, parameters, value));
     }
 }
\ No newline at end of file
@@ -25,15 +25,13 @@ import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.SQLDB;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
-import com.djrapitops.plan.storage.database.sql.building.Sql;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
 import com.djrapitops.plan.storage.database.sql.tables.extension.*;
-import org.apache.commons.text.TextStringBuilder;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -51,9 +49,9 @@ import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
 public class ExtensionQueryResultTableDataQuery implements Query<Map<UUID, ExtensionTabData>> {
 
     private final ServerUUID serverUUID;
-    private final Collection<Integer> userIds;
+    private final UserIdSet userIds;
 
-    public ExtensionQueryResultTableDataQuery(ServerUUID serverUUID, Collection<Integer> userIds) {
+    public ExtensionQueryResultTableDataQuery(ServerUUID serverUUID, UserIdSet userIds) {
         this.serverUUID = serverUUID;
         this.userIds = userIds;
     }
@@ -81,7 +79,7 @@ public class ExtensionQueryResultTableDataQuery implements Query<Map<UUID, Exten
     private Query<Map<UUID, ExtensionTabData>> fetchPlayerData() {
         String selectUuids = SELECT + UsersTable.USER_UUID +
                 FROM + UsersTable.TABLE_NAME +
-                WHERE + UsersTable.ID + " IN (" + Sql.nParameters(userIds.size()) + ")";
+                WHERE + UsersTable.ID + " IN (" + userIds.join(",") + ")";
 
         String sql = SELECT +
                 "v1." + ExtensionPlayerValueTable.USER_UUID + " as uuid," +
@@ -107,7 +105,6 @@ public class ExtensionQueryResultTableDataQuery implements Query<Map<UUID, Exten
                 AND + "e1." + ExtensionPluginTable.SERVER_UUID + "=?";
 
         return db -> db.queryMap(sql, this::extractPlayer, HashMap::new,
-                        userIds,
                         true,  // Select only values that should be shown
                         false, // Don't select player_name String values
                         serverUUID)
@@ -118,7 +115,7 @@ public class ExtensionQueryResultTableDataQuery implements Query<Map<UUID, Exten
     private Query<Map<UUID, ExtensionTabData>> fetchPlayerGroups() {
         String selectUuids = SELECT + UsersTable.USER_UUID +
                 FROM + UsersTable.TABLE_NAME +
-                WHERE + UsersTable.ID + " IN (" + new TextStringBuilder().appendWithSeparators(userIds, ",") + ")";
+                WHERE + UsersTable.ID + " IN (" + userIds.join(",") + ")";
 
         String sql = SELECT +
                 "v1." + ExtensionGroupsTable.USER_UUID + " as uuid," +
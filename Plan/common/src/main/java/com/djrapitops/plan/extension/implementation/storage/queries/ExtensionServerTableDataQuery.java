@@ -32,6 +32,7 @@ import com.djrapitops.plan.storage.database.sql.tables.extension.*;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -40,7 +41,7 @@ import java.util.stream.Collectors;
 import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
 
 /**
- * Query Extension data of x most recent players on a server.
+ * Query Extension data of x most recent players, or of specific players on a server.
  * <p>
  * Returns Map: Player UUID - {@link ExtensionTabData} (container for provider based data)
  *
@@ -50,14 +51,29 @@ public class ExtensionServerTableDataQuery implements Query<Map<UUID, ExtensionT
 
     private final ServerUUID serverUUID;
     private final int xMostRecentPlayers;
+    private final Collection<UUID> playerUUIDs;
 
     public ExtensionServerTableDataQuery(ServerUUID serverUUID, int xMostRecentPlayers) {
         this.serverUUID = serverUUID;
         this.xMostRecentPlayers = xMostRecentPlayers;
+        this.playerUUIDs = null;
+    }
+
+    /**
+     * Query Extension data of specific players, for example the players on a page of the players table.
+     *
+     * @param serverUUID  UUID of the Plan server the data is from.
+     * @param playerUUIDs UUIDs of the players.
+     */
+    public ExtensionServerTableDataQuery(ServerUUID serverUUID, Collection<UUID> playerUUIDs) {
+        this.serverUUID = serverUUID;
+        this.xMostRecentPlayers = playerUUIDs.size();
+        this.playerUUIDs = playerUUIDs;
     }
 
     @Override
     public Map<UUID, ExtensionTabData> executeQuery(SQLDB db) {
+        if (playerUUIDs != null && playerUUIDs.isEmpty()) return new HashMap<>();
         return combine(db.query(fetchPlayerData()), db.query(fetchPlayerGroups()));
     }
 
@@ -76,13 +92,35 @@ public class ExtensionServerTableDataQuery implements Query<Map<UUID, ExtensionT
         return one;
     }
 
-    private Query<Map<UUID, ExtensionTabData>> fetchPlayerData() {
+    private String joinMostRecentPlayers() {
+        if (playerUUIDs != null) return "";
         String selectLimitedNumberOfPlayerUUIDsByLastSeenDate = SELECT +
                 SessionsTable.USER_ID + ",MAX(" + SessionsTable.SESSION_END + ") as last_seen" +
                 FROM + SessionsTable.TABLE_NAME +
                 GROUP_BY + SessionsTable.USER_ID +
                 ORDER_BY + "last_seen DESC LIMIT ?";
+        return INNER_JOIN + '(' + selectLimitedNumberOfPlayerUUIDsByLastSeenDate + ") as last_seen_q on last_seen_q.user_id=u." + UsersTable.ID;
+    }
 
+    private String selectedPlayers(String uuidColumn) {
+        if (playerUUIDs == null) return "";
+        return AND + "v1." + uuidColumn + " IN (" + nParameters(playerUUIDs.size()) + ')';
+    }
+
+    private int setLimitParameter(PreparedStatement statement) throws SQLException {
+        if (playerUUIDs != null) return 1;
+        statement.setInt(1, xMostRecentPlayers); // Limit to x most recently seen players
+        return 2;
+    }
+
+    private void setPlayerParameters(PreparedStatement statement, int index) throws SQLException {
+        if (playerUUIDs == null) return;
+        for (UUID playerUUID : playerUUIDs) {
+            statement.setString(index++, playerUUID.toString());
+        }
+    }
+
+    private Query<Map<UUID, ExtensionTabData>> fetchPlayerData() {
         String sql = SELECT +
                 "v1." + ExtensionPlayerValueTable.USER_UUID + " as uuid," +
                 "v1." + ExtensionPlayerValueTable.BOOLEAN_VALUE + " as boolean_value," +
@@ -100,21 +138,23 @@ public class ExtensionServerTableDataQuery implements Query<Map<UUID, ExtensionT
                 "i1." + ExtensionIconTable.FAMILY + " as provider_icon_family" +
                 FROM + ExtensionPlayerValueTable.TABLE_NAME + " v1" +
                 INNER_JOIN + UsersTable.TABLE_NAME + " u on u." + UsersTable.USER_UUID + "=v1." + ExtensionPlayerValueTable.USER_UUID +
-                INNER_JOIN + '(' + selectLimitedNumberOfPlayerUUIDsByLastSeenDate + ") as last_seen_q on last_seen_q.user_id=u." + UsersTable.ID +
+                joinMostRecentPlayers() +
                 INNER_JOIN + ExtensionProviderTable.TABLE_NAME + " p1 on p1." + ExtensionProviderTable.ID + "=v1." + ExtensionPlayerValueTable.PROVIDER_ID +
                 INNER_JOIN + ExtensionPluginTable.TABLE_NAME + " e1 on e1." + ExtensionPluginTable.ID + "=p1." + ExtensionProviderTable.PLUGIN_ID +
                 LEFT_JOIN + ExtensionIconTable.TABLE_NAME + " i1 on i1." + ExtensionIconTable.ID + "=p1." + ExtensionProviderTable.ICON_ID +
                 WHERE + "e1." + ExtensionPluginTable.SERVER_UUID + "=?" +
                 AND + "p1." + ExtensionProviderTable.SHOW_IN_PLAYERS_TABLE + "=?" +
-                AND + "p1." + ExtensionProviderTable.IS_PLAYER_NAME + "=?";
+                AND + "p1." + ExtensionProviderTable.IS_PLAYER_NAME + "=?" +
+                selectedPlayers(ExtensionPlayerValueTable.USER_UUID);
 
         return new QueryStatement<>(sql, 1000) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setInt(1, xMostRecentPlayers);       // Limit to x most recently seen players
-                statement.setString(2, serverUUID.toString());
-                statement.setBoolean(3, true);                  // Select only values that should be shown
-                statement.setBoolean(4, false);                 // Don't select player_name String values
+                int index = setLimitParameter(statement);
+                statement.setString(index, serverUUID.toString());
+                statement.setBoolean(index + 1, true);          // Select only values that should be shown
+                statement.setBoolean(index + 2, false);         // Don't select player_name String values
+                setPlayerParameters(statement, index + 3);
             }
 
             @Override
@@ -125,13 +165,6 @@ public class ExtensionServerTableDataQuery implements Query<Map<UUID, ExtensionT
     }
 
     private Query<Map<UUID, ExtensionTabData>> fetchPlayerGroups() {
-        String selectLimitedNumberOfPlayerUUIDsByLastSeenDate = SELECT +
-                SessionsTable.USER_ID + "," +
-                "MAX(" + SessionsTable.SESSION_END + ") as last_seen" +
-                FROM + SessionsTable.TABLE_NAME +
-                GROUP_BY + SessionsTable.USER_ID +
-                ORDER_BY + "last_seen DESC LIMIT ?";
-
         String sql = SELECT +
                 "v1." + ExtensionGroupsTable.USER_UUID + " as uuid," +
                 "COALESCE(v1." + ExtensionGroupsTable.GROUP_NAME + ",'None') as group_value," +
@@ -141,17 +174,19 @@ public class ExtensionServerTableDataQuery implements Query<Map<UUID, ExtensionT
                 "i1." + ExtensionIconTable.FAMILY + " as provider_icon_family" +
                 FROM + ExtensionGroupsTable.TABLE_NAME + " v1" +
                 INNER_JOIN + UsersTable.TABLE_NAME + " u on u." + UsersTable.USER_UUID + "=v1." + ExtensionGroupsTable.USER_UUID +
-                INNER_JOIN + '(' + selectLimitedNumberOfPlayerUUIDsByLastSeenDate + ") as last_seen_q on last_seen_q.user_id=u." + UsersTable.ID +
+                joinMostRecentPlayers() +
                 INNER_JOIN + ExtensionProviderTable.TABLE_NAME + " p1 on p1." + ExtensionProviderTable.ID + "=v1." + ExtensionGroupsTable.PROVIDER_ID +
                 INNER_JOIN + ExtensionPluginTable.TABLE_NAME + " e1 on e1." + ExtensionPluginTable.ID + "=p1." + ExtensionProviderTable.PLUGIN_ID +
                 LEFT_JOIN + ExtensionIconTable.TABLE_NAME + " i1 on i1." + ExtensionIconTable.ID + "=p1." + ExtensionProviderTable.ICON_ID +
-                WHERE + "e1." + ExtensionPluginTable.SERVER_UUID + "=?";
+                WHERE + "e1." + ExtensionPluginTable.SERVER_UUID + "=?" +
+                selectedPlayers(ExtensionGroupsTable.USER_UUID);
 
         return new QueryStatement<>(sql, 1000) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setInt(1, xMostRecentPlayers);       // Limit to x most recently seen players
-                statement.setString(2, serverUUID.toString());
+                int index = setLimitParameter(statement);
+                statement.setString(index, serverUUID.toString());
+                setPlayerParameters(statement, index + 1);
             }
 
             @Override
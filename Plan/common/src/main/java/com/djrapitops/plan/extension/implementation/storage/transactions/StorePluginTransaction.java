@@ -26,6 +26,8 @@ import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Optional;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.AND;
 import static com.djrapitops.plan.storage.database.sql.building.Sql.WHERE;
@@ -98,4 +100,10 @@ public class StorePluginTransaction extends ThrowawayTransaction {
             }
         };
     }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        // Same key as StoreExtensionValuesTransaction, so that values are stored after the plugin.
+        return Optional.of(Arrays.asList(pluginName, serverUUID));
+    }
 }
\ No newline at end of file
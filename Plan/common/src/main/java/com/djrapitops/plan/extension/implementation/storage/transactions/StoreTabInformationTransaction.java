@@ -27,6 +27,8 @@ import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Optional;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.AND;
 import static com.djrapitops.plan.storage.database.sql.building.Sql.WHERE;
@@ -101,4 +103,10 @@ public class StoreTabInformationTransaction extends ThrowawayTransaction {
             }
         };
     }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        // Tabs are updated on the same lane as the rest of the plugin data.
+        return Optional.of(Arrays.asList(pluginName, serverUUID));
+    }
 }
\ No newline at end of file
@@ -24,7 +24,9 @@ import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Optional;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
 
@@ -127,4 +129,10 @@ public class RemoveInvalidResultsTransaction extends ThrowawayTransaction {
             }
         };
     }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        // Values of the plugin are removed in the same order they are stored by StoreExtensionValuesTransaction.
+        return Optional.of(Arrays.asList(pluginName, serverUUID));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,261 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.storage.transactions.results;
+
+import com.djrapitops.plan.exceptions.database.DBOpException;
+import com.djrapitops.plan.extension.implementation.ProviderInformation;
+import com.djrapitops.plan.extension.implementation.builder.ComponentDataValue;
+import com.djrapitops.plan.extension.implementation.builder.StringDataValue;
+import com.djrapitops.plan.extension.implementation.providers.Parameters;
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionPlayerValueTable;
+import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionProviderTable;
+import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionServerValueTable;
+import com.djrapitops.plan.storage.database.transactions.ExecBatchStatement;
+import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+import org.apache.commons.lang3.StringUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.AND;
+import static com.djrapitops.plan.storage.database.sql.building.Sql.WHERE;
+
+/**
+ * Transaction to store all values gathered from a DataExtension during one update at once.
+ * <p>
+ * Icons and providers are stored first, then Number, Double, Percentage, String and Component values are written
+ * with JDBC batches (update, then insert the rows that did not exist yet).
+ * Results that need more than a single row (booleans with conditions, groups, tables) are stored with their own
+ * transactions, but inside this one.
+ *
+ * @author AuroraLS3
+ */
+public class StoreExtensionValuesTransaction extends ThrowawayTransaction {
+
+    private final String pluginName;
+    private final ServerUUID serverUUID;
+
+    private final List<Transaction> metadataTransactions;
+    private final Map<List<Object>, ValueRow> values;
+    private final List<Transaction> resultTransactions;
+
+    public StoreExtensionValuesTransaction(String pluginName, ServerUUID serverUUID) {
+        this.pluginName = pluginName;
+        this.serverUUID = serverUUID;
+        metadataTransactions = new ArrayList<>();
+        values = new LinkedHashMap<>();
+        resultTransactions = new ArrayList<>();
+    }
+
+    /**
+     * Add a transaction that stores icons or providers the values depend on.
+     *
+     * @param transaction Transaction to execute before any values are stored.
+     */
+    public void addMetadata(Transaction transaction) {
+        metadataTransactions.add(transaction);
+    }
+
+    /**
+     * Add a transaction that stores results that can not be written as a single value.
+     *
+     * @param transaction Transaction to execute after the single values are stored.
+     */
+    public void addResult(Transaction transaction) {
+        resultTransactions.add(transaction);
+    }
+
+    public void addNumber(ProviderInformation information, Parameters parameters, long value) {
+        addValue(information, parameters, ExtensionPlayerValueTable.LONG_VALUE, value);
+    }
+
+    public void addDouble(ProviderInformation information, Parameters parameters, double value) {
+        String column = information.isPercentage() ? ExtensionPlayerValueTable.PERCENTAGE_VALUE : ExtensionPlayerValueTable.DOUBLE_VALUE;
+        addValue(information, parameters, column, value);
+    }
+
+    public void addString(ProviderInformation information, Parameters parameters, String value) {
+        boolean component = information.isComponent();
+        String column = component ? ExtensionPlayerValueTable.COMPONENT_VALUE : ExtensionPlayerValueTable.STRING_VALUE;
+        addValue(information, parameters, column, StringUtils.truncate(value, component ? ComponentDataValue.MAX_LENGTH : StringDataValue.MAX_LENGTH));
+    }
+
+    private void addValue(ProviderInformation information, Parameters parameters, String column, Object value) {
+        ValueRow row = new ValueRow(column, parameters.getPlayerUUID(), information.getName(), information.getPluginName(), parameters.getServerUUID(), value);
+        // Later value of the same provider replaces the earlier one, like consecutive updates would.
+        values.put(Arrays.asList(row.playerUUID, row.providerName, row.column), row);
+    }
+
+    public boolean isEmpty() {
+        return metadataTransactions.isEmpty() && values.isEmpty() && resultTransactions.isEmpty();
+    }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        // Providers and values of a plugin are only modified by the updates of that plugin.
+        return Optional.of(Arrays.asList(pluginName, serverUUID));
+    }
+
+    @Override
+    protected void performOperations() {
+        for (Transaction transaction : metadataTransactions) {
+            executeOther(transaction);
+        }
+        for (List<ValueRow> rows : groupByStatement().values()) {
+            storeValues(rows);
+        }
+        for (Transaction transaction : resultTransactions) {
+            executeOther(transaction);
+        }
+    }
+
+    private Map<List<Object>, List<ValueRow>> groupByStatement() {
+        Map<List<Object>, List<ValueRow>> byStatement = new LinkedHashMap<>();
+        for (ValueRow row : values.values()) {
+            byStatement.computeIfAbsent(Arrays.asList(row.isPlayerValue(), row.column), key -> new ArrayList<>())
+                    .add(row);
+        }
+        return byStatement;
+    }
+
+    private void storeValues(List<ValueRow> rows) {
+        List<ValueRow> notUpdated = updateValues(rows);
+        if (notUpdated.isEmpty()) return;
+
+        execute(new ExecBatchStatement(notUpdated.get(0).insertSql()) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (ValueRow row : notUpdated) {
+                    row.prepare(statement);
+                    statement.addBatch();
+                }
+            }
+        });
+    }
+
+    private List<ValueRow> updateValues(List<ValueRow> rows) {
+        String sql = rows.get(0).updateSql();
+        List<ValueRow> notUpdated = new ArrayList<>();
+        List<ValueRow> unknown = new ArrayList<>();
+        execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (ValueRow row : rows) {
+                    row.prepare(statement);
+                    statement.addBatch();
+                }
+                int[] updateCounts = statement.executeBatch();
+                for (int i = 0; i < rows.size(); i++) {
+                    int count = i < updateCounts.length ? updateCounts[i] : Statement.SUCCESS_NO_INFO;
+                    if (count == 0) {
+                        notUpdated.add(rows.get(i));
+                    } else if (count == Statement.SUCCESS_NO_INFO) {
+                        unknown.add(rows.get(i));
+                    }
+                }
+                return !rows.isEmpty();
+            } catch (SQLException e) {
+                throw DBOpException.forCause(sql, e);
+            }
+        });
+        // Some drivers do not tell which rows of a batch were updated, those rows are updated one by one.
+        for (ValueRow row : unknown) {
+            if (!execute(row.update())) {
+                notUpdated.add(row);
+            }
+        }
+        return notUpdated;
+    }
+
+    private static class ValueRow {
+        private final String column;
+        private final UUID playerUUID;
+        private final String providerName;
+        private final String pluginName;
+        private final ServerUUID serverUUID;
+        private final Object value;
+
+        ValueRow(String column, UUID playerUUID, String providerName, String pluginName, ServerUUID serverUUID, Object value) {
+            this.column = column;
+            this.playerUUID = playerUUID;
+            this.providerName = providerName;
+            this.pluginName = pluginName;
+            this.serverUUID = serverUUID;
+            this.value = value;
+        }
+
+        boolean isPlayerValue() {
+            return playerUUID != null;
+        }
+
+        String updateSql() {
+            if (isPlayerValue()) {
+                return "UPDATE " + ExtensionPlayerValueTable.TABLE_NAME +
+                        " SET " + column + "=?" +
+                        WHERE + ExtensionPlayerValueTable.USER_UUID + "=?" +
+                        AND + ExtensionPlayerValueTable.PROVIDER_ID + "=" + ExtensionProviderTable.STATEMENT_SELECT_PROVIDER_ID;
+            }
+            return "UPDATE " + ExtensionServerValueTable.TABLE_NAME +
+                    " SET " + column + "=?" +
+                    WHERE + ExtensionServerValueTable.PROVIDER_ID + "=" + ExtensionProviderTable.STATEMENT_SELECT_PROVIDER_ID;
+        }
+
+        String insertSql() {
+            if (isPlayerValue()) {
+                return "INSERT INTO " + ExtensionPlayerValueTable.TABLE_NAME + "(" +
+                        column + "," +
+                        ExtensionPlayerValueTable.USER_UUID + "," +
+                        ExtensionPlayerValueTable.PROVIDER_ID +
+                        ") VALUES (?,?," + ExtensionProviderTable.STATEMENT_SELECT_PROVIDER_ID + ")";
+            }
+            return "INSERT INTO " + ExtensionServerValueTable.TABLE_NAME + "(" +
+                    column + "," +
+                    ExtensionServerValueTable.PROVIDER_ID +
+                    ") VALUES (?," + ExtensionProviderTable.STATEMENT_SELECT_PROVIDER_ID + ")";
+        }
+
+        ExecStatement update() {
+            return new ExecStatement(updateSql()) {
+                @Override
+                public void prepare(PreparedStatement statement) throws SQLException {
+                    ValueRow.this.prepare(statement);
+                }
+            };
+        }
+
+        // Update and insert statements have their parameters in the same order.
+        void prepare(PreparedStatement statement) throws SQLException {
+            if (value instanceof Long) {
+                statement.setLong(1, (Long) value);
+            } else if (value instanceof Double) {
+                statement.setDouble(1, (Double) value);
+            } else {
+                statement.setString(1, (String) value);
+            }
+            int index = 2;
+            if (isPlayerValue()) {
+                statement.setString(index, playerUUID.toString());
+                index++;
+            }
+            ExtensionProviderTable.set3PluginValuesToStatement(statement, index, providerName, pluginName, serverUUID);
+        }
+    }
+}
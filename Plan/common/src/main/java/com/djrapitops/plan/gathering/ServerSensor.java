@@ -59,6 +59,17 @@ public interface ServerSensor<W> {
         return -1;
     }
 
+    /**
+     * Check if {@link #getChunkCount(Object)} and {@link #getEntityCount(Object)} can be called for every world on the same tick.
+     * <p>
+     * If false, the counts are sampled one world at a time so that counting does not cause a tick spike.
+     *
+     * @return true if counting is cheap, for example if the platform keeps count without listing the entities.
+     */
+    default boolean supportsFastWorldCounts() {
+        return false;
+    }
+
     default List<String> getOnlinePlayerNames() {
         return Collections.emptyList();
     }
@@ -21,13 +21,14 @@ import com.djrapitops.plan.gathering.domain.ActiveSession;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 
 /**
  * Keeps track how long player has been afk during a session
+ * <p>
+ * Last movement is stored in the {@link ActiveSession} of the player. Actions that happen before the afk threshold
+ * is crossed only do a single volatile write without allocating, since they are called on every movement.
+ * Time spent afk is added to the session when the player performs an action after the threshold, or logs out.
  *
  * @author AuroraLS3
  */
@@ -35,13 +36,17 @@ public class AFKTracker {
 
     public static final long IGNORES_AFK = -1L;
 
-    private final Set<UUID> usedAFKCommand;
     private final PlanConfig config;
     private Long afkThresholdMs;
 
     public AFKTracker(PlanConfig config) {
         this.config = config;
-        usedAFKCommand = new HashSet<>();
+    }
+
+    // Visible for benchmarks
+    AFKTracker(long afkThresholdMs) {
+        this.config = null;
+        this.afkThresholdMs = afkThresholdMs;
     }
 
     public long getAfkThreshold() {
@@ -52,71 +57,63 @@ public class AFKTracker {
     }
 
     public void hasIgnorePermission(UUID playerUUID) {
-        storeLastMovement(playerUUID, IGNORES_AFK);
-    }
-
-    private void storeLastMovement(UUID playerUUID, long time) {
-        SessionCache.getCachedSession(playerUUID)
-                .ifPresent(activeSession -> activeSession.setLastMovementForAfkCalculation(time));
-    }
-
-    private long getLastMovement(UUID playerUUID, long time) {
-        return getLastMovement(playerUUID)
-                .orElse(time);
-    }
-
-    private Optional<Long> getLastMovement(UUID playerUUID) {
-        return SessionCache.getCachedSession(playerUUID)
-                .map(ActiveSession::getLastMovementForAfkCalculation);
+        ActiveSession session = SessionCache.getCachedSessionOrNull(playerUUID);
+        if (session != null) session.setLastMovementForAfkCalculation(IGNORES_AFK);
     }
 
     public void usedAfkCommand(UUID playerUUID, long time) {
-        long lastMoved = getLastMovement(playerUUID, time);
-        if (lastMoved == IGNORES_AFK) {
+        ActiveSession session = SessionCache.getCachedSessionOrNull(playerUUID);
+        if (session == null || session.getLastMovementForAfkCalculation() == IGNORES_AFK) {
             return;
         }
-        usedAFKCommand.add(playerUUID);
-        storeLastMovement(playerUUID, time - getAfkThreshold());
+        session.setUsedAfkCommand(true);
+        session.setLastMovementForAfkCalculation(time - getAfkThreshold());
     }
 
     public long performedAction(UUID playerUUID, long time) {
-        long lastMoved = getLastMovement(playerUUID, time);
+        ActiveSession session = SessionCache.getCachedSessionOrNull(playerUUID);
+        if (session == null) return 0L;
+
+        long lastMoved = session.getLastMovementForAfkCalculation();
         // Ignore afk permission
         if (lastMoved == IGNORES_AFK) {
             return 0L;
         }
-        storeLastMovement(playerUUID, time);
-
-        try {
-            if (time - lastMoved < getAfkThreshold()) {
-                // Threshold not crossed, no action required.
-                return 0L;
-            }
-
-            long removeAfkCommandEffect = usedAFKCommand.contains(playerUUID) ? getAfkThreshold() : 0;
-            long timeAFK = time - lastMoved - removeAfkCommandEffect;
-
-            SessionCache.getCachedSession(playerUUID)
-                    .ifPresent(session -> session.addAfkTime(timeAFK));
-            return timeAFK;
-        } finally {
-            usedAFKCommand.remove(playerUUID);
+        if (time - lastMoved < getAfkThreshold() && !session.hasUsedAfkCommand()) {
+            // Threshold not crossed, no action required.
+            session.setLastMovementForAfkCalculation(time);
+            return 0L;
         }
+        return endAfkPeriod(session, lastMoved, time);
     }
 
-    public long loggedOut(UUID uuid, long time) {
-        long timeAFK = performedAction(uuid, time);
-        usedAFKCommand.remove(uuid);
+    private long endAfkPeriod(ActiveSession session, long lastMoved, long time) {
+        session.setLastMovementForAfkCalculation(time);
+        boolean usedAfkCommand = session.hasUsedAfkCommand();
+        session.setUsedAfkCommand(false);
+        if (time - lastMoved < getAfkThreshold()) {
+            return 0L;
+        }
+
+        long removeAfkCommandEffect = usedAfkCommand ? getAfkThreshold() : 0;
+        long timeAFK = time - lastMoved - removeAfkCommandEffect;
+        session.addAfkTime(timeAFK);
         return timeAFK;
     }
 
+    public long loggedOut(UUID uuid, long time) {
+        return performedAction(uuid, time);
+    }
+
     public boolean isAfk(UUID playerUUID) {
         long time = System.currentTimeMillis();
 
-        Optional<Long> lastMoved = getLastMovement(playerUUID);
-        if (lastMoved.isEmpty() || lastMoved.get() == IGNORES_AFK) {
+        ActiveSession session = SessionCache.getCachedSessionOrNull(playerUUID);
+        if (session == null) return false;
+        long lastMoved = session.getLastMovementForAfkCalculation();
+        if (lastMoved == IGNORES_AFK) {
             return false;
         }
-        return time - lastMoved.get() > getAfkThreshold();
+        return time - lastMoved > getAfkThreshold();
     }
 }
\ No newline at end of file
@@ -64,6 +64,18 @@ public class SessionCache {
         return found;
     }
 
+    /**
+     * Used to get the Session of the player without updating its state or allocating.
+     * <p>
+     * Meant for events that happen many times per tick, like movement.
+     *
+     * @param playerUUID UUID of the player.
+     * @return The session or null if not found.
+     */
+    public static ActiveSession getCachedSessionOrNull(UUID playerUUID) {
+        return ACTIVE_SESSIONS.get(playerUUID);
+    }
+
     /**
      * Cache a new session.
      *
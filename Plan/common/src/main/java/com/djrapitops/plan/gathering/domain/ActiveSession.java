@@ -22,6 +22,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 public class ActiveSession {
 
@@ -29,9 +30,14 @@ public class ActiveSession {
     private final ServerUUID serverUUID;
     private final long start;
     private final DataMap extraData;
+    // Incremented from event threads without locking, moved to the counters in extraData when the session is finished
+    // or extraData is read. equals, hashCode and toString only read them, so that they do not change the session.
+    private final LongAdder pendingMobKills;
+    private final LongAdder pendingDeaths;
     private long afkTime;
 
-    private long lastMovementForAfkCalculation;
+    private volatile long lastMovementForAfkCalculation;
+    private volatile boolean usedAfkCommand;
 
     public ActiveSession(UUID playerUUID, ServerUUID serverUUID, long start, String world, String gameMode) {
         this.playerUUID = playerUUID;
@@ -44,6 +50,8 @@ public class ActiveSession {
         extraData.put(MobKillCounter.class, new MobKillCounter());
         extraData.put(DeathCounter.class, new DeathCounter());
         extraData.put(PlayerKills.class, new PlayerKills());
+        pendingMobKills = new LongAdder();
+        pendingDeaths = new LongAdder();
 
         lastMovementForAfkCalculation = start;
     }
@@ -57,6 +65,7 @@ public class ActiveSession {
 
     public FinishedSession toFinishedSession(long end) {
         updateState(end);
+        flushPendingCounters();
         return new FinishedSession(playerUUID, serverUUID, start, end, afkTime, extraData.copy());
     }
 
@@ -76,12 +85,48 @@ public class ActiveSession {
         afkTime += time;
     }
 
+    /**
+     * Count a death, safe to call from any thread.
+     */
     public void addDeath() {
-        extraData.get(DeathCounter.class).ifPresent(Counter::add);
+        pendingDeaths.increment();
     }
 
+    /**
+     * Count a mob kill, safe to call from any thread.
+     */
     public void addMobKill() {
-        extraData.get(MobKillCounter.class).ifPresent(Counter::add);
+        pendingMobKills.increment();
+    }
+
+    private synchronized void flushPendingCounters() {
+        int mobKills = (int) pendingMobKills.sumThenReset();
+        if (mobKills > 0) extraData.get(MobKillCounter.class).ifPresent(counter -> counter.add(mobKills));
+        int deaths = (int) pendingDeaths.sumThenReset();
+        if (deaths > 0) extraData.get(DeathCounter.class).ifPresent(counter -> counter.add(deaths));
+    }
+
+    /**
+     * Get mob kills so far without moving pending kills to extra data.
+     *
+     * @return Number of mob kills.
+     */
+    public int getMobKillCount() {
+        return countOf(MobKillCounter.class, pendingMobKills);
+    }
+
+    /**
+     * Get deaths so far without moving pending deaths to extra data.
+     *
+     * @return Number of deaths.
+     */
+    public int getDeathCount() {
+        return countOf(DeathCounter.class, pendingDeaths);
+    }
+
+    private synchronized int countOf(Class<? extends Counter> counterType, LongAdder pending) {
+        int stored = extraData.get(counterType).map(Counter::getCount).orElse(0);
+        return stored + (int) pending.sum();
     }
 
     public void addPlayerKill(PlayerKill kill) {
@@ -95,6 +140,7 @@ public class ActiveSession {
     }
 
     public DataMap getExtraData() {
+        flushPendingCounters();
         return extraData;
     }
 
@@ -122,15 +168,15 @@ public class ActiveSession {
         return start == that.start && afkTime == that.afkTime &&
                 Objects.equals(playerUUID, that.playerUUID) &&
                 Objects.equals(serverUUID, that.serverUUID) &&
-                Objects.equals(getExtraData(WorldTimes.class), that.getExtraData(WorldTimes.class)) &&
-                Objects.equals(getExtraData(PlayerKills.class), that.getExtraData(PlayerKills.class)) &&
-                Objects.equals(getExtraData(MobKillCounter.class), that.getExtraData(MobKillCounter.class)) &&
-                Objects.equals(getExtraData(DeathCounter.class), that.getExtraData(DeathCounter.class));
+                Objects.equals(extraData.get(WorldTimes.class), that.extraData.get(WorldTimes.class)) &&
+                Objects.equals(extraData.get(PlayerKills.class), that.extraData.get(PlayerKills.class)) &&
+                getMobKillCount() == that.getMobKillCount() &&
+                getDeathCount() == that.getDeathCount();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(playerUUID, serverUUID, start, afkTime, extraData);
+        return Objects.hash(playerUUID, serverUUID, start, afkTime);
     }
 
     @Override
@@ -141,6 +187,8 @@ public class ActiveSession {
                 ", start=" + start +
                 ", afkTime=" + afkTime +
                 ", extraData=" + extraData +
+                ", pendingMobKills=" + pendingMobKills.sum() +
+                ", pendingDeaths=" + pendingDeaths.sum() +
                 '}';
     }
 
@@ -152,5 +200,13 @@ public class ActiveSession {
         this.lastMovementForAfkCalculation = lastMovementForAfkCalculation;
     }
 
+    public boolean hasUsedAfkCommand() {
+        return usedAfkCommand;
+    }
+
+    public void setUsedAfkCommand(boolean usedAfkCommand) {
+        this.usedAfkCommand = usedAfkCommand;
+    }
+
     public static class FirstSession {}
 }
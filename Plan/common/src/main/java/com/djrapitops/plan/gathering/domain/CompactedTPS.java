@@ -0,0 +1,81 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.gathering.domain;
+
+import com.djrapitops.plan.storage.database.sql.tables.TPSCompactedTable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Row of {@link TPSCompactedTable}, used when copying the compacted data between databases.
+ *
+ * @author AuroraLS3
+ */
+public class CompactedTPS {
+
+    private final long resolution;
+    private final long date;
+    private final double[] values;
+
+    /**
+     * Create a new row.
+     *
+     * @param resolution Resolution of the row in ms.
+     * @param date       Start of the row in epoch ms.
+     * @param values     Values in order of {@link TPSCompactedTable#VALUE_COLUMNS}.
+     */
+    public CompactedTPS(long resolution, long date, double[] values) {
+        this.resolution = resolution;
+        this.date = date;
+        this.values = values;
+    }
+
+    public long getResolution() {
+        return resolution;
+    }
+
+    public long getDate() {
+        return date;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CompactedTPS that = (CompactedTPS) o;
+        return resolution == that.resolution && date == that.date && Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(resolution, date, Arrays.hashCode(values));
+    }
+
+    @Override
+    public String toString() {
+        return "CompactedTPS{" +
+                "resolution=" + resolution +
+                ", date=" + date +
+                ", values=" + Arrays.toString(values) +
+                '}';
+    }
+}
@@ -38,6 +38,10 @@ public class Counter {
         count++;
     }
 
+    public void add(int amount) {
+        count += amount;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
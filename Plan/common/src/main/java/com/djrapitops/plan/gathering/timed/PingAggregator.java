@@ -0,0 +1,192 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.gathering.timed;
+
+import com.djrapitops.plan.gathering.domain.Ping;
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.utilities.Predicates;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aggregates ping samples of online players into one {@link Ping} per player for each window of samples.
+ * <p>
+ * Samples are stored in a primitive int ring buffer per player so that sampling does not allocate.
+ * Min, max and median are calculated in place when the window completes, and all players of the window
+ * are returned together so they can be stored in a single transaction.
+ * <p>
+ * Players can be added and removed on any thread, but sampling and aggregation should happen on one thread.
+ *
+ * @author AuroraLS3
+ */
+public class PingAggregator {
+
+    public static final int WINDOW_SIZE = 30;
+
+    private final Map<UUID, PingBuffer> buffers;
+    private final int[] medianScratch;
+    private int samplesInWindow;
+
+    public PingAggregator() {
+        buffers = new ConcurrentHashMap<>();
+        medianScratch = new int[WINDOW_SIZE];
+    }
+
+    public void startRecording(UUID playerUUID) {
+        buffers.put(playerUUID, new PingBuffer());
+    }
+
+    public void stopRecording(UUID playerUUID) {
+        buffers.remove(playerUUID);
+    }
+
+    /**
+     * Get players whose ping is being recorded.
+     *
+     * @return Live view, players can be removed with {@link Iterator#remove()}.
+     */
+    public Set<UUID> getRecordedPlayers() {
+        return buffers.keySet();
+    }
+
+    public boolean isEmpty() {
+        return buffers.isEmpty();
+    }
+
+    public void addPing(UUID playerUUID, long date, int ping) {
+        PingBuffer buffer = buffers.get(playerUUID);
+        if (buffer != null) buffer.add(date, ping);
+    }
+
+    /**
+     * Mark that all players were sampled once.
+     *
+     * @return true if the window is complete and {@link #aggregateWindow(ServerUUID)} should be called.
+     */
+    public boolean completeSample() {
+        samplesInWindow++;
+        return samplesInWindow >= WINDOW_SIZE;
+    }
+
+    /**
+     * Calculate ping of each player with samples during the window, and start a new window.
+     *
+     * @param serverUUID UUID of the server the ping was sampled on.
+     * @return Ping of each player that had samples.
+     */
+    public Map<UUID, Ping> aggregateWindow(ServerUUID serverUUID) {
+        samplesInWindow = 0;
+        Map<UUID, Ping> aggregated = new HashMap<>();
+        for (Map.Entry<UUID, PingBuffer> entry : buffers.entrySet()) {
+            PingBuffer buffer = entry.getValue();
+            if (buffer.size == 0) continue;
+            aggregated.put(entry.getKey(), buffer.aggregate(serverUUID, medianScratch));
+            buffer.clear();
+        }
+        return aggregated;
+    }
+
+    public void clear() {
+        buffers.clear();
+        samplesInWindow = 0;
+    }
+
+    static double median(int[] values, int size) {
+        if (size == 0) return -1;
+        int half = size / 2;
+        int upper = select(values, size, half);
+        if (size % 2 == 1) return upper;
+
+        // Everything before index half is at most upper after select, so the largest of them is the lower middle.
+        int lower = Integer.MIN_VALUE;
+        for (int i = 0; i < half; i++) {
+            lower = Math.max(lower, values[i]);
+        }
+        return (lower + upper) / 2.0;
+    }
+
+    /**
+     * Find k-th smallest value with quickselect, reordering the array.
+     */
+    private static int select(int[] values, int size, int k) {
+        int left = 0;
+        int right = size - 1;
+        while (left < right) {
+            int pivot = values[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) i++;
+                while (values[j] > pivot) j--;
+                if (i <= j) {
+                    int swap = values[i];
+                    values[i] = values[j];
+                    values[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return values[k];
+            }
+        }
+        return values[k];
+    }
+
+    static class PingBuffer {
+        private final int[] values = new int[WINDOW_SIZE];
+        private int next;
+        private int size;
+        private long lastDate;
+
+        void add(long date, int ping) {
+            values[next] = ping;
+            next = (next + 1) % values.length;
+            if (size < values.length) size++;
+            lastDate = date;
+        }
+
+        Ping aggregate(ServerUUID serverUUID, int[] scratch) {
+            int min = -1;
+            int max = -1;
+            for (int i = 0; i < size; i++) {
+                int value = values[i];
+                scratch[i] = value;
+                if (Predicates.pingInRange(value)) {
+                    min = min == -1 ? value : Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+            int median = (int) median(scratch, size);
+            return new Ping(lastDate, serverUUID, min, max, median);
+        }
+
+        void clear() {
+            next = 0;
+            size = 0;
+        }
+    }
+}
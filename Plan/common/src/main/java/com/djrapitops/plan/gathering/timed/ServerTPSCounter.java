@@ -42,6 +42,7 @@ public class ServerTPSCounter<W> extends TPSCounter {
 
     private final boolean noDirectTPS;
     private final ServerSensor<W> serverSensor;
+    private final WorldCountSampler<W> worldCounts;
     private final SystemUsageBuffer systemUsage;
     private final DBSystem dbSystem;
     private final ServerInfo serverInfo;
@@ -64,6 +65,9 @@ public class ServerTPSCounter<W> extends TPSCounter {
 
         noDirectTPS = !serverSensor.supportsDirectTPS();
         this.serverSensor = serverSensor;
+        // Pulses happen every second and the counts are saved every minute.
+        int pulsesPerSave = (int) TimeUnit.MINUTES.toSeconds(1L);
+        worldCounts = serverSensor.supportsFastWorldCounts() ? null : new WorldCountSampler<>(serverSensor, pulsesPerSave);
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
         this.systemUsage = systemUsage;
@@ -84,6 +88,7 @@ public class ServerTPSCounter<W> extends TPSCounter {
         playersOnline.add(serverSensor.getOnlinePlayerCount());
         cpu.add(systemUsage.getCpu());
         ram.add(systemUsage.getRam());
+        if (worldCounts != null) worldCounts.pulse();
         result.ifPresent(tps -> save(tps, time));
     }
 
@@ -94,9 +99,15 @@ public class ServerTPSCounter<W> extends TPSCounter {
         long averageRAM = (long) ram.getAverageAndReset();
         int entityCount = 0;
         int chunkCount = 0;
-        for (W world : serverSensor.getWorlds()) {
-            entityCount += serverSensor.getEntityCount(world);
-            chunkCount += serverSensor.getChunkCount(world);
+        if (worldCounts != null) {
+            int[] totals = worldCounts.getTotals();
+            entityCount = totals[0];
+            chunkCount = totals[1];
+        } else {
+            for (W world : serverSensor.getWorlds()) {
+                entityCount += serverSensor.getEntityCount(world);
+                chunkCount += serverSensor.getChunkCount(world);
+            }
         }
         long freeDiskSpace = systemUsage.getFreeDiskSpace();
 
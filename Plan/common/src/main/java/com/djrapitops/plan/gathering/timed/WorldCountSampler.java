@@ -0,0 +1,104 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.gathering.timed;
+
+import com.djrapitops.plan.gathering.ServerSensor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples entity and chunk counts of worlds one world at a time.
+ * <p>
+ * Counting all worlds at once can cause a tick spike on platforms where counting lists all entities,
+ * so a call to {@link #pulse()} counts at most a single world and the totals use the latest sample of each world.
+ * Counts are spread over the pulses of one round, so that each world is counted about once per round
+ * instead of on every pulse when there are only a few worlds.
+ *
+ * @param <W> Type of the class representing a minecraft world.
+ * @author AuroraLS3
+ */
+public class WorldCountSampler<W> {
+
+    private final ServerSensor<W> serverSensor;
+    private final int pulsesPerRound;
+    private final Map<W, int[]> latestCounts;
+    private int nextWorld;
+    private int pulsesUntilNextWorld;
+
+    /**
+     * Create a new sampler.
+     *
+     * @param serverSensor   Sensor to count the worlds with.
+     * @param pulsesPerRound Number of pulses that every world should be counted once in, a round takes longer if
+     *                       there are more worlds than pulses.
+     */
+    public WorldCountSampler(ServerSensor<W> serverSensor, int pulsesPerRound) {
+        this.serverSensor = serverSensor;
+        this.pulsesPerRound = pulsesPerRound;
+        latestCounts = new HashMap<>();
+        nextWorld = 0;
+        pulsesUntilNextWorld = 0;
+    }
+
+    /**
+     * Count entities and chunks of the next world if it is its turn.
+     */
+    public void pulse() {
+        if (pulsesUntilNextWorld > 0) {
+            pulsesUntilNextWorld--;
+            return;
+        }
+
+        List<W> worlds = getWorlds();
+        if (worlds.isEmpty()) return;
+        if (nextWorld >= worlds.size()) nextWorld = 0;
+
+        W world = worlds.get(nextWorld);
+        latestCounts.put(world, new int[]{serverSensor.getEntityCount(world), serverSensor.getChunkCount(world)});
+        nextWorld++;
+        pulsesUntilNextWorld = Math.max(1, pulsesPerRound / worlds.size()) - 1;
+    }
+
+    /**
+     * Get the totals from latest samples, and forget worlds that are no longer loaded.
+     *
+     * @return int[]{entities, chunks}
+     */
+    public int[] getTotals() {
+        List<W> worlds = getWorlds();
+        latestCounts.keySet().retainAll(worlds);
+
+        int entityCount = 0;
+        int chunkCount = 0;
+        for (int[] counts : latestCounts.values()) {
+            entityCount += counts[0];
+            chunkCount += counts[1];
+        }
+        return new int[]{entityCount, chunkCount};
+    }
+
+    private List<W> getWorlds() {
+        Iterable<W> worlds = serverSensor.getWorlds();
+        if (worlds instanceof List) return (List<W>) worlds;
+        List<W> asList = new ArrayList<>();
+        worlds.forEach(asList::add);
+        return asList;
+    }
+}
@@ -16,9 +16,9 @@
  */
 package com.djrapitops.plan.settings.config.paths;
 
-import com.djrapitops.plan.settings.config.paths.key.BooleanSetting;
-import com.djrapitops.plan.settings.config.paths.key.Setting;
-import com.djrapitops.plan.settings.config.paths.key.StringSetting;
+import com.djrapitops.plan.settings.config.paths.key.*;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@link Setting} values that are in "Data_gathering" section.
@@ -35,6 +35,8 @@ public class DataGatheringSettings {
     public static final Setting<Boolean> LOG_UNKNOWN_COMMANDS = new BooleanSetting("Data_gathering.Commands.Log_unknown");
     public static final Setting<Boolean> COMBINE_COMMAND_ALIASES = new BooleanSetting("Data_gathering.Commands.Log_aliases_as_main_command");
     public static final Setting<Boolean> PRESERVE_JOIN_ADDRESS_CASE = new BooleanSetting("Data_gathering.Preserve_join_address_case");
+    public static final Setting<Integer> EXTENSION_THREADS = new IntegerSetting("Data_gathering.Extensions.Threads", value -> value > 0);
+    public static final Setting<Long> EXTENSION_TIME_BUDGET = new TimeSetting("Data_gathering.Extensions.Time_budget", TimeUnit.SECONDS.toMillis(5L));
 
     private DataGatheringSettings() {
         /* static variable class */
@@ -16,6 +16,7 @@
  */
 package com.djrapitops.plan.settings.config.paths;
 
+import com.djrapitops.plan.settings.config.paths.key.BooleanSetting;
 import com.djrapitops.plan.settings.config.paths.key.IntegerSetting;
 import com.djrapitops.plan.settings.config.paths.key.Setting;
 import com.djrapitops.plan.settings.config.paths.key.StringSetting;
@@ -39,6 +40,10 @@ public class DatabaseSettings {
     public static final Setting<String> MYSQL_LAUNCH_OPTIONS = new StringSetting("Database.MySQL.Launch_options");
     public static final Setting<Integer> MAX_CONNECTIONS = new IntegerSetting("Database.MySQL.Max_connections", value -> value > 0);
     public static final Setting<Long> MAX_LIFETIME = new TimeSetting("Database.MySQL.Max_Lifetime");
+    public static final Setting<Integer> TRANSACTION_THREADS = new IntegerSetting("Database.MySQL.Transaction_threads", value -> value > 0);
+    public static final Setting<Boolean> GROUP_COMMIT = new BooleanSetting("Database.Group_commit.Enabled");
+    public static final Setting<Integer> GROUP_COMMIT_MAX_BATCH_SIZE = new IntegerSetting("Database.Group_commit.Max_batch_size", value -> value > 0);
+    public static final Setting<Long> GROUP_COMMIT_MAX_LINGER = new TimeSetting("Database.Group_commit.Max_linger");
 
     private DatabaseSettings() {
         /* static variable class */
@@ -51,6 +51,9 @@ public class WebserverSettings {
     public static final Setting<Long> INVALIDATE_QUERY_RESULTS = new TimeSetting("Webserver.Cache.Invalidate_query_results_on_disk_after");
     public static final Setting<Long> INVALIDATE_DISK_CACHE = new TimeSetting("Webserver.Cache.Invalidate_disk_cache_after");
     public static final Setting<Long> INVALIDATE_MEMORY_CACHE = new TimeSetting("Webserver.Cache.Invalidate_memory_cache_after", TimeUnit.MINUTES.toMillis(5L));
+    public static final Setting<Integer> MEMORY_CACHE_MAX_SIZE_MB = new IntegerSetting("Webserver.Cache.Memory_cache_max_size_MB", value -> value > 0);
+    public static final Setting<Long> PRE_WARM_TIME_BUDGET = new TimeSetting("Webserver.Cache.Pre_warm.Database_time_per_minute", TimeUnit.SECONDS.toMillis(5L));
+    public static final Setting<Integer> PRE_WARM_MAX_ENTRIES = new IntegerSetting("Webserver.Cache.Pre_warm.Max_entries", value -> value >= 0);
     public static final Setting<Long> COOKIES_EXPIRE_AFTER = new TimeSetting("Webserver.Security.Cookies_expire_after", TimeUnit.HOURS.toMillis(2L));
     public static final Setting<Integer> REMOVE_ACCESS_LOG_AFTER_DAYS = new IntegerSetting("Webserver.Security.Access_log.Remove_logs_after_days");
     private WebserverSettings() {
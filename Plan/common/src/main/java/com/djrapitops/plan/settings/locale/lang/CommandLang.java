@@ -82,6 +82,7 @@ public enum CommandLang implements Lang {
     HEADER_WEB_USERS("command.header.webUsers", "Cmd Header - Web Users", "> §2${0} Web Users"),
     HEADER_NETWORK("command.header.network", "Cmd Header - Network", "> §2Network Page"),
     HEADER_SERVER_LIST("command.header.serverList", "Cmd Header - server list", "id::name::uuid::version"),
+    HEADER_DB_STATS("command.header.dbStats", "Cmd Header - Database statistics", "> §2Slowest Database Queries"),
     HEADER_WEB_USER_LIST("command.header.webUserList", "Cmd Header - web user list", "username::linked to::permission level"),
 
     INFO_VERSION("command.subcommand.info.version", "Cmd Info - Version", "  §2Version: §f${0}"),
@@ -103,10 +104,13 @@ public enum CommandLang implements Lang {
     INGAME_MOB_KILLS("command.ingame.mobKills", "Cmd Qinspect - Mob Kills", "  §2Mob Kills: §f${0}"),
     INGAME_DEATHS("command.ingame.deaths", "Cmd Qinspect - Deaths", "  §2Deaths: §f${0}"),
 
+    DB_COPY_PROGRESS("command.database.copyProgress", "Cmd db - copy progress", "Copied ${1} rows of ${0} (${2} rows/s)"),
     DB_BACKUP_CREATE("command.database.creatingBackup", "Cmd db - creating backup", "Creating a backup file '${0}.db' with contents of ${1}"),
     DB_WRITE("command.database.write", "Cmd db - write", "Writing to ${0}.."),
     DB_REMOVAL("command.database.removal", "Cmd db - removal", "Removing Plan-data from ${0}.."),
     DB_REMOVAL_PLAYER("command.database.playerRemoval", "Cmd db - removal player", "Removing data of ${0} from ${1}.."),
+    DB_QUERY_STATS("command.database.queryStats", "Cmd db - query statistics", "  §2${0}: §f${1} ms avg, ${2} ms max, ${3} executions, ${4} rows avg"),
+    DB_NO_QUERY_STATS("command.database.noQueryStats", "Cmd db - no query statistics", "  §7No queries have been executed yet"),
     DB_UNINSTALLED("command.database.serverUninstalled", "Cmd db - server uninstalled", "§aIf the server is still installed, it will automatically set itself as installed in the database."),
     UNREGISTER("command.database.unregister", "Cmd unregister - unregistering", "Unregistering '${0}'.."),
 
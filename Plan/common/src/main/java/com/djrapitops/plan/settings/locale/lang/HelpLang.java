@@ -68,6 +68,7 @@ public enum HelpLang implements Lang {
     DB_HOTSWAP("command.help.dbHotswap.description", "Command Help - /plan db hotswap", "Change Database quickly"),
     DB_CLEAR("command.help.dbClear.description", "Command Help - /plan db clear", "Remove ALL Plan data from a database"),
     DB_REMOVE("command.help.dbRemove.description", "Command Help - /plan db remove", "Remove player's data from Current database"),
+    DB_STATS("command.help.dbStats.description", "Command Help - /plan db stats", "View slowest database queries"),
     DB_UNINSTALLED("command.help.dbUninstalled.description", "Command Help - /plan db uninstalled", "Set a server as uninstalled in the database."),
     EXPORT("command.help.export.description", "Command Help - /plan export", "Export html or json files manually"),
     IMPORT("command.help.import.description", "Command Help - /plan import", "Import data"),
@@ -46,6 +46,7 @@ public abstract class AbstractDatabase implements Database {
         accessLock.operabilityChanged();
     }
 
+    @Override
     public boolean isUnderHeavyLoad() {
         return heavyLoadDelayMs.get() != 0;
     }
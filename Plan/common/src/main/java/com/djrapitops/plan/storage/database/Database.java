@@ -18,6 +18,7 @@ package com.djrapitops.plan.storage.database;
 
 import com.djrapitops.plan.exceptions.database.DBInitException;
 import com.djrapitops.plan.storage.database.queries.*;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.sql.building.Sql;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 
@@ -79,6 +80,20 @@ public interface Database {
         return queryCollection(sql, rowExtractor, HashSet::new, parameters);
     }
 
+    default UserIdSet queryUserIds(String sql, String userIdColumn, Object... parameters) {
+        return query(new QueryStatement<>(sql, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                QueryParameterSetter.setParameters(statement, parameters);
+            }
+
+            @Override
+            public UserIdSet processResults(ResultSet set) throws SQLException {
+                return UserIdSet.extract(set, userIdColumn);
+            }
+        });
+    }
+
     default <C extends Collection<T>, T> C queryCollection(String sql, RowExtractor<T> rowExtractor, Supplier<C> collectionConstructor, Object... parameters) {
         return query(new QueryStatement<>(sql, 1000) {
             @Override
@@ -141,6 +156,13 @@ public interface Database {
 
     State getState();
 
+    /**
+     * Check if the database has been slow to execute transactions recently.
+     *
+     * @return true if writes that are not important should be postponed.
+     */
+    boolean isUnderHeavyLoad();
+
     /**
      * Possible State changes:
      * CLOSED to PATCHING (Database init),
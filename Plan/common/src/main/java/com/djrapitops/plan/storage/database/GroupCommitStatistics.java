@@ -0,0 +1,89 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of how group commit is performing.
+ *
+ * @author AuroraLS3
+ */
+public class GroupCommitStatistics {
+
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder committedTransactions = new LongAdder();
+    private final LongAdder commitTimeNs = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final AtomicInteger largestBatch = new AtomicInteger(0);
+
+    void recordCommit(int batchSize, long commitTimeNs) {
+        commits.increment();
+        committedTransactions.add(batchSize);
+        this.commitTimeNs.add(commitTimeNs);
+        largestBatch.accumulateAndGet(batchSize, Math::max);
+    }
+
+    void recordFallback() {
+        fallbacks.increment();
+    }
+
+    public long getCommitCount() {
+        return commits.sum();
+    }
+
+    public long getCommittedTransactionCount() {
+        return committedTransactions.sum();
+    }
+
+    /**
+     * Get how many times a group failed and its transactions had to be executed one by one.
+     *
+     * @return Number of failed groups.
+     */
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+
+    public int getLargestBatchSize() {
+        return largestBatch.get();
+    }
+
+    public double getAverageBatchSize() {
+        long count = commits.sum();
+        return count != 0 ? (double) committedTransactions.sum() / count : 0.0;
+    }
+
+    public double getAverageCommitLatencyMs() {
+        long count = commits.sum();
+        return count != 0 ? (double) commitTimeNs.sum() / count / TimeUnit.MILLISECONDS.toNanos(1) : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "GroupCommitStatistics{" +
+                "commits=" + getCommitCount() +
+                ", transactions=" + getCommittedTransactionCount() +
+                ", averageBatchSize=" + getAverageBatchSize() +
+                ", largestBatchSize=" + getLargestBatchSize() +
+                ", averageCommitLatencyMs=" + getAverageCommitLatencyMs() +
+                ", fallbacks=" + getFallbackCount() +
+                '}';
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.identification.ServerUUID;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory cache of database ids of players and servers of a single database.
+ * <p>
+ * Ids are assigned by the database, so each {@link SQLDB} has its own cache.
+ * The cache is filled by transactions after they commit, see
+ * {@link com.djrapitops.plan.storage.database.transactions.Transaction#lookupUserId(UUID)},
+ * and entries are removed by transactions that remove players or servers.
+ * <p>
+ * Amount of players is bounded, least recently used players are dropped first.
+ * All servers are kept since there are only a few of them.
+ *
+ * @author AuroraLS3
+ */
+public class IdentityCache {
+
+    public static final int DEFAULT_MAX_USERS = 10000;
+
+    private final int maxUsers;
+    private final Map<UUID, Integer> userIds;
+    private final Map<Integer, UUID> playerUUIDs;
+    private final Map<ServerUUID, Integer> serverIds = new ConcurrentHashMap<>();
+    private final Map<Integer, ServerUUID> serverUUIDs = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public IdentityCache() {
+        this(DEFAULT_MAX_USERS);
+    }
+
+    public IdentityCache(int maxUsers) {
+        if (maxUsers < 1) throw new IllegalArgumentException("Cache needs to be able to hold at least one player, was " + maxUsers);
+        this.maxUsers = maxUsers;
+        this.playerUUIDs = new HashMap<>();
+        this.userIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Integer> eldest) {
+                if (size() > IdentityCache.this.maxUsers) {
+                    playerUUIDs.remove(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized Optional<Integer> getUserId(UUID playerUUID) {
+        return count(Optional.ofNullable(userIds.get(playerUUID)));
+    }
+
+    public synchronized Optional<UUID> getPlayerUUID(int userId) {
+        return count(Optional.ofNullable(playerUUIDs.get(userId)));
+    }
+
+    public Optional<Integer> getServerId(ServerUUID serverUUID) {
+        return count(Optional.ofNullable(serverIds.get(serverUUID)));
+    }
+
+    public Optional<ServerUUID> getServerUUID(int serverId) {
+        return count(Optional.ofNullable(serverUUIDs.get(serverId)));
+    }
+
+    private <T> Optional<T> count(Optional<T> found) {
+        if (found.isPresent()) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return found;
+    }
+
+    public synchronized void cacheUser(UUID playerUUID, int userId) {
+        // Either side may have pointed to something else before, so both old mappings are removed.
+        Integer previousId = userIds.remove(playerUUID);
+        if (previousId != null) playerUUIDs.remove(previousId);
+        UUID previousUUID = playerUUIDs.remove(userId);
+        if (previousUUID != null) userIds.remove(previousUUID);
+
+        userIds.put(playerUUID, userId);
+        playerUUIDs.put(userId, playerUUID);
+    }
+
+    public synchronized void cacheServer(ServerUUID serverUUID, int serverId) {
+        Integer previousId = serverIds.remove(serverUUID);
+        if (previousId != null) serverUUIDs.remove(previousId);
+        ServerUUID previousUUID = serverUUIDs.remove(serverId);
+        if (previousUUID != null) serverIds.remove(previousUUID);
+
+        serverIds.put(serverUUID, serverId);
+        serverUUIDs.put(serverId, serverUUID);
+    }
+
+    public synchronized void removeUser(UUID playerUUID) {
+        Integer userId = userIds.remove(playerUUID);
+        if (userId != null) playerUUIDs.remove(userId);
+    }
+
+    public synchronized void removeServer(ServerUUID serverUUID) {
+        Integer serverId = serverIds.remove(serverUUID);
+        if (serverId != null) serverUUIDs.remove(serverId);
+    }
+
+    public synchronized void clear() {
+        userIds.clear();
+        playerUUIDs.clear();
+        serverIds.clear();
+        serverUUIDs.clear();
+    }
+
+    public boolean hasServers() {
+        return !serverIds.isEmpty();
+    }
+
+    public synchronized int getUserCount() {
+        return userIds.size();
+    }
+
+    public int getServerCount() {
+        return serverIds.size();
+    }
+
+    public int getMaxUsers() {
+        return maxUsers;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+}
@@ -38,12 +38,14 @@ import net.playeranalytics.plugin.server.PluginLogger;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.sql.DataSource;
 import java.io.IOException;
 import java.sql.*;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author AuroraLS3
@@ -54,8 +56,14 @@ public class MySQLDB extends SQLDB {
     private static int increment = 1;
 
     private static boolean useMariaDbDriver = false;
+    // Limit for attempts to get a valid connection from the pool.
+    private static final int CONNECTION_ATTEMPT_LIMIT = 100;
 
-    protected HikariDataSource dataSource;
+    /*
+     * HikariCP is thread-safe, so connections are requested without locking.
+     * The reference is swapped when the data source is reloaded, and the previous data source closed.
+     */
+    private final AtomicReference<HikariDataSource> dataSource = new AtomicReference<>();
 
     @Inject
     public MySQLDB(
@@ -110,7 +118,7 @@ public class MySQLDB extends SQLDB {
         } catch (MariaDB11Exception e) {
             // Try to set up again using MariaDB driver
             driverClassLoader = null;
-            dataSource = null;
+            closeDataSource(dataSource.getAndSet(null));
             useMariaDbDriver = true;
             loadDataSource();
         }
@@ -152,7 +160,7 @@ public class MySQLDB extends SQLDB {
             hikariConfig.setMaxLifetime(config.get(DatabaseSettings.MAX_LIFETIME));
             hikariConfig.setLeakDetectionThreshold(config.get(DatabaseSettings.MAX_LIFETIME) + TimeUnit.SECONDS.toMillis(4L));
 
-            this.dataSource = new HikariDataSource(hikariConfig);
+            closeDataSource(dataSource.getAndSet(new HikariDataSource(hikariConfig)));
         } catch (HikariPool.PoolInitializationException e) {
             if (e.getMessage().contains("Unknown system variable 'transaction_isolation'")) {
                 throw new MariaDB11Exception("MySQL driver is incompatible with database that is being used.", e);
@@ -189,6 +197,22 @@ public class MySQLDB extends SQLDB {
         }
     }
 
+    @Override
+    protected int getTransactionLaneCount() {
+        try {
+            int threads = config.get(DatabaseSettings.TRANSACTION_THREADS);
+            int maxConnections = config.get(DatabaseSettings.MAX_CONNECTIONS);
+            if (threads >= maxConnections) {
+                logger.warn(DatabaseSettings.TRANSACTION_THREADS.getPath() + " should be lower than " + DatabaseSettings.MAX_CONNECTIONS.getPath() + ", using " + Math.max(1, maxConnections - 1) + " instead.");
+                return Math.max(1, maxConnections - 1);
+            }
+            return threads;
+        } catch (IllegalStateException e) {
+            logger.warn(e.getMessage() + ", using 1 for now.");
+            return 1;
+        }
+    }
+
     private void unloadMySQLDriver() {
         // Avoid issues with other plugins by removing the mysql driver from driver manager
         Enumeration<Driver> drivers = DriverManager.getDrivers();
@@ -208,22 +232,29 @@ public class MySQLDB extends SQLDB {
     }
 
     @Override
-    public synchronized Connection getConnection() throws SQLException {
-        Connection connection = dataSource.getConnection();
-        if (!connection.isValid(5)) {
-            connection.close();
-            try {
-                return getConnection();
-            } catch (StackOverflowError databaseHasGoneDown) {
-                throw new DBOpException("Valid connection could not be fetched (Is MySQL down?) - attempted until StackOverflowError occurred.", databaseHasGoneDown);
+    public Connection getConnection() throws SQLException {
+        HikariDataSource source = dataSource.get();
+        if (source == null) {
+            throw new SQLException("Connection pool is not available, database is closed or was not set up.");
+        }
+        return getValidConnection(source);
+    }
+
+    // VisibleForTesting
+    static Connection getValidConnection(DataSource source) throws SQLException {
+        for (int attempt = 1; attempt <= CONNECTION_ATTEMPT_LIMIT; attempt++) {
+            Connection connection = source.getConnection();
+            if (connection.isValid(5)) {
+                if (connection.getAutoCommit()) connection.setAutoCommit(false);
+                setTimezoneToUTC(connection);
+                return connection;
             }
+            connection.close();
         }
-        if (connection.getAutoCommit()) connection.setAutoCommit(false);
-        setTimezoneToUTC(connection);
-        return connection;
+        throw new DBOpException("Valid connection could not be fetched (Is MySQL down?) - attempted " + CONNECTION_ATTEMPT_LIMIT + " times.");
     }
 
-    private void setTimezoneToUTC(Connection connection) throws SQLException {
+    private static void setTimezoneToUTC(Connection connection) throws SQLException {
         try (Statement statement = connection.createStatement()) {
             statement.execute("set time_zone = '+00:00'");
         }
@@ -233,7 +264,11 @@ public class MySQLDB extends SQLDB {
     public void close() {
         super.close();
 
-        if (dataSource != null) dataSource.close();
+        closeDataSource(dataSource.getAndSet(null));
+    }
+
+    private void closeDataSource(HikariDataSource previous) {
+        if (previous != null && !previous.isClosed()) previous.close();
     }
 
     @Override
@@ -253,11 +288,11 @@ public class MySQLDB extends SQLDB {
         if (o == null || getClass() != o.getClass()) return false;
         if (!super.equals(o)) return false;
         MySQLDB mySQLDB = (MySQLDB) o;
-        return Objects.equals(dataSource, mySQLDB.dataSource);
+        return Objects.equals(dataSource.get(), mySQLDB.dataSource.get());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), dataSource);
+        return Objects.hash(super.hashCode(), dataSource.get());
     }
 }
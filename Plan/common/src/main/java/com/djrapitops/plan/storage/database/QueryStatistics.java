@@ -0,0 +1,195 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of how long each query and statement takes, and how many rows queries return.
+ * <p>
+ * Statistics are kept per class of the query, which for the anonymous query classes means per place where the query is created.
+ * Queries and statements do not know which database they are executed against, so the statistics are shared by the whole process.
+ *
+ * @author AuroraLS3
+ */
+public class QueryStatistics {
+
+    public static final int MAX_FETCH_SIZE = 10000;
+    // Fetch size is not changed before there is enough history.
+    static final int FETCH_SIZE_MIN_EXECUTIONS = 5;
+
+    private static final long[] BUCKET_LIMITS_MS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+    private static final QueryStatistics INSTANCE = new QueryStatistics();
+
+    private final Map<Class<?>, Entry> statistics = new ConcurrentHashMap<>();
+
+    public static QueryStatistics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record an execution of a query or a statement.
+     *
+     * @param queryClass Class of the query.
+     * @param sql        SQL of the query.
+     * @param durationNs How long the execution took.
+     * @param rows       Rows the query returned, or rows the statement changed.
+     */
+    public void record(Class<?> queryClass, String sql, long durationNs, long rows) {
+        getEntry(queryClass, sql).record(durationNs, rows);
+    }
+
+    private Entry getEntry(Class<?> queryClass, String sql) {
+        Entry entry = statistics.get(queryClass);
+        if (entry != null) return entry;
+        return statistics.computeIfAbsent(queryClass, key -> new Entry(key, sql));
+    }
+
+    /**
+     * Pick fetch size for a query based on how many rows it has returned before.
+     * <p>
+     * Only used with MariaDB Connector/J, which reads rows in batches of the fetch size.
+     * MySQL Connector/J ignores positive fetch sizes unless useCursorFetch is enabled and sqlite-jdbc steps through the rows anyway.
+     * Large results are streamed on MySQL instead, see {@link com.djrapitops.plan.storage.database.queries.QueryAllStreamingStatement}.
+     *
+     * @param queryClass       Class of the query.
+     * @param defaultFetchSize Fetch size given to the query, it is never made smaller.
+     * @return Fetch size large enough for average result of the query, at most {@link #MAX_FETCH_SIZE}.
+     */
+    public int getFetchSize(Class<?> queryClass, int defaultFetchSize) {
+        Entry entry = statistics.get(queryClass);
+        if (entry == null || entry.getExecutions() < FETCH_SIZE_MIN_EXECUTIONS) return defaultFetchSize;
+
+        long averageRows = (long) Math.ceil(entry.getAverageRows());
+        if (averageRows <= defaultFetchSize) return defaultFetchSize;
+        return (int) Math.min(MAX_FETCH_SIZE, Long.highestOneBit(averageRows - 1) << 1);
+    }
+
+    /**
+     * Get queries that took the longest on average.
+     *
+     * @param limit How many queries to return.
+     * @return Statistics of the queries, slowest first.
+     */
+    public List<Entry> getSlowest(int limit) {
+        List<Entry> entries = new ArrayList<>(statistics.values());
+        entries.sort(Comparator.comparingDouble(Entry::getAverageMs).reversed());
+        return entries.subList(0, Math.min(Math.max(limit, 0), entries.size()));
+    }
+
+    public int getQueryCount() {
+        return statistics.size();
+    }
+
+    public void clear() {
+        statistics.clear();
+    }
+
+    private static int getBucket(long durationMs) {
+        for (int i = 0; i < BUCKET_LIMITS_MS.length; i++) {
+            if (durationMs < BUCKET_LIMITS_MS[i]) return i;
+        }
+        return BUCKET_LIMITS_MS.length;
+    }
+
+    public static class Entry {
+        private final String name;
+        private final String sql;
+        private final int sqlBytes;
+
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalNs = new LongAdder();
+        private final LongAdder totalRows = new LongAdder();
+        private final AtomicLong maxNs = new AtomicLong();
+        private final AtomicLong maxRows = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_LIMITS_MS.length + 1);
+
+        Entry(Class<?> queryClass, String sql) {
+            String className = queryClass.getName();
+            this.name = className.substring(className.lastIndexOf('.') + 1);
+            this.sql = sql;
+            this.sqlBytes = sql.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        void record(long durationNs, long rows) {
+            executions.increment();
+            totalNs.add(durationNs);
+            totalRows.add(rows);
+            maxNs.accumulateAndGet(durationNs, Math::max);
+            maxRows.accumulateAndGet(rows, Math::max);
+            histogram.incrementAndGet(getBucket(TimeUnit.NANOSECONDS.toMillis(durationNs)));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public int getSqlBytes() {
+            return sqlBytes;
+        }
+
+        public long getExecutions() {
+            return executions.sum();
+        }
+
+        public double getAverageMs() {
+            long count = executions.sum();
+            return count == 0 ? 0.0 : totalNs.sum() / 1_000_000.0 / count;
+        }
+
+        public double getTotalMs() {
+            return totalNs.sum() / 1_000_000.0;
+        }
+
+        public double getMaxMs() {
+            return maxNs.get() / 1_000_000.0;
+        }
+
+        public double getAverageRows() {
+            long count = executions.sum();
+            return count == 0 ? 0.0 : (double) totalRows.sum() / count;
+        }
+
+        public long getMaxRows() {
+            return maxRows.get();
+        }
+
+        /**
+         * Get the latency histogram.
+         *
+         * @return Map: Upper limit of the bucket in ms (exclusive, "+" for the last bucket) - count, in order.
+         */
+        public Map<String, Long> getHistogram() {
+            Map<String, Long> buckets = new LinkedHashMap<>();
+            for (int i = 0; i < histogram.length(); i++) {
+                String lessThanMs = i < BUCKET_LIMITS_MS.length ? Long.toString(BUCKET_LIMITS_MS[i]) : BUCKET_LIMITS_MS[i - 1] + "+";
+                buckets.put(lessThanMs, histogram.get(i));
+            }
+            return buckets;
+        }
+    }
+}
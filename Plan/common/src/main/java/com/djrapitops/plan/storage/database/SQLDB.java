@@ -22,11 +22,13 @@ import com.djrapitops.plan.exceptions.database.DBOpException;
 import com.djrapitops.plan.exceptions.database.FatalDBException;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.DatabaseSettings;
 import com.djrapitops.plan.settings.config.paths.PluginSettings;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.locale.lang.PluginLang;
 import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.transactions.GroupCommittable;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 import com.djrapitops.plan.storage.database.transactions.init.CreateIndexTransaction;
@@ -83,7 +85,12 @@ public abstract class SQLDB extends AbstractDatabase {
     protected ClassLoader driverClassLoader;
 
     private Supplier<ExecutorService> transactionExecutorServiceProvider;
-    private ExecutorService transactionExecutor;
+    private boolean usingCustomTransactionExecutor = false;
+    private TransactionLanes transactionLanes;
+    private TransactionGroupCommitter[] groupCommitters;
+    private ScheduledExecutorService groupCommitTimer;
+    private final GroupCommitStatistics groupCommitStatistics = new GroupCommitStatistics();
+    private final IdentityCache identityCache = new IdentityCache();
     private static final ThreadLocal<StackTraceElement[]> TRANSACTION_ORIGIN = new ThreadLocal<>();
 
     private final AtomicInteger transactionQueueSize = new AtomicInteger(0);
@@ -107,18 +114,17 @@ public abstract class SQLDB extends AbstractDatabase {
         this.logger = logger;
         this.errorLogger = errorLogger;
 
-        this.transactionExecutorServiceProvider = () -> {
-            String nameFormat = "Plan " + getClass().getSimpleName() + "-transaction-thread-%d";
-            return Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
-                    .namingPattern(nameFormat)
-                    .uncaughtExceptionHandler((thread, throwable) -> {
-                        if (config.isTrue(PluginSettings.DEV_MODE)) {
-                            errorLogger.warn(throwable, ErrorContext.builder()
-                                    .whatToDo("THIS ERROR IS ONLY LOGGED IN DEV MODE")
-                                    .build());
-                        }
-                    }).build());
-        };
+        String nameFormat = "Plan " + getClass().getSimpleName() + "-transaction-thread-%d";
+        ThreadFactory transactionThreadFactory = new BasicThreadFactory.Builder()
+                .namingPattern(nameFormat)
+                .uncaughtExceptionHandler((thread, throwable) -> {
+                    if (config.isTrue(PluginSettings.DEV_MODE)) {
+                        errorLogger.warn(throwable, ErrorContext.builder()
+                                .whatToDo("THIS ERROR IS ONLY LOGGED IN DEV MODE")
+                                .build());
+                    }
+                }).build();
+        this.transactionExecutorServiceProvider = () -> Executors.newSingleThreadExecutor(transactionThreadFactory);
     }
 
     public static void setDownloadDriver(boolean downloadDriver) {
@@ -154,7 +160,20 @@ public abstract class SQLDB extends AbstractDatabase {
     @Override
     public void init() {
         List<Runnable> unfinishedTransactions = forceCloseTransactionExecutor();
-        this.transactionExecutor = transactionExecutorServiceProvider.get();
+        this.transactionLanes = createTransactionLanes();
+        if (groupCommitters == null && config.isTrue(DatabaseSettings.GROUP_COMMIT)) {
+            groupCommitters = new TransactionGroupCommitter[transactionLanes.getLaneCount()];
+            for (int lane = 0; lane < groupCommitters.length; lane++) {
+                int laneIndex = lane;
+                groupCommitters[lane] = new TransactionGroupCommitter(this,
+                        () -> getTransactionLanes().getLane(laneIndex),
+                        this::getGroupCommitTimer,
+                        config.get(DatabaseSettings.GROUP_COMMIT_MAX_BATCH_SIZE),
+                        config.get(DatabaseSettings.GROUP_COMMIT_MAX_LINGER),
+                        groupCommitStatistics
+                );
+            }
+        }
 
         setState(State.PATCHING);
 
@@ -162,7 +181,7 @@ public abstract class SQLDB extends AbstractDatabase {
         setupDatabase();
 
         for (Runnable unfinishedTransaction : unfinishedTransactions) {
-            transactionExecutor.submit(unfinishedTransaction);
+            transactionLanes.getLane(0).submit(unfinishedTransaction);
         }
 
         // If an OperationCriticalTransaction fails open is set to false.
@@ -172,11 +191,57 @@ public abstract class SQLDB extends AbstractDatabase {
         }
     }
 
+    private synchronized ScheduledExecutorService getGroupCommitTimer() {
+        if (groupCommitTimer == null || groupCommitTimer.isShutdown()) {
+            groupCommitTimer = Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder()
+                    .namingPattern("Plan " + getClass().getSimpleName() + "-group-commit-timer-%d")
+                    .daemon(true)
+                    .build());
+        }
+        return groupCommitTimer;
+    }
+
+    private void flushGroupCommitters() {
+        if (groupCommitters == null) return;
+        for (TransactionGroupCommitter groupCommitter : groupCommitters) {
+            groupCommitter.flush();
+        }
+        synchronized (this) {
+            if (groupCommitTimer != null) groupCommitTimer.shutdown();
+        }
+    }
+
+    private void flushGroupCommits(Transaction transaction, int lane) {
+        if (lane != -1) {
+            transaction.getOrderingKey().ifPresent(groupCommitters[lane % groupCommitters.length]::flush);
+            return;
+        }
+        for (TransactionGroupCommitter groupCommitter : groupCommitters) {
+            groupCommitter.flush();
+        }
+    }
+
+    private TransactionLanes createTransactionLanes() {
+        // Custom executors might not run on their own threads, so lanes are only used with the default executor.
+        int laneCount = usingCustomTransactionExecutor ? 1 : getTransactionLaneCount();
+        return new TransactionLanes(transactionExecutorServiceProvider, laneCount);
+    }
+
+    /**
+     * Get how many transactions can be executed at the same time.
+     *
+     * @return Number of transaction threads, 1 unless the database supports multiple connections.
+     */
+    protected int getTransactionLaneCount() {
+        return 1;
+    }
+
     protected boolean attemptToCloseTransactionExecutor() {
-        if (transactionExecutor == null || transactionExecutor.isShutdown() || transactionExecutor.isTerminated()) {
+        if (transactionLanes == null || transactionLanes.isShutdown() || transactionLanes.isTerminated()) {
             return true;
         }
-        transactionExecutor.shutdown();
+        flushGroupCommitters();
+        transactionLanes.shutdown();
         try {
             logger.info(locale.getString(PluginLang.DISABLED_WAITING_TRANSACTIONS));
             Long waitMs = config.getOrDefault(TimeSettings.DB_TRANSACTION_FINISH_WAIT_DELAY, TimeUnit.SECONDS.toMillis(20L));
@@ -184,7 +249,7 @@ public abstract class SQLDB extends AbstractDatabase {
                 logger.warn(TimeSettings.DB_TRANSACTION_FINISH_WAIT_DELAY.getPath() + " was set to over 5 minutes, using 5 min instead.");
                 waitMs = TimeUnit.MINUTES.toMillis(5L);
             }
-            return transactionExecutor.awaitTermination(waitMs, TimeUnit.MILLISECONDS);
+            return transactionLanes.awaitTermination(waitMs);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
@@ -243,7 +308,8 @@ public abstract class SQLDB extends AbstractDatabase {
                 new WebGroupDefaultGroupsPatch(),
                 new WebGroupAddMissingAdminGroupPatch(),
                 new LegacyPermissionLevelGroupsPatch(),
-                new SecurityTableGroupPatch()
+                new SecurityTableGroupPatch(),
+                new PlayerSummaryTablePatch()
         };
     }
 
@@ -267,6 +333,8 @@ public abstract class SQLDB extends AbstractDatabase {
             @Override
             protected void performOperations() {
                 logger.info(locale.getString(PluginLang.DB_APPLIED_PATCHES));
+                // Patches may have recreated tables, so ids loaded during patching can be outdated.
+                identityCache.clear();
                 if (getState() == State.PATCHING) setState(State.OPEN);
             }
         });
@@ -302,11 +370,11 @@ public abstract class SQLDB extends AbstractDatabase {
     public abstract void setupDataSource();
 
     protected List<Runnable> forceCloseTransactionExecutor() {
-        if (transactionExecutor == null || transactionExecutor.isShutdown() || transactionExecutor.isTerminated()) {
+        if (transactionLanes == null || transactionLanes.isShutdown() || transactionLanes.isTerminated()) {
             return Collections.emptyList();
         }
         try {
-            List<Runnable> unfinished = transactionExecutor.shutdownNow();
+            List<Runnable> unfinished = transactionLanes.shutdownNow();
             int unfinishedCount = unfinished.size();
             if (unfinishedCount > 0) {
                 logger.warn(unfinishedCount + " unfinished database transactions were not executed.");
@@ -364,20 +432,42 @@ public abstract class SQLDB extends AbstractDatabase {
             return CompletableFuture.completedFuture(null);
         }
 
+        TransactionLanes lanes = getTransactionLanes();
+        if (groupCommitters != null) {
+            int lane = lanes.getLaneIndex(transaction);
+            if (transaction instanceof GroupCommittable) {
+                return groupCommitters[Math.max(lane, 0) % groupCommitters.length].submit(transaction, origin);
+            }
+            // Lingering transactions of the same key (or any key for barriers) were submitted earlier, so they need to be queued first.
+            flushGroupCommits(transaction, lane);
+        }
+
         return CompletableFuture.supplyAsync(() -> {
             try {
                 TRANSACTION_ORIGIN.set(origin);
                 if (getState() == State.CLOSED) return CompletableFuture.completedFuture(null);
 
-                accessLock.performDatabaseOperation(() -> {
-                    if (!ranIntoFatalError.get()) {transaction.executeTransaction(this);}
-                }, transaction);
+                executeOnTransactionThread(transaction);
                 return CompletableFuture.completedFuture(null);
             } finally {
                 transactionQueueSize.decrementAndGet();
                 TRANSACTION_ORIGIN.remove();
             }
-        }, getTransactionExecutor()).exceptionally(errorHandler(transaction, origin));
+        }, lanes.getExecutor(transaction)).exceptionally(errorHandler(transaction, origin));
+    }
+
+    void executeOnTransactionThread(Transaction transaction) {
+        accessLock.performDatabaseOperation(() -> {
+            if (!ranIntoFatalError.get()) {transaction.executeTransaction(this);}
+        }, transaction);
+    }
+
+    void transactionsFinished(int count) {
+        transactionQueueSize.addAndGet(-count);
+    }
+
+    void handleTransactionError(Transaction transaction, StackTraceElement[] origin, Throwable throwable) {
+        errorHandler(transaction, origin).apply(throwable);
     }
 
     private boolean determineIfShouldDropUnimportantTransactions(int queueSize) {
@@ -427,11 +517,11 @@ public abstract class SQLDB extends AbstractDatabase {
         };
     }
 
-    private ExecutorService getTransactionExecutor() {
-        if (transactionExecutor == null) {
-            transactionExecutor = transactionExecutorServiceProvider.get();
+    TransactionLanes getTransactionLanes() {
+        if (transactionLanes == null) {
+            transactionLanes = createTransactionLanes();
         }
-        return transactionExecutor;
+        return transactionLanes;
     }
 
     @Override
@@ -453,6 +543,7 @@ public abstract class SQLDB extends AbstractDatabase {
 
     public void setTransactionExecutorServiceProvider(Supplier<ExecutorService> transactionExecutorServiceProvider) {
         this.transactionExecutorServiceProvider = transactionExecutorServiceProvider;
+        this.usingCustomTransactionExecutor = true;
     }
 
     public RunnableFactory getRunnableFactory() {
@@ -474,4 +565,12 @@ public abstract class SQLDB extends AbstractDatabase {
     public int getTransactionQueueSize() {
         return transactionQueueSize.get();
     }
+
+    public Optional<GroupCommitStatistics> getGroupCommitStatistics() {
+        return groupCommitters != null ? Optional.of(groupCommitStatistics) : Optional.empty();
+    }
+
+    public IdentityCache getIdentityCache() {
+        return identityCache;
+    }
 }
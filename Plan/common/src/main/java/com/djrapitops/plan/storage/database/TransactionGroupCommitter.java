@@ -0,0 +1,254 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.storage.database.transactions.GroupCommitTransaction;
+import com.djrapitops.plan.storage.database.transactions.GroupCommittable;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Gathers {@link GroupCommittable} transactions and commits them in groups on a transaction lane.
+ * <p>
+ * When the first transaction of a group arrives a timer waits max linger time for more to arrive,
+ * after which a drain task is queued on the lane. The group is sent right away if it fills up before the timer is done.
+ * Waiting happens on the timer thread, so other transactions on the lane are not held up.
+ * The drain task executes the transactions that were submitted before it was queued, at most max batch size at a time,
+ * each group as a single {@link GroupCommitTransaction}.
+ * If the group fails, transactions are retried one by one so that one bad transaction does not prevent others from being stored.
+ * <p>
+ * Transactions submitted to the lane some other way have to be queued after {@link #flush(Object)} (or {@link #flush()}
+ * for barriers), so that they are not executed before lingering transactions of the same key that were submitted earlier.
+ *
+ * @author AuroraLS3
+ */
+class TransactionGroupCommitter {
+
+    private final SQLDB db;
+    private final Supplier<Executor> lane;
+    private final Supplier<ScheduledExecutorService> lingerTimer;
+    private final int maxBatchSize;
+    private final long maxLingerNs;
+
+    // Guarded by this
+    private final Deque<QueuedTransaction> queue;
+    private long submitted;
+    private long drainQueuedUpTo;
+    private ScheduledFuture<?> lingering;
+
+    private final GroupCommitStatistics statistics;
+
+    TransactionGroupCommitter(
+            SQLDB db,
+            Supplier<Executor> lane,
+            Supplier<ScheduledExecutorService> lingerTimer,
+            int maxBatchSize,
+            long maxLingerMs,
+            GroupCommitStatistics statistics
+    ) {
+        this.db = db;
+        this.lane = lane;
+        this.lingerTimer = lingerTimer;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNs = TimeUnit.MILLISECONDS.toNanos(maxLingerMs);
+
+        queue = new ArrayDeque<>();
+        this.statistics = statistics;
+    }
+
+    CompletableFuture<?> submit(Transaction transaction, StackTraceElement[] origin) {
+        QueuedTransaction queued = new QueuedTransaction(transaction, origin);
+        synchronized (this) {
+            queued.number = ++submitted;
+            queue.add(queued);
+            if (shouldDrainWithoutLinger() ? !queueDrain() : !startLinger()) {
+                queue.removeLast();
+                submitted--;
+                throw new RejectedExecutionException("Transaction executor has been shut down, " + transaction.getName() + " will be executed after restart.");
+            }
+        }
+        return queued.future;
+    }
+
+    private boolean shouldDrainWithoutLinger() {
+        return maxLingerNs <= 0 || submitted - drainQueuedUpTo >= maxBatchSize || db.getState() == Database.State.CLOSING;
+    }
+
+    private boolean startLinger() {
+        if (lingering != null) return true;
+        try {
+            lingering = lingerTimer.get().schedule(this::drainAfterLinger, maxLingerNs, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (RejectedExecutionException timerShutdown) {
+            return queueDrain();
+        }
+    }
+
+    /**
+     * Send the transactions that are waiting for the linger timer to the lane right away.
+     * <p>
+     * Once this returns, anything queued on the lane is executed after the transactions submitted before the call.
+     * If the lane has been shut down the transactions are committed on the calling thread.
+     */
+    void flush() {
+        long upTo;
+        synchronized (this) {
+            if (queueDrain()) return;
+            upTo = claimDrain();
+        }
+        drain(upTo);
+    }
+
+    /**
+     * Send the lingering transactions to the lane right away if one of them has the given ordering key.
+     *
+     * @param orderingKey {@link Transaction#getOrderingKey()} of a transaction that is about to be queued on the lane.
+     */
+    void flush(Object orderingKey) {
+        synchronized (this) {
+            if (!hasLingering(orderingKey)) return;
+        }
+        flush();
+    }
+
+    // Called while holding the lock
+    private boolean hasLingering(Object orderingKey) {
+        for (QueuedTransaction queued : queue) {
+            if (queued.number > drainQueuedUpTo && orderingKey.equals(queued.orderingKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drainAfterLinger() {
+        long upTo;
+        synchronized (this) {
+            lingering = null;
+            if (queueDrain()) return;
+            // Lane was shut down while lingering, commit on the timer thread instead of leaving transactions behind.
+            upTo = claimDrain();
+        }
+        drain(upTo);
+    }
+
+    // Called while holding the lock
+    private boolean queueDrain() {
+        if (lingering != null) {
+            // If cancel fails the timer is waiting for the lock, and does nothing once it gets it.
+            lingering.cancel(false);
+            lingering = null;
+        }
+        if (submitted <= drainQueuedUpTo) return true;
+        long upTo = submitted;
+        try {
+            lane.get().execute(() -> drain(upTo));
+            drainQueuedUpTo = upTo;
+            return true;
+        } catch (RejectedExecutionException executorShutdown) {
+            return false;
+        }
+    }
+
+    // Called while holding the lock
+    private long claimDrain() {
+        drainQueuedUpTo = submitted;
+        return submitted;
+    }
+
+    private void drain(long upTo) {
+        List<QueuedTransaction> batch = takeBatch(upTo);
+        while (!batch.isEmpty()) {
+            commit(batch);
+            batch = takeBatch(upTo);
+        }
+    }
+
+    private synchronized List<QueuedTransaction> takeBatch(long upTo) {
+        List<QueuedTransaction> batch = new ArrayList<>();
+        while (batch.size() < maxBatchSize && !queue.isEmpty() && queue.peekFirst().number <= upTo) {
+            batch.add(queue.pollFirst());
+        }
+        return batch;
+    }
+
+    private void commit(List<QueuedTransaction> batch) {
+        if (batch.isEmpty()) return;
+        try {
+            if (db.getState() == Database.State.CLOSED) return;
+
+            if (batch.size() == 1) {
+                executeSeparately(batch);
+                return;
+            }
+
+            List<Transaction> transactions = new ArrayList<>(batch.size());
+            for (QueuedTransaction queued : batch) {
+                transactions.add(queued.transaction);
+            }
+            try {
+                SQLDB.getTransactionOrigin().set(batch.get(0).origin);
+                long start = System.nanoTime();
+                db.executeOnTransactionThread(new GroupCommitTransaction(transactions));
+                statistics.recordCommit(batch.size(), System.nanoTime() - start);
+            } catch (RuntimeException groupFailed) {
+                statistics.recordFallback();
+                executeSeparately(batch);
+            }
+        } finally {
+            SQLDB.getTransactionOrigin().remove();
+            db.transactionsFinished(batch.size());
+            for (QueuedTransaction queued : batch) {
+                queued.future.complete(null);
+            }
+        }
+    }
+
+    private void executeSeparately(List<QueuedTransaction> batch) {
+        for (QueuedTransaction queued : batch) {
+            try {
+                SQLDB.getTransactionOrigin().set(queued.origin);
+                long start = System.nanoTime();
+                db.executeOnTransactionThread(queued.transaction);
+                statistics.recordCommit(1, System.nanoTime() - start);
+            } catch (RuntimeException failed) {
+                db.handleTransactionError(queued.transaction, queued.origin, new CompletionException(failed));
+            }
+        }
+    }
+
+    private static class QueuedTransaction {
+        private final Transaction transaction;
+        private final StackTraceElement[] origin;
+        private final CompletableFuture<Object> future;
+        private final Object orderingKey;
+        private long number;
+
+        QueuedTransaction(Transaction transaction, StackTraceElement[] origin) {
+            this.transaction = transaction;
+            this.origin = origin;
+            this.future = new CompletableFuture<>();
+            this.orderingKey = transaction.getOrderingKey().orElse(null);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Executes transactions on multiple single threaded lanes.
+ * <p>
+ * Transactions are sharded to lanes by their {@link Transaction#getOrderingKey()}, so that transactions of the same
+ * player or server are executed in order, while transactions of different players can be executed at the same time.
+ * <p>
+ * Transactions without a key are executed on the first lane behind a barrier: every lane has to finish the
+ * transactions submitted before it, and no lane continues until the transaction has finished.
+ *
+ * @author AuroraLS3
+ */
+class TransactionLanes {
+
+    private final List<ExecutorService> lanes;
+    private final Executor acrossAllLanes;
+
+    TransactionLanes(Supplier<ExecutorService> laneProvider, int laneCount) {
+        lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(laneProvider.get());
+        }
+        acrossAllLanes = laneCount > 1 ? this::executeOnAllLanes : lanes.get(0);
+    }
+
+    int getLaneCount() {
+        return lanes.size();
+    }
+
+    ExecutorService getLane(int index) {
+        return lanes.get(index);
+    }
+
+    int getLaneIndex(Transaction transaction) {
+        return transaction.getOrderingKey()
+                .map(key -> Math.floorMod(key.hashCode(), lanes.size()))
+                .orElse(-1);
+    }
+
+    Executor getExecutor(Transaction transaction) {
+        int laneIndex = getLaneIndex(transaction);
+        return laneIndex != -1 ? lanes.get(laneIndex) : acrossAllLanes;
+    }
+
+    // Synchronized so that barriers are queued in the same order on every lane, which prevents deadlocks.
+    private synchronized void executeOnAllLanes(Runnable task) {
+        CountDownLatch arrived = new CountDownLatch(lanes.size() - 1);
+        CountDownLatch finished = new CountDownLatch(1);
+        try {
+            for (int i = 1; i < lanes.size(); i++) {
+                lanes.get(i).execute(new BarrierArrival(arrived, finished));
+            }
+            lanes.get(0).execute(new BarrierLeader(task, arrived, finished));
+        } catch (RuntimeException rejected) {
+            // Lanes that accepted the barrier are released so that they don't get stuck.
+            finished.countDown();
+            throw rejected;
+        }
+    }
+
+    boolean isShutdown() {
+        return lanes.stream().allMatch(ExecutorService::isShutdown);
+    }
+
+    boolean isTerminated() {
+        return lanes.stream().allMatch(ExecutorService::isTerminated);
+    }
+
+    void shutdown() {
+        lanes.forEach(ExecutorService::shutdown);
+    }
+
+    boolean awaitTermination(long waitMs) throws InterruptedException {
+        long waitUntil = System.currentTimeMillis() + waitMs;
+        for (ExecutorService lane : lanes) {
+            long remaining = Math.max(0L, waitUntil - System.currentTimeMillis());
+            if (!lane.awaitTermination(remaining, TimeUnit.MILLISECONDS)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Shut down all lanes immediately.
+     *
+     * @return Transactions that were not executed, in the order of the lanes. Barrier arrivals are released and left out.
+     */
+    List<Runnable> shutdownNow() {
+        List<Runnable> unfinished = new ArrayList<>();
+        for (ExecutorService lane : lanes) {
+            unfinished.addAll(lane.shutdownNow());
+        }
+        Iterator<Runnable> iterator = unfinished.iterator();
+        while (iterator.hasNext()) {
+            Runnable runnable = iterator.next();
+            if (runnable instanceof BarrierArrival) {
+                ((BarrierArrival) runnable).arrived.countDown();
+                iterator.remove();
+            }
+        }
+        return unfinished;
+    }
+
+    private static class BarrierArrival implements Runnable {
+        private final CountDownLatch arrived;
+        private final CountDownLatch finished;
+
+        BarrierArrival(CountDownLatch arrived, CountDownLatch finished) {
+            this.arrived = arrived;
+            this.finished = finished;
+        }
+
+        @Override
+        public void run() {
+            arrived.countDown();
+            try {
+                finished.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class BarrierLeader implements Runnable {
+        private final Runnable task;
+        private final CountDownLatch arrived;
+        private final CountDownLatch finished;
+
+        BarrierLeader(Runnable task, CountDownLatch arrived, CountDownLatch finished) {
+            this.task = task;
+            this.arrived = arrived;
+            this.finished = finished;
+        }
+
+        @Override
+        public void run() {
+            try {
+                arrived.await();
+            } catch (InterruptedException e) {
+                // Lanes are being shut down, the transaction is still executed.
+                Thread.currentThread().interrupt();
+            }
+            try {
+                task.run();
+            } finally {
+                finished.countDown();
+            }
+        }
+    }
+}
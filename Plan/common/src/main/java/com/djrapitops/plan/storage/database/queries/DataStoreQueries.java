@@ -51,24 +51,36 @@ public class DataStoreQueries {
      * @return Executable, use inside a {@link com.djrapitops.plan.storage.database.transactions.Transaction}
      */
     public static Executable storeSession(FinishedSession session) {
+        return storeSession(session, null, null);
+    }
+
+    /**
+     * Store a finished session in the database using ids that are already known.
+     *
+     * @param session  a finished session
+     * @param userId   id of the player from {@link com.djrapitops.plan.storage.database.IdentityCache}, or null if not known.
+     * @param serverId id of the server from {@link com.djrapitops.plan.storage.database.IdentityCache}, or null if not known.
+     * @return Executable, use inside a {@link com.djrapitops.plan.storage.database.transactions.Transaction}
+     */
+    public static Executable storeSession(FinishedSession session, Integer userId, Integer serverId) {
         return connection -> {
-            storeSessionInformation(session).execute(connection);
+            storeSessionInformation(session, userId, serverId).execute(connection);
             storeSessionKills(session).execute(connection);
             return storeSessionWorldTimes(session).execute(connection);
         };
     }
 
-    private static Executable storeSessionInformation(FinishedSession session) {
-        return new ExecStatement(SessionsTable.INSERT_STATEMENT) {
+    private static Executable storeSessionInformation(FinishedSession session, Integer userId, Integer serverId) {
+        return new ExecStatement(SessionsTable.insertStatement(userId, serverId)) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setString(1, session.getPlayerUUID().toString());
+                UsersTable.setUserId(statement, 1, userId, session.getPlayerUUID());
                 statement.setLong(2, session.getStart());
                 statement.setLong(3, session.getEnd());
                 statement.setInt(4, session.getDeathCount());
                 statement.setInt(5, session.getMobKillCount());
                 statement.setLong(6, session.getAfkTime());
-                statement.setString(7, session.getServerUUID().toString());
+                ServerTable.setServerId(statement, 7, serverId, session.getServerUUID());
                 statement.setString(8, session.getExtraData(JoinAddress.class)
                         .map(JoinAddress::getAddress).orElse(JoinAddressTable.DEFAULT_VALUE_FOR_LOOKUP));
             }
@@ -244,11 +256,23 @@ public class DataStoreQueries {
      * @param tps        TPS data entry
      * @return Executable, use inside a {@link com.djrapitops.plan.storage.database.transactions.Transaction}
      */
-    public static Executable storeTPS(ServerUUID serverUUID, TPS tps) {
-        return new ExecStatement(TPSTable.INSERT_STATEMENT) {
+    public static ExecStatement storeTPS(ServerUUID serverUUID, TPS tps) {
+        return storeTPS(serverUUID, null, tps);
+    }
+
+    /**
+     * Store TPS data of a server using server id that is already known.
+     *
+     * @param serverUUID UUID of the Plan server.
+     * @param serverId   id of the server from {@link com.djrapitops.plan.storage.database.IdentityCache}, or null if not known.
+     * @param tps        TPS data entry
+     * @return Executable, use inside a {@link com.djrapitops.plan.storage.database.transactions.Transaction}
+     */
+    public static ExecStatement storeTPS(ServerUUID serverUUID, Integer serverId, TPS tps) {
+        return new ExecStatement(TPSTable.insertStatement(serverId)) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setString(1, serverUUID.toString());
+                ServerTable.setServerId(statement, 1, serverId, serverUUID);
                 statement.setLong(2, tps.getDate());
                 statement.setDouble(3, tps.getTicksPerSecond());
                 statement.setInt(4, tps.getPlayers());
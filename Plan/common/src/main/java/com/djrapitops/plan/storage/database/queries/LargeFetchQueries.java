@@ -16,10 +16,12 @@
  */
 package com.djrapitops.plan.storage.database.queries;
 
+import com.djrapitops.plan.gathering.domain.CompactedTPS;
 import com.djrapitops.plan.gathering.domain.TPS;
 import com.djrapitops.plan.gathering.domain.builders.TPSBuilder;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
+import com.djrapitops.plan.storage.database.sql.tables.TPSCompactedTable;
 import com.djrapitops.plan.storage.database.sql.tables.TPSTable;
 import com.djrapitops.plan.storage.database.sql.tables.WorldTable;
 import com.djrapitops.plan.utilities.java.Lists;
@@ -31,6 +33,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
 
@@ -45,15 +48,10 @@ public class LargeFetchQueries {
         /* Static method class */
     }
 
-    /**
-     * Query database for TPS data.
-     *
-     * @return Map: Server UUID - List of TPS data
-     */
-    public static Query<Map<ServerUUID, List<TPS>>> fetchAllTPSData() {
+    private static String selectAllTPSData() {
         String serverIDColumn = ServerTable.TABLE_NAME + '.' + ServerTable.ID;
         String serverUUIDColumn = ServerTable.TABLE_NAME + '.' + ServerTable.SERVER_UUID + " as s_uuid";
-        String sql = SELECT +
+        return SELECT +
                 TPSTable.DATE + ',' +
                 TPSTable.TPS + ',' +
                 TPSTable.PLAYERS_ONLINE + ',' +
@@ -65,34 +63,140 @@ public class LargeFetchQueries {
                 serverUUIDColumn +
                 FROM + TPSTable.TABLE_NAME +
                 INNER_JOIN + ServerTable.TABLE_NAME + " on " + serverIDColumn + "=" + TPSTable.SERVER_ID;
+    }
 
-        return new QueryAllStatement<>(sql, 50000) {
+    private static void addTPS(Map<ServerUUID, List<TPS>> serverMap, ResultSet set) throws SQLException {
+        ServerUUID serverUUID = ServerUUID.fromString(set.getString("s_uuid"));
+
+        List<TPS> tpsList = serverMap.computeIfAbsent(serverUUID, Lists::create);
+
+        TPS tps = TPSBuilder.get()
+                .date(set.getLong(TPSTable.DATE))
+                .tps(set.getDouble(TPSTable.TPS))
+                .playersOnline(set.getInt(TPSTable.PLAYERS_ONLINE))
+                .usedCPU(set.getDouble(TPSTable.CPU_USAGE))
+                .usedMemory(set.getLong(TPSTable.RAM_USAGE))
+                .entities(set.getInt(TPSTable.ENTITIES))
+                .chunksLoaded(set.getInt(TPSTable.CHUNKS))
+                .freeDiskSpace(set.getLong(TPSTable.FREE_DISK))
+                .toTPS();
+
+        tpsList.add(tps);
+    }
+
+    /**
+     * Query database for TPS data.
+     *
+     * @return Map: Server UUID - List of TPS data
+     */
+    public static Query<Map<ServerUUID, List<TPS>>> fetchAllTPSData() {
+        return new QueryAllStatement<>(selectAllTPSData(), 50000) {
             @Override
             public Map<ServerUUID, List<TPS>> processResults(ResultSet set) throws SQLException {
                 Map<ServerUUID, List<TPS>> serverMap = new HashMap<>();
                 while (set.next()) {
-                    ServerUUID serverUUID = ServerUUID.fromString(set.getString("s_uuid"));
-
-                    List<TPS> tpsList = serverMap.computeIfAbsent(serverUUID, Lists::create);
-
-                    TPS tps = TPSBuilder.get()
-                            .date(set.getLong(TPSTable.DATE))
-                            .tps(set.getDouble(TPSTable.TPS))
-                            .playersOnline(set.getInt(TPSTable.PLAYERS_ONLINE))
-                            .usedCPU(set.getDouble(TPSTable.CPU_USAGE))
-                            .usedMemory(set.getLong(TPSTable.RAM_USAGE))
-                            .entities(set.getInt(TPSTable.ENTITIES))
-                            .chunksLoaded(set.getInt(TPSTable.CHUNKS))
-                            .freeDiskSpace(set.getLong(TPSTable.FREE_DISK))
-                            .toTPS();
-
-                    tpsList.add(tps);
+                    addTPS(serverMap, set);
+                }
+                return serverMap;
+            }
+        };
+    }
+
+    /**
+     * Query database for TPS data in batches, so that all of the data is never in memory at once.
+     *
+     * @param batchSize     Number of rows given to the consumer at once.
+     * @param batchConsumer Consumer for each batch, Map: Server UUID - List of TPS data
+     * @return Number of rows read.
+     */
+    public static Query<Long> streamAllTPSData(int batchSize, Consumer<Map<ServerUUID, List<TPS>>> batchConsumer) {
+        return new QueryAllStreamingStatement<>(selectAllTPSData(), batchSize) {
+            @Override
+            public Long processResults(ResultSet set) throws SQLException {
+                long rows = 0;
+                Map<ServerUUID, List<TPS>> batch = new HashMap<>();
+                while (set.next()) {
+                    addTPS(batch, set);
+                    rows++;
+                    if (rows % batchSize == 0) {
+                        batchConsumer.accept(batch);
+                        batch = new HashMap<>();
+                    }
+                }
+                if (!batch.isEmpty()) batchConsumer.accept(batch);
+                return rows;
+            }
+        };
+    }
+
+    private static String selectAllCompactedTPSData() {
+        String serverIDColumn = ServerTable.TABLE_NAME + '.' + ServerTable.ID;
+        String serverUUIDColumn = ServerTable.TABLE_NAME + '.' + ServerTable.SERVER_UUID + " as s_uuid";
+        return SELECT +
+                TPSCompactedTable.RESOLUTION + ',' +
+                TPSCompactedTable.DATE + ',' +
+                String.join(",", TPSCompactedTable.VALUE_COLUMNS) + ',' +
+                serverUUIDColumn +
+                FROM + TPSCompactedTable.TABLE_NAME +
+                INNER_JOIN + ServerTable.TABLE_NAME + " on " + serverIDColumn + "=" + TPSCompactedTable.SERVER_ID +
+                ORDER_BY + TPSCompactedTable.TABLE_NAME + '.' + TPSCompactedTable.ID;
+    }
+
+    private static void addCompactedTPS(Map<ServerUUID, List<CompactedTPS>> serverMap, ResultSet set) throws SQLException {
+        ServerUUID serverUUID = ServerUUID.fromString(set.getString("s_uuid"));
+        double[] values = new double[TPSCompactedTable.VALUE_COLUMNS.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = set.getDouble(TPSCompactedTable.VALUE_COLUMNS[i]);
+        }
+        serverMap.computeIfAbsent(serverUUID, Lists::create)
+                .add(new CompactedTPS(set.getLong(TPSCompactedTable.RESOLUTION), set.getLong(TPSCompactedTable.DATE), values));
+    }
+
+    /**
+     * Query database for compacted TPS data.
+     *
+     * @return Map: Server UUID - List of compacted TPS data
+     */
+    public static Query<Map<ServerUUID, List<CompactedTPS>>> fetchAllCompactedTPSData() {
+        return new QueryAllStatement<>(selectAllCompactedTPSData(), 10000) {
+            @Override
+            public Map<ServerUUID, List<CompactedTPS>> processResults(ResultSet set) throws SQLException {
+                Map<ServerUUID, List<CompactedTPS>> serverMap = new HashMap<>();
+                while (set.next()) {
+                    addCompactedTPS(serverMap, set);
                 }
                 return serverMap;
             }
         };
     }
 
+    /**
+     * Query database for compacted TPS data in batches.
+     *
+     * @param batchSize     Number of rows given to the consumer at once.
+     * @param batchConsumer Consumer for each batch, Map: Server UUID - List of compacted TPS data
+     * @return Number of rows read.
+     */
+    public static Query<Long> streamAllCompactedTPSData(int batchSize, Consumer<Map<ServerUUID, List<CompactedTPS>>> batchConsumer) {
+        return new QueryAllStreamingStatement<>(selectAllCompactedTPSData(), batchSize) {
+            @Override
+            public Long processResults(ResultSet set) throws SQLException {
+                long rows = 0;
+                Map<ServerUUID, List<CompactedTPS>> batch = new HashMap<>();
+                while (set.next()) {
+                    addCompactedTPS(batch, set);
+                    rows++;
+                    if (rows % batchSize == 0) {
+                        batchConsumer.accept(batch);
+                        batch = new HashMap<>();
+                    }
+                }
+                if (!batch.isEmpty()) batchConsumer.accept(batch);
+                return rows;
+            }
+        };
+    }
+
     /**
      * Query database for world names.
      *
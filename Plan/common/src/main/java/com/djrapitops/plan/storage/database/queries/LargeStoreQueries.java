@@ -200,6 +200,35 @@ public class LargeStoreQueries {
         };
     }
 
+    /**
+     * Execute a big batch of compacted TPS insert statements.
+     *
+     * @param ofServers Map: Server UUID - List of compacted TPS data
+     * @return Executable, use inside a {@link com.djrapitops.plan.storage.database.transactions.Transaction}
+     */
+    public static Executable storeAllCompactedTPSData(Map<ServerUUID, List<CompactedTPS>> ofServers) {
+        if (ofServers == null || ofServers.isEmpty()) return Executable.empty();
+
+        return new ExecBatchStatement(TPSCompactedTable.INSERT_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (Map.Entry<ServerUUID, List<CompactedTPS>> entry : ofServers.entrySet()) {
+                    String serverUUID = entry.getKey().toString();
+                    for (CompactedTPS compacted : entry.getValue()) {
+                        statement.setString(1, serverUUID);
+                        statement.setLong(2, compacted.getResolution());
+                        statement.setLong(3, compacted.getDate());
+                        double[] values = compacted.getValues();
+                        for (int i = 0; i < values.length; i++) {
+                            statement.setDouble(4 + i, values[i]);
+                        }
+                        statement.addBatch();
+                    }
+                }
+            }
+        };
+    }
+
     /**
      * Execute a big batch of Per server UserInfo insert statements.
      *
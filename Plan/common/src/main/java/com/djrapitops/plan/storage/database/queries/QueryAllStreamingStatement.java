@@ -0,0 +1,44 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * SQL query that reads a large result in parts instead of loading every row to memory first.
+ * <p>
+ * MySQL Connector/J ignores positive fetch sizes unless useCursorFetch is enabled, which would turn every query
+ * into a server side cursor. Results of these queries are instead streamed with fetch size {@link Integer#MIN_VALUE}
+ * on that driver, so no other statement can use the connection until the result has been read.
+ * Other drivers read the rows in batches of the fetch size.
+ *
+ * @author AuroraLS3
+ */
+public abstract class QueryAllStreamingStatement<T> extends QueryAllStatement<T> {
+
+    protected QueryAllStreamingStatement(String sql, int fetchSize) {
+        super(sql, fetchSize);
+    }
+
+    @Override
+    protected void setFetchSize(PreparedStatement statement, int fetchSize) throws SQLException {
+        String driverName = statement.getConnection().getMetaData().getDriverName();
+        boolean mySQLConnectorJ = driverName != null && driverName.startsWith("MySQL Connector");
+        statement.setFetchSize(mySQLConnectorJ ? Integer.MIN_VALUE : fetchSize);
+    }
+}
@@ -17,6 +17,7 @@
 package com.djrapitops.plan.storage.database.queries;
 
 import com.djrapitops.plan.exceptions.database.DBOpException;
+import com.djrapitops.plan.storage.database.QueryStatistics;
 import com.djrapitops.plan.storage.database.SQLDB;
 
 import java.sql.Connection;
@@ -67,14 +68,25 @@ public abstract class QueryStatement<T> implements Query<T> {
 
     public T executeQuery(PreparedStatement statement) throws SQLException {
         try (statement) {
-            statement.setFetchSize(fetchSize);
+            long start = System.nanoTime();
+            setFetchSize(statement, fetchSize);
             prepare(statement);
             try (ResultSet set = statement.executeQuery()) {
-                return processResults(set);
+                RowCountingResultSet counted = new RowCountingResultSet(set);
+                T result = processResults(counted);
+                QueryStatistics.getInstance().record(getClass(), sql, System.nanoTime() - start, counted.getRows());
+                return result;
             }
         }
     }
 
+    protected void setFetchSize(PreparedStatement statement, int fetchSize) throws SQLException {
+        // MySQL Connector/J and sqlite-jdbc read the whole result regardless of fetch size, so it is only adjusted for MariaDB.
+        String driverName = statement.getConnection().getMetaData().getDriverName();
+        boolean mariaDB = driverName != null && driverName.startsWith("MariaDB");
+        statement.setFetchSize(mariaDB ? QueryStatistics.getInstance().getFetchSize(getClass(), fetchSize) : fetchSize);
+    }
+
     public abstract void prepare(PreparedStatement statement) throws SQLException;
 
     public abstract T processResults(ResultSet set) throws SQLException;
@@ -0,0 +1,354 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.analysis;
+
+import com.djrapitops.plan.delivery.domain.DateMap;
+import com.djrapitops.plan.delivery.domain.mutators.ActivityIndex;
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
+import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
+import com.djrapitops.plan.storage.database.sql.tables.ActivityIndexSnapshotTable;
+import com.djrapitops.plan.storage.database.sql.tables.ActivityIndexSnapshotValueTable;
+import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
+import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Queries for weekly activity index snapshots stored in {@link ActivityIndexSnapshotTable}.
+ * <p>
+ * Snapshots are taken at the start of each week (Monday 00:00 UTC), so that the activity graphs only need to
+ * calculate the activity index of the ongoing week from the sessions.
+ *
+ * @author AuroraLS3
+ */
+public class ActivityIndexSnapshotQueries {
+
+    private static final long WEEK_MS = TimeUnit.DAYS.toMillis(7L);
+    // Epoch (1970-01-01) was a Thursday, offset so that weeks start on Monday.
+    private static final long WEEK_START_OFFSET_MS = TimeUnit.DAYS.toMillis(4L);
+
+    private ActivityIndexSnapshotQueries() {
+        // Static method class
+    }
+
+    /**
+     * Get the start of the week that the given time is in.
+     *
+     * @param time Epoch ms.
+     * @return Epoch ms of Monday 00:00 UTC on or before the time.
+     */
+    public static long getWeekStart(long time) {
+        return time - Math.floorMod(time - WEEK_START_OFFSET_MS, WEEK_MS);
+    }
+
+    /**
+     * Get starts of the weeks between two dates.
+     *
+     * @param after  Epoch ms, earliest allowed week start.
+     * @param before Epoch ms, latest allowed week start.
+     * @return Week starts from latest to earliest.
+     */
+    public static List<Long> getWeekStartsBetween(long after, long before) {
+        List<Long> weekStarts = new ArrayList<>();
+        for (long weekStart = getWeekStart(before); weekStart >= after; weekStart -= WEEK_MS) {
+            weekStarts.add(weekStart);
+        }
+        return weekStarts;
+    }
+
+    /**
+     * Fetch activity index groupings of a server for each week, reading the snapshots of past weeks.
+     * <p>
+     * Activity index of the given date and weeks that have not been snapshot yet are calculated from sessions.
+     *
+     * @param serverUUID UUID of the Plan server.
+     * @param date       Epoch ms of the latest point, usually current time.
+     * @param after      Epoch ms, earliest week to include.
+     * @param threshold  Playtime threshold for activity index calculation.
+     * @return DateMap: date - (Activity group - player count).
+     */
+    public static Query<DateMap<Map<String, Integer>>> fetchWeeklyActivityIndexGroupings(ServerUUID serverUUID, long date, long after, long threshold) {
+        return db -> {
+            Map<Long, Map<String, Integer>> snapshots = db.query(fetchActivityIndexGroupings(serverUUID, after, date, threshold));
+
+            DateMap<Map<String, Integer>> activityData = new DateMap<>();
+            activityData.put(date, db.query(ActivityIndexQueries.fetchActivityIndexGroupingsOn(date, serverUUID, threshold)));
+            for (Long weekStart : getWeekStartsBetween(after, date)) {
+                Map<String, Integer> groupings = snapshots.get(weekStart);
+                activityData.put(weekStart, groupings != null ? groupings
+                        : db.query(ActivityIndexQueries.fetchActivityIndexGroupingsOn(weekStart, serverUUID, threshold)));
+            }
+            return activityData;
+        };
+    }
+
+    /**
+     * Fetch activity index groupings of the whole network for each week, reading the snapshots of past weeks.
+     *
+     * @param date      Epoch ms of the latest point, usually current time.
+     * @param after     Epoch ms, earliest week to include.
+     * @param threshold Playtime threshold for activity index calculation.
+     * @return DateMap: date - (Activity group - player count).
+     * @see #fetchWeeklyActivityIndexGroupings(ServerUUID, long, long, long)
+     */
+    public static Query<DateMap<Map<String, Integer>>> fetchNetworkWeeklyActivityIndexGroupings(long date, long after, long threshold) {
+        return db -> {
+            Map<Long, Map<String, Integer>> snapshots = db.query(fetchNetworkActivityIndexGroupings(after, date, threshold));
+
+            DateMap<Map<String, Integer>> activityData = new DateMap<>();
+            activityData.put(date, db.query(NetworkActivityIndexQueries.fetchActivityIndexGroupingsOn(date, threshold)));
+            for (Long weekStart : getWeekStartsBetween(after, date)) {
+                Map<String, Integer> groupings = snapshots.get(weekStart);
+                activityData.put(weekStart, groupings != null ? groupings
+                        : db.query(NetworkActivityIndexQueries.fetchActivityIndexGroupingsOn(weekStart, threshold)));
+            }
+            return activityData;
+        };
+    }
+
+    /**
+     * Fetch activity index groupings of some players for each week, reading the network snapshots of past weeks.
+     * <p>
+     * Snapshots are only used if all servers are included, since network snapshots include sessions from all servers.
+     *
+     * @param date        Epoch ms of the latest point.
+     * @param after       Epoch ms, earliest week to include.
+     * @param threshold   Playtime threshold for activity index calculation.
+     * @param userIds     IDs of the players to include.
+     * @param serverUUIDs Servers whose sessions to include, empty for all servers.
+     * @return DateMap: date - (Activity group - player count).
+     */
+    public static Query<DateMap<Map<String, Integer>>> fetchNetworkWeeklyActivityIndexGroupings(long date, long after, long threshold, UserIdSet userIds, List<ServerUUID> serverUUIDs) {
+        return db -> {
+            boolean allServers = serverUUIDs.isEmpty()
+                    || new HashSet<>(serverUUIDs).containsAll(db.query(ServerQueries.fetchServerNames()).keySet());
+            Map<Long, Map<String, Integer>> snapshots = allServers && !userIds.isEmpty()
+                    ? db.query(fetchNetworkActivityIndexGroupings(after, date, threshold, userIds))
+                    : Collections.emptyMap();
+
+            DateMap<Map<String, Integer>> activityData = new DateMap<>();
+            activityData.put(date, db.query(NetworkActivityIndexQueries.fetchActivityIndexGroupingsOn(date, threshold, userIds, serverUUIDs)));
+            for (Long weekStart : getWeekStartsBetween(after, date)) {
+                Map<String, Integer> groupings = snapshots.get(weekStart);
+                activityData.put(weekStart, groupings != null ? groupings
+                        : db.query(NetworkActivityIndexQueries.fetchActivityIndexGroupingsOn(weekStart, threshold, userIds, serverUUIDs)));
+            }
+            return activityData;
+        };
+    }
+
+    private static String selectSnapshotValuesSQL(String serverCondition, String valueCondition) {
+        return SELECT + "snap." + ActivityIndexSnapshotTable.ID + " as snapshot_id," +
+                "snap." + ActivityIndexSnapshotTable.SNAPSHOT_DATE + ',' +
+                "snap." + ActivityIndexSnapshotTable.USER_COUNT + ',' +
+                "v." + ActivityIndexSnapshotValueTable.ACTIVITY_INDEX +
+                FROM + ActivityIndexSnapshotTable.TABLE_NAME + " snap" +
+                LEFT_JOIN + ActivityIndexSnapshotValueTable.TABLE_NAME + " v on v." + ActivityIndexSnapshotValueTable.SNAPSHOT_ID + "=snap." + ActivityIndexSnapshotTable.ID +
+                valueCondition +
+                WHERE + "snap." + ActivityIndexSnapshotTable.SERVER_ID + serverCondition +
+                AND + "snap." + ActivityIndexSnapshotTable.PLAYTIME_THRESHOLD + "=?" +
+                AND + "snap." + ActivityIndexSnapshotTable.SNAPSHOT_DATE + ">=?" +
+                AND + "snap." + ActivityIndexSnapshotTable.SNAPSHOT_DATE + "<=?";
+    }
+
+    /**
+     * Fetch activity index groupings from snapshots of a server.
+     *
+     * @param serverUUID UUID of the Plan server.
+     * @param after      Epoch ms, earliest snapshot date.
+     * @param before     Epoch ms, latest snapshot date.
+     * @param threshold  Playtime threshold the snapshots were calculated with.
+     * @return Map: snapshot date - (Activity group - player count), dates that have not been snapshot are missing.
+     */
+    public static Query<Map<Long, Map<String, Integer>>> fetchActivityIndexGroupings(ServerUUID serverUUID, long after, long before, long threshold) {
+        String sql = selectSnapshotValuesSQL("=" + ServerTable.SELECT_SERVER_ID, "");
+        return new QueryStatement<>(sql, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, threshold);
+                statement.setLong(3, after);
+                statement.setLong(4, before);
+            }
+
+            @Override
+            public Map<Long, Map<String, Integer>> processResults(ResultSet set) throws SQLException {
+                return extractGroupings(set, null);
+            }
+        };
+    }
+
+    /**
+     * Fetch activity index groupings from snapshots of the network.
+     *
+     * @param after     Epoch ms, earliest snapshot date.
+     * @param before    Epoch ms, latest snapshot date.
+     * @param threshold Playtime threshold the snapshots were calculated with.
+     * @return Map: snapshot date - (Activity group - player count), dates that have not been snapshot are missing.
+     */
+    public static Query<Map<Long, Map<String, Integer>>> fetchNetworkActivityIndexGroupings(long after, long before, long threshold) {
+        String sql = selectSnapshotValuesSQL(IS_NULL, "");
+        return new QueryStatement<>(sql, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setLong(1, threshold);
+                statement.setLong(2, after);
+                statement.setLong(3, before);
+            }
+
+            @Override
+            public Map<Long, Map<String, Integer>> processResults(ResultSet set) throws SQLException {
+                return extractGroupings(set, null);
+            }
+        };
+    }
+
+    private static Query<Map<Long, Map<String, Integer>>> fetchNetworkActivityIndexGroupings(long after, long before, long threshold, UserIdSet userIds) {
+        String userIdList = userIds.join(",");
+        String sql = selectSnapshotValuesSQL(IS_NULL, AND + "v." + ActivityIndexSnapshotValueTable.USER_ID + " IN (" + userIdList + ")");
+        return db -> {
+            Map<Long, Integer> userCounts = db.query(fetchRegisteredUserCounts(after, before, threshold, userIdList));
+            return db.query(new QueryStatement<Map<Long, Map<String, Integer>>>(sql, 1000) {
+                @Override
+                public void prepare(PreparedStatement statement) throws SQLException {
+                    statement.setLong(1, threshold);
+                    statement.setLong(2, after);
+                    statement.setLong(3, before);
+                }
+
+                @Override
+                public Map<Long, Map<String, Integer>> processResults(ResultSet set) throws SQLException {
+                    return extractGroupings(set, userCounts);
+                }
+            });
+        };
+    }
+
+    private static Query<Map<Long, Integer>> fetchRegisteredUserCounts(long after, long before, long threshold, String userIdList) {
+        String sql = SELECT + "snap." + ActivityIndexSnapshotTable.ID + " as snapshot_id," +
+                "COUNT(u." + UsersTable.ID + ") as user_count" +
+                FROM + ActivityIndexSnapshotTable.TABLE_NAME + " snap" +
+                LEFT_JOIN + UsersTable.TABLE_NAME + " u on u." + UsersTable.REGISTERED + "<=snap." + ActivityIndexSnapshotTable.SNAPSHOT_DATE +
+                AND + "u." + UsersTable.ID + " IN (" + userIdList + ")" +
+                WHERE + "snap." + ActivityIndexSnapshotTable.SERVER_ID + IS_NULL +
+                AND + "snap." + ActivityIndexSnapshotTable.PLAYTIME_THRESHOLD + "=?" +
+                AND + "snap." + ActivityIndexSnapshotTable.SNAPSHOT_DATE + ">=?" +
+                AND + "snap." + ActivityIndexSnapshotTable.SNAPSHOT_DATE + "<=?" +
+                GROUP_BY + "snap." + ActivityIndexSnapshotTable.ID;
+        return new QueryStatement<>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setLong(1, threshold);
+                statement.setLong(2, after);
+                statement.setLong(3, before);
+            }
+
+            @Override
+            public Map<Long, Integer> processResults(ResultSet set) throws SQLException {
+                Map<Long, Integer> userCounts = new HashMap<>();
+                while (set.next()) {
+                    userCounts.put(set.getLong("snapshot_id"), set.getInt("user_count"));
+                }
+                return userCounts;
+            }
+        };
+    }
+
+    /**
+     * Turn snapshot rows into activity groupings.
+     *
+     * @param set        Rows from {@link #selectSnapshotValuesSQL(String, String)}.
+     * @param userCounts Snapshot ID - user count to use instead of the snapshot user count, or null.
+     * @return Map: snapshot date - (Activity group - player count)
+     */
+    private static Map<Long, Map<String, Integer>> extractGroupings(ResultSet set, Map<Long, Integer> userCounts) throws SQLException {
+        // In case a snapshot was taken twice at the same time, the latest one is used.
+        Map<Long, Long> latestSnapshotIds = new HashMap<>();
+        Map<Long, Map<String, Integer>> groupingsBySnapshot = new HashMap<>();
+        Map<Long, Integer> userCountsBySnapshot = new HashMap<>();
+        while (set.next()) {
+            long snapshotId = set.getLong("snapshot_id");
+            long snapshotDate = set.getLong(ActivityIndexSnapshotTable.SNAPSHOT_DATE);
+            latestSnapshotIds.merge(snapshotDate, snapshotId, Math::max);
+            userCountsBySnapshot.put(snapshotId, userCounts != null
+                    ? userCounts.getOrDefault(snapshotId, 0)
+                    : set.getInt(ActivityIndexSnapshotTable.USER_COUNT));
+
+            Map<String, Integer> groups = groupingsBySnapshot.computeIfAbsent(snapshotId, k -> new HashMap<>());
+            double activityIndex = set.getDouble(ActivityIndexSnapshotValueTable.ACTIVITY_INDEX);
+            if (set.wasNull()) continue; // Snapshot without any active players
+            groups.merge(ActivityIndex.getGroup(activityIndex), 1, Integer::sum);
+        }
+
+        Map<Long, Map<String, Integer>> groupingsByDate = new HashMap<>();
+        for (Map.Entry<Long, Long> entry : latestSnapshotIds.entrySet()) {
+            Long snapshotId = entry.getValue();
+            Map<String, Integer> groups = groupingsBySnapshot.get(snapshotId);
+            // Players that are not stored in the snapshot were inactive.
+            int activeCount = groups.values().stream().mapToInt(Integer::intValue).sum();
+            int inactiveCount = userCountsBySnapshot.get(snapshotId) - activeCount;
+            if (inactiveCount > 0) {
+                groups.merge(ActivityIndex.getGroup(0.0), inactiveCount, Integer::sum);
+            }
+            groupingsByDate.put(entry.getKey(), groups);
+        }
+        return groupingsByDate;
+    }
+
+    /**
+     * Fetch dates of snapshots that have been taken.
+     *
+     * @param serverUUID UUID of the Plan server, or null for network snapshots.
+     * @param after      Epoch ms, earliest snapshot date.
+     * @param threshold  Playtime threshold the snapshots were calculated with.
+     * @return Set of snapshot dates.
+     */
+    public static Query<Set<Long>> fetchSnapshotDates(ServerUUID serverUUID, long after, long threshold) {
+        String sql = SELECT + DISTINCT + ActivityIndexSnapshotTable.SNAPSHOT_DATE +
+                FROM + ActivityIndexSnapshotTable.TABLE_NAME +
+                WHERE + ActivityIndexSnapshotTable.SERVER_ID + (serverUUID != null ? "=" + ServerTable.SELECT_SERVER_ID : IS_NULL) +
+                AND + ActivityIndexSnapshotTable.PLAYTIME_THRESHOLD + "=?" +
+                AND + ActivityIndexSnapshotTable.SNAPSHOT_DATE + ">=?";
+        return new QueryStatement<>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                int index = 1;
+                if (serverUUID != null) statement.setString(index++, serverUUID.toString());
+                statement.setLong(index++, threshold);
+                statement.setLong(index, after);
+            }
+
+            @Override
+            public Set<Long> processResults(ResultSet set) throws SQLException {
+                Set<Long> dates = new HashSet<>();
+                while (set.next()) {
+                    dates.add(set.getLong(ActivityIndexSnapshotTable.SNAPSHOT_DATE));
+                }
+                return dates;
+            }
+        };
+    }
+}
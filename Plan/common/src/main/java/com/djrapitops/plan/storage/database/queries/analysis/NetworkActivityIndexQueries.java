@@ -20,6 +20,7 @@ import com.djrapitops.plan.delivery.domain.mutators.ActivityIndex;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
 import com.djrapitops.plan.storage.database.sql.tables.SessionsTable;
 import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
@@ -179,15 +180,14 @@ public class NetworkActivityIndexQueries {
         };
     }
 
-    public static Query<Map<String, Integer>> fetchActivityIndexGroupingsOn(long date, long threshold, Collection<Integer> userIds, List<ServerUUID> serverUUIDs) {
+    public static Query<Map<String, Integer>> fetchActivityIndexGroupingsOn(long date, long threshold, UserIdSet userIds, List<ServerUUID> serverUUIDs) {
         String selectActivityIndex = selectActivityIndexSQL(serverUUIDs);
 
         String selectIndexes = SELECT + "activity_index" +
                 FROM + UsersTable.TABLE_NAME + " u" +
                 LEFT_JOIN + '(' + selectActivityIndex + ") s on s." + SessionsTable.USER_ID + "=u." + UsersTable.ID +
                 WHERE + "u." + UsersTable.REGISTERED + "<=?" +
-                AND + "u." + UsersTable.ID + " IN (" +
-                new TextStringBuilder().appendWithSeparators(userIds, ",").build() + ")";
+                AND + "u." + UsersTable.ID + " IN (" + userIds.join(",") + ")";
 
         return new QueryStatement<>(selectIndexes) {
             @Override
@@ -0,0 +1,212 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.analysis;
+
+import com.djrapitops.plan.delivery.domain.SessionRollup;
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.sql.tables.*;
+
+import java.util.*;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Queries for pre-aggregated summaries of sessions per day or per hour.
+ * <p>
+ * Rollups of closed days and hours are read from {@link SessionRollupTable}, while the current day or hour
+ * and any day or hour that has not been rolled up yet are calculated from sessions.
+ *
+ * @author AuroraLS3
+ */
+public class SessionRollupQueries {
+
+    private SessionRollupQueries() {
+        /* Static method class */
+    }
+
+    /**
+     * Get the start of the day or hour that the given time is in.
+     *
+     * @param time           Epoch ms.
+     * @param timeZoneOffset Offset from {@link java.util.TimeZone#getOffset(long)}, applied to the date.
+     * @param resolution     Length of a day or an hour in ms.
+     * @return Epoch ms (Start of day at 0 AM, no offset)
+     */
+    public static long getBucketStart(long time, long timeZoneOffset, long resolution) {
+        return Math.floorDiv(time + timeZoneOffset, resolution) * resolution;
+    }
+
+    private static String selectBucket(String column) {
+        // Arithmetic instead of date functions, so that the buckets are the same on every database and in Java.
+        return "((" + column + "+?)-((" + column + "+?)%?))";
+    }
+
+    /**
+     * Fetch summary of sessions for each day or hour within range.
+     *
+     * @param serverUUID     UUID of the Plan server, or null for the whole network.
+     * @param timeZoneOffset Offset from {@link java.util.TimeZone#getOffset(long)}, applied to the dates before grouping.
+     * @param resolution     Length of a day or an hour in ms.
+     * @param after          After epoch ms
+     * @param before         Before epoch ms
+     * @return Map: Epoch ms (Start of day at 0 AM, no offset) - Summary of that day or hour. Days without sessions may be missing.
+     */
+    public static Query<NavigableMap<Long, SessionRollup>> fetchSessionRollups(ServerUUID serverUUID, long timeZoneOffset, long resolution, long after, long before) {
+        return db -> {
+            long firstBucket = getBucketStart(after, timeZoneOffset, resolution);
+            long openBucket = getBucketStart(before, timeZoneOffset, resolution);
+            NavigableMap<Long, SessionRollup> rollups = db.query(fetchStoredRollups(serverUUID, timeZoneOffset, resolution, firstBucket, openBucket));
+
+            // Calculate days that have not been rolled up yet, usually only the current day.
+            long missingFrom = -1;
+            for (long bucket = firstBucket; bucket <= openBucket; bucket += resolution) {
+                boolean missing = bucket == openBucket || !rollups.containsKey(bucket);
+                if (missing && missingFrom == -1) {
+                    missingFrom = bucket;
+                } else if (!missing && missingFrom != -1) {
+                    rollups.putAll(db.query(aggregateSessions(serverUUID, timeZoneOffset, resolution, missingFrom - timeZoneOffset, bucket - timeZoneOffset)));
+                    missingFrom = -1;
+                }
+            }
+            rollups.putAll(db.query(aggregateSessions(serverUUID, timeZoneOffset, resolution, missingFrom - timeZoneOffset, before + 1)));
+            return rollups;
+        };
+    }
+
+    /**
+     * Fetch summaries that have been rolled up.
+     *
+     * @param serverUUID     UUID of the Plan server, or null for the whole network.
+     * @param timeZoneOffset Offset the rollups were calculated with.
+     * @param resolution     Length of a day or an hour in ms.
+     * @param firstBucket    Epoch ms (Start of day at 0 AM, no offset) of the first day, inclusive.
+     * @param lastBucket     Epoch ms (Start of day at 0 AM, no offset) of the last day, exclusive.
+     * @return Map: Epoch ms (Start of day at 0 AM, no offset) - Summary of that day or hour.
+     */
+    public static Query<NavigableMap<Long, SessionRollup>> fetchStoredRollups(ServerUUID serverUUID, long timeZoneOffset, long resolution, long firstBucket, long lastBucket) {
+        String sql = SELECT + SessionRollupTable.DATE + ',' +
+                SessionRollupTable.UNIQUE_PLAYERS + ',' +
+                SessionRollupTable.NEW_PLAYERS + ',' +
+                SessionRollupTable.SESSION_COUNT + ',' +
+                SessionRollupTable.PLAYTIME + ',' +
+                SessionRollupTable.AFK_TIME +
+                FROM + SessionRollupTable.TABLE_NAME +
+                WHERE + SessionRollupTable.SERVER_ID + (serverUUID != null ? "=" + ServerTable.SELECT_SERVER_ID : IS_NULL) +
+                AND + SessionRollupTable.TIMEZONE_OFFSET + "=?" +
+                AND + SessionRollupTable.RESOLUTION + "=?" +
+                AND + SessionRollupTable.DATE + ">=?" +
+                AND + SessionRollupTable.DATE + "<?";
+        Object[] parameters = serverUUID != null
+                ? new Object[]{serverUUID, timeZoneOffset, resolution, firstBucket, lastBucket}
+                : new Object[]{timeZoneOffset, resolution, firstBucket, lastBucket};
+        return db -> db.queryMap(sql, (set, rollups) -> {
+            long date = set.getLong(SessionRollupTable.DATE);
+            rollups.put(date, new SessionRollup(date,
+                    set.getInt(SessionRollupTable.UNIQUE_PLAYERS),
+                    set.getInt(SessionRollupTable.NEW_PLAYERS),
+                    set.getInt(SessionRollupTable.SESSION_COUNT),
+                    set.getLong(SessionRollupTable.PLAYTIME),
+                    set.getLong(SessionRollupTable.AFK_TIME)));
+        }, TreeMap::new, parameters);
+    }
+
+    /**
+     * Fetch dates that have been rolled up.
+     *
+     * @param serverUUID     UUID of the Plan server, or null for the whole network.
+     * @param timeZoneOffset Offset the rollups were calculated with.
+     * @param resolution     Length of a day or an hour in ms.
+     * @param firstBucket    Epoch ms (Start of day at 0 AM, no offset) of the first day, inclusive.
+     * @param lastBucket     Epoch ms (Start of day at 0 AM, no offset) of the last day, exclusive.
+     * @return Set of Epoch ms (Start of day at 0 AM, no offset).
+     */
+    public static Query<Set<Long>> fetchRollupDates(ServerUUID serverUUID, long timeZoneOffset, long resolution, long firstBucket, long lastBucket) {
+        String sql = SELECT + SessionRollupTable.DATE +
+                FROM + SessionRollupTable.TABLE_NAME +
+                WHERE + SessionRollupTable.SERVER_ID + (serverUUID != null ? "=" + ServerTable.SELECT_SERVER_ID : IS_NULL) +
+                AND + SessionRollupTable.TIMEZONE_OFFSET + "=?" +
+                AND + SessionRollupTable.RESOLUTION + "=?" +
+                AND + SessionRollupTable.DATE + ">=?" +
+                AND + SessionRollupTable.DATE + "<?";
+        Object[] parameters = serverUUID != null
+                ? new Object[]{serverUUID, timeZoneOffset, resolution, firstBucket, lastBucket}
+                : new Object[]{timeZoneOffset, resolution, firstBucket, lastBucket};
+        return db -> db.querySet(sql, set -> set.getLong(SessionRollupTable.DATE), parameters);
+    }
+
+    /**
+     * Calculate summary of sessions for each day or hour from sessions and registration dates.
+     *
+     * @param serverUUID     UUID of the Plan server, or null for the whole network.
+     * @param timeZoneOffset Offset from {@link java.util.TimeZone#getOffset(long)}, applied to the dates before grouping.
+     * @param resolution     Length of a day or an hour in ms.
+     * @param after          Epoch ms, sessions that started at or after this are included.
+     * @param before         Epoch ms, sessions that started before this are included.
+     * @return Map: Epoch ms (Start of day at 0 AM, no offset) - Summary of that day or hour. Days without sessions or new players are missing.
+     */
+    public static Query<NavigableMap<Long, SessionRollup>> aggregateSessions(ServerUUID serverUUID, long timeZoneOffset, long resolution, long after, long before) {
+        String selectSessions = SELECT + selectBucket(SessionsTable.SESSION_START) + " as date," +
+                "COUNT(DISTINCT " + SessionsTable.USER_ID + ") as unique_players," +
+                "COUNT(1) as session_count," +
+                "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + ") as playtime," +
+                "SUM(" + SessionsTable.AFK_TIME + ") as afk_time" +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.SESSION_START + ">=?" +
+                AND + SessionsTable.SESSION_START + "<?" +
+                (serverUUID != null ? AND + SessionsTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID : "") +
+                GROUP_BY + "date";
+        String selectNewPlayers = serverUUID != null
+                ? SELECT + selectBucket(UserInfoTable.REGISTERED) + " as date," +
+                "COUNT(1) as new_players" +
+                FROM + UserInfoTable.TABLE_NAME +
+                WHERE + UserInfoTable.REGISTERED + ">=?" +
+                AND + UserInfoTable.REGISTERED + "<?" +
+                AND + UserInfoTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
+                GROUP_BY + "date"
+                : SELECT + selectBucket(UsersTable.REGISTERED) + " as date," +
+                "COUNT(1) as new_players" +
+                FROM + UsersTable.TABLE_NAME +
+                WHERE + UsersTable.REGISTERED + ">=?" +
+                AND + UsersTable.REGISTERED + "<?" +
+                GROUP_BY + "date";
+        Object[] parameters = serverUUID != null
+                ? new Object[]{timeZoneOffset, timeZoneOffset, resolution, after, before, serverUUID}
+                : new Object[]{timeZoneOffset, timeZoneOffset, resolution, after, before};
+
+        return db -> {
+            if (after >= before) return new TreeMap<>();
+
+            NavigableMap<Long, SessionRollup> rollups = db.queryMap(selectSessions, (set, map) -> {
+                long date = set.getLong("date");
+                map.put(date, new SessionRollup(date,
+                        set.getInt("unique_players"), 0,
+                        set.getInt("session_count"),
+                        set.getLong("playtime"),
+                        set.getLong("afk_time")));
+            }, TreeMap::new, parameters);
+            Map<Long, Integer> newPlayers = db.queryMap(selectNewPlayers,
+                    (set, map) -> map.put(set.getLong("date"), set.getInt("new_players")),
+                    parameters);
+            for (Map.Entry<Long, Integer> entry : newPlayers.entrySet()) {
+                Long date = entry.getKey();
+                rollups.put(date, rollups.getOrDefault(date, SessionRollup.empty(date)).withNewPlayers(entry.getValue()));
+            }
+            return rollups;
+        };
+    }
+}
@@ -19,7 +19,10 @@ package com.djrapitops.plan.storage.database.queries.filter;
 import com.djrapitops.plan.delivery.domain.datatransfer.InputFilterDto;
 import com.djrapitops.plan.utilities.dev.Untrusted;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a query filter for /query page.
@@ -40,16 +43,16 @@ public interface Filter {
      * Match some UUIDs to the filter.
      *
      * @param query Query for the filter
-     * @return Set of UUIDs this filter applies to
+     * @return Set of user ids this filter applies to
      * @throws IllegalArgumentException If the arguments are not valid.
      */
-    Set<Integer> getMatchingUserIds(@Untrusted InputFilterDto query);
+    UserIdSet getMatchingUserIds(@Untrusted InputFilterDto query);
 
     default Result apply(@Untrusted InputFilterDto query) {
         try {
             return new Result(null, getKind(), getMatchingUserIds(query));
         } catch (CompleteSetException allMatch) {
-            return new Result(null, getKind() + " (skip)", new HashSet<>());
+            return new Result(null, getKind() + " (skip)", new UserIdSet());
         }
     }
 
@@ -58,9 +61,9 @@ public interface Filter {
 
         private final String filterKind;
         private final int resultSize;
-        private final Set<Integer> currentUserIds;
+        private final UserIdSet currentUserIds;
 
-        private Result(Result previous, String filterKind, Set<Integer> currentUserIds) {
+        private Result(Result previous, String filterKind, UserIdSet currentUserIds) {
             this.previous = previous;
             this.filterKind = filterKind;
             this.resultSize = currentUserIds.size();
@@ -69,7 +72,7 @@ public interface Filter {
 
         public Result apply(Filter filter, InputFilterDto query) {
             try {
-                Set<Integer> got = filter.getMatchingUserIds(query);
+                UserIdSet got = filter.getMatchingUserIds(query);
                 currentUserIds.retainAll(got);
                 return new Result(this, filter.getKind(), currentUserIds);
             } catch (CompleteSetException allMatch) {
@@ -85,7 +88,7 @@ public interface Filter {
             return resultSize <= 0;
         }
 
-        public Set<Integer> getResultUserIds() {
+        public UserIdSet getResultUserIds() {
             return currentUserIds;
         }
 
@@ -0,0 +1,138 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.filter;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+/**
+ * Set of user ids (plan_users.id) stored as a bitmap.
+ * <p>
+ * User ids are assigned sequentially by the database, so one bit per registered player is enough to represent any
+ * subset of players. Intersection, union and size are computed over whole words without creating an object per id.
+ *
+ * @author AuroraLS3
+ */
+public final class UserIdSet {
+
+    private final BitSet userIds;
+
+    public UserIdSet() {
+        this(new BitSet());
+    }
+
+    private UserIdSet(BitSet userIds) {
+        this.userIds = userIds;
+    }
+
+    public static UserIdSet of(int... userIds) {
+        UserIdSet set = new UserIdSet();
+        for (int userId : userIds) {
+            set.add(userId);
+        }
+        return set;
+    }
+
+    /**
+     * Read user ids from a column of every row in a ResultSet.
+     *
+     * @param set    ResultSet to read, will be iterated to the end.
+     * @param column Name of the column that contains the user id.
+     * @return set of the user ids.
+     * @throws SQLException If reading the ResultSet fails.
+     */
+    public static UserIdSet extract(ResultSet set, String column) throws SQLException {
+        UserIdSet userIds = new UserIdSet();
+        while (set.next()) {
+            userIds.add(set.getInt(column));
+        }
+        return userIds;
+    }
+
+    public void add(int userId) {
+        userIds.set(userId);
+    }
+
+    public boolean contains(int userId) {
+        return userId >= 0 && userIds.get(userId);
+    }
+
+    /**
+     * Add all ids of another set to this set (union).
+     *
+     * @param other Set to add.
+     */
+    public void addAll(UserIdSet other) {
+        userIds.or(other.userIds);
+    }
+
+    /**
+     * Remove ids from this set that are not in another set (intersection).
+     *
+     * @param other Set to intersect with.
+     */
+    public void retainAll(UserIdSet other) {
+        userIds.and(other.userIds);
+    }
+
+    public int size() {
+        return userIds.cardinality();
+    }
+
+    public boolean isEmpty() {
+        return userIds.isEmpty();
+    }
+
+    public IntStream stream() {
+        return userIds.stream();
+    }
+
+    /**
+     * Join the ids with a separator, for use in SQL IN clauses.
+     *
+     * @param separator Separator between ids, eg. ","
+     * @return String of the ids in ascending order.
+     */
+    public String join(String separator) {
+        StringBuilder builder = new StringBuilder(userIds.cardinality() * 7);
+        for (int userId = userIds.nextSetBit(0); userId >= 0; userId = userIds.nextSetBit(userId + 1)) {
+            if (builder.length() > 0) builder.append(separator);
+            builder.append(userId);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserIdSet that = (UserIdSet) o;
+        return userIds.equals(that.userIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return userIds.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "UserIdSet{" + userIds + '}';
+    }
+}
@@ -24,6 +24,7 @@ import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
 import com.djrapitops.plan.storage.database.queries.filter.CompleteSetException;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.utilities.dev.Untrusted;
 
 import javax.inject.Inject;
@@ -31,8 +32,6 @@ import javax.inject.Singleton;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Singleton
 public class ActivityIndexFilter extends MultiOptionFilter {
@@ -67,7 +66,7 @@ public class ActivityIndexFilter extends MultiOptionFilter {
     }
 
     @Override
-    public Set<Integer> getMatchingUserIds(@Untrusted InputFilterDto query) {
+    public UserIdSet getMatchingUserIds(@Untrusted InputFilterDto query) {
         @Untrusted List<String> selected = getSelected(query);
         String[] options = getOptionsArray();
 
@@ -84,9 +83,10 @@ public class ActivityIndexFilter extends MultiOptionFilter {
         long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
         Map<Integer, ActivityIndex> indexes = dbSystem.getDatabase().query(NetworkActivityIndexQueries.activityIndexForAllPlayers(date, playtimeThreshold));
 
-        return indexes.entrySet().stream()
-                .filter(entry -> selected.contains(entry.getValue().getGroup(locale)))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toSet());
+        UserIdSet userIds = new UserIdSet();
+        for (Map.Entry<Integer, ActivityIndex> entry : indexes.entrySet()) {
+            if (selected.contains(entry.getValue().getGroup(locale))) userIds.add(entry.getKey());
+        }
+        return userIds;
     }
 }
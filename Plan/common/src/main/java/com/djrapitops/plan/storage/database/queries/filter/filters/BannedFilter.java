@@ -21,12 +21,15 @@ import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.locale.lang.FilterLang;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.queries.filter.CompleteSetException;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.queries.objects.UserInfoQueries;
 import com.djrapitops.plan.utilities.dev.Untrusted;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.*;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 @Singleton
 public class BannedFilter extends MultiOptionFilter {
@@ -58,9 +61,9 @@ public class BannedFilter extends MultiOptionFilter {
     }
 
     @Override
-    public Set<Integer> getMatchingUserIds(@Untrusted InputFilterDto query) {
+    public UserIdSet getMatchingUserIds(@Untrusted InputFilterDto query) {
         @Untrusted List<String> selected = getSelected(query);
-        Set<Integer> userIds = new HashSet<>();
+        UserIdSet userIds = new UserIdSet();
         String[] options = getOptionsArray();
 
         boolean includeBanned = selected.contains(options[0]);
@@ -19,6 +19,7 @@ package com.djrapitops.plan.storage.database.queries.filter.filters;
 import com.djrapitops.plan.delivery.domain.datatransfer.InputFilterDto;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
 import com.djrapitops.plan.storage.database.queries.objects.UserInfoQueries;
 import com.djrapitops.plan.utilities.dev.Untrusted;
@@ -28,7 +29,6 @@ import javax.inject.Singleton;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 @Singleton
 public class PlayedOnServerFilter extends MultiOptionFilter {
@@ -55,7 +55,7 @@ public class PlayedOnServerFilter extends MultiOptionFilter {
     }
 
     @Override
-    public Set<Integer> getMatchingUserIds(@Untrusted InputFilterDto query) {
+    public UserIdSet getMatchingUserIds(@Untrusted InputFilterDto query) {
         @Untrusted List<String> serverNames = getSelected(query);
         List<ServerUUID> serverUUIDs = serverNames.isEmpty() ? Collections.emptyList() : dbSystem.getDatabase().query(ServerQueries.fetchServersMatchingIdentifiers(serverNames));
 
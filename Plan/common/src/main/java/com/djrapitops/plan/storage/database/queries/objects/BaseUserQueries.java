@@ -20,6 +20,7 @@ import com.djrapitops.plan.gathering.domain.BaseUser;
 import com.djrapitops.plan.gathering.domain.UserInfo;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.RowExtractors;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.sql.building.Select;
 import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
 import org.apache.commons.text.TextStringBuilder;
@@ -86,13 +87,13 @@ public class BaseUserQueries {
         return db -> db.queryOptional(sql, BaseUserQueries::extractBaseUser, playerUUID);
     }
 
-    public static Query<Set<Integer>> userIdsOfRegisteredBetween(long after, long before) {
+    public static Query<UserIdSet> userIdsOfRegisteredBetween(long after, long before) {
         String sql = SELECT + DISTINCT + UsersTable.ID +
                 FROM + UsersTable.TABLE_NAME +
                 WHERE + UsersTable.REGISTERED + ">=?" +
                 AND + UsersTable.REGISTERED + "<=?";
 
-        return db -> db.querySet(sql, RowExtractors.getInt(UsersTable.ID), after, before);
+        return db -> db.queryUserIds(sql, UsersTable.ID, after, before);
     }
 
     public static Query<Optional<Long>> minimumRegisterDate() {
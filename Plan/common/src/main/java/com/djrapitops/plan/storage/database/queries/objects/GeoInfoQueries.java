@@ -21,6 +21,7 @@ import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
 import com.djrapitops.plan.storage.database.queries.RowExtractors;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.sql.building.Sql;
 import com.djrapitops.plan.storage.database.sql.tables.GeoInfoTable;
 import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
@@ -28,7 +29,6 @@ import com.djrapitops.plan.storage.database.sql.tables.UserInfoTable;
 import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
 import com.djrapitops.plan.utilities.dev.Untrusted;
 import com.djrapitops.plan.utilities.java.Lists;
-import org.apache.commons.text.TextStringBuilder;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -126,7 +126,7 @@ public class GeoInfoQueries {
         );
     }
 
-    public static Query<Map<String, Integer>> networkGeolocationCounts(Collection<Integer> userIds) {
+    public static Query<Map<String, Integer>> networkGeolocationCounts(UserIdSet userIds) {
         String sql = SELECT +
                 "a." + GeoInfoTable.GEOLOCATION + ", " +
                 "COUNT(1) as c" +
@@ -137,8 +137,7 @@ public class GeoInfoQueries {
                 LEFT_JOIN + GeoInfoTable.TABLE_NAME + " b ON a." + GeoInfoTable.USER_ID + "=b." + GeoInfoTable.USER_ID + AND + "a." + GeoInfoTable.LAST_USED + "<b." + GeoInfoTable.LAST_USED +
                 INNER_JOIN + UsersTable.TABLE_NAME + " u on a." + GeoInfoTable.USER_ID + "=u." + UsersTable.ID +
                 WHERE + "b." + GeoInfoTable.LAST_USED + IS_NULL +
-                AND + "u." + UsersTable.ID + " IN (" +
-                new TextStringBuilder().appendWithSeparators(userIds, ",").build() + ")" +
+                AND + "u." + UsersTable.ID + " IN (" + userIds.join(",") + ")" +
                 GROUP_BY + "a." + GeoInfoTable.GEOLOCATION;
 
         return db -> db.queryMap(sql, GeoInfoQueries::extractGeolocationCounts);
@@ -169,12 +168,12 @@ public class GeoInfoQueries {
         return db -> db.queryList(sql, RowExtractors.getString(GeoInfoTable.GEOLOCATION));
     }
 
-    public static Query<Set<Integer>> userIdsOfPlayersWithGeolocations(@Untrusted List<String> selected) {
+    public static Query<UserIdSet> userIdsOfPlayersWithGeolocations(@Untrusted List<String> selected) {
         String sql = SELECT + "u." + UsersTable.ID +
                 FROM + GeoInfoTable.TABLE_NAME + " g" +
                 INNER_JOIN + UsersTable.TABLE_NAME + " u on u.id=g." + GeoInfoTable.USER_ID +
                 WHERE + "LOWER(" + GeoInfoTable.GEOLOCATION + ")" +
                 " IN (" + Sql.nParameters(selected.size()) + ")";
-        return db -> db.querySet(sql, RowExtractors.getInt(UsersTable.ID), selected.stream().map(String::toLowerCase).collect(Collectors.toList()));
+        return db -> db.queryUserIds(sql, UsersTable.ID, selected.stream().map(String::toLowerCase).collect(Collectors.toList()));
     }
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ import com.djrapitops.plan.gathering.domain.Ping;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
+import com.djrapitops.plan.storage.database.queries.QueryAllStreamingStatement;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
 import com.djrapitops.plan.storage.database.sql.tables.GeoInfoTable;
 import com.djrapitops.plan.storage.database.sql.tables.PingTable;
@@ -31,6 +32,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
 
@@ -51,7 +53,43 @@ public class PingQueries {
      * @return Map: Player UUID - List of ping data.
      */
     public static Query<Map<UUID, List<Ping>>> fetchAllPingData() {
-        String sql = SELECT +
+        return new QueryAllStatement<>(selectAllPingData(), 100000) {
+            @Override
+            public Map<UUID, List<Ping>> processResults(ResultSet set) throws SQLException {
+                return extractUserPings(set);
+            }
+        };
+    }
+
+    /**
+     * Query database for all Ping data in batches, so that all of the data is never in memory at once.
+     *
+     * @param batchSize     Number of rows given to the consumer at once.
+     * @param batchConsumer Consumer for each batch, Map: Player UUID - List of ping data.
+     * @return Number of rows read.
+     */
+    public static Query<Long> streamAllPingData(int batchSize, Consumer<Map<UUID, List<Ping>>> batchConsumer) {
+        return new QueryAllStreamingStatement<>(selectAllPingData(), batchSize) {
+            @Override
+            public Long processResults(ResultSet set) throws SQLException {
+                long rows = 0;
+                Map<UUID, List<Ping>> batch = new HashMap<>();
+                while (set.next()) {
+                    addUserPing(batch, set);
+                    rows++;
+                    if (rows % batchSize == 0) {
+                        batchConsumer.accept(batch);
+                        batch = new HashMap<>();
+                    }
+                }
+                if (!batch.isEmpty()) batchConsumer.accept(batch);
+                return rows;
+            }
+        };
+    }
+
+    private static String selectAllPingData() {
+        return SELECT +
                 PingTable.DATE + ',' +
                 PingTable.MAX_PING + ',' +
                 PingTable.MIN_PING + ',' +
@@ -61,35 +99,33 @@ public class PingQueries {
                 FROM + PingTable.TABLE_NAME + " p" +
                 INNER_JOIN + UsersTable.TABLE_NAME + " u on u.id=p." + PingTable.USER_ID +
                 INNER_JOIN + ServerTable.TABLE_NAME + " s on s.id=p." + PingTable.SERVER_ID;
-        return new QueryAllStatement<>(sql, 100000) {
-            @Override
-            public Map<UUID, List<Ping>> processResults(ResultSet set) throws SQLException {
-                return extractUserPings(set);
-            }
-        };
     }
 
     private static Map<UUID, List<Ping>> extractUserPings(ResultSet set) throws SQLException {
         Map<UUID, List<Ping>> userPings = new HashMap<>();
 
         while (set.next()) {
-            UUID uuid = UUID.fromString(set.getString("uuid"));
-            ServerUUID serverUUID = ServerUUID.fromString(set.getString("server_uuid"));
-            long date = set.getLong(PingTable.DATE);
-            double avgPing = set.getDouble(PingTable.AVG_PING);
-            int minPing = set.getInt(PingTable.MIN_PING);
-            int maxPing = set.getInt(PingTable.MAX_PING);
-
-            List<Ping> pings = userPings.computeIfAbsent(uuid, Lists::create);
-            pings.add(new Ping(date, serverUUID,
-                    minPing,
-                    maxPing,
-                    avgPing));
+            addUserPing(userPings, set);
         }
 
         return userPings;
     }
 
+    private static void addUserPing(Map<UUID, List<Ping>> userPings, ResultSet set) throws SQLException {
+        UUID uuid = UUID.fromString(set.getString("uuid"));
+        ServerUUID serverUUID = ServerUUID.fromString(set.getString("server_uuid"));
+        long date = set.getLong(PingTable.DATE);
+        double avgPing = set.getDouble(PingTable.AVG_PING);
+        int minPing = set.getInt(PingTable.MIN_PING);
+        int maxPing = set.getInt(PingTable.MAX_PING);
+
+        List<Ping> pings = userPings.computeIfAbsent(uuid, Lists::create);
+        pings.add(new Ping(date, serverUUID,
+                minPing,
+                maxPing,
+                avgPing));
+    }
+
     /**
      * Query database for Ping data of a specific player.
      *
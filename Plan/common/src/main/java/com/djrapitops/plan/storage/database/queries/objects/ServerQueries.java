@@ -279,6 +279,26 @@ public class ServerQueries {
         };
     }
 
+    /**
+     * Fetch database ids of all servers, including uninstalled ones.
+     *
+     * @return Map: Server UUID - Server id
+     */
+    public static Query<Map<ServerUUID, Integer>> fetchServerIds() {
+        String sql = Select.from(ServerTable.TABLE_NAME, ServerTable.ID, ServerTable.SERVER_UUID).toString();
+
+        return new QueryAllStatement<>(sql, 100) {
+            @Override
+            public Map<ServerUUID, Integer> processResults(ResultSet set) throws SQLException {
+                Map<ServerUUID, Integer> serverIds = new HashMap<>();
+                while (set.next()) {
+                    serverIds.put(ServerUUID.fromString(set.getString(ServerTable.SERVER_UUID)), set.getInt(ServerTable.ID));
+                }
+                return serverIds;
+            }
+        };
+    }
+
     public static Query<Map<String, ServerUUID>> fetchServerNamesToUUIDs() {
         return db -> Maps.reverse(db.query(fetchServerNames()));
     }
@@ -28,6 +28,7 @@ import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.sql.building.Sql;
 import com.djrapitops.plan.storage.database.sql.tables.*;
 import com.djrapitops.plan.utilities.comparators.DateHolderRecentComparator;
@@ -108,6 +109,39 @@ public class SessionQueries {
         };
     }
 
+    /**
+     * Query the database for Session data with kill, death or world data of sessions in an id range.
+     * <p>
+     * Allows going through all sessions in parts without loading all of them to memory.
+     *
+     * @param fromId Smallest session id to include.
+     * @param toId   Session id after the largest included id.
+     * @return List of sessions
+     */
+    public static Query<List<FinishedSession>> fetchSessionsWithIdBetween(int fromId, int toId) {
+        String sql = SELECT_SESSIONS_STATEMENT +
+                WHERE + "s." + SessionsTable.ID + ">=?" +
+                AND + "s." + SessionsTable.ID + "<?" +
+                ORDER_BY_SESSION_START_DESC;
+        return new QueryStatement<>(sql, 50000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, fromId);
+                statement.setInt(2, toId);
+            }
+
+            @Override
+            public List<FinishedSession> processResults(ResultSet set) throws SQLException {
+                return extractDataFromSessionSelectStatement(set);
+            }
+        };
+    }
+
+    public static Query<Integer> fetchLargestSessionId() {
+        String sql = SELECT + "MAX(" + SessionsTable.ID + ") as max_id" + FROM + SessionsTable.TABLE_NAME;
+        return db -> db.queryOptional(sql, set -> set.getInt("max_id")).orElse(0);
+    }
+
     /**
      * Query the database for Session data of a player with kill and world data.
      *
@@ -927,7 +961,7 @@ public class SessionQueries {
                 .orElse(0L);
     }
 
-    public static Query<Set<Integer>> userIdsOfPlayedBetween(long after, long before, List<ServerUUID> serverUUIDs) {
+    public static Query<UserIdSet> userIdsOfPlayedBetween(long after, long before, List<ServerUUID> serverUUIDs) {
         String selectServerIds = SELECT + ServerTable.ID +
                 FROM + ServerTable.TABLE_NAME +
                 WHERE + ServerTable.SERVER_UUID + " IN ('" + new TextStringBuilder().appendWithSeparators(serverUUIDs, "','") + "')";
@@ -938,26 +972,11 @@ public class SessionQueries {
                 WHERE + SessionsTable.SESSION_END + ">=?" +
                 AND + SessionsTable.SESSION_START + "<=?" +
                 (serverUUIDs.isEmpty() ? "" : AND + SessionsTable.SERVER_ID + " IN (" + selectServerIds + ")");
-        return new QueryStatement<>(sql) {
-            @Override
-            public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setLong(1, after);
-                statement.setLong(2, before);
-            }
-
-            @Override
-            public Set<Integer> processResults(ResultSet set) throws SQLException {
-                Set<Integer> userIds = new HashSet<>();
-                while (set.next()) {
-                    userIds.add(set.getInt(UsersTable.ID));
-                }
-                return userIds;
-            }
-        };
+        return db -> db.queryUserIds(sql, UsersTable.ID, after, before);
     }
 
-    public static Query<Map<String, Long>> summaryOfPlayers(Set<Integer> userIds, List<ServerUUID> serverUUIDs, long after, long before) {
-        String uuidsInSet = " IN (" + new TextStringBuilder().appendWithSeparators(userIds, ",") + ")";
+    public static Query<Map<String, Long>> summaryOfPlayers(UserIdSet userIds, List<ServerUUID> serverUUIDs, long after, long before) {
+        String uuidsInSet = " IN (" + userIds.join(",") + ")";
         String selectServerIds = SELECT + ServerTable.ID +
                 FROM + ServerTable.TABLE_NAME +
                 WHERE + ServerTable.SERVER_UUID + " IN ('" + new TextStringBuilder().appendWithSeparators(serverUUIDs, "','") + "')";
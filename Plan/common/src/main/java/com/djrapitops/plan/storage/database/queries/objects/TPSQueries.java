@@ -23,6 +23,8 @@ import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
 import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
+import com.djrapitops.plan.storage.database.sql.tables.TPSCompactedTable;
+import com.djrapitops.plan.utilities.comparators.TPSComparator;
 import com.djrapitops.plan.utilities.dev.Benchmark;
 import com.djrapitops.plan.utilities.java.Lists;
 import org.intellij.lang.annotations.Language;
@@ -48,7 +50,46 @@ public class TPSQueries {
         /* Static method class */
     }
 
+    /**
+     * Fetch TPS data grouped to the given resolution.
+     * <p>
+     * Data that has been compacted to a tier with a resolution that divides the given resolution is read from the tier.
+     *
+     * @param after      After epoch ms
+     * @param before     Before epoch ms
+     * @param resolution Resolution in ms
+     * @param serverUUID UUID of the server
+     * @return List of TPS, lowest tps and highest value of other fields in each group.
+     */
     public static Query<List<TPS>> fetchTPSDataOfServerInResolution(long after, long before, long resolution, ServerUUID serverUUID) {
+        return db -> {
+            long tierResolution = getCompactedTierFor(resolution);
+            if (tierResolution <= 0) {
+                return db.query(fetchRawTPSDataOfServerInResolution(after, before, resolution, serverUUID));
+            }
+            long compactedUntil = db.query(fetchCompactedUntil(serverUUID, tierResolution)).orElse(after);
+            long split = Math.max(after, Math.min(before, compactedUntil - compactedUntil % resolution));
+
+            List<TPS> data = new ArrayList<>();
+            if (after < split) {
+                data.addAll(db.query(fetchCompactedTPSDataOfServerInResolution(after, split, tierResolution, resolution, serverUUID)));
+            }
+            if (split < before) {
+                data.addAll(db.query(fetchRawTPSDataOfServerInResolution(split, before, resolution, serverUUID)));
+            }
+            return data;
+        };
+    }
+
+    private static long getCompactedTierFor(long resolution) {
+        long tier = -1;
+        for (long tierResolution : TPSCompactedTable.RESOLUTIONS) {
+            if (resolution % tierResolution == 0) tier = tierResolution;
+        }
+        return tier;
+    }
+
+    private static Query<List<TPS>> fetchRawTPSDataOfServerInResolution(long after, long before, long resolution, ServerUUID serverUUID) {
         return db -> {
             String sql = SELECT +
                     min("t." + DATE) + " as " + DATE + ',' +
@@ -87,6 +128,123 @@ public class TPSQueries {
         };
     }
 
+    private static Query<List<TPS>> fetchCompactedTPSDataOfServerInResolution(long after, long before, long tierResolution, long resolution, ServerUUID serverUUID) {
+        String sql = SELECT +
+                min(TPSCompactedTable.DATE) + " as " + DATE + ',' +
+                selectCompacted() +
+                FROM + TPSCompactedTable.TABLE_NAME +
+                WHERE + TPSCompactedTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
+                AND + TPSCompactedTable.RESOLUTION + "=?" +
+                AND + TPSCompactedTable.DATE + ">=?" +
+                AND + TPSCompactedTable.DATE + "<?" +
+                GROUP_BY + floor(TPSCompactedTable.DATE + "/?") +
+                ORDER_BY + DATE;
+
+        return new QueryStatement<>(sql, 50000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, tierResolution);
+                statement.setLong(3, after);
+                statement.setLong(4, before);
+                statement.setLong(5, resolution);
+            }
+
+            @Override
+            public List<TPS> processResults(ResultSet set) throws SQLException {
+                List<TPS> data = new ArrayList<>();
+                while (set.next()) {
+                    data.add(extractTPS(set));
+                }
+                return data;
+            }
+        };
+    }
+
+    /**
+     * Fetch 5 minute compacted TPS data of buckets that no longer have raw data.
+     *
+     * @param after      After epoch ms
+     * @param before     Before epoch ms
+     * @param serverUUID UUID of the server
+     * @return List of TPS, lowest tps and highest value of other fields in each 5 minutes.
+     */
+    private static Query<List<TPS>> fetchCompactedTPSDataOfServerWithoutRawData(long after, long before, ServerUUID serverUUID) {
+        String sql = SELECT +
+                "c." + TPSCompactedTable.DATE + " as " + DATE + ',' +
+                selectCompacted() +
+                FROM + TPSCompactedTable.TABLE_NAME + " c" +
+                WHERE + "c." + TPSCompactedTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
+                AND + "c." + TPSCompactedTable.RESOLUTION + "=?" +
+                AND + "c." + TPSCompactedTable.DATE + ">=?" +
+                AND + "c." + TPSCompactedTable.DATE + "<=?" +
+                AND + "NOT EXISTS (" + SELECT + "1" + FROM + TABLE_NAME + " r" +
+                WHERE + "r." + SERVER_ID + "=c." + TPSCompactedTable.SERVER_ID +
+                AND + "r." + DATE + ">=c." + TPSCompactedTable.DATE +
+                AND + "r." + DATE + "<c." + TPSCompactedTable.DATE + "+c." + TPSCompactedTable.RESOLUTION + ')' +
+                ORDER_BY + DATE;
+
+        return new QueryStatement<>(sql, 10000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, TPSCompactedTable.FIVE_MINUTES);
+                statement.setLong(3, after);
+                statement.setLong(4, before);
+            }
+
+            @Override
+            public List<TPS> processResults(ResultSet set) throws SQLException {
+                List<TPS> data = new ArrayList<>();
+                while (set.next()) {
+                    data.add(extractTPS(set));
+                }
+                return data;
+            }
+        };
+    }
+
+    private static String selectCompacted() {
+        return min(TPS + TPSCompactedTable.MIN_SUFFIX) + " as " + TPS + ',' +
+                max(PLAYERS_ONLINE + TPSCompactedTable.MAX_SUFFIX) + " as " + PLAYERS_ONLINE + ',' +
+                max(RAM_USAGE + TPSCompactedTable.MAX_SUFFIX) + " as " + RAM_USAGE + ',' +
+                max(CPU_USAGE + TPSCompactedTable.MAX_SUFFIX) + " as " + CPU_USAGE + ',' +
+                max(ENTITIES + TPSCompactedTable.MAX_SUFFIX) + " as " + ENTITIES + ',' +
+                max(CHUNKS + TPSCompactedTable.MAX_SUFFIX) + " as " + CHUNKS + ',' +
+                max(FREE_DISK + TPSCompactedTable.MAX_SUFFIX) + " as " + FREE_DISK;
+    }
+
+    /**
+     * Fetch the date until which TPS data of a server has been compacted in the given resolution.
+     *
+     * @param serverUUID UUID of the server
+     * @param resolution One of {@link TPSCompactedTable#RESOLUTIONS}
+     * @return End of the latest compacted bucket, or empty if nothing has been compacted.
+     */
+    public static Query<Optional<Long>> fetchCompactedUntil(ServerUUID serverUUID, long resolution) {
+        String sql = SELECT + "MAX(" + TPSCompactedTable.DATE + ") as last_date" +
+                FROM + TPSCompactedTable.TABLE_NAME +
+                WHERE + TPSCompactedTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
+                AND + TPSCompactedTable.RESOLUTION + "=?";
+
+        return new QueryStatement<>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, resolution);
+            }
+
+            @Override
+            public Optional<Long> processResults(ResultSet set) throws SQLException {
+                if (set.next()) {
+                    long lastDate = set.getLong("last_date");
+                    if (!set.wasNull()) return Optional.of(lastDate + resolution);
+                }
+                return Optional.empty();
+            }
+        };
+    }
+
     public static TPS extractTPS(ResultSet set) throws SQLException {
         return TPSBuilder.get()
                 .date(set.getLong(DATE))
@@ -100,7 +258,31 @@ public class TPSQueries {
                 .toTPS();
     }
 
+    /**
+     * Fetch TPS data of a server.
+     * <p>
+     * Where raw data has already been removed, 5 minute compacted data is used instead.
+     *
+     * @param after      After epoch ms
+     * @param before     Before epoch ms
+     * @param serverUUID UUID of the server
+     * @return List of TPS ordered by date.
+     */
     public static Query<List<TPS>> fetchTPSDataOfServer(long after, long before, ServerUUID serverUUID) {
+        return db -> {
+            List<TPS> compacted = db.query(fetchCompactedTPSDataOfServerWithoutRawData(after, before, serverUUID));
+            List<TPS> raw = db.query(fetchRawTPSDataOfServer(after, before, serverUUID));
+            if (compacted.isEmpty()) return raw;
+
+            List<TPS> data = new ArrayList<>(compacted.size() + raw.size());
+            data.addAll(compacted);
+            data.addAll(raw);
+            data.sort(new TPSComparator());
+            return data;
+        };
+    }
+
+    private static Query<List<TPS>> fetchRawTPSDataOfServer(long after, long before, ServerUUID serverUUID) {
         String sql = SELECT + "*" + FROM + TABLE_NAME +
                 WHERE + SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
                 AND + DATE + ">=?" +
@@ -128,17 +310,35 @@ public class TPSQueries {
     }
 
     public static Query<List<DateObj<Integer>>> fetchViewPreviewGraphData(ServerUUID serverUUID) {
+        return db -> {
+            long resolution = TimeUnit.MINUTES.toMillis(15);
+            Map<Long, DateObj<Integer>> byBucket = new TreeMap<>();
+            for (DateObj<Integer> point : db.query(fetchPlayersOnlineInResolution(TPSCompactedTable.TABLE_NAME, PLAYERS_ONLINE + TPSCompactedTable.MAX_SUFFIX, resolution, serverUUID))) {
+                byBucket.put(point.getDate() / resolution, point);
+            }
+            for (DateObj<Integer> point : db.query(fetchPlayersOnlineInResolution(TABLE_NAME, PLAYERS_ONLINE, resolution, serverUUID))) {
+                byBucket.put(point.getDate() / resolution, point);
+            }
+            return new ArrayList<>(byBucket.values());
+        };
+    }
+
+    private static Query<List<DateObj<Integer>>> fetchPlayersOnlineInResolution(String tableName, String playersOnlineColumn, long resolution, ServerUUID serverUUID) {
+        boolean compacted = TPSCompactedTable.TABLE_NAME.equals(tableName);
         String sql = SELECT + min(DATE) + " as " + DATE + ',' +
-                max(PLAYERS_ONLINE) + " as " + PLAYERS_ONLINE +
-                FROM + TABLE_NAME +
+                max(playersOnlineColumn) + " as " + PLAYERS_ONLINE +
+                FROM + tableName +
                 WHERE + SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
+                (compacted ? AND + TPSCompactedTable.RESOLUTION + "=?" : "") +
                 GROUP_BY + floor(DATE + "/?");
 
         return new QueryStatement<>(sql) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setString(1, serverUUID.toString());
-                statement.setLong(2, TimeUnit.MINUTES.toMillis(15));
+                int index = 1;
+                statement.setString(index++, serverUUID.toString());
+                if (compacted) statement.setLong(index++, TPSCompactedTable.FIVE_MINUTES);
+                statement.setLong(index, resolution);
             }
 
             @Override
@@ -150,7 +350,28 @@ public class TPSQueries {
         };
     }
 
+    /**
+     * Fetch players online data of a server.
+     * <p>
+     * Where raw data has already been removed, 5 minute compacted data is used instead.
+     *
+     * @param after      After epoch ms
+     * @param before     Before epoch ms
+     * @param serverUUID UUID of the server
+     * @return List of players online points.
+     */
     public static Query<List<DateObj<Integer>>> fetchPlayersOnlineOfServer(long after, long before, ServerUUID serverUUID) {
+        return db -> {
+            List<DateObj<Integer>> data = new ArrayList<>();
+            for (TPS compacted : db.query(fetchCompactedTPSDataOfServerWithoutRawData(after + 1, before - 1, serverUUID))) {
+                data.add(new DateObj<>(compacted.getDate(), compacted.getPlayers()));
+            }
+            data.addAll(db.query(fetchRawPlayersOnlineOfServer(after, before, serverUUID)));
+            return data;
+        };
+    }
+
+    private static Query<List<DateObj<Integer>>> fetchRawPlayersOnlineOfServer(long after, long before, ServerUUID serverUUID) {
         String sql = SELECT + ServerTable.SERVER_UUID + ',' + DATE + ',' + PLAYERS_ONLINE +
                 FROM + TABLE_NAME +
                 INNER_JOIN + ServerTable.TABLE_NAME + " on " + ServerTable.TABLE_NAME + '.' + ServerTable.ID + '=' + SERVER_ID +
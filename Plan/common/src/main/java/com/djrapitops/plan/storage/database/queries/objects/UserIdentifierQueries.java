@@ -20,6 +20,7 @@ import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.sql.building.Select;
 import com.djrapitops.plan.storage.database.sql.tables.NicknamesTable;
 import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
@@ -66,6 +67,72 @@ public class UserIdentifierQueries {
         };
     }
 
+    /**
+     * Query database for which of the given players are stored in the Plan database.
+     *
+     * @param playerUUIDs UUIDs of the players, at most a few hundred at a time.
+     * @return Set of UUIDs that are registered.
+     */
+    public static Query<Set<UUID>> fetchRegisteredPlayerUUIDs(Collection<UUID> playerUUIDs) {
+        if (playerUUIDs.isEmpty()) return db -> new HashSet<>();
+
+        String sql = SELECT + UsersTable.USER_UUID +
+                FROM + UsersTable.TABLE_NAME +
+                WHERE + UsersTable.USER_UUID + " IN (" + nParameters(playerUUIDs.size()) + ')';
+        return new QueryStatement<>(sql, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                int index = 1;
+                for (UUID playerUUID : playerUUIDs) {
+                    statement.setString(index, playerUUID.toString());
+                    index++;
+                }
+            }
+
+            @Override
+            public Set<UUID> processResults(ResultSet set) throws SQLException {
+                Set<UUID> registered = new HashSet<>();
+                while (set.next()) {
+                    registered.add(UUID.fromString(set.getString(UsersTable.USER_UUID)));
+                }
+                return registered;
+            }
+        };
+    }
+
+    /**
+     * Query database for user ids of the given players.
+     *
+     * @param playerUUIDs UUIDs of the players, at most a few hundred at a time.
+     * @return Map: Player UUID - User id, players that are not registered are not included.
+     */
+    public static Query<Map<UUID, Integer>> fetchUserIds(Collection<UUID> playerUUIDs) {
+        if (playerUUIDs.isEmpty()) return db -> new HashMap<>();
+
+        String sql = SELECT + UsersTable.ID + ',' + UsersTable.USER_UUID +
+                FROM + UsersTable.TABLE_NAME +
+                WHERE + UsersTable.USER_UUID + " IN (" + nParameters(playerUUIDs.size()) + ')';
+        return new QueryStatement<>(sql, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                int index = 1;
+                for (UUID playerUUID : playerUUIDs) {
+                    statement.setString(index, playerUUID.toString());
+                    index++;
+                }
+            }
+
+            @Override
+            public Map<UUID, Integer> processResults(ResultSet set) throws SQLException {
+                Map<UUID, Integer> userIds = new HashMap<>();
+                while (set.next()) {
+                    userIds.put(UUID.fromString(set.getString(UsersTable.USER_UUID)), set.getInt(UsersTable.ID));
+                }
+                return userIds;
+            }
+        };
+    }
+
     /**
      * Query database for all player UUIDs that have joined a server.
      *
@@ -205,17 +272,13 @@ public class UserIdentifierQueries {
         };
     }
 
-    public static Query<Set<Integer>> fetchAllUserIds() {
+    public static Query<UserIdSet> fetchAllUserIds() {
         String sql = Select.from(UsersTable.TABLE_NAME, UsersTable.ID).toString();
 
         return new QueryAllStatement<>(sql, 2000) {
             @Override
-            public Set<Integer> processResults(ResultSet set) throws SQLException {
-                Set<Integer> playerUUIDs = new HashSet<>();
-                while (set.next()) {
-                    playerUUIDs.add(set.getInt(UsersTable.ID));
-                }
-                return playerUUIDs;
+            public UserIdSet processResults(ResultSet set) throws SQLException {
+                return UserIdSet.extract(set, UsersTable.ID);
             }
         };
     }
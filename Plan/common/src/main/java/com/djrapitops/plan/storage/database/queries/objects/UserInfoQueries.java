@@ -21,6 +21,7 @@ import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
 import com.djrapitops.plan.storage.database.sql.tables.UserInfoTable;
 import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
@@ -158,53 +159,31 @@ public class UserInfoQueries {
         };
     }
 
-    public static Query<Set<Integer>> userIdsOfOperators() {
+    public static Query<UserIdSet> userIdsOfOperators() {
         return getUserIdsForBooleanGroup(UserInfoTable.OP, true);
     }
 
-    public static Query<Set<Integer>> getUserIdsForBooleanGroup(String column, boolean value) {
+    public static Query<UserIdSet> getUserIdsForBooleanGroup(String column, boolean value) {
         String sql = SELECT + "u." + UsersTable.ID +
                 FROM + UserInfoTable.TABLE_NAME +
                 INNER_JOIN + UsersTable.TABLE_NAME + " u on u." + UsersTable.ID + '=' + UserInfoTable.TABLE_NAME + '.' + UserInfoTable.USER_ID +
                 WHERE + column + "=?";
-        return new QueryStatement<>(sql) {
-            @Override
-            public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setBoolean(1, value);
-            }
-
-            @Override
-            public Set<Integer> processResults(ResultSet set) throws SQLException {
-                return extractUserIds(set);
-            }
-        };
-    }
-
-    public static Set<Integer> extractUserIds(ResultSet set) throws SQLException {
-        return extractUserIds(set, UsersTable.ID);
-    }
-
-    public static Set<Integer> extractUserIds(ResultSet set, String column) throws SQLException {
-        Set<Integer> userIds = new HashSet<>();
-        while (set.next()) {
-            userIds.add(set.getInt(column));
-        }
-        return userIds;
+        return db -> db.queryUserIds(sql, UsersTable.ID, value);
     }
 
-    public static Query<Set<Integer>> userIdsOfNonOperators() {
+    public static Query<UserIdSet> userIdsOfNonOperators() {
         return getUserIdsForBooleanGroup(UserInfoTable.OP, false);
     }
 
-    public static Query<Set<Integer>> userIdsOfBanned() {
+    public static Query<UserIdSet> userIdsOfBanned() {
         return getUserIdsForBooleanGroup(UserInfoTable.BANNED, true);
     }
 
-    public static Query<Set<Integer>> userIdsOfNotBanned() {
+    public static Query<UserIdSet> userIdsOfNotBanned() {
         return getUserIdsForBooleanGroup(UserInfoTable.BANNED, false);
     }
 
-    public static Query<Set<Integer>> userIdsOfRegisteredBetween(long after, long before, List<ServerUUID> serverUUIDs) {
+    public static Query<UserIdSet> userIdsOfRegisteredBetween(long after, long before, List<ServerUUID> serverUUIDs) {
         String selectServerIds = SELECT + ServerTable.ID +
                 FROM + ServerTable.TABLE_NAME +
                 WHERE + ServerTable.SERVER_UUID + " IN ('" + new TextStringBuilder().appendWithSeparators(serverUUIDs, "','") + "')";
@@ -215,21 +194,6 @@ public class UserInfoQueries {
                 INNER_JOIN + "(" + selectServerIds + ") sel_server on sel_server." + ServerTable.ID + "=ux." + UserInfoTable.SERVER_ID +
                 WHERE + "ux." + UserInfoTable.REGISTERED + ">=?" +
                 AND + "ux." + UserInfoTable.REGISTERED + "<=?";
-        return new QueryStatement<>(sql) {
-            @Override
-            public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setLong(1, after);
-                statement.setLong(2, before);
-            }
-
-            @Override
-            public Set<Integer> processResults(ResultSet set) throws SQLException {
-                Set<Integer> userIds = new HashSet<>();
-                while (set.next()) {
-                    userIds.add(set.getInt(UsersTable.ID));
-                }
-                return userIds;
-            }
-        };
+        return db -> db.queryUserIds(sql, UsersTable.ID, after, before);
     }
 }
\ No newline at end of file
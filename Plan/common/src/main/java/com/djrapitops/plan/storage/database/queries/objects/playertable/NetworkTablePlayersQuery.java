@@ -22,7 +22,6 @@ import com.djrapitops.plan.gathering.domain.Ping;
 import com.djrapitops.plan.storage.database.SQLDB;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
-import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
 import com.djrapitops.plan.storage.database.sql.tables.*;
 
 import java.sql.PreparedStatement;
@@ -42,42 +41,48 @@ import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
 public class NetworkTablePlayersQuery implements Query<List<TablePlayer>> {
 
     private final long date;
-    private final long activeMsThreshold;
-    private final int xMostRecentPlayers;
+    private final PlayersTablePage page;
 
-    public NetworkTablePlayersQuery(long date, long activeMsThreshold, int xMostRecentPlayers) {
-        this.date = date;
-        this.activeMsThreshold = activeMsThreshold;
-        this.xMostRecentPlayers = xMostRecentPlayers;
+    public NetworkTablePlayersQuery(long date, int xMostRecentPlayers) {
+        this(date, PlayersTablePage.mostRecentlySeen(xMostRecentPlayers));
     }
 
-    @Override
-    public List<TablePlayer> executeQuery(SQLDB db) {
-        String selectLatestGeolocations = SELECT +
-                "a." + GeoInfoTable.USER_ID + ',' +
-                "a." + GeoInfoTable.GEOLOCATION +
-                FROM + GeoInfoTable.TABLE_NAME + " a" +
-                // Super smart optimization https://stackoverflow.com/a/28090544
-                // Join the last_used column, but only if there's a bigger one.
-                // That way the biggest a.last_used value will have NULL on the b.last_used column and MAX doesn't need to be used.
-                LEFT_JOIN + GeoInfoTable.TABLE_NAME + " b ON a." + GeoInfoTable.USER_ID + "=b." + GeoInfoTable.USER_ID + AND + "a." + GeoInfoTable.LAST_USED + "<b." + GeoInfoTable.LAST_USED +
-                WHERE + "b." + GeoInfoTable.LAST_USED + IS_NULL;
+    /**
+     * Create a new query for a page of the table.
+     *
+     * @param date Date given to the stored Activity Index values
+     * @param page Page of the table to query.
+     */
+    public NetworkTablePlayersQuery(long date, PlayersTablePage page) {
+        this.date = date;
+        this.page = page;
+    }
 
-        String selectSessionData = SELECT + "s." + SessionsTable.USER_ID + ',' +
-                "MAX(" + SessionsTable.SESSION_END + ") as last_seen," +
-                "COUNT(1) as count," +
-                "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + '-' + SessionsTable.AFK_TIME + ") as active_playtime" +
-                FROM + SessionsTable.TABLE_NAME + " s" +
-                GROUP_BY + "s." + SessionsTable.USER_ID;
+    /**
+     * Count players that match the search of a page.
+     *
+     * @param page Page of the table, only the search is used.
+     * @return Query for the number of rows in the whole table.
+     */
+    public static Query<Integer> countPlayers(PlayersTablePage page) {
+        String sql = SELECT + "COUNT(1) as c" +
+                FROM + UsersTable.TABLE_NAME + " u" +
+                WHERE + "1=1" + page.searchSql();
+        return new QueryStatement<>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                page.setSearchParameters(statement, 1);
+            }
 
-        String selectPingData = SELECT +
-                "p." + PingTable.USER_ID + ',' +
-                "AVG(p." + PingTable.AVG_PING + ") as " + PingTable.AVG_PING + "," +
-                "MAX(p." + PingTable.MAX_PING + ") as " + PingTable.MAX_PING + "," +
-                "MIN(p." + PingTable.MIN_PING + ") as " + PingTable.MIN_PING +
-                FROM + PingTable.TABLE_NAME + " p" +
-                GROUP_BY + "p." + PingTable.USER_ID;
+            @Override
+            public Integer processResults(ResultSet set) throws SQLException {
+                return set.next() ? set.getInt("c") : 0;
+            }
+        };
+    }
 
+    @Override
+    public List<TablePlayer> executeQuery(SQLDB db) {
         String selectBanned = SELECT + DISTINCT + "ub." + UserInfoTable.USER_ID +
                 FROM + UserInfoTable.TABLE_NAME + " ub" +
                 WHERE + UserInfoTable.BANNED + "=?";
@@ -87,28 +92,29 @@ public class NetworkTablePlayersQuery implements Query<List<TablePlayer>> {
                 "u." + UsersTable.USER_NAME + ',' +
                 "u." + UsersTable.REGISTERED + ',' +
                 "ban." + UserInfoTable.USER_ID + " as banned," +
-                "geo." + GeoInfoTable.GEOLOCATION + ',' +
-                "ses.last_seen," +
-                "ses.count," +
-                "ses.active_playtime," +
-                "act.activity_index," +
-                "pi.min_ping," +
-                "pi.max_ping," +
-                "pi.avg_ping" +
+                "net." + PlayerSummaryTable.GEOLOCATION + ',' +
+                "net." + PlayerSummaryTable.LAST_SEEN + ',' +
+                "net." + PlayerSummaryTable.SESSION_COUNT + ',' +
+                "net." + PlayerSummaryTable.ACTIVE_PLAYTIME + ',' +
+                "net." + PlayerSummaryTable.ACTIVITY_INDEX + ',' +
+                "net." + PlayerSummaryTable.MIN_PING + ',' +
+                "net." + PlayerSummaryTable.MAX_PING + ',' +
+                PlayerSummaryTable.selectAveragePing("net") + " as " + PingTable.AVG_PING +
                 FROM + UsersTable.TABLE_NAME + " u" +
                 LEFT_JOIN + '(' + selectBanned + ") ban on ban." + UserInfoTable.USER_ID + "=u." + UsersTable.ID +
-                LEFT_JOIN + '(' + selectLatestGeolocations + ") geo on geo." + GeoInfoTable.USER_ID + "=u." + UsersTable.ID +
-                LEFT_JOIN + '(' + selectSessionData + ") ses on ses." + SessionsTable.USER_ID + "=u." + UsersTable.ID +
-                LEFT_JOIN + '(' + NetworkActivityIndexQueries.selectActivityIndexSQL() + ") act on u." + UsersTable.ID + "=act." + UserInfoTable.USER_ID +
-                LEFT_JOIN + '(' + selectPingData + ") pi on pi." + PingTable.USER_ID + "=u." + UsersTable.ID +
-                ORDER_BY + "ses.last_seen DESC LIMIT ?";
+                LEFT_JOIN + PlayerSummaryTable.TABLE_NAME + " net on net." + PlayerSummaryTable.USER_ID + "=u." + UsersTable.ID +
+                AND + "net." + PlayerSummaryTable.SERVER_ID + "=" + PlayerSummaryTable.NETWORK_SERVER_ID +
+                WHERE + "1=1" +
+                page.searchSql() +
+                page.keysetSql("net") +
+                page.orderSql("net");
 
         return db.query(new QueryStatement<>(selectBaseUsers, 1000) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
                 statement.setBoolean(1, true);
-                NetworkActivityIndexQueries.setSelectActivityIndexSQLParameters(statement, 2, activeMsThreshold, date);
-                statement.setInt(10, xMostRecentPlayers);
+                int index = page.setSearchParameters(statement, 2);
+                page.setPageParameters(statement, index);
             }
 
             @Override
@@ -118,15 +124,15 @@ public class NetworkTablePlayersQuery implements Query<List<TablePlayer>> {
                     TablePlayer.Builder player = TablePlayer.builder()
                             .uuid(UUID.fromString(set.getString(UsersTable.USER_UUID)))
                             .name(set.getString(UsersTable.USER_NAME))
-                            .geolocation(set.getString(GeoInfoTable.GEOLOCATION))
+                            .geolocation(set.getString(PlayerSummaryTable.GEOLOCATION))
                             .registered(set.getLong(UsersTable.REGISTERED))
-                            .lastSeen(set.getLong("last_seen"))
-                            .sessionCount(set.getInt("count"))
-                            .activePlaytime(set.getLong("active_playtime"))
-                            .activityIndex(new ActivityIndex(set.getDouble("activity_index"), date))
+                            .lastSeen(set.getLong(PlayerSummaryTable.LAST_SEEN))
+                            .sessionCount(set.getInt(PlayerSummaryTable.SESSION_COUNT))
+                            .activePlaytime(set.getLong(PlayerSummaryTable.ACTIVE_PLAYTIME))
+                            .activityIndex(new ActivityIndex(set.getDouble(PlayerSummaryTable.ACTIVITY_INDEX), date))
                             .ping(new Ping(0L, null,
-                                    set.getInt(PingTable.MIN_PING),
-                                    set.getInt(PingTable.MAX_PING),
+                                    set.getInt(PlayerSummaryTable.MIN_PING),
+                                    set.getInt(PlayerSummaryTable.MAX_PING),
                                     set.getDouble(PingTable.AVG_PING)));
                     if (set.getString("banned") != null) {
                         player.banned();
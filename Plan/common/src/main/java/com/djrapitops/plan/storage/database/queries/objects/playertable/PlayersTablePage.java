@@ -0,0 +1,370 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.objects.playertable;
+
+import com.djrapitops.plan.delivery.domain.TablePlayer;
+import com.djrapitops.plan.delivery.domain.mutators.ActivityIndex;
+import com.djrapitops.plan.storage.database.sql.tables.PlayerSummaryTable;
+import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.Function;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Represents a requested page of a players table.
+ * <p>
+ * Rows are ordered by the sort column and player UUID, so that the page after a row can be fetched with a {@link Cursor}
+ * without counting the rows before it. Columns whose values are recalculated periodically are paged with offset instead,
+ * see {@link SortColumn#isCursorSupported()}.
+ *
+ * @author AuroraLS3
+ */
+public class PlayersTablePage {
+
+    // Backslash would need to be written differently in MySQL and SQLite string literals.
+    private static final char LIKE_ESCAPE = '!';
+
+    private final SortColumn sortColumn;
+    private final boolean descending;
+    private final String search;
+    private final int offset;
+    private final int limit;
+    private final Cursor after;
+
+    /**
+     * Create a new page.
+     *
+     * @param sortColumn Column to sort the players by.
+     * @param descending Should the largest values be first.
+     * @param search     Part of player name to search for, or null.
+     * @param offset     Number of rows to skip, ignored if {@code after} is used.
+     * @param limit      Maximum number of rows on the page.
+     * @param after      Last row of the previous page, or null. Ignored if the sort column does not support cursors.
+     */
+    public PlayersTablePage(SortColumn sortColumn, boolean descending, String search, int offset, int limit, Cursor after) {
+        this.sortColumn = sortColumn;
+        this.descending = descending;
+        this.search = StringUtils.isBlank(search) ? null : search.toLowerCase(Locale.ROOT);
+        this.after = sortColumn.isCursorSupported() ? after : null;
+        this.offset = this.after != null ? 0 : offset;
+        this.limit = limit;
+    }
+
+    /**
+     * Page of most recently seen players, which is shown on the players table by default.
+     *
+     * @param limit Maximum number of players.
+     * @return new page.
+     */
+    public static PlayersTablePage mostRecentlySeen(int limit) {
+        return new PlayersTablePage(SortColumn.LAST_SEEN, true, null, 0, limit, null);
+    }
+
+    public SortColumn getSortColumn() {
+        return sortColumn;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public Optional<String> getSearch() {
+        return Optional.ofNullable(search);
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public Optional<Cursor> getAfter() {
+        return Optional.ofNullable(after);
+    }
+
+    /**
+     * Create cursor for the page after this one.
+     *
+     * @param players Players on this page.
+     * @return Cursor to the last row, or empty if this was the last page or the sort column does not support cursors.
+     */
+    public Optional<Cursor> nextCursor(List<TablePlayer> players) {
+        if (!sortColumn.isCursorSupported() || players.size() < limit || players.isEmpty()) return Optional.empty();
+        TablePlayer last = players.get(players.size() - 1);
+        return Optional.of(new Cursor(last.getPlayerUUID(), sortColumn.valueOf(last)));
+    }
+
+    String searchSql() {
+        return search != null ? AND + "LOWER(u." + UsersTable.USER_NAME + ") LIKE ? ESCAPE '" + LIKE_ESCAPE + '\'' : "";
+    }
+
+    /**
+     * Escape wildcards of LIKE so that the text is matched as is.
+     *
+     * @param text Text to search for.
+     * @return Text where {@code %} and {@code _} match only themselves.
+     */
+    static String escapeLike(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') escaped.append(LIKE_ESCAPE);
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    String keysetSql(String summaryAlias) {
+        if (after == null) return "";
+        String sortExpression = sortColumn.getExpression(summaryAlias);
+        String comparison = descending ? "<" : ">";
+        return AND + "(" + sortExpression + comparison + '?' +
+                OR + '(' + sortExpression + "=?" + AND + "u." + UsersTable.USER_UUID + comparison + "?))";
+    }
+
+    String orderSql(String summaryAlias) {
+        String direction = descending ? " DESC" : " ASC";
+        return ORDER_BY + sortColumn.getExpression(summaryAlias) + direction + ",u." + UsersTable.USER_UUID + direction +
+                LIMIT + '?' + OFFSET + '?';
+    }
+
+    /**
+     * Set parameters of {@link #searchSql()}.
+     *
+     * @param statement Statement to set the parameters to.
+     * @param index     Index of the first parameter.
+     * @return Index of the next parameter.
+     * @throws SQLException If parameter can not be set.
+     */
+    int setSearchParameters(PreparedStatement statement, int index) throws SQLException {
+        if (search != null) {
+            statement.setString(index++, '%' + escapeLike(search) + '%');
+        }
+        return index;
+    }
+
+    /**
+     * Set parameters of {@link #keysetSql(String)} and {@link #orderSql(String)}.
+     *
+     * @param statement Statement to set the parameters to.
+     * @param index     Index of the first parameter.
+     * @throws SQLException If parameter can not be set.
+     */
+    void setPageParameters(PreparedStatement statement, int index) throws SQLException {
+        if (after != null) {
+            sortColumn.setValue(statement, index++, after.getValue());
+            sortColumn.setValue(statement, index++, after.getValue());
+            statement.setString(index++, after.getPlayerUUID().toString());
+        }
+        statement.setInt(index++, limit);
+        statement.setInt(index, offset);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PlayersTablePage that = (PlayersTablePage) o;
+        return descending == that.descending && offset == that.offset && limit == that.limit && sortColumn == that.sortColumn && Objects.equals(search, that.search) && Objects.equals(after, that.after);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sortColumn, descending, search, offset, limit, after);
+    }
+
+    @Override
+    public String toString() {
+        return "PlayersTablePage{" +
+                "sortColumn=" + sortColumn +
+                ", descending=" + descending +
+                ", search='" + search + '\'' +
+                ", offset=" + offset +
+                ", limit=" + limit +
+                ", after=" + after +
+                '}';
+    }
+
+    /**
+     * Columns the players table can be sorted by.
+     * <p>
+     * Names match the fields of {@link com.djrapitops.plan.delivery.domain.datatransfer.TablePlayerDto}.
+     */
+    public enum SortColumn {
+        PLAYER_NAME("playerName", alias -> "u." + UsersTable.USER_NAME,
+                player -> player.getName().orElse("")),
+        ACTIVITY_INDEX("activityIndex", alias -> "COALESCE(" + alias + '.' + PlayerSummaryTable.ACTIVITY_INDEX + ",0)",
+                player -> player.getCurrentActivityIndex().map(ActivityIndex::getValue).orElse(0.0)),
+        PLAYTIME_ACTIVE("playtimeActive", alias -> "COALESCE(" + alias + '.' + PlayerSummaryTable.ACTIVE_PLAYTIME + ",0)",
+                player -> player.getActivePlaytime().orElse(0L)),
+        SESSION_COUNT("sessionCount", alias -> "COALESCE(" + alias + '.' + PlayerSummaryTable.SESSION_COUNT + ",0)",
+                player -> player.getSessionCount().orElse(0)),
+        LAST_SEEN("lastSeen", alias -> "COALESCE(" + alias + '.' + PlayerSummaryTable.LAST_SEEN + ",0)",
+                player -> player.getLastSeen().orElse(0L)),
+        REGISTERED("registered", alias -> "COALESCE(u." + UsersTable.REGISTERED + ",0)",
+                player -> player.getRegistered().orElse(0L)),
+        COUNTRY("country", alias -> "COALESCE(net." + PlayerSummaryTable.GEOLOCATION + ",'')",
+                player -> player.getGeolocation().orElse(""));
+
+        private final String name;
+        private final Function<String, String> expression;
+        private final Function<TablePlayer, Object> valueExtractor;
+
+        SortColumn(String name, Function<String, String> expression, Function<TablePlayer, Object> valueExtractor) {
+            this.name = name;
+            this.expression = expression;
+            this.valueExtractor = valueExtractor;
+        }
+
+        public static Optional<SortColumn> getByName(String name) {
+            for (SortColumn column : values()) {
+                if (column.name.equals(name)) return Optional.of(column);
+            }
+            return Optional.empty();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        String getExpression(String summaryAlias) {
+            return expression.apply(summaryAlias);
+        }
+
+        /**
+         * Check if pages sorted by this column can be continued with a {@link Cursor}.
+         * <p>
+         * Stored activity indexes are calculated again every hour, so a player can move past a cursor of the previous page
+         * and be skipped or repeated. Pages sorted by activity index use offset instead.
+         *
+         * @return true if the column values change only when the player's data changes.
+         */
+        public boolean isCursorSupported() {
+            return this != ACTIVITY_INDEX;
+        }
+
+        String valueOf(TablePlayer player) {
+            return String.valueOf(valueExtractor.apply(player));
+        }
+
+        void setValue(PreparedStatement statement, int index, String value) throws SQLException {
+            switch (this) {
+                case PLAYER_NAME:
+                case COUNTRY:
+                    statement.setString(index, value);
+                    break;
+                default:
+                    statement.setLong(index, Long.parseLong(value));
+                    break;
+            }
+        }
+
+        /**
+         * Check that a cursor value can be used with this column.
+         *
+         * @param value Value from a {@link Cursor}.
+         * @return true if the value can be compared with the column, false if the column does not support cursors.
+         */
+        public boolean isValidValue(String value) {
+            try {
+                switch (this) {
+                    case PLAYER_NAME:
+                    case COUNTRY:
+                        return true;
+                    case ACTIVITY_INDEX:
+                        return false;
+                    default:
+                        Long.parseLong(value);
+                        return true;
+                }
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Position of the last row of a page, given to the client so that the next page can be requested.
+     */
+    public static class Cursor {
+        private final UUID playerUUID;
+        private final String value;
+
+        public Cursor(UUID playerUUID, String value) {
+            this.playerUUID = playerUUID;
+            this.value = value;
+        }
+
+        /**
+         * Read a cursor created with {@link #encode()}.
+         *
+         * @param encoded Encoded cursor.
+         * @return Cursor, or empty if the cursor could not be read.
+         */
+        public static Optional<Cursor> decode(String encoded) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+                int split = decoded.indexOf(':');
+                if (split == -1) return Optional.empty();
+                return Optional.of(new Cursor(UUID.fromString(decoded.substring(0, split)), decoded.substring(split + 1)));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        }
+
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((playerUUID + ":" + value).getBytes(StandardCharsets.UTF_8));
+        }
+
+        public UUID getPlayerUUID() {
+            return playerUUID;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Cursor cursor = (Cursor) o;
+            return Objects.equals(playerUUID, cursor.playerUUID) && Objects.equals(value, cursor.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(playerUUID, value);
+        }
+
+        @Override
+        public String toString() {
+            return "Cursor{" +
+                    "playerUUID=" + playerUUID +
+                    ", value='" + value + '\'' +
+                    '}';
+        }
+    }
+}
@@ -24,6 +24,7 @@ import com.djrapitops.plan.storage.database.SQLDB;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
 import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.sql.tables.*;
 import org.apache.commons.text.TextStringBuilder;
 
@@ -31,7 +32,6 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -44,7 +44,7 @@ import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
  */
 public class QueryTablePlayersQuery implements Query<List<TablePlayer>> {
 
-    private final Collection<Integer> userIds;
+    private final UserIdSet userIds;
     private final List<ServerUUID> serverUUIDs;
     private final long afterDate;
     private final long beforeDate;
@@ -59,7 +59,7 @@ public class QueryTablePlayersQuery implements Query<List<TablePlayer>> {
      * @param beforeDate        View data before this epoch ms
      * @param activeMsThreshold Playtime threshold for Activity Index calculation
      */
-    public QueryTablePlayersQuery(Collection<Integer> userIds, List<ServerUUID> serverUUIDs, long afterDate, long beforeDate, long activeMsThreshold) {
+    public QueryTablePlayersQuery(UserIdSet userIds, List<ServerUUID> serverUUIDs, long afterDate, long beforeDate, long activeMsThreshold) {
         this.userIds = userIds;
         this.serverUUIDs = serverUUIDs;
         this.afterDate = afterDate;
@@ -83,7 +83,7 @@ public class QueryTablePlayersQuery implements Query<List<TablePlayer>> {
                 LEFT_JOIN + GeoInfoTable.TABLE_NAME + " b ON a." + GeoInfoTable.USER_ID + "=b." + GeoInfoTable.USER_ID + AND + "a." + GeoInfoTable.LAST_USED + "<b." + GeoInfoTable.LAST_USED +
                 WHERE + "b." + GeoInfoTable.LAST_USED + IS_NULL;
 
-        String userIdsInSet = " IN (" + new TextStringBuilder().appendWithSeparators(userIds, ",") + ')';
+        String userIdsInSet = " IN (" + userIds.join(",") + ')';
         String selectSessionData = SELECT + "s." + SessionsTable.USER_ID + ',' +
                 "MAX(" + SessionsTable.SESSION_END + ") as last_seen," +
                 "COUNT(1) as count," +
@@ -23,7 +23,6 @@ import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.SQLDB;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
-import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQueries;
 import com.djrapitops.plan.storage.database.sql.tables.*;
 
 import java.sql.PreparedStatement;
@@ -44,83 +43,92 @@ public class ServerTablePlayersQuery implements Query<List<TablePlayer>> {
 
     private final ServerUUID serverUUID;
     private final long date;
-    private final long activeMsThreshold;
-    private final int xMostRecentPlayers;
+    private final PlayersTablePage page;
 
     /**
      * Create a new query.
      *
      * @param serverUUID         UUID of the Plan server.
-     * @param date               Date used for Activity Index calculation
-     * @param activeMsThreshold  Playtime threshold for Activity Index calculation
+     * @param date               Date given to the stored Activity Index values
      * @param xMostRecentPlayers Limit query size
      */
-    public ServerTablePlayersQuery(ServerUUID serverUUID, long date, long activeMsThreshold, int xMostRecentPlayers) {
+    public ServerTablePlayersQuery(ServerUUID serverUUID, long date, int xMostRecentPlayers) {
+        this(serverUUID, date, PlayersTablePage.mostRecentlySeen(xMostRecentPlayers));
+    }
+
+    /**
+     * Create a new query for a page of the table.
+     *
+     * @param serverUUID UUID of the Plan server.
+     * @param date       Date given to the stored Activity Index values
+     * @param page       Page of the table to query.
+     */
+    public ServerTablePlayersQuery(ServerUUID serverUUID, long date, PlayersTablePage page) {
         this.serverUUID = serverUUID;
         this.date = date;
-        this.activeMsThreshold = activeMsThreshold;
-        this.xMostRecentPlayers = xMostRecentPlayers;
+        this.page = page;
     }
 
-    @Override
-    public List<TablePlayer> executeQuery(SQLDB db) {
-        String selectLatestGeolocations = SELECT +
-                "a." + GeoInfoTable.USER_ID + ',' +
-                "a." + GeoInfoTable.GEOLOCATION +
-                FROM + GeoInfoTable.TABLE_NAME + " a" +
-                // Super smart optimization https://stackoverflow.com/a/28090544
-                // Join the last_used column, but only if there's a bigger one.
-                // That way the biggest a.last_used value will have NULL on the b.last_used column and MAX doesn't need to be used.
-                LEFT_JOIN + GeoInfoTable.TABLE_NAME + " b ON a." + GeoInfoTable.USER_ID + "=b." + GeoInfoTable.USER_ID + AND + "a." + GeoInfoTable.LAST_USED + "<b." + GeoInfoTable.LAST_USED +
-                WHERE + "b." + GeoInfoTable.LAST_USED + IS_NULL;
-
-        String selectSessionData = SELECT + "s." + SessionsTable.USER_ID + ',' +
-                "MAX(" + SessionsTable.SESSION_END + ") as last_seen," +
-                "COUNT(1) as count," +
-                "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + '-' + SessionsTable.AFK_TIME + ") as active_playtime" +
-                FROM + SessionsTable.TABLE_NAME + " s" +
-                WHERE + "s." + SessionsTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
-                GROUP_BY + "s." + SessionsTable.USER_ID;
+    /**
+     * Count players of the server that match the search of a page.
+     *
+     * @param serverUUID UUID of the Plan server.
+     * @param page       Page of the table, only the search is used.
+     * @return Query for the number of rows in the whole table.
+     */
+    public static Query<Integer> countPlayers(ServerUUID serverUUID, PlayersTablePage page) {
+        String sql = SELECT + "COUNT(1) as c" +
+                FROM + UserInfoTable.TABLE_NAME +
+                INNER_JOIN + UsersTable.TABLE_NAME + " u on u." + UsersTable.ID + "=" + UserInfoTable.TABLE_NAME + '.' + UserInfoTable.USER_ID +
+                WHERE + UserInfoTable.TABLE_NAME + '.' + UserInfoTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
+                page.searchSql();
+        return new QueryStatement<>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                page.setSearchParameters(statement, 2);
+            }
 
-        String selectPingData = SELECT +
-                "p." + PingTable.USER_ID + ',' +
-                "AVG(p." + PingTable.AVG_PING + ") as " + PingTable.AVG_PING + "," +
-                "MAX(p." + PingTable.MAX_PING + ") as " + PingTable.MAX_PING + "," +
-                "MIN(p." + PingTable.MIN_PING + ") as " + PingTable.MIN_PING +
-                FROM + PingTable.TABLE_NAME + " p" +
-                WHERE + "p." + PingTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
-                GROUP_BY + "p." + PingTable.USER_ID;
+            @Override
+            public Integer processResults(ResultSet set) throws SQLException {
+                return set.next() ? set.getInt("c") : 0;
+            }
+        };
+    }
 
+    @Override
+    public List<TablePlayer> executeQuery(SQLDB db) {
         String selectBaseUsers = SELECT +
                 "u." + UsersTable.USER_UUID + ',' +
                 "u." + UsersTable.USER_NAME + ',' +
                 "u." + UsersTable.REGISTERED + ',' +
                 UserInfoTable.BANNED + ',' +
-                "geo." + GeoInfoTable.GEOLOCATION + ',' +
-                "ses.last_seen," +
-                "ses.count," +
-                "ses.active_playtime," +
-                "act.activity_index," +
-                "pi.min_ping," +
-                "pi.max_ping," +
-                "pi.avg_ping" +
-                FROM + UsersTable.TABLE_NAME + " u" +
-                INNER_JOIN + UserInfoTable.TABLE_NAME + " on u." + UsersTable.ID + "=" + UserInfoTable.TABLE_NAME + '.' + UserInfoTable.USER_ID +
-                LEFT_JOIN + '(' + selectLatestGeolocations + ") geo on geo." + GeoInfoTable.USER_ID + "=u." + UsersTable.ID +
-                LEFT_JOIN + '(' + selectSessionData + ") ses on ses." + SessionsTable.USER_ID + "=u." + UsersTable.ID +
-                LEFT_JOIN + '(' + ActivityIndexQueries.selectActivityIndexSQL() + ") act on u." + UsersTable.ID + "=act." + UserInfoTable.USER_ID +
-                LEFT_JOIN + '(' + selectPingData + ") pi on pi." + PingTable.USER_ID + "=u." + UsersTable.ID +
-                WHERE + UserInfoTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
-                ORDER_BY + "ses.last_seen DESC LIMIT ?";
+                "net." + PlayerSummaryTable.GEOLOCATION + ',' +
+                "s." + PlayerSummaryTable.LAST_SEEN + ',' +
+                "s." + PlayerSummaryTable.SESSION_COUNT + ',' +
+                "s." + PlayerSummaryTable.ACTIVE_PLAYTIME + ',' +
+                "s." + PlayerSummaryTable.ACTIVITY_INDEX + ',' +
+                "s." + PlayerSummaryTable.MIN_PING + ',' +
+                "s." + PlayerSummaryTable.MAX_PING + ',' +
+                PlayerSummaryTable.selectAveragePing("s") + " as " + PingTable.AVG_PING +
+                FROM + UserInfoTable.TABLE_NAME +
+                INNER_JOIN + UsersTable.TABLE_NAME + " u on u." + UsersTable.ID + "=" + UserInfoTable.TABLE_NAME + '.' + UserInfoTable.USER_ID +
+                LEFT_JOIN + PlayerSummaryTable.TABLE_NAME + " s on s." + PlayerSummaryTable.USER_ID + "=u." + UsersTable.ID +
+                AND + "s." + PlayerSummaryTable.SERVER_ID + "=" + UserInfoTable.TABLE_NAME + '.' + UserInfoTable.SERVER_ID +
+                // Latest geolocation is only on the network row
+                LEFT_JOIN + PlayerSummaryTable.TABLE_NAME + " net on net." + PlayerSummaryTable.USER_ID + "=u." + UsersTable.ID +
+                AND + "net." + PlayerSummaryTable.SERVER_ID + "=" + PlayerSummaryTable.NETWORK_SERVER_ID +
+                WHERE + UserInfoTable.TABLE_NAME + '.' + UserInfoTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
+                page.searchSql() +
+                page.keysetSql("s") +
+                page.orderSql("s");
 
         return db.query(new QueryStatement<>(selectBaseUsers, 1000) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setString(1, serverUUID.toString()); // Session query
-                ActivityIndexQueries.setSelectActivityIndexSQLParameters(statement, 2, activeMsThreshold, serverUUID, date);
-                statement.setString(13, serverUUID.toString()); // Session query
-                statement.setString(14, serverUUID.toString()); // Ping query
-                statement.setInt(15, xMostRecentPlayers);
+                statement.setString(1, serverUUID.toString());
+                int index = page.setSearchParameters(statement, 2);
+                page.setPageParameters(statement, index);
             }
 
             @Override
@@ -130,15 +138,15 @@ public class ServerTablePlayersQuery implements Query<List<TablePlayer>> {
                     TablePlayer.Builder player = TablePlayer.builder()
                             .uuid(UUID.fromString(set.getString(UsersTable.USER_UUID)))
                             .name(set.getString(UsersTable.USER_NAME))
-                            .geolocation(set.getString(GeoInfoTable.GEOLOCATION))
+                            .geolocation(set.getString(PlayerSummaryTable.GEOLOCATION))
                             .registered(set.getLong(UsersTable.REGISTERED))
-                            .lastSeen(set.getLong("last_seen"))
-                            .sessionCount(set.getInt("count"))
-                            .activePlaytime(set.getLong("active_playtime"))
-                            .activityIndex(new ActivityIndex(set.getDouble("activity_index"), date))
+                            .lastSeen(set.getLong(PlayerSummaryTable.LAST_SEEN))
+                            .sessionCount(set.getInt(PlayerSummaryTable.SESSION_COUNT))
+                            .activePlaytime(set.getLong(PlayerSummaryTable.ACTIVE_PLAYTIME))
+                            .activityIndex(new ActivityIndex(set.getDouble(PlayerSummaryTable.ACTIVITY_INDEX), date))
                             .ping(new Ping(0L, serverUUID,
-                                    set.getInt(PingTable.MIN_PING),
-                                    set.getInt(PingTable.MAX_PING),
+                                    set.getInt(PlayerSummaryTable.MIN_PING),
+                                    set.getInt(PlayerSummaryTable.MAX_PING),
                                     set.getDouble(PingTable.AVG_PING)));
                     if (set.getBoolean(UserInfoTable.BANNED)) {
                         player.banned();
@@ -48,6 +48,17 @@ public class SQLiteSchemaQueries {
         };
     }
 
+    public static Query<Boolean> doesIndexExist(String indexName) {
+        String sql = SELECT + "COUNT(1) as c" +
+                FROM + "sqlite_master" + WHERE + "type='index'" + AND + "name=?";
+        return new HasMoreThanZeroQueryStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, indexName);
+            }
+        };
+    }
+
     public static Query<Boolean> doesColumnExist(String tableName, String columnName) {
         return new QueryAllStatement<>("PRAGMA table_info(" + tableName + ')') {
             @Override
@@ -120,6 +120,16 @@ public abstract class Sql {
 
     public abstract String insertOrIgnore();
 
+    /**
+     * Get SQL that turns an INSERT into an update of the existing row when the row conflicts with a unique index.
+     * <p>
+     * Add the assignments after the SQL, unqualified columns in them refer to the existing row.
+     *
+     * @param uniqueColumns Columns of the unique index, named in the SQL of SQLite.
+     * @return SQL to append after VALUES of the INSERT.
+     */
+    public abstract String onConflictUpdate(String... uniqueColumns);
+
     // https://dev.mysql.com/doc/refman/5.7/en/date-and-time-functions.html
     public static class MySQL extends Sql {
 
@@ -157,6 +167,11 @@ public abstract class Sql {
         public String insertOrIgnore() {
             return "INSERT IGNORE INTO ";
         }
+
+        @Override
+        public String onConflictUpdate(String... uniqueColumns) {
+            return " ON DUPLICATE KEY UPDATE ";
+        }
     }
 
     // https://sqlite.org/lang_datefunc.html
@@ -196,5 +211,10 @@ public abstract class Sql {
         public String insertOrIgnore() {
             return "INSERT OR IGNORE INTO ";
         }
+
+        @Override
+        public String onConflictUpdate(String... uniqueColumns) {
+            return " ON CONFLICT(" + String.join(",", uniqueColumns) + ") DO UPDATE SET ";
+        }
     }
 }
@@ -0,0 +1,76 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+import org.intellij.lang.annotations.Language;
+
+/**
+ * Represents plan_activity_snapshots table.
+ * <p>
+ * Each row is a weekly snapshot of activity indexes of a server, or the network when {@link #SERVER_ID} is null.
+ * Activity indexes of the players are stored in {@link ActivityIndexSnapshotValueTable}.
+ *
+ * @author AuroraLS3
+ */
+public class ActivityIndexSnapshotTable {
+
+    public static final String TABLE_NAME = "plan_activity_snapshots";
+
+    public static final String ID = "id";
+    public static final String SERVER_ID = "server_id";
+    public static final String SNAPSHOT_DATE = "snapshot_date";
+    public static final String PLAYTIME_THRESHOLD = "playtime_threshold";
+    public static final String USER_COUNT = "user_count";
+    public static final String CREATED = "created";
+
+    @Language("SQL")
+    public static final String INSERT_STATEMENT = "INSERT INTO " + TABLE_NAME + " (" +
+            SERVER_ID + ',' +
+            SNAPSHOT_DATE + ',' +
+            PLAYTIME_THRESHOLD + ',' +
+            USER_COUNT + ',' +
+            CREATED +
+            ") VALUES (" + ServerTable.SELECT_SERVER_ID + ",?,?,?,?)";
+
+    @Language("SQL")
+    public static final String INSERT_NETWORK_STATEMENT = "INSERT INTO " + TABLE_NAME + " (" +
+            SERVER_ID + ',' +
+            SNAPSHOT_DATE + ',' +
+            PLAYTIME_THRESHOLD + ',' +
+            USER_COUNT + ',' +
+            CREATED +
+            ") VALUES (NULL,?,?,?,?)";
+
+    private ActivityIndexSnapshotTable() {
+        /* Static information class */
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(SERVER_ID, Sql.INT)
+                .column(SNAPSHOT_DATE, Sql.LONG).notNull()
+                .column(PLAYTIME_THRESHOLD, Sql.LONG).notNull()
+                .column(USER_COUNT, Sql.INT).notNull()
+                .column(CREATED, Sql.LONG).notNull()
+                .foreignKey(SERVER_ID, ServerTable.TABLE_NAME, ServerTable.ID)
+                .toString();
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+
+/**
+ * Represents plan_activity_snapshot_values table.
+ * <p>
+ * Only players that were not inactive on the snapshot date are stored,
+ * the rest of {@link ActivityIndexSnapshotTable#USER_COUNT} was inactive.
+ *
+ * @author AuroraLS3
+ */
+public class ActivityIndexSnapshotValueTable {
+
+    public static final String TABLE_NAME = "plan_activity_snapshot_values";
+
+    public static final String SNAPSHOT_ID = "snapshot_id";
+    public static final String USER_ID = "user_id";
+    public static final String ACTIVITY_INDEX = "activity_index";
+
+    private ActivityIndexSnapshotValueTable() {
+        /* Static information class */
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(SNAPSHOT_ID, Sql.INT).notNull()
+                .column(USER_ID, Sql.INT).notNull()
+                .column(ACTIVITY_INDEX, Sql.DOUBLE).notNull()
+                .foreignKey(SNAPSHOT_ID, ActivityIndexSnapshotTable.TABLE_NAME, ActivityIndexSnapshotTable.ID)
+                .toString();
+    }
+}
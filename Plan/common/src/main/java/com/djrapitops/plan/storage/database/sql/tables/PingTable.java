@@ -41,19 +41,30 @@ public class PingTable {
     public static final String AVG_PING = "avg_ping";
     public static final String MIN_PING = "min_ping";
 
-    public static final String INSERT_STATEMENT = "INSERT INTO " + TABLE_NAME + " (" +
-            USER_ID + ',' +
-            SERVER_ID + ',' +
-            DATE + ',' +
-            MIN_PING + ',' +
-            MAX_PING + ',' +
-            AVG_PING +
-            ") VALUES (" + UsersTable.SELECT_USER_ID + ',' + ServerTable.SELECT_SERVER_ID + ", ?, ?, ?, ?)";
+    public static final String INSERT_STATEMENT = insertStatement(null, null);
 
     private PingTable() {
         /* Static information class */
     }
 
+    /**
+     * Get SQL for inserting ping data.
+     *
+     * @param userId   id of the player if it is known, see {@link UsersTable#userIdParameter(Integer)}.
+     * @param serverId id of the server if it is known, see {@link ServerTable#serverIdParameter(Integer)}.
+     * @return SQL with user and server parameters first, and rest of the values in order of the columns.
+     */
+    public static String insertStatement(Integer userId, Integer serverId) {
+        return "INSERT INTO " + TABLE_NAME + " (" +
+                USER_ID + ',' +
+                SERVER_ID + ',' +
+                DATE + ',' +
+                MIN_PING + ',' +
+                MAX_PING + ',' +
+                AVG_PING +
+                ") VALUES (" + UsersTable.userIdParameter(userId) + ',' + ServerTable.serverIdParameter(serverId) + ", ?, ?, ?, ?)";
+    }
+
     public static String createTableSQL(DBType dbType) {
         return CreateTableBuilder.create(TABLE_NAME, dbType)
                 .column(ID, Sql.INT).primaryKey()
@@ -0,0 +1,149 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+import com.djrapitops.plan.storage.database.transactions.patches.PlayerSummaryTablePatch;
+import org.intellij.lang.annotations.Language;
+
+/**
+ * Represents plan_player_summaries table.
+ * <p>
+ * Each row holds the values shown on players table for a player on a server,
+ * or on the network when {@link #SERVER_ID} is {@link #NETWORK_SERVER_ID}. Latest geolocation is only stored on the network row.
+ * Rows are upserted when sessions, ping or geolocations of the player are stored.
+ * {@link #ACTIVITY_INDEX} is calculated periodically instead, see
+ * {@link com.djrapitops.plan.storage.database.transactions.events.UpdateActivityIndexSummariesTransaction}.
+ * <p>
+ * {@link #UNIQUE_INDEX} keeps one row per player and server even when several servers or lanes write the same row.
+ * The network row does not use null server id, since nulls never conflict with each other in a unique index.
+ * <p>
+ * Patches related to this table:
+ * {@link PlayerSummaryTablePatch}
+ *
+ * @author AuroraLS3
+ */
+public class PlayerSummaryTable {
+
+    public static final String TABLE_NAME = "plan_player_summaries";
+
+    public static final String ID = "id";
+    public static final String USER_ID = "user_id";
+    public static final String SERVER_ID = "server_id";
+    public static final String LAST_SEEN = "last_seen";
+    public static final String SESSION_COUNT = "session_count";
+    public static final String ACTIVE_PLAYTIME = "active_playtime";
+    public static final String MIN_PING = "min_ping";
+    public static final String MAX_PING = "max_ping";
+    public static final String PING_TOTAL = "ping_total";
+    public static final String PING_COUNT = "ping_count";
+    public static final String GEOLOCATION = "geolocation";
+    public static final String GEOLOCATION_LAST_USED = "geolocation_last_used";
+    public static final String ACTIVITY_INDEX = "activity_index";
+
+    public static final int NETWORK_SERVER_ID = 0;
+    public static final String UNIQUE_INDEX = "plan_player_summaries_unique_index";
+
+    private PlayerSummaryTable() {
+        /* Static information class */
+    }
+
+    /**
+     * Get SQL for inserting a row of a player on a server, or updating the row if it exists.
+     *
+     * @param dbType    Type of the database.
+     * @param userId    id of the player if it is known, see {@link UsersTable#userIdParameter(Integer)}.
+     * @param serverId  id of the server if it is known, see {@link ServerTable#serverIdParameter(Integer)}.
+     * @param setClause Assignments for the existing row.
+     * @param columns   Columns given a parameter in the inserted row.
+     * @return SQL with user, server and column parameters followed by parameters of the set clause.
+     */
+    @Language("SQL")
+    public static String upsertStatement(DBType dbType, Integer userId, Integer serverId, String setClause, String... columns) {
+        return upsertStatement(dbType, UsersTable.userIdParameter(userId), ServerTable.serverIdParameter(serverId), setClause, columns);
+    }
+
+    /**
+     * Get SQL for inserting a row of a player for the whole network, or updating the row if it exists.
+     *
+     * @param dbType    Type of the database.
+     * @param userId    id of the player if it is known, see {@link UsersTable#userIdParameter(Integer)}.
+     * @param setClause Assignments for the existing row.
+     * @param columns   Columns given a parameter in the inserted row.
+     * @return SQL with user and column parameters followed by parameters of the set clause.
+     */
+    @Language("SQL")
+    public static String upsertNetworkStatement(DBType dbType, Integer userId, String setClause, String... columns) {
+        return upsertStatement(dbType, UsersTable.userIdParameter(userId), String.valueOf(NETWORK_SERVER_ID), setClause, columns);
+    }
+
+    private static String upsertStatement(DBType dbType, String userIdSql, String serverIdSql, String setClause, String... columns) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(TABLE_NAME).append(" (")
+                .append(USER_ID).append(',')
+                .append(SERVER_ID);
+        for (String column : columns) {
+            sql.append(',').append(column);
+        }
+        sql.append(") VALUES (").append(userIdSql).append(',').append(serverIdSql);
+        for (int i = 0; i < columns.length; i++) {
+            sql.append(",?");
+        }
+        return sql.append(')')
+                .append(dbType.getSql().onConflictUpdate(USER_ID, SERVER_ID))
+                .append(setClause)
+                .toString();
+    }
+
+    /**
+     * SQL for average ping of the row, NULL if there is no ping.
+     *
+     * @param alias Alias of the table in the query.
+     * @return SQL expression
+     */
+    public static String selectAveragePing(String alias) {
+        return "CASE WHEN " + alias + '.' + PING_COUNT + ">0" +
+                " THEN " + alias + '.' + PING_TOTAL + '/' + alias + '.' + PING_COUNT +
+                " ELSE NULL END";
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        // server_id has no foreign key, since NETWORK_SERVER_ID is not in plan_servers.
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(USER_ID, Sql.INT).notNull()
+                .column(SERVER_ID, Sql.INT).notNull()
+                .column(LAST_SEEN, Sql.LONG)
+                .column(SESSION_COUNT, Sql.INT).notNull().defaultValue("0")
+                .column(ACTIVE_PLAYTIME, Sql.LONG).notNull().defaultValue("0")
+                .column(MIN_PING, Sql.INT)
+                .column(MAX_PING, Sql.INT)
+                .column(PING_TOTAL, Sql.DOUBLE).notNull().defaultValue("0")
+                .column(PING_COUNT, Sql.INT).notNull().defaultValue("0")
+                .column(GEOLOCATION, Sql.varchar(50))
+                .column(GEOLOCATION_LAST_USED, Sql.LONG)
+                .column(ACTIVITY_INDEX, Sql.DOUBLE)
+                .foreignKey(USER_ID, UsersTable.TABLE_NAME, UsersTable.ID)
+                .toString();
+    }
+
+    @Language("SQL")
+    public static String createUniqueIndexSQL() {
+        return "CREATE UNIQUE INDEX " + UNIQUE_INDEX + " ON " + TABLE_NAME + " (" + USER_ID + ',' + SERVER_ID + ')';
+    }
+}
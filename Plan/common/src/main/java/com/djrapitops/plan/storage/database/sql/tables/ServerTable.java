@@ -26,6 +26,8 @@ import com.djrapitops.plan.storage.database.sql.building.Update;
 import org.apache.commons.text.TextStringBuilder;
 import org.intellij.lang.annotations.Language;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.Collection;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
@@ -72,6 +74,33 @@ public class ServerTable {
         /* Static information class */
     }
 
+    /**
+     * Get SQL for id of a server, used in place of {@link #SELECT_SERVER_ID}.
+     *
+     * @param serverId id from {@link com.djrapitops.plan.storage.database.IdentityCache}, or null if it is not known.
+     * @return Parameter for the id if it is known, otherwise {@link #SELECT_SERVER_ID}. Both have one parameter, see {@link #setServerId}.
+     */
+    public static String serverIdParameter(Integer serverId) {
+        return serverId != null ? "?" : SELECT_SERVER_ID;
+    }
+
+    /**
+     * Set the parameter of {@link #serverIdParameter(Integer)}.
+     *
+     * @param statement  Statement to set the parameter to.
+     * @param index      Index of the parameter.
+     * @param serverId   Same id that was given to {@link #serverIdParameter(Integer)}.
+     * @param serverUUID UUID of the Plan server, used when the id is not known.
+     * @throws SQLException If the parameter can not be set.
+     */
+    public static void setServerId(PreparedStatement statement, int index, Integer serverId, ServerUUID serverUUID) throws SQLException {
+        if (serverId != null) {
+            statement.setInt(index, serverId);
+        } else {
+            statement.setString(index, serverUUID.toString());
+        }
+    }
+
     public static String createTableSQL(DBType dbType) {
         return CreateTableBuilder.create(TABLE_NAME, dbType)
                 .column(ID, Sql.INT).primaryKey()
@@ -0,0 +1,93 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+import org.intellij.lang.annotations.Language;
+
+/**
+ * Represents plan_session_rollups table.
+ * <p>
+ * Each row is a pre-aggregated summary of sessions that started within a day or an hour on a server,
+ * or on the network when {@link #SERVER_ID} is null.
+ * Rows are stored for every closed day or hour of a rolled up range, including ones without sessions.
+ *
+ * @author AuroraLS3
+ */
+public class SessionRollupTable {
+
+    public static final String TABLE_NAME = "plan_session_rollups";
+
+    public static final String ID = "id";
+    public static final String SERVER_ID = "server_id";
+    public static final String TIMEZONE_OFFSET = "timezone_offset";
+    public static final String RESOLUTION = "resolution";
+    public static final String DATE = "date";
+    public static final String UNIQUE_PLAYERS = "unique_players";
+    public static final String NEW_PLAYERS = "new_players";
+    public static final String SESSION_COUNT = "session_count";
+    public static final String PLAYTIME = "playtime";
+    public static final String AFK_TIME = "afk_time";
+
+    @Language("SQL")
+    public static final String INSERT_STATEMENT = "INSERT INTO " + TABLE_NAME + " (" +
+            SERVER_ID + ',' +
+            TIMEZONE_OFFSET + ',' +
+            RESOLUTION + ',' +
+            DATE + ',' +
+            UNIQUE_PLAYERS + ',' +
+            NEW_PLAYERS + ',' +
+            SESSION_COUNT + ',' +
+            PLAYTIME + ',' +
+            AFK_TIME +
+            ") VALUES (" + ServerTable.SELECT_SERVER_ID + ",?,?,?,?,?,?,?,?)";
+
+    @Language("SQL")
+    public static final String INSERT_NETWORK_STATEMENT = "INSERT INTO " + TABLE_NAME + " (" +
+            SERVER_ID + ',' +
+            TIMEZONE_OFFSET + ',' +
+            RESOLUTION + ',' +
+            DATE + ',' +
+            UNIQUE_PLAYERS + ',' +
+            NEW_PLAYERS + ',' +
+            SESSION_COUNT + ',' +
+            PLAYTIME + ',' +
+            AFK_TIME +
+            ") VALUES (NULL,?,?,?,?,?,?,?,?)";
+
+    private SessionRollupTable() {
+        /* Static information class */
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(SERVER_ID, Sql.INT)
+                .column(TIMEZONE_OFFSET, Sql.LONG).notNull()
+                .column(RESOLUTION, Sql.LONG).notNull()
+                .column(DATE, Sql.LONG).notNull()
+                .column(UNIQUE_PLAYERS, Sql.INT).notNull()
+                .column(NEW_PLAYERS, Sql.INT).notNull()
+                .column(SESSION_COUNT, Sql.INT).notNull()
+                .column(PLAYTIME, Sql.LONG).notNull()
+                .column(AFK_TIME, Sql.LONG).notNull()
+                .foreignKey(SERVER_ID, ServerTable.TABLE_NAME, ServerTable.ID)
+                .toString();
+    }
+}
@@ -50,16 +50,7 @@ public class SessionsTable {
     public static final String AFK_TIME = "afk_time";
     public static final String JOIN_ADDRESS_ID = "join_address_id";
 
-    public static final String INSERT_STATEMENT = "INSERT INTO " + TABLE_NAME + " ("
-            + USER_ID + ','
-            + SESSION_START + ','
-            + SESSION_END + ','
-            + DEATHS + ','
-            + MOB_KILLS + ','
-            + AFK_TIME + ','
-            + SERVER_ID + ','
-            + JOIN_ADDRESS_ID
-            + ") VALUES (" + UsersTable.SELECT_USER_ID + ", ?, ?, ?, ?, ?, " + ServerTable.SELECT_SERVER_ID + ", " + JoinAddressTable.SELECT_ID + ")";
+    public static final String INSERT_STATEMENT = insertStatement(null, null);
 
     public static final String SELECT_SESSION_ID_STATEMENT = "(SELECT " + TABLE_NAME + '.' + ID + FROM + TABLE_NAME +
             WHERE + TABLE_NAME + '.' + USER_ID + "=" + UsersTable.SELECT_USER_ID +
@@ -71,6 +62,26 @@ public class SessionsTable {
         /* Static information class */
     }
 
+    /**
+     * Get SQL for inserting a session.
+     *
+     * @param userId   id of the player if it is known, see {@link UsersTable#userIdParameter(Integer)}.
+     * @param serverId id of the server if it is known, see {@link ServerTable#serverIdParameter(Integer)}.
+     * @return SQL with parameters in order of the columns.
+     */
+    public static String insertStatement(Integer userId, Integer serverId) {
+        return "INSERT INTO " + TABLE_NAME + " ("
+                + USER_ID + ','
+                + SESSION_START + ','
+                + SESSION_END + ','
+                + DEATHS + ','
+                + MOB_KILLS + ','
+                + AFK_TIME + ','
+                + SERVER_ID + ','
+                + JOIN_ADDRESS_ID
+                + ") VALUES (" + UsersTable.userIdParameter(userId) + ", ?, ?, ?, ?, ?, " + ServerTable.serverIdParameter(serverId) + ", " + JoinAddressTable.SELECT_ID + ")";
+    }
+
     public static String createTableSQL(DBType dbType) {
         return CreateTableBuilder.create(TABLE_NAME, dbType)
                 .column(ID, Sql.INT).primaryKey()
@@ -0,0 +1,118 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Table information about 'plan_tps_compacted'.
+ * <p>
+ * Each row holds minimum, average and maximum of {@link TPSTable} rows within 5 minutes or an hour,
+ * so that raw rows can be removed sooner and long ranges can be read without grouping the raw rows.
+ *
+ * @author AuroraLS3
+ */
+public class TPSCompactedTable {
+
+    public static final String TABLE_NAME = "plan_tps_compacted";
+
+    public static final long FIVE_MINUTES = TimeUnit.MINUTES.toMillis(5L);
+    public static final long HOUR = TimeUnit.HOURS.toMillis(1L);
+    public static final long[] RESOLUTIONS = {FIVE_MINUTES, HOUR};
+
+    public static final String ID = "id";
+    public static final String SERVER_ID = "server_id";
+    public static final String RESOLUTION = "resolution";
+    public static final String DATE = "date";
+    public static final String MIN_SUFFIX = "_min";
+    public static final String AVG_SUFFIX = "_avg";
+    public static final String MAX_SUFFIX = "_max";
+
+    /**
+     * Columns of {@link TPSTable} that are compacted, each has a column with {@link #MIN_SUFFIX}, {@link #AVG_SUFFIX} and {@link #MAX_SUFFIX}.
+     */
+    public static final String[] COMPACTED_COLUMNS = {
+            TPSTable.TPS,
+            TPSTable.PLAYERS_ONLINE,
+            TPSTable.CPU_USAGE,
+            TPSTable.RAM_USAGE,
+            TPSTable.ENTITIES,
+            TPSTable.CHUNKS,
+            TPSTable.FREE_DISK
+    };
+
+    /**
+     * Minimum, average and maximum column of each of {@link #COMPACTED_COLUMNS} in order.
+     */
+    public static final String[] VALUE_COLUMNS = valueColumns();
+
+    public static final String INSERT_STATEMENT = "INSERT INTO " + TABLE_NAME + " (" +
+            SERVER_ID + ',' +
+            RESOLUTION + ',' +
+            DATE + ',' +
+            String.join(",", VALUE_COLUMNS) +
+            ") VALUES (" + ServerTable.SELECT_SERVER_ID + ",?,?" + ",?".repeat(VALUE_COLUMNS.length) + ')';
+
+    private TPSCompactedTable() {
+        /* Static information class */
+    }
+
+    private static String[] valueColumns() {
+        String[] columns = new String[COMPACTED_COLUMNS.length * 3];
+        for (int i = 0; i < COMPACTED_COLUMNS.length; i++) {
+            columns[i * 3] = COMPACTED_COLUMNS[i] + MIN_SUFFIX;
+            columns[i * 3 + 1] = COMPACTED_COLUMNS[i] + AVG_SUFFIX;
+            columns[i * 3 + 2] = COMPACTED_COLUMNS[i] + MAX_SUFFIX;
+        }
+        return columns;
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(SERVER_ID, Sql.INT).notNull()
+                .column(RESOLUTION, Sql.LONG).notNull()
+                .column(DATE, Sql.LONG).notNull()
+                .column(TPSTable.TPS + MIN_SUFFIX, Sql.DOUBLE).notNull()
+                .column(TPSTable.TPS + AVG_SUFFIX, Sql.DOUBLE).notNull()
+                .column(TPSTable.TPS + MAX_SUFFIX, Sql.DOUBLE).notNull()
+                .column(TPSTable.PLAYERS_ONLINE + MIN_SUFFIX, Sql.INT).notNull()
+                .column(TPSTable.PLAYERS_ONLINE + AVG_SUFFIX, Sql.DOUBLE).notNull()
+                .column(TPSTable.PLAYERS_ONLINE + MAX_SUFFIX, Sql.INT).notNull()
+                .column(TPSTable.CPU_USAGE + MIN_SUFFIX, Sql.DOUBLE).notNull()
+                .column(TPSTable.CPU_USAGE + AVG_SUFFIX, Sql.DOUBLE).notNull()
+                .column(TPSTable.CPU_USAGE + MAX_SUFFIX, Sql.DOUBLE).notNull()
+                .column(TPSTable.RAM_USAGE + MIN_SUFFIX, Sql.LONG).notNull()
+                .column(TPSTable.RAM_USAGE + AVG_SUFFIX, Sql.DOUBLE).notNull()
+                .column(TPSTable.RAM_USAGE + MAX_SUFFIX, Sql.LONG).notNull()
+                .column(TPSTable.ENTITIES + MIN_SUFFIX, Sql.INT).notNull()
+                .column(TPSTable.ENTITIES + AVG_SUFFIX, Sql.DOUBLE).notNull()
+                .column(TPSTable.ENTITIES + MAX_SUFFIX, Sql.INT).notNull()
+                .column(TPSTable.CHUNKS + MIN_SUFFIX, Sql.INT).notNull()
+                .column(TPSTable.CHUNKS + AVG_SUFFIX, Sql.DOUBLE).notNull()
+                .column(TPSTable.CHUNKS + MAX_SUFFIX, Sql.INT).notNull()
+                .column(TPSTable.FREE_DISK + MIN_SUFFIX, Sql.LONG).notNull()
+                .column(TPSTable.FREE_DISK + AVG_SUFFIX, Sql.DOUBLE).notNull()
+                .column(TPSTable.FREE_DISK + MAX_SUFFIX, Sql.LONG).notNull()
+                .foreignKey(SERVER_ID, ServerTable.TABLE_NAME, ServerTable.ID)
+                .toString();
+    }
+}
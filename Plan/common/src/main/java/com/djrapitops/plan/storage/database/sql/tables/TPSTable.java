@@ -40,24 +40,34 @@ public class TPSTable {
     public static final String CHUNKS = "chunks_loaded";
     public static final String FREE_DISK = "free_disk_space";
 
-    public static final String INSERT_STATEMENT = "INSERT INTO " + TABLE_NAME + " ("
-            + SERVER_ID + ','
-            + DATE + ','
-            + TPS + ','
-            + PLAYERS_ONLINE + ','
-            + CPU_USAGE + ','
-            + RAM_USAGE + ','
-            + ENTITIES + ','
-            + CHUNKS + ','
-            + FREE_DISK
-            + ") VALUES ("
-            + ServerTable.SELECT_SERVER_ID + ','
-            + "?, ?, ?, ?, ?, ?, ?, ?)";
+    public static final String INSERT_STATEMENT = insertStatement(null);
 
     private TPSTable() {
         /* Static information class */
     }
 
+    /**
+     * Get SQL for inserting TPS data.
+     *
+     * @param serverId id of the server if it is known, see {@link ServerTable#serverIdParameter(Integer)}.
+     * @return SQL with server parameter first, and rest of the values in order of the columns.
+     */
+    public static String insertStatement(Integer serverId) {
+        return "INSERT INTO " + TABLE_NAME + " ("
+                + SERVER_ID + ','
+                + DATE + ','
+                + TPS + ','
+                + PLAYERS_ONLINE + ','
+                + CPU_USAGE + ','
+                + RAM_USAGE + ','
+                + ENTITIES + ','
+                + CHUNKS + ','
+                + FREE_DISK
+                + ") VALUES ("
+                + ServerTable.serverIdParameter(serverId) + ','
+                + "?, ?, ?, ?, ?, ?, ?, ?)";
+    }
+
     public static String createTableSQL(DBType dbType) {
         return CreateTableBuilder.create(TABLE_NAME, dbType)
                 .column(ID, Sql.INT).primaryKey()
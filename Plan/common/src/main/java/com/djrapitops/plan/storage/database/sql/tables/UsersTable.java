@@ -21,6 +21,10 @@ import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
 import com.djrapitops.plan.storage.database.sql.building.Insert;
 import com.djrapitops.plan.storage.database.sql.building.Sql;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.UUID;
+
 import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
 
 /**
@@ -54,6 +58,33 @@ public class UsersTable {
         /* Static information class */
     }
 
+    /**
+     * Get SQL for user id of a player, used in place of {@link #SELECT_USER_ID}.
+     *
+     * @param userId id from {@link com.djrapitops.plan.storage.database.IdentityCache}, or null if it is not known.
+     * @return Parameter for the id if it is known, otherwise {@link #SELECT_USER_ID}. Both have one parameter, see {@link #setUserId}.
+     */
+    public static String userIdParameter(Integer userId) {
+        return userId != null ? "?" : SELECT_USER_ID;
+    }
+
+    /**
+     * Set the parameter of {@link #userIdParameter(Integer)}.
+     *
+     * @param statement  Statement to set the parameter to.
+     * @param index      Index of the parameter.
+     * @param userId     Same id that was given to {@link #userIdParameter(Integer)}.
+     * @param playerUUID UUID of the player, used when the id is not known.
+     * @throws SQLException If the parameter can not be set.
+     */
+    public static void setUserId(PreparedStatement statement, int index, Integer userId, UUID playerUUID) throws SQLException {
+        if (userId != null) {
+            statement.setInt(index, userId);
+        } else {
+            statement.setString(index, playerUUID.toString());
+        }
+    }
+
     public static String createTableSQL(DBType dbType) {
         return CreateTableBuilder.create(TABLE_NAME, dbType)
                 .column(ID, Sql.INT).primaryKey()
@@ -16,28 +16,49 @@
  */
 package com.djrapitops.plan.storage.database.transactions;
 
+import com.djrapitops.plan.gathering.domain.FinishedSession;
 import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.queries.LargeFetchQueries;
 import com.djrapitops.plan.storage.database.queries.LargeStoreQueries;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.objects.*;
+import com.djrapitops.plan.storage.database.sql.tables.PingTable;
+import com.djrapitops.plan.storage.database.sql.tables.SessionsTable;
+import com.djrapitops.plan.storage.database.sql.tables.TPSCompactedTable;
+import com.djrapitops.plan.storage.database.sql.tables.TPSTable;
 import com.djrapitops.plan.storage.database.transactions.commands.RemoveEverythingTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.RebuildPlayerSummariesTransaction;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
  * Transaction that performs a clear + copy operation to duplicate a source database in the current one.
+ * <p>
+ * The largest tables (TPS, compacted TPS, ping and sessions) are copied in batches with a commit after each batch,
+ * so that the whole table does not need to fit in memory.
  *
  * @author AuroraLS3
  */
 public class BackupCopyTransaction extends RemoveEverythingTransaction {
 
+    private static final int BATCH_SIZE = 10000;
+    private static final int BATCHES_PER_PROGRESS_REPORT = 10;
+
     private final Database sourceDB;
     private final Database destinationDB;
+    private final ProgressListener progressListener;
 
     public BackupCopyTransaction(Database sourceDB, Database destinationDB) {
+        this(sourceDB, destinationDB, (tableName, rows, rowsPerSecond) -> {});
+    }
+
+    public BackupCopyTransaction(Database sourceDB, Database destinationDB, ProgressListener progressListener) {
         this.sourceDB = sourceDB;
         this.destinationDB = destinationDB;
+        this.progressListener = progressListener;
     }
 
     @Override
@@ -54,6 +75,7 @@ public class BackupCopyTransaction extends RemoveEverythingTransaction {
         copyCommonUserInformation();
         copyWorldNames();
         copyTPSData();
+        copyCompactedTPSData();
         copyWebGroups();
         copyPlanWebUsers();
         copyGeoInformation();
@@ -61,6 +83,7 @@ public class BackupCopyTransaction extends RemoveEverythingTransaction {
         copySessionsWithKillAndWorldData();
         copyPerServerUserInformation();
         copyPingData();
+        executeOther(RebuildPlayerSummariesTransaction.all());
     }
 
     private void copyWebGroups() {
@@ -74,8 +97,28 @@ public class BackupCopyTransaction extends RemoveEverythingTransaction {
         execute(executableCreator.apply(sourceDB.query(dataQuery)));
     }
 
+    private <T> void copyInBatches(String tableName, Function<T, Executable> executableCreator, Function<Consumer<T>, Query<Long>> streamingQuery) {
+        long start = System.nanoTime();
+        int[] batches = {0};
+        long rows = sourceDB.query(streamingQuery.apply(batch -> {
+            execute(executableCreator.apply(batch));
+            commitMidTransaction();
+            batches[0]++;
+            if (batches[0] % BATCHES_PER_PROGRESS_REPORT == 0) {
+                reportProgress(tableName, (long) batches[0] * BATCH_SIZE, start);
+            }
+        }));
+        reportProgress(tableName, rows, start);
+    }
+
+    private void reportProgress(String tableName, long rows, long start) {
+        long elapsedMs = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        progressListener.copied(tableName, rows, rows * 1000L / elapsedMs);
+    }
+
     private void copyPingData() {
-        copy(LargeStoreQueries::storeAllPingData, PingQueries.fetchAllPingData());
+        copyInBatches(PingTable.TABLE_NAME, LargeStoreQueries::storeAllPingData,
+                batchConsumer -> PingQueries.streamAllPingData(BATCH_SIZE, batchConsumer));
     }
 
     private void copyGeoInformation() {
@@ -97,7 +140,14 @@ public class BackupCopyTransaction extends RemoveEverythingTransaction {
     }
 
     private void copyTPSData() {
-        copy(LargeStoreQueries::storeAllTPSData, LargeFetchQueries.fetchAllTPSData());
+        copyInBatches(TPSTable.TABLE_NAME, LargeStoreQueries::storeAllTPSData,
+                batchConsumer -> LargeFetchQueries.streamAllTPSData(BATCH_SIZE, batchConsumer));
+    }
+
+    private void copyCompactedTPSData() {
+        // Raw TPS data older than the compacted data has been removed, so this is the only copy of old TPS history.
+        copyInBatches(TPSCompactedTable.TABLE_NAME, LargeStoreQueries::storeAllCompactedTPSData,
+                batchConsumer -> LargeFetchQueries.streamAllCompactedTPSData(BATCH_SIZE, batchConsumer));
     }
 
     private void copyPerServerUserInformation() {
@@ -113,6 +163,37 @@ public class BackupCopyTransaction extends RemoveEverythingTransaction {
     }
 
     private void copySessionsWithKillAndWorldData() {
-        copy(LargeStoreQueries::storeAllSessionsWithKillAndWorldData, SessionQueries.fetchAllSessions());
+        long start = System.nanoTime();
+        int largestId = sourceDB.query(SessionQueries.fetchLargestSessionId());
+        long sessions = 0;
+        int batches = 0;
+        // Sessions are selected by id range, since the select has multiple rows per session for kills and worlds.
+        for (int fromId = 0; fromId <= largestId; fromId += BATCH_SIZE) {
+            List<FinishedSession> batch = sourceDB.query(SessionQueries.fetchSessionsWithIdBetween(fromId, fromId + BATCH_SIZE));
+            if (batch.isEmpty()) continue;
+            execute(LargeStoreQueries.storeAllSessionsWithKillAndWorldData(batch));
+            commitMidTransaction();
+            sessions += batch.size();
+            batches++;
+            if (batches % BATCHES_PER_PROGRESS_REPORT == 0) {
+                reportProgress(SessionsTable.TABLE_NAME, sessions, start);
+            }
+        }
+        reportProgress(SessionsTable.TABLE_NAME, sessions, start);
+    }
+
+    /**
+     * Receives progress of copying the largest tables.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Called periodically while a table is copied, and when the table has been copied.
+         *
+         * @param tableName     Name of the table.
+         * @param rows          Number of rows copied so far.
+         * @param rowsPerSecond Average speed of the copy so far.
+         */
+        void copied(String tableName, long rows, long rowsPerSecond);
     }
 }
\ No newline at end of file
@@ -17,6 +17,7 @@
 package com.djrapitops.plan.storage.database.transactions;
 
 import com.djrapitops.plan.exceptions.database.DBOpException;
+import com.djrapitops.plan.storage.database.QueryStatistics;
 
 import java.sql.*;
 
@@ -35,8 +36,10 @@ public abstract class ExecStatement implements Executable {
 
     public int executeReturningId(Connection connection) {
         try (PreparedStatement preparedStatement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            long start = System.nanoTime();
             prepare(preparedStatement);
-            preparedStatement.executeUpdate();
+            int updated = preparedStatement.executeUpdate();
+            QueryStatistics.getInstance().record(getClass(), sql, System.nanoTime() - start, updated);
             return executeReturningId(preparedStatement);
         } catch (SQLException e) {
             throw DBOpException.forCause(sql, e);
@@ -60,8 +63,12 @@ public abstract class ExecStatement implements Executable {
 
     public boolean execute(PreparedStatement statement) throws SQLException {
         try (statement) {
+            long start = System.nanoTime();
             prepare(statement);
-            return callExecute(statement);
+            boolean changed = callExecute(statement);
+            // Rows are not known for every statement, so only whether something changed is counted.
+            QueryStatistics.getInstance().record(getClass(), sql, System.nanoTime() - start, changed ? 1 : 0);
+            return changed;
         }
     }
 
@@ -0,0 +1,93 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions;
+
+import com.djrapitops.plan.storage.database.SQLDB;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Executes multiple {@link GroupCommittable} transactions using one connection and one commit.
+ * <p>
+ * Statements that can be batched are grouped by their SQL and executed as JDBC batches,
+ * rest of the transactions are executed one after another inside this transaction.
+ *
+ * @author AuroraLS3
+ */
+public class GroupCommitTransaction extends Transaction {
+
+    private final List<Transaction> transactions;
+
+    public GroupCommitTransaction(List<Transaction> transactions) {
+        this.transactions = transactions;
+    }
+
+    @Override
+    public void executeTransaction(SQLDB db) {
+        super.executeTransaction(db);
+        if (success) {
+            for (Transaction transaction : transactions) {
+                transaction.success = true;
+            }
+        }
+    }
+
+    @Override
+    protected void performOperations() {
+        Map<String, List<ExecStatement>> batches = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            Optional<ExecStatement> batchable = getBatchableStatement(transaction);
+            if (batchable.isPresent()) {
+                if (transaction.shouldBeExecutedWithin(this)) {
+                    ExecStatement statement = batchable.get();
+                    batches.computeIfAbsent(statement.getSql(), sql -> new ArrayList<>()).add(statement);
+                }
+            } else {
+                executeOther(transaction);
+            }
+        }
+        for (Map.Entry<String, List<ExecStatement>> batch : batches.entrySet()) {
+            execute(new ExecBatchStatement(batch.getKey()) {
+                @Override
+                public void prepare(PreparedStatement statement) throws SQLException {
+                    for (ExecStatement batched : batch.getValue()) {
+                        batched.prepare(statement);
+                        statement.addBatch();
+                    }
+                }
+            });
+        }
+    }
+
+    private Optional<ExecStatement> getBatchableStatement(Transaction transaction) {
+        if (transaction instanceof GroupCommittable) {
+            return ((GroupCommittable) transaction).getBatchableStatement(getIdentityCache());
+        }
+        return Optional.empty();
+    }
+
+    public int getSize() {
+        return transactions.size();
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " of " + transactions.size() + (success ? " (finished)" : "");
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions;
+
+import com.djrapitops.plan.storage.database.IdentityCache;
+
+import java.util.Optional;
+
+/**
+ * Marker for {@link Transaction}s that can be committed together with other transactions of the same kind.
+ * <p>
+ * These transactions are small and frequent, so when group commit is enabled they are executed
+ * using a single connection and a single commit, see {@link GroupCommitTransaction}.
+ *
+ * @author AuroraLS3
+ */
+public interface GroupCommittable {
+
+    /**
+     * Get the statement of this transaction if it can be added to a JDBC batch with other statements using same SQL.
+     * <p>
+     * Transactions with a batchable statement are not executed separately, so the statement should contain
+     * everything the transaction would do.
+     *
+     * @param identities Ids of players and servers that are already known, the statement can use them instead of selecting the ids.
+     * @return Statement to add to a batch, or empty if the transaction has to be executed on its own.
+     */
+    default Optional<ExecStatement> getBatchableStatement(IdentityCache identities) {
+        return Optional.empty();
+    }
+}
@@ -41,6 +41,8 @@ public class StoreServerInformationTransaction extends Transaction {
     protected void performOperations() {
         if (!execute(updateServerInformation())) {
             execute(insertServerInformation());
+            // Ids of servers are loaded again, so that the new server is included.
+            invalidateServerId(server.getUuid());
         }
     }
 
@@ -21,10 +21,13 @@ import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.settings.locale.lang.PluginLang;
 import com.djrapitops.plan.storage.database.DBType;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.IdentityCache;
 import com.djrapitops.plan.storage.database.SQLDB;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryAPIQuery;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
+import com.djrapitops.plan.storage.database.queries.objects.UserIdentifierQueries;
 import com.djrapitops.plan.storage.database.queries.schema.MySQLSchemaQueries;
 import com.djrapitops.plan.storage.database.queries.schema.SQLiteSchemaQueries;
 import com.djrapitops.plan.storage.database.transactions.patches.Patch;
@@ -32,6 +35,7 @@ import com.djrapitops.plan.utilities.logging.ErrorContext;
 import net.playeranalytics.plugin.scheduling.TimeAmount;
 
 import java.sql.*;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -52,6 +56,8 @@ public abstract class Transaction {
 
     private Connection connection;
     private Savepoint savepoint;
+    // Changes to IdentityCache are applied only after commit so that rolled back ids are never cached.
+    private final List<Runnable> onCommit = new ArrayList<>();
 
     protected boolean success;
     protected int attempts;
@@ -69,6 +75,7 @@ public abstract class Transaction {
         this.dbType = db.getType();
 
         attempts++; // Keeps track how many attempts have been made to avoid infinite recursion.
+        onCommit.clear();
 
         if (db.isUnderHeavyLoad()) {
             try {
@@ -88,6 +95,7 @@ public abstract class Transaction {
                 }
                 performOperations();
                 if (connection != null) connection.commit();
+                runOnCommit();
             }
             success = true;
         } catch (SQLException statementFail) {
@@ -151,12 +159,20 @@ public abstract class Transaction {
     protected void commitMidTransaction() {
         try {
             connection.commit();
+            runOnCommit();
             initializeTransaction();
         } catch (SQLException e) {
             manageFailure(e);
         }
     }
 
+    private void runOnCommit() {
+        for (Runnable runnable : onCommit) {
+            runnable.run();
+        }
+        onCommit.clear();
+    }
+
     /**
      * Override this method for conditional execution.
      * <p>
@@ -255,11 +271,119 @@ public abstract class Transaction {
         if (transaction.shouldBeExecuted()) {
             transaction.performOperations();
         }
+        onCommit.addAll(transaction.onCommit);
+        transaction.onCommit.clear();
         transaction.connection = null;
         transaction.dbType = null;
         transaction.db = null;
     }
 
+    boolean shouldBeExecutedWithin(Transaction transaction) {
+        this.db = transaction.db;
+        this.dbType = transaction.dbType;
+        try {
+            return shouldBeExecuted();
+        } finally {
+            this.dbType = null;
+            this.db = null;
+        }
+    }
+
+    protected IdentityCache getIdentityCache() {
+        return db.getIdentityCache();
+    }
+
+    /**
+     * Get user id of a player from {@link IdentityCache}, or from the database if it is not cached.
+     *
+     * @param playerUUID UUID of the player.
+     * @return id of the player, or empty if the player is not registered.
+     */
+    protected Optional<Integer> lookupUserId(UUID playerUUID) {
+        IdentityCache identities = db.getIdentityCache();
+        Optional<Integer> cached = identities.getUserId(playerUUID);
+        if (cached.isPresent()) return cached;
+
+        Optional<Integer> found = query(UserIdentifierQueries.fetchUserId(playerUUID));
+        found.ifPresent(userId -> cacheUserIdOnCommit(playerUUID, userId));
+        return found;
+    }
+
+    /**
+     * Get user ids of many players from {@link IdentityCache}, or from the database if they are not cached.
+     *
+     * @param playerUUIDs UUIDs of the players, at most a few hundred at a time.
+     * @return Map: Player UUID - User id, players that are not registered are not included.
+     */
+    protected Map<UUID, Integer> lookupUserIds(Collection<UUID> playerUUIDs) {
+        IdentityCache identities = db.getIdentityCache();
+        Map<UUID, Integer> userIds = new HashMap<>();
+        List<UUID> notCached = new ArrayList<>();
+        for (UUID playerUUID : playerUUIDs) {
+            Optional<Integer> cached = identities.getUserId(playerUUID);
+            if (cached.isPresent()) {
+                userIds.put(playerUUID, cached.get());
+            } else {
+                notCached.add(playerUUID);
+            }
+        }
+        Map<UUID, Integer> found = query(UserIdentifierQueries.fetchUserIds(notCached));
+        found.forEach(this::cacheUserIdOnCommit);
+        userIds.putAll(found);
+        return userIds;
+    }
+
+    /**
+     * Get id of a server from {@link IdentityCache}, or from the database if it is not cached.
+     * <p>
+     * Ids of all servers are loaded at once when one of them is missing.
+     *
+     * @param serverUUID UUID of the Plan server.
+     * @return id of the server, or empty if the server is not registered.
+     */
+    protected Optional<Integer> lookupServerId(ServerUUID serverUUID) {
+        IdentityCache identities = db.getIdentityCache();
+        Optional<Integer> cached = identities.getServerId(serverUUID);
+        if (cached.isPresent()) return cached;
+
+        Map<ServerUUID, Integer> serverIds = query(ServerQueries.fetchServerIds());
+        onCommit.add(() -> serverIds.forEach(identities::cacheServer));
+        return Optional.ofNullable(serverIds.get(serverUUID));
+    }
+
+    protected void cacheUserIdOnCommit(UUID playerUUID, int userId) {
+        IdentityCache identities = db.getIdentityCache();
+        onCommit.add(() -> identities.cacheUser(playerUUID, userId));
+    }
+
+    /**
+     * Remove a player from {@link IdentityCache} when their id changes or they are removed.
+     * <p>
+     * The player is removed right away and again after commit, in case another transaction cached the old id in between.
+     *
+     * @param playerUUID UUID of the player.
+     */
+    protected void invalidateUserId(UUID playerUUID) {
+        IdentityCache identities = db.getIdentityCache();
+        identities.removeUser(playerUUID);
+        onCommit.add(() -> identities.removeUser(playerUUID));
+    }
+
+    protected void invalidateServerId(ServerUUID serverUUID) {
+        IdentityCache identities = db.getIdentityCache();
+        identities.removeServer(serverUUID);
+        onCommit.add(() -> identities.removeServer(serverUUID));
+    }
+
+    /**
+     * Empty {@link IdentityCache}, used when the transaction removes or replaces many players or servers.
+     */
+    protected void invalidateIdentities() {
+        IdentityCache identities = db.getIdentityCache();
+        identities.clear();
+        onCommit.add(identities::clear);
+    }
+
     protected Database.State getDBState() {
         return db.getState();
     }
@@ -281,6 +405,20 @@ public abstract class Transaction {
         return !db.isUnderHeavyLoad() && !db.shouldDropUnimportantTransactions();
     }
 
+    /**
+     * Get the key that decides which transaction lane executes this transaction.
+     * <p>
+     * Transactions with the same key are executed in the order they were submitted.
+     * Transactions without a key are executed after every transaction submitted before them,
+     * and before any transaction submitted after them.
+     * Every lane has to stop to execute a transaction without a key, so transactions that are executed often should have one.
+     *
+     * @return UUID of the player or server whose data this transaction modifies, or empty if the transaction can affect data of anyone.
+     */
+    public Optional<Object> getOrderingKey() {
+        return Optional.empty();
+    }
+
     public String getName() {
         String simpleName = getClass().getSimpleName();
         return simpleName.isEmpty() ? getClass().getName() : simpleName;
@@ -48,6 +48,8 @@ public class ChangeUserUUIDTransaction extends Transaction {
 
     @Override
     protected void performOperations() {
+        invalidateUserId(oldUUID);
+        invalidateUserId(newUUID);
         execute(updateUUID(ExtensionGroupsTable.TABLE_NAME, ExtensionGroupsTable.USER_UUID));
         execute(updateUUID(ExtensionPlayerTableValueTable.TABLE_NAME, ExtensionPlayerTableValueTable.USER_UUID));
         execute(updateUUID(NicknamesTable.TABLE_NAME, NicknamesTable.USER_UUID));
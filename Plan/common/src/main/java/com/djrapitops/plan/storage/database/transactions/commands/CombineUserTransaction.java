@@ -16,10 +16,13 @@
  */
 package com.djrapitops.plan.storage.database.transactions.commands;
 
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.queries.objects.BaseUserQueries;
 import com.djrapitops.plan.storage.database.sql.tables.*;
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.Executable;
+import com.djrapitops.plan.storage.database.transactions.events.RebuildPlayerSummariesTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.RemoveActivityIndexSnapshotsTransaction;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -52,10 +55,14 @@ public class CombineUserTransaction extends ChangeUserUUIDTransaction {
         execute(updateUserId(PingTable.TABLE_NAME, PingTable.USER_ID, oldId, newId));
         execute(updateUserId(SessionsTable.TABLE_NAME, SessionsTable.USER_ID, oldId, newId));
         execute(updateUserId(WorldTimesTable.TABLE_NAME, WorldTimesTable.USER_ID, oldId, newId));
+        executeOther(RebuildPlayerSummariesTransaction.ofUsers(UserIdSet.of(oldId, newId)));
 
         execute(updateUserInfo(newId, oldId));
         execute(DELETE_FROM + UserInfoTable.TABLE_NAME + WHERE + UserInfoTable.USER_ID + "=" + oldId);
         execute(DELETE_FROM + UsersTable.TABLE_NAME + WHERE + UsersTable.ID + "=" + oldId);
+        // Sessions of the two users are now together, so the snapshots are no longer correct.
+        executeOther(RemoveActivityIndexSnapshotsTransaction.all());
+        execute(DELETE_FROM + SessionRollupTable.TABLE_NAME);
 
         super.performOperations(); // Change UUID fields to match where user_id is not used
     }
@@ -36,6 +36,7 @@ public class RemoveEverythingTransaction extends Patch {
 
     @Override
     protected void applyPatch() {
+        invalidateIdentities();
         clearTable(SettingsTable.TABLE_NAME);
         clearTable(GeoInfoTable.TABLE_NAME);
         clearTable(NicknamesTable.TABLE_NAME);
@@ -44,6 +45,11 @@ public class RemoveEverythingTransaction extends Patch {
         clearTable(SessionsTable.TABLE_NAME);
         clearTable(JoinAddressTable.TABLE_NAME);
         clearTable(AllowlistBounceTable.TABLE_NAME);
+        clearTable(ActivityIndexSnapshotValueTable.TABLE_NAME);
+        clearTable(ActivityIndexSnapshotTable.TABLE_NAME);
+        clearTable(SessionRollupTable.TABLE_NAME);
+        clearTable(TPSCompactedTable.TABLE_NAME);
+        clearTable(PlayerSummaryTable.TABLE_NAME);
         clearTable(WorldTable.TABLE_NAME);
         clearTable(PingTable.TABLE_NAME);
         clearTable(UserInfoTable.TABLE_NAME);
@@ -50,6 +50,7 @@ public class RemovePlayerTransaction extends ThrowawayTransaction {
 
     @Override
     protected void performOperations() {
+        invalidateUserId(playerUUID);
         query(PlayerFetchQueries.playerUserName(playerUUID)).ifPresent(this::deleteWebUser);
 
         deleteFromUserIdTable(GeoInfoTable.TABLE_NAME);
@@ -59,7 +60,11 @@ public class RemovePlayerTransaction extends ThrowawayTransaction {
         deleteFromUserIdTable(SessionsTable.TABLE_NAME);
         deleteFromUserIdTable(PingTable.TABLE_NAME);
         deleteFromUserIdTable(UserInfoTable.TABLE_NAME);
+        deleteFromUserIdTable(ActivityIndexSnapshotValueTable.TABLE_NAME);
+        deleteFromUserIdTable(PlayerSummaryTable.TABLE_NAME);
         deleteFromTable(UsersTable.TABLE_NAME);
+        // Player counts of past days changed, rollups are calculated again by SessionRollupTask.
+        execute(DELETE_FROM + SessionRollupTable.TABLE_NAME);
 
         deleteFromTable(ExtensionPlayerTableValueTable.TABLE_NAME);
         deleteFromTable(ExtensionPlayerValueTable.TABLE_NAME);
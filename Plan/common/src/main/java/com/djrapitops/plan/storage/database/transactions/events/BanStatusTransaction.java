@@ -27,6 +27,7 @@ import com.djrapitops.plan.storage.database.transactions.Transaction;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.BooleanSupplier;
 
@@ -53,22 +54,30 @@ public class BanStatusTransaction extends Transaction {
 
     @Override
     protected void performOperations() {
-        execute(updateBanStatus());
+        // Ids are used only if they are already known, looking them up would be as slow as selecting them.
+        Integer userId = getIdentityCache().getUserId(playerUUID).orElse(null);
+        Integer serverId = getIdentityCache().getServerId(serverUUID).orElse(null);
+        execute(updateBanStatus(userId, serverId));
     }
 
-    private Executable updateBanStatus() {
+    private Executable updateBanStatus(Integer userId, Integer serverId) {
         String sql = Update.values(UserInfoTable.TABLE_NAME, UserInfoTable.BANNED)
-                .where(UserInfoTable.USER_ID + "=" + UsersTable.SELECT_USER_ID)
-                .and(UserInfoTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID)
+                .where(UserInfoTable.USER_ID + "=" + UsersTable.userIdParameter(userId))
+                .and(UserInfoTable.SERVER_ID + "=" + ServerTable.serverIdParameter(serverId))
                 .toString();
 
         return new ExecStatement(sql) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
                 statement.setBoolean(1, banStatus.getAsBoolean());
-                statement.setString(2, playerUUID.toString());
-                statement.setString(3, serverUUID.toString());
+                UsersTable.setUserId(statement, 2, userId, playerUUID);
+                ServerTable.setServerId(statement, 3, serverId, serverUUID);
             }
         };
     }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        return Optional.of(playerUUID);
+    }
 }
\ No newline at end of file
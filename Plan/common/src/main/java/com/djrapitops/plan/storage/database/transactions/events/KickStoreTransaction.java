@@ -22,6 +22,7 @@ import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Optional;
 import java.util.UUID;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.WHERE;
@@ -52,4 +53,9 @@ public class KickStoreTransaction extends ThrowawayTransaction {
             }
         });
     }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        return Optional.of(playerUUID);
+    }
 }
\ No newline at end of file
@@ -27,6 +27,7 @@ import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -48,22 +49,30 @@ public class OperatorStatusTransaction extends ThrowawayTransaction {
 
     @Override
     protected void performOperations() {
-        execute(updateOperatorStatus());
+        // Ids are used only if they are already known, looking them up would be as slow as selecting them.
+        Integer userId = getIdentityCache().getUserId(playerUUID).orElse(null);
+        Integer serverId = getIdentityCache().getServerId(serverUUID).orElse(null);
+        execute(updateOperatorStatus(userId, serverId));
     }
 
-    private Executable updateOperatorStatus() {
+    private Executable updateOperatorStatus(Integer userId, Integer serverId) {
         String sql = Update.values(UserInfoTable.TABLE_NAME, UserInfoTable.OP)
-                .where(UserInfoTable.USER_ID + "=" + UsersTable.SELECT_USER_ID)
-                .and(UserInfoTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID)
+                .where(UserInfoTable.USER_ID + "=" + UsersTable.userIdParameter(userId))
+                .and(UserInfoTable.SERVER_ID + "=" + ServerTable.serverIdParameter(serverId))
                 .toString();
 
         return new ExecStatement(sql) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
                 statement.setBoolean(1, operatorStatus);
-                statement.setString(2, playerUUID.toString());
-                statement.setString(3, serverUUID.toString());
+                UsersTable.setUserId(statement, 2, userId, playerUUID);
+                ServerTable.setServerId(statement, 3, serverId, serverUUID);
             }
         };
     }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        return Optional.of(playerUUID);
+    }
 }
\ No newline at end of file
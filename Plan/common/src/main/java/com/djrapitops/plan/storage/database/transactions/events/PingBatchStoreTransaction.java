@@ -0,0 +1,148 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.events;
+
+import com.djrapitops.plan.exceptions.database.DBOpException;
+import com.djrapitops.plan.gathering.domain.Ping;
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.queries.DataStoreQueries;
+import com.djrapitops.plan.storage.database.sql.tables.PingTable;
+import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
+import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
+import com.djrapitops.plan.storage.database.transactions.ExecBatchStatement;
+import com.djrapitops.plan.storage.database.transactions.Executable;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Transaction to store aggregated Ping of many players on a server at once.
+ * <p>
+ * Players are registered and their summary rows updated here, which player specific transactions also do,
+ * so this transaction is not ordered by any key and runs between the transactions of all players.
+ * It is executed once per {@link com.djrapitops.plan.gathering.timed.PingAggregator} window so the wait is short.
+ *
+ * @author AuroraLS3
+ * @see com.djrapitops.plan.gathering.timed.PingAggregator
+ */
+public class PingBatchStoreTransaction extends Transaction {
+
+    private static final int REGISTERED_CHECK_BATCH_SIZE = 500;
+
+    private final ServerUUID serverUUID;
+    private final Map<UUID, Ping> pingOfPlayers;
+
+    private final Map<UUID, Integer> userIds = new HashMap<>();
+    private final List<DBOpException> userInsertErrors = new ArrayList<>();
+
+    public PingBatchStoreTransaction(ServerUUID serverUUID, Map<UUID, Ping> pingOfPlayers) {
+        this.serverUUID = serverUUID;
+        this.pingOfPlayers = pingOfPlayers;
+    }
+
+    @Override
+    protected boolean shouldBeExecuted() {
+        return !pingOfPlayers.isEmpty();
+    }
+
+    @Override
+    protected void performOperations() {
+        registerMissingUsers();
+
+        Integer serverId = lookupServerId(serverUUID).orElse(null);
+        Map<UUID, Ping> withUserId = new HashMap<>();
+        Map<UUID, Ping> withoutUserId = new HashMap<>();
+        for (Map.Entry<UUID, Ping> entry : pingOfPlayers.entrySet()) {
+            (userIds.containsKey(entry.getKey()) ? withUserId : withoutUserId).put(entry.getKey(), entry.getValue());
+        }
+        try {
+            if (!withUserId.isEmpty()) execute(storePing(withUserId, serverId));
+        } catch (DBOpException failed) {
+            if (failed.isUserIdConstraintViolation()) {
+                // A player might have been removed by another server, so the cached ids are checked again next time.
+                withUserId.keySet().forEach(this::invalidateUserId);
+            }
+            throw failed;
+        }
+        try {
+            if (!withoutUserId.isEmpty()) execute(storePing(withoutUserId, serverId));
+        } catch (DBOpException failed) {
+            userInsertErrors.forEach(failed::addSuppressed);
+            throw failed;
+        }
+
+        updateSummaries(withUserId, serverId);
+        updateSummaries(withoutUserId, serverId);
+    }
+
+    private void updateSummaries(Map<UUID, Ping> pingOfUsers, Integer serverId) {
+        Map<UUID, Ping> summarized = new HashMap<>();
+        for (Map.Entry<UUID, Ping> entry : pingOfUsers.entrySet()) {
+            // Ping outside the valid range is removed later, so it is not included in the summary.
+            if (entry.getValue().getMin() >= 0) summarized.put(entry.getKey(), entry.getValue());
+        }
+        if (summarized.isEmpty()) return;
+        execute(UpdatePlayerSummaryTransaction.pingBatch(dbType, serverUUID, serverId, summarized, userIds, false));
+        execute(UpdatePlayerSummaryTransaction.pingBatch(dbType, serverUUID, serverId, summarized, userIds, true));
+    }
+
+    private void registerMissingUsers() {
+        List<UUID> playerUUIDs = new ArrayList<>(pingOfPlayers.keySet());
+        for (int from = 0; from < playerUUIDs.size(); from += REGISTERED_CHECK_BATCH_SIZE) {
+            List<UUID> batch = playerUUIDs.subList(from, Math.min(from + REGISTERED_CHECK_BATCH_SIZE, playerUUIDs.size()));
+            Map<UUID, Integer> registered = lookupUserIds(batch);
+            userIds.putAll(registered);
+            for (UUID playerUUID : batch) {
+                if (!registered.containsKey(playerUUID)) {
+                    tryToRegisterUser(playerUUID, pingOfPlayers.get(playerUUID).getDate());
+                }
+            }
+        }
+    }
+
+    private void tryToRegisterUser(UUID playerUUID, long date) {
+        try {
+            execute(DataStoreQueries.registerBaseUser(playerUUID, date, playerUUID.toString()));
+        } catch (DBOpException failedInsert) {
+            // Registered by another server at the same time, ping can still be stored.
+            userInsertErrors.add(failedInsert);
+        }
+    }
+
+    private Executable storePing(Map<UUID, Ping> pingOfUsers, Integer serverId) {
+        // Same SQL is used for the whole batch, so either all or none of the users in the batch have a known id.
+        Integer anyUserId = userIds.get(pingOfUsers.keySet().iterator().next());
+        return new ExecBatchStatement(PingTable.insertStatement(anyUserId, serverId)) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (Map.Entry<UUID, Ping> entry : pingOfUsers.entrySet()) {
+                    UUID playerUUID = entry.getKey();
+                    Ping ping = entry.getValue();
+                    UsersTable.setUserId(statement, 1, userIds.get(playerUUID), playerUUID);
+                    ServerTable.setServerId(statement, 2, serverId, serverUUID);
+                    statement.setLong(3, ping.getDate());
+                    statement.setInt(4, ping.getMin());
+                    statement.setInt(5, ping.getMax());
+                    statement.setDouble(6, ping.getAverage());
+                    statement.addBatch();
+                }
+            }
+        };
+    }
+}
@@ -22,12 +22,14 @@ import com.djrapitops.plan.gathering.domain.Ping;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.queries.DataStoreQueries;
 import com.djrapitops.plan.storage.database.queries.PlayerFetchQueries;
+import com.djrapitops.plan.storage.database.transactions.GroupCommittable;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 import com.djrapitops.plan.utilities.Predicates;
 import com.djrapitops.plan.utilities.analysis.Median;
 import com.djrapitops.plan.utilities.java.Lists;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -35,7 +37,7 @@ import java.util.UUID;
  *
  * @author AuroraLS3
  */
-public class PingStoreTransaction extends Transaction {
+public class PingStoreTransaction extends Transaction implements GroupCommittable {
 
     private final UUID playerUUID;
     private final ServerUUID serverUUID;
@@ -66,6 +68,10 @@ public class PingStoreTransaction extends Transaction {
                 throw failed;
             }
         }
+        // Ping outside the valid range is removed later, so it is not included in the summary.
+        if (ping.getMin() >= 0) {
+            executeOther(UpdatePlayerSummaryTransaction.ping(playerUUID, serverUUID, ping));
+        }
     }
 
     private void retry(Ping ping, DBOpException failed) {
@@ -118,4 +124,9 @@ public class PingStoreTransaction extends Transaction {
         List<Integer> values = Lists.map(pingList, DateObj::getValue);
         return (int) Median.forList(values).calculate();
     }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        return Optional.of(playerUUID);
+    }
 }
\ No newline at end of file
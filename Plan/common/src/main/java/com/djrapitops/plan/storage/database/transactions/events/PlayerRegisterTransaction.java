@@ -60,6 +60,12 @@ public class PlayerRegisterTransaction extends Transaction {
         if (!playerUUID.toString().equals(playerName)) {
             execute(DataStoreQueries.updatePlayerName(playerUUID, playerName));
         }
+        // Players are registered when they join, so the id is cached while they are online.
+        if (userId != null) {
+            cacheUserIdOnCommit(playerUUID, userId);
+        } else {
+            lookupUserId(playerUUID);
+        }
     }
 
     private void insertUser(long registerDate) {
@@ -76,4 +82,9 @@ public class PlayerRegisterTransaction extends Transaction {
     public Optional<Integer> getUserId() {
         return Optional.ofNullable(userId);
     }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        return Optional.ofNullable(playerUUID);
+    }
 }
\ No newline at end of file
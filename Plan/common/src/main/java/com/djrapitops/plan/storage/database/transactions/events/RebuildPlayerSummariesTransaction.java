@@ -0,0 +1,162 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.events;
+
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
+import com.djrapitops.plan.storage.database.sql.tables.GeoInfoTable;
+import com.djrapitops.plan.storage.database.sql.tables.PingTable;
+import com.djrapitops.plan.storage.database.sql.tables.PlayerSummaryTable;
+import com.djrapitops.plan.storage.database.sql.tables.SessionsTable;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Transaction for calculating {@link PlayerSummaryTable} rows again from sessions, ping and geolocations.
+ *
+ * @author AuroraLS3
+ */
+public class RebuildPlayerSummariesTransaction extends Transaction {
+
+    private static final String SUMMARY = PlayerSummaryTable.TABLE_NAME;
+    private static final String NETWORK = String.valueOf(PlayerSummaryTable.NETWORK_SERVER_ID);
+
+    private final UserIdSet userIds;
+    private final boolean onlyPing;
+
+    private RebuildPlayerSummariesTransaction(UserIdSet userIds, boolean onlyPing) {
+        this.userIds = userIds;
+        this.onlyPing = onlyPing;
+    }
+
+    /**
+     * Calculate rows of all players again.
+     *
+     * @return new transaction.
+     */
+    public static RebuildPlayerSummariesTransaction all() {
+        return new RebuildPlayerSummariesTransaction(null, false);
+    }
+
+    /**
+     * Calculate rows of some players again, when their data has changed in a way that can not be tracked.
+     *
+     * @param userIds plan_users ids of the players.
+     * @return new transaction.
+     */
+    public static RebuildPlayerSummariesTransaction ofUsers(UserIdSet userIds) {
+        return new RebuildPlayerSummariesTransaction(userIds, false);
+    }
+
+    /**
+     * Calculate ping of some players again after ping of the players was removed.
+     *
+     * @param userIds plan_users ids of the players.
+     * @return new transaction.
+     */
+    public static RebuildPlayerSummariesTransaction pingOfUsers(UserIdSet userIds) {
+        return new RebuildPlayerSummariesTransaction(userIds, true);
+    }
+
+    @Override
+    protected boolean shouldBeExecuted() {
+        return userIds == null || !userIds.isEmpty();
+    }
+
+    @Override
+    protected void performOperations() {
+        if (onlyPing) {
+            updatePing(false);
+            updatePing(true);
+            return;
+        }
+
+        execute(DELETE_FROM + SUMMARY + (userIds != null ? WHERE + PlayerSummaryTable.USER_ID + " IN (" + userIds.join(",") + ')' : ""));
+        insertSessionData(false);
+        insertSessionData(true);
+        insertMissingRows(PingTable.TABLE_NAME, PingTable.USER_ID, PingTable.SERVER_ID);
+        insertMissingRows(PingTable.TABLE_NAME, PingTable.USER_ID, null);
+        insertMissingRows(GeoInfoTable.TABLE_NAME, GeoInfoTable.USER_ID, null);
+        updatePing(false);
+        updatePing(true);
+        updateGeolocation();
+    }
+
+    private String userIdsIn(String column) {
+        return userIds != null ? column + " IN (" + userIds.join(",") + ')' : null;
+    }
+
+    private void insertSessionData(boolean network) {
+        String userFilter = userIdsIn("s." + SessionsTable.USER_ID);
+        execute("INSERT INTO " + SUMMARY + " (" +
+                PlayerSummaryTable.USER_ID + ',' +
+                PlayerSummaryTable.SERVER_ID + ',' +
+                PlayerSummaryTable.LAST_SEEN + ',' +
+                PlayerSummaryTable.SESSION_COUNT + ',' +
+                PlayerSummaryTable.ACTIVE_PLAYTIME + ") " +
+                SELECT + "s." + SessionsTable.USER_ID + ',' +
+                (network ? NETWORK : "s." + SessionsTable.SERVER_ID) + ',' +
+                "MAX(s." + SessionsTable.SESSION_END + ")," +
+                "COUNT(1)," +
+                "SUM(s." + SessionsTable.SESSION_END + "-s." + SessionsTable.SESSION_START + "-s." + SessionsTable.AFK_TIME + ')' +
+                FROM + SessionsTable.TABLE_NAME + " s" +
+                (userFilter != null ? WHERE + userFilter : "") +
+                GROUP_BY + "s." + SessionsTable.USER_ID +
+                (network ? "" : ",s." + SessionsTable.SERVER_ID));
+    }
+
+    private void insertMissingRows(String tableName, String userIdColumn, String serverIdColumn) {
+        String userFilter = userIdsIn("d." + userIdColumn);
+        execute("INSERT INTO " + SUMMARY + " (" +
+                PlayerSummaryTable.USER_ID + ',' +
+                PlayerSummaryTable.SERVER_ID + ") " +
+                SELECT + DISTINCT + "d." + userIdColumn + ',' +
+                (serverIdColumn == null ? NETWORK : "d." + serverIdColumn) +
+                FROM + tableName + " d" +
+                WHERE + "NOT EXISTS (" + SELECT + "1" + FROM + SUMMARY + " ps" +
+                WHERE + "ps." + PlayerSummaryTable.USER_ID + "=d." + userIdColumn +
+                AND + "ps." + PlayerSummaryTable.SERVER_ID + '=' + (serverIdColumn == null ? NETWORK : "d." + serverIdColumn) + ')' +
+                (userFilter != null ? AND + userFilter : ""));
+    }
+
+    private void updatePing(boolean network) {
+        String pingOfRow = FROM + PingTable.TABLE_NAME + " p" +
+                WHERE + "p." + PingTable.USER_ID + '=' + SUMMARY + '.' + PlayerSummaryTable.USER_ID +
+                (network ? "" : AND + "p." + PingTable.SERVER_ID + '=' + SUMMARY + '.' + PlayerSummaryTable.SERVER_ID) +
+                AND + "p." + PingTable.MIN_PING + ">=0";
+        String userFilter = userIdsIn(PlayerSummaryTable.USER_ID);
+        execute("UPDATE " + SUMMARY + " SET " +
+                PlayerSummaryTable.MIN_PING + "=(" + SELECT + "MIN(p." + PingTable.MIN_PING + ')' + pingOfRow + ")," +
+                PlayerSummaryTable.MAX_PING + "=(" + SELECT + "MAX(p." + PingTable.MAX_PING + ')' + pingOfRow + ")," +
+                PlayerSummaryTable.PING_TOTAL + "=(" + SELECT + "COALESCE(SUM(p." + PingTable.AVG_PING + "),0)" + pingOfRow + ")," +
+                PlayerSummaryTable.PING_COUNT + "=(" + SELECT + "COUNT(1)" + pingOfRow + ')' +
+                WHERE + PlayerSummaryTable.SERVER_ID + (network ? "=" : "<>") + NETWORK +
+                (userFilter != null ? AND + userFilter : ""));
+    }
+
+    private void updateGeolocation() {
+        String geolocationsOfRow = FROM + GeoInfoTable.TABLE_NAME + " g" +
+                WHERE + "g." + GeoInfoTable.USER_ID + '=' + SUMMARY + '.' + PlayerSummaryTable.USER_ID;
+        String userFilter = userIdsIn(PlayerSummaryTable.USER_ID);
+        execute("UPDATE " + SUMMARY + " SET " +
+                PlayerSummaryTable.GEOLOCATION + "=(" + SELECT + "g." + GeoInfoTable.GEOLOCATION + geolocationsOfRow +
+                ORDER_BY + "g." + GeoInfoTable.LAST_USED + " DESC LIMIT 1)," +
+                PlayerSummaryTable.GEOLOCATION_LAST_USED + "=(" + SELECT + "MAX(g." + GeoInfoTable.LAST_USED + ')' + geolocationsOfRow + ')' +
+                WHERE + PlayerSummaryTable.SERVER_ID + '=' + NETWORK +
+                (userFilter != null ? AND + userFilter : ""));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.events;
+
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.queries.QueryParameterSetter;
+import com.djrapitops.plan.storage.database.sql.tables.ActivityIndexSnapshotTable;
+import com.djrapitops.plan.storage.database.sql.tables.ActivityIndexSnapshotValueTable;
+import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
+import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Transaction for removing activity index snapshots, so that they are taken again.
+ *
+ * @author AuroraLS3
+ */
+public class RemoveActivityIndexSnapshotsTransaction extends Transaction {
+
+    private final String whereClause;
+    private final Object[] parameters;
+
+    private RemoveActivityIndexSnapshotsTransaction(String whereClause, Object... parameters) {
+        this.whereClause = whereClause;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Remove all snapshots, when data has changed in a way that can not be tracked.
+     *
+     * @return new transaction.
+     */
+    public static RemoveActivityIndexSnapshotsTransaction all() {
+        return new RemoveActivityIndexSnapshotsTransaction("");
+    }
+
+    /**
+     * Remove snapshots that are too old to be used.
+     *
+     * @param date Epoch ms, snapshots before this are removed.
+     * @return new transaction.
+     */
+    public static RemoveActivityIndexSnapshotsTransaction olderThan(long date) {
+        return new RemoveActivityIndexSnapshotsTransaction(WHERE + ActivityIndexSnapshotTable.SNAPSHOT_DATE + "<?", date);
+    }
+
+    /**
+     * Remove snapshot of a specific date, so that it can be replaced.
+     *
+     * @param serverUUID UUID of the Plan server, or null for network snapshot.
+     * @param date       Epoch ms of the snapshot.
+     * @param threshold  Playtime threshold of the snapshot.
+     * @return new transaction.
+     */
+    public static RemoveActivityIndexSnapshotsTransaction exactSnapshot(ServerUUID serverUUID, long date, long threshold) {
+        if (serverUUID == null) {
+            return new RemoveActivityIndexSnapshotsTransaction(WHERE + ActivityIndexSnapshotTable.SERVER_ID + IS_NULL +
+                    AND + ActivityIndexSnapshotTable.SNAPSHOT_DATE + "=?" +
+                    AND + ActivityIndexSnapshotTable.PLAYTIME_THRESHOLD + "=?",
+                    date, threshold);
+        }
+        return new RemoveActivityIndexSnapshotsTransaction(WHERE + ActivityIndexSnapshotTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
+                AND + ActivityIndexSnapshotTable.SNAPSHOT_DATE + "=?" +
+                AND + ActivityIndexSnapshotTable.PLAYTIME_THRESHOLD + "=?",
+                serverUUID, date, threshold);
+    }
+
+    /**
+     * Remove snapshots of the server and the network that a session stored after the snapshot affects.
+     * <p>
+     * Activity index looks at three weeks of sessions, so the session affects snapshots up to three weeks after it.
+     *
+     * @param serverUUID   UUID of the Plan server the session was on.
+     * @param sessionStart Epoch ms the session started.
+     * @param sessionEnd   Epoch ms the session ended.
+     * @return new transaction.
+     */
+    public static RemoveActivityIndexSnapshotsTransaction affectedBySession(ServerUUID serverUUID, long sessionStart, long sessionEnd) {
+        return new RemoveActivityIndexSnapshotsTransaction(WHERE + '(' + ActivityIndexSnapshotTable.SERVER_ID + IS_NULL +
+                OR + ActivityIndexSnapshotTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID + ')' +
+                AND + ActivityIndexSnapshotTable.SNAPSHOT_DATE + ">=?" +
+                AND + ActivityIndexSnapshotTable.SNAPSHOT_DATE + "<=?",
+                serverUUID, sessionStart, sessionEnd + TimeUnit.DAYS.toMillis(21L));
+    }
+
+    @Override
+    protected void performOperations() {
+        execute(new ExecStatement(DELETE_FROM + ActivityIndexSnapshotValueTable.TABLE_NAME +
+                WHERE + ActivityIndexSnapshotValueTable.SNAPSHOT_ID + " IN (" +
+                SELECT + ActivityIndexSnapshotTable.ID + FROM + ActivityIndexSnapshotTable.TABLE_NAME + whereClause + ')') {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                QueryParameterSetter.setParameters(statement, parameters);
+            }
+        });
+        execute(new ExecStatement(DELETE_FROM + ActivityIndexSnapshotTable.TABLE_NAME + whereClause) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                QueryParameterSetter.setParameters(statement, parameters);
+            }
+        });
+    }
+}
@@ -39,6 +39,9 @@ public class ServerShutdownTransaction extends ThrowawayTransaction {
     @Override
     protected void performOperations() {
         execute(LargeStoreQueries.storeAllSessionsWithKillAndWorldData(unsavedSessions));
+        for (FinishedSession session : unsavedSessions) {
+            executeOther(UpdatePlayerSummaryTransaction.session(session));
+        }
         SessionCache.clear();
     }
 }
\ No newline at end of file
@@ -40,6 +40,9 @@ public class ShutdownDataPreservationTransaction extends Transaction {
         ensureAllPlayersAreRegistered();
 
         execute(LargeStoreQueries.storeAllSessionsWithKillAndWorldData(finishedSessions));
+        for (FinishedSession session : finishedSessions) {
+            executeOther(UpdatePlayerSummaryTransaction.session(session));
+        }
     }
 
     private void ensureAllPlayersAreRegistered() {
@@ -0,0 +1,157 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.events;
+
+import com.djrapitops.plan.delivery.domain.mutators.ActivityIndex;
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
+import com.djrapitops.plan.storage.database.sql.tables.*;
+import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Transaction for storing a weekly snapshot of activity indexes of a server or the network.
+ * <p>
+ * Replaces earlier snapshot of the same date and threshold.
+ *
+ * @author AuroraLS3
+ */
+public class StoreActivityIndexSnapshotTransaction extends ThrowawayTransaction {
+
+    private final ServerUUID serverUUID;
+    private final long date;
+    private final long threshold;
+
+    /**
+     * Create a new transaction.
+     *
+     * @param serverUUID UUID of the Plan server, or null for snapshot of the network.
+     * @param date       Epoch ms of the snapshot.
+     * @param threshold  Playtime threshold for activity index calculation.
+     */
+    public StoreActivityIndexSnapshotTransaction(ServerUUID serverUUID, long date, long threshold) {
+        this.serverUUID = serverUUID;
+        this.date = date;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void performOperations() {
+        executeOther(RemoveActivityIndexSnapshotsTransaction.exactSnapshot(serverUUID, date, threshold));
+
+        int userCount = query(countRegisteredUsers());
+        int snapshotId = executeReturningId(insertSnapshot(userCount));
+        execute(serverUUID != null ? insertServerValues(snapshotId) : insertNetworkValues(snapshotId));
+    }
+
+    private QueryStatement<Integer> countRegisteredUsers() {
+        String sql = serverUUID != null
+                ? SELECT + "COUNT(1) as count" + FROM + UserInfoTable.TABLE_NAME +
+                WHERE + UserInfoTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
+                AND + UserInfoTable.REGISTERED + "<=?"
+                : SELECT + "COUNT(1) as count" + FROM + UsersTable.TABLE_NAME +
+                WHERE + UsersTable.REGISTERED + "<=?";
+        return new QueryStatement<>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                int index = 1;
+                if (serverUUID != null) statement.setString(index++, serverUUID.toString());
+                statement.setLong(index, date);
+            }
+
+            @Override
+            public Integer processResults(ResultSet set) throws SQLException {
+                return set.next() ? set.getInt("count") : 0;
+            }
+        };
+    }
+
+    private ExecStatement insertSnapshot(int userCount) {
+        String sql = serverUUID != null ? ActivityIndexSnapshotTable.INSERT_STATEMENT : ActivityIndexSnapshotTable.INSERT_NETWORK_STATEMENT;
+        return new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                int index = 1;
+                if (serverUUID != null) statement.setString(index++, serverUUID.toString());
+                statement.setLong(index++, date);
+                statement.setLong(index++, threshold);
+                statement.setInt(index++, userCount);
+                statement.setLong(index, System.currentTimeMillis());
+            }
+        };
+    }
+
+    private static String insertValuesSQL() {
+        return "INSERT INTO " + ActivityIndexSnapshotValueTable.TABLE_NAME + " (" +
+                ActivityIndexSnapshotValueTable.SNAPSHOT_ID + ',' +
+                ActivityIndexSnapshotValueTable.USER_ID + ',' +
+                ActivityIndexSnapshotValueTable.ACTIVITY_INDEX + ") ";
+    }
+
+    private ExecStatement insertServerValues(int snapshotId) {
+        String sql = insertValuesSQL() +
+                SELECT + "?,u." + UserInfoTable.USER_ID + ",s.activity_index" +
+                FROM + UserInfoTable.TABLE_NAME + " u" +
+                INNER_JOIN + '(' + ActivityIndexQueries.selectActivityIndexSQL() + ") s on s.user_id=u." + UserInfoTable.USER_ID +
+                WHERE + "u." + UserInfoTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
+                AND + "u." + UserInfoTable.REGISTERED + "<=?" +
+                AND + "s.activity_index>=?";
+        return new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, snapshotId);
+                ActivityIndexQueries.setSelectActivityIndexSQLParameters(statement, 2, threshold, serverUUID, date);
+                statement.setString(13, serverUUID.toString());
+                statement.setLong(14, date);
+                statement.setDouble(15, ActivityIndex.IRREGULAR);
+            }
+        };
+    }
+
+    private ExecStatement insertNetworkValues(int snapshotId) {
+        String sql = insertValuesSQL() +
+                SELECT + "?,u." + UsersTable.ID + ",s.activity_index" +
+                FROM + UsersTable.TABLE_NAME + " u" +
+                INNER_JOIN + '(' + NetworkActivityIndexQueries.selectActivityIndexSQL() + ") s on s.user_id=u." + UsersTable.ID +
+                WHERE + "u." + UsersTable.REGISTERED + "<=?" +
+                AND + "s.activity_index>=?";
+        return new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, snapshotId);
+                NetworkActivityIndexQueries.setSelectActivityIndexSQLParameters(statement, 2, threshold, date);
+                statement.setLong(10, date);
+                statement.setDouble(11, ActivityIndex.IRREGULAR);
+            }
+        };
+    }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        // Network snapshot reads sessions of every server for a long time, so it only takes one lane instead of all of them.
+        return Optional.of(serverUUID != null ? serverUUID : ActivityIndexSnapshotTable.TABLE_NAME);
+    }
+}
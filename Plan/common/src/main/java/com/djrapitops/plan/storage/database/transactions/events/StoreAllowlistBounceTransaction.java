@@ -24,6 +24,7 @@ import com.djrapitops.plan.utilities.dev.Untrusted;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -69,4 +70,9 @@ public class StoreAllowlistBounceTransaction extends Transaction {
             });
         }
     }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        return Optional.of(playerUUID);
+    }
 }
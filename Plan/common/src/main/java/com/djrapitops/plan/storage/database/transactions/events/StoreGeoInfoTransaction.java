@@ -23,6 +23,7 @@ import com.djrapitops.plan.storage.database.queries.PlayerFetchQueries;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 
 import java.net.InetAddress;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.UnaryOperator;
 
@@ -88,6 +89,7 @@ public class StoreGeoInfoTransaction extends Transaction {
                 throw failed;
             }
         }
+        executeOther(UpdatePlayerSummaryTransaction.geolocation(playerUUID, geoInfo));
     }
 
     private void retry(DBOpException failed) {
@@ -107,4 +109,9 @@ public class StoreGeoInfoTransaction extends Transaction {
             // Ignored. Likely that another transaction managed to insert first.
         }
     }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        return Optional.of(playerUUID);
+    }
 }
\ No newline at end of file
@@ -17,6 +17,7 @@
 package com.djrapitops.plan.storage.database.transactions.events;
 
 import com.djrapitops.plan.delivery.domain.container.CachingSupplier;
+import com.djrapitops.plan.exceptions.database.DBOpException;
 import com.djrapitops.plan.storage.database.queries.HasMoreThanZeroQueryStatement;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.sql.tables.JoinAddressTable;
@@ -71,12 +72,23 @@ public class StoreJoinAddressTransaction extends Transaction {
 
     @Override
     protected void performOperations() {
-        newId = executeReturningId(new ExecStatement(JoinAddressTable.INSERT_STATEMENT) {
-            @Override
-            public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setString(1, getAddress());
-            }
-        });
+        try {
+            newId = executeReturningId(new ExecStatement(JoinAddressTable.INSERT_STATEMENT) {
+                @Override
+                public void prepare(PreparedStatement statement) throws SQLException {
+                    statement.setString(1, getAddress());
+                }
+            });
+        } catch (DBOpException failed) {
+            // Sessions store their join address on the lane of the player, so the address might have been stored at the same time.
+            if (!failed.isDuplicateKeyViolation()) throw failed;
+            newId = -1;
+        }
+    }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        return Optional.ofNullable(getAddress());
     }
 
     public Optional<Integer> getNewId() {
@@ -20,6 +20,7 @@ import com.djrapitops.plan.delivery.domain.Nickname;
 import com.djrapitops.plan.storage.database.queries.DataStoreQueries;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
 
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.BiPredicate;
 
@@ -49,4 +50,9 @@ public class StoreNicknameTransaction extends ThrowawayTransaction {
     protected void performOperations() {
         execute(DataStoreQueries.storePlayerNickname(playerUUID, nickname));
     }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        return Optional.of(playerUUID);
+    }
 }
\ No newline at end of file
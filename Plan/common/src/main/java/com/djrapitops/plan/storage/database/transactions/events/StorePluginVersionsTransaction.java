@@ -27,6 +27,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Stores changes to the plugin list found during enable.
@@ -69,4 +70,9 @@ public class StorePluginVersionsTransaction extends Transaction {
     public List<PluginMetadata> getChangeList() {
         return changeList;
     }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        return Optional.of(serverUUID);
+    }
 }
@@ -18,15 +18,18 @@ package com.djrapitops.plan.storage.database.transactions.events;
 
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
 import com.djrapitops.plan.delivery.webserver.http.InternalRequest;
+import com.djrapitops.plan.storage.database.IdentityCache;
 import com.djrapitops.plan.storage.database.sql.tables.AccessLogTable;
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.GroupCommittable;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
 import org.apache.commons.lang3.StringUtils;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Optional;
 
-public class StoreRequestTransaction extends ThrowawayTransaction {
+public class StoreRequestTransaction extends ThrowawayTransaction implements GroupCommittable {
 
     private final long timestamp;
     private final String accessAddress;
@@ -53,7 +56,16 @@ public class StoreRequestTransaction extends ThrowawayTransaction {
 
     @Override
     protected void performOperations() {
-        execute(new ExecStatement(AccessLogTable.INSERT_NO_USER) {
+        execute(storeRequest());
+    }
+
+    @Override
+    public Optional<ExecStatement> getBatchableStatement(IdentityCache identities) {
+        return Optional.of(storeRequest());
+    }
+
+    private ExecStatement storeRequest() {
+        return new ExecStatement(AccessLogTable.INSERT_NO_USER) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
                 statement.setLong(1, timestamp);
@@ -62,6 +74,11 @@ public class StoreRequestTransaction extends ThrowawayTransaction {
                 statement.setString(4, url);
                 statement.setInt(5, responseCode);
             }
-        });
+        };
+    }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        return Optional.ofNullable(accessAddress);
     }
 }
@@ -0,0 +1,123 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.events;
+
+import com.djrapitops.plan.delivery.domain.SessionRollup;
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.queries.QueryParameterSetter;
+import com.djrapitops.plan.storage.database.queries.analysis.SessionRollupQueries;
+import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
+import com.djrapitops.plan.storage.database.sql.tables.SessionRollupTable;
+import com.djrapitops.plan.storage.database.transactions.ExecBatchStatement;
+import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.NavigableMap;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Transaction for rolling up sessions of closed days or hours into {@link SessionRollupTable}.
+ * <p>
+ * A row is stored for every day or hour in the range, so that days without sessions are known to be rolled up.
+ *
+ * @author AuroraLS3
+ */
+public class StoreSessionRollupsTransaction extends ThrowawayTransaction {
+
+    private final ServerUUID serverUUID;
+    private final long timeZoneOffset;
+    private final long resolution;
+    private final long firstBucket;
+    private final long lastBucket;
+
+    /**
+     * Create a new transaction.
+     *
+     * @param serverUUID     UUID of the Plan server, or null for rollups of the whole network.
+     * @param timeZoneOffset Offset from {@link java.util.TimeZone#getOffset(long)}, applied to the dates before grouping.
+     * @param resolution     Length of a day or an hour in ms.
+     * @param firstBucket    Epoch ms (Start of day at 0 AM, no offset) of the first day, inclusive.
+     * @param lastBucket     Epoch ms (Start of day at 0 AM, no offset) of the last day, exclusive.
+     */
+    public StoreSessionRollupsTransaction(ServerUUID serverUUID, long timeZoneOffset, long resolution, long firstBucket, long lastBucket) {
+        this.serverUUID = serverUUID;
+        this.timeZoneOffset = timeZoneOffset;
+        this.resolution = resolution;
+        this.firstBucket = firstBucket;
+        this.lastBucket = lastBucket;
+    }
+
+    @Override
+    protected boolean shouldBeExecuted() {
+        return firstBucket < lastBucket && super.shouldBeExecuted();
+    }
+
+    @Override
+    protected void performOperations() {
+        NavigableMap<Long, SessionRollup> rollups = query(SessionRollupQueries.aggregateSessions(
+                serverUUID, timeZoneOffset, resolution, firstBucket - timeZoneOffset, lastBucket - timeZoneOffset
+        ));
+
+        execute(deleteExistingRollups());
+        execute(insertRollups(rollups));
+    }
+
+    private ExecStatement deleteExistingRollups() {
+        String sql = DELETE_FROM + SessionRollupTable.TABLE_NAME +
+                WHERE + SessionRollupTable.SERVER_ID + (serverUUID != null ? "=" + ServerTable.SELECT_SERVER_ID : IS_NULL) +
+                AND + SessionRollupTable.TIMEZONE_OFFSET + "=?" +
+                AND + SessionRollupTable.RESOLUTION + "=?" +
+                AND + SessionRollupTable.DATE + ">=?" +
+                AND + SessionRollupTable.DATE + "<?";
+        return new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                if (serverUUID != null) {
+                    QueryParameterSetter.setParameters(statement, serverUUID, timeZoneOffset, resolution, firstBucket, lastBucket);
+                } else {
+                    QueryParameterSetter.setParameters(statement, timeZoneOffset, resolution, firstBucket, lastBucket);
+                }
+            }
+        };
+    }
+
+    private ExecStatement insertRollups(NavigableMap<Long, SessionRollup> rollups) {
+        String sql = serverUUID != null ? SessionRollupTable.INSERT_STATEMENT : SessionRollupTable.INSERT_NETWORK_STATEMENT;
+        return new ExecBatchStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (long bucket = firstBucket; bucket < lastBucket; bucket += resolution) {
+                    SessionRollup rollup = rollups.getOrDefault(bucket, SessionRollup.empty(bucket));
+                    int index = 1;
+                    if (serverUUID != null) statement.setString(index++, serverUUID.toString());
+                    statement.setLong(index++, timeZoneOffset);
+                    statement.setLong(index++, resolution);
+                    statement.setLong(index++, bucket);
+                    statement.setInt(index++, rollup.getUniquePlayers());
+                    statement.setInt(index++, rollup.getNewPlayers());
+                    statement.setInt(index++, rollup.getSessionCount());
+                    statement.setLong(index++, rollup.getPlaytime());
+                    statement.setLong(index, rollup.getAfkTime());
+                    statement.addBatch();
+                }
+            }
+        };
+    }
+}
@@ -21,9 +21,11 @@ import com.djrapitops.plan.exceptions.database.DBOpException;
 import com.djrapitops.plan.gathering.domain.FinishedSession;
 import com.djrapitops.plan.gathering.domain.event.JoinAddress;
 import com.djrapitops.plan.storage.database.queries.DataStoreQueries;
-import com.djrapitops.plan.storage.database.queries.PlayerFetchQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexSnapshotQueries;
+import com.djrapitops.plan.storage.database.transactions.GroupCommittable;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -31,7 +33,7 @@ import java.util.UUID;
  *
  * @author AuroraLS3
  */
-public class StoreSessionTransaction extends Transaction {
+public class StoreSessionTransaction extends Transaction implements GroupCommittable {
 
     private final FinishedSession session;
 
@@ -41,7 +43,7 @@ public class StoreSessionTransaction extends Transaction {
 
     @Override
     protected void performOperations() {
-        if (Boolean.FALSE.equals(query(PlayerFetchQueries.isPlayerRegistered(session.getPlayerUUID())))) {
+        if (lookupUserId(session.getPlayerUUID()).isEmpty()) {
             registerPlayer();
         }
         try {
@@ -57,7 +59,20 @@ public class StoreSessionTransaction extends Transaction {
 
     private void storeSession() {
         storeJoinAddressIfPresent();
-        execute(DataStoreQueries.storeSession(session));
+        Integer userId = lookupUserId(session.getPlayerUUID()).orElse(null);
+        Integer serverId = lookupServerId(session.getServerUUID()).orElse(null);
+        execute(DataStoreQueries.storeSession(session, userId, serverId));
+        removeOutdatedActivityIndexSnapshots();
+        executeOther(UpdatePlayerSummaryTransaction.session(session));
+        executeOther(new UpdateSessionRollupsTransaction(session.getServerUUID(), session.getStart()));
+    }
+
+    private void removeOutdatedActivityIndexSnapshots() {
+        // Snapshots are taken at the start of each week, so only sessions that started before this week affect them.
+        long latestPossibleSnapshot = ActivityIndexSnapshotQueries.getWeekStart(System.currentTimeMillis());
+        if (session.getStart() <= latestPossibleSnapshot) {
+            executeOther(RemoveActivityIndexSnapshotsTransaction.affectedBySession(session.getServerUUID(), session.getStart(), session.getEnd()));
+        }
     }
 
     private void storeJoinAddressIfPresent() {
@@ -69,6 +84,8 @@ public class StoreSessionTransaction extends Transaction {
 
     private void retry(DBOpException failed) {
         try {
+            // Player might have been removed by another server, so the cached id is no longer valid.
+            invalidateUserId(session.getPlayerUUID());
             registerPlayer();
             storeSession();
         } catch (DBOpException anotherFail) {
@@ -88,4 +105,9 @@ public class StoreSessionTransaction extends Transaction {
             // Ignored. Likely that another transaction managed to insert first.
         }
     }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        return Optional.of(session.getPlayerUUID());
+    }
 }
\ No newline at end of file
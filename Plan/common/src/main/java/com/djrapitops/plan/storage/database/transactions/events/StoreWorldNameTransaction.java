@@ -25,6 +25,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Optional;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
 
@@ -66,4 +67,9 @@ public class StoreWorldNameTransaction extends Transaction {
     protected void performOperations() {
         execute(DataStoreQueries.insertWorldName(serverUUID, worldName));
     }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        return Optional.of(serverUUID);
+    }
 }
\ No newline at end of file
@@ -18,11 +18,15 @@ package com.djrapitops.plan.storage.database.transactions.events;
 
 import com.djrapitops.plan.gathering.domain.TPS;
 import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.IdentityCache;
 import com.djrapitops.plan.storage.database.queries.DataStoreQueries;
 import com.djrapitops.plan.storage.database.queries.objects.TPSQueries;
+import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.GroupCommittable;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 import net.playeranalytics.plugin.server.PluginLogger;
 
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -30,7 +34,7 @@ import java.util.concurrent.TimeUnit;
  *
  * @author AuroraLS3
  */
-public class TPSStoreTransaction extends Transaction {
+public class TPSStoreTransaction extends Transaction implements GroupCommittable {
 
     private static long lastStorageCheck = 0L;
 
@@ -57,12 +61,23 @@ public class TPSStoreTransaction extends Transaction {
     @Override
     protected void performOperations() {
         long now = System.currentTimeMillis();
-        if (logger != null && now - lastStorageCheck > TimeUnit.MINUTES.toMillis(30)) {
+        if (isStorageCheckDue(now)) {
             performDuplicateServerUUIDServerCheck(now);
             TPSStoreTransaction.setLastStorageCheck(now);
         }
 
-        execute(DataStoreQueries.storeTPS(serverUUID, tps));
+        execute(DataStoreQueries.storeTPS(serverUUID, lookupServerId(serverUUID).orElse(null), tps));
+    }
+
+    private boolean isStorageCheckDue(long now) {
+        return logger != null && now - lastStorageCheck > TimeUnit.MINUTES.toMillis(30);
+    }
+
+    @Override
+    public Optional<ExecStatement> getBatchableStatement(IdentityCache identities) {
+        // Duplicate server check needs to query the database, so the transaction is executed on its own.
+        if (isStorageCheckDue(System.currentTimeMillis())) return Optional.empty();
+        return Optional.of(DataStoreQueries.storeTPS(serverUUID, identities.getServerId(serverUUID).orElse(null), tps));
     }
 
     private void performDuplicateServerUUIDServerCheck(long now) {
@@ -74,4 +89,9 @@ public class TPSStoreTransaction extends Transaction {
                     " - Check that you have not copied /plugins/Plan/ServerInfoFile.yml between two servers. (This warning will show on both servers)");
         }
     }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        return Optional.of(serverUUID);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.events;
+
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
+import com.djrapitops.plan.storage.database.sql.tables.PlayerSummaryTable;
+import com.djrapitops.plan.storage.database.transactions.ExecBatchStatement;
+import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Transaction for storing current activity index of players on a server or the network to {@link PlayerSummaryTable}.
+ * <p>
+ * Players table reads the stored value instead of calculating activity index from three weeks of sessions on every request.
+ * Only rows with a changed value are updated.
+ *
+ * @author AuroraLS3
+ */
+public class UpdateActivityIndexSummariesTransaction extends ThrowawayTransaction {
+
+    private final ServerUUID serverUUID;
+    private final long date;
+    private final long threshold;
+
+    /**
+     * Create a new transaction.
+     *
+     * @param serverUUID UUID of the Plan server, or null for activity index on the network.
+     * @param date       Epoch ms the activity index is calculated on.
+     * @param threshold  Playtime threshold for activity index calculation.
+     */
+    public UpdateActivityIndexSummariesTransaction(ServerUUID serverUUID, long date, long threshold) {
+        this.serverUUID = serverUUID;
+        this.date = date;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void performOperations() {
+        Optional<Integer> serverId = serverUUID != null ? lookupServerId(serverUUID) : Optional.of(PlayerSummaryTable.NETWORK_SERVER_ID);
+        if (!serverId.isPresent()) return;
+
+        Map<Integer, Double> stored = query(storedActivityIndexes(serverId.get()));
+        Map<Integer, Double> calculated = query(calculatedActivityIndexes());
+
+        Map<Integer, Double> changed = new HashMap<>();
+        for (Map.Entry<Integer, Double> entry : stored.entrySet()) {
+            double activityIndex = calculated.getOrDefault(entry.getKey(), 0.0);
+            Double storedIndex = entry.getValue();
+            if (storedIndex == null || Double.compare(storedIndex, activityIndex) != 0) {
+                changed.put(entry.getKey(), activityIndex);
+            }
+        }
+        if (changed.isEmpty()) return;
+
+        String sql = "UPDATE " + PlayerSummaryTable.TABLE_NAME + " SET " + PlayerSummaryTable.ACTIVITY_INDEX + "=?" +
+                WHERE + PlayerSummaryTable.USER_ID + "=?" +
+                AND + PlayerSummaryTable.SERVER_ID + "=?";
+        execute(new ExecBatchStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (Map.Entry<Integer, Double> entry : changed.entrySet()) {
+                    statement.setDouble(1, entry.getValue());
+                    statement.setInt(2, entry.getKey());
+                    statement.setInt(3, serverId.get());
+                    statement.addBatch();
+                }
+            }
+        });
+    }
+
+    private Query<Map<Integer, Double>> storedActivityIndexes(int serverId) {
+        String sql = SELECT + PlayerSummaryTable.USER_ID + ',' + PlayerSummaryTable.ACTIVITY_INDEX +
+                FROM + PlayerSummaryTable.TABLE_NAME +
+                WHERE + PlayerSummaryTable.SERVER_ID + "=?";
+        return new QueryStatement<>(sql, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, serverId);
+            }
+
+            @Override
+            public Map<Integer, Double> processResults(ResultSet set) throws SQLException {
+                Map<Integer, Double> activityIndexes = new HashMap<>();
+                while (set.next()) {
+                    double activityIndex = set.getDouble(PlayerSummaryTable.ACTIVITY_INDEX);
+                    activityIndexes.put(set.getInt(PlayerSummaryTable.USER_ID), set.wasNull() ? null : activityIndex);
+                }
+                return activityIndexes;
+            }
+        };
+    }
+
+    private Query<Map<Integer, Double>> calculatedActivityIndexes() {
+        String sql = SELECT + "a.user_id,a.activity_index" +
+                FROM + '(' + (serverUUID != null ? ActivityIndexQueries.selectActivityIndexSQL() : NetworkActivityIndexQueries.selectActivityIndexSQL()) + ") a" +
+                WHERE + "a.activity_index>0";
+        return new QueryStatement<>(sql, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                if (serverUUID != null) {
+                    ActivityIndexQueries.setSelectActivityIndexSQLParameters(statement, 1, threshold, serverUUID, date);
+                } else {
+                    NetworkActivityIndexQueries.setSelectActivityIndexSQLParameters(statement, 1, threshold, date);
+                }
+            }
+
+            @Override
+            public Map<Integer, Double> processResults(ResultSet set) throws SQLException {
+                Map<Integer, Double> activityIndexes = new HashMap<>();
+                while (set.next()) {
+                    activityIndexes.put(set.getInt("user_id"), set.getDouble("activity_index"));
+                }
+                return activityIndexes;
+            }
+        };
+    }
+
+    @Override
+    public Optional<Object> getOrderingKey() {
+        // Network values read sessions of every server, so they take one lane like the network snapshot.
+        return Optional.of(serverUUID != null ? serverUUID : PlayerSummaryTable.TABLE_NAME);
+    }
+}
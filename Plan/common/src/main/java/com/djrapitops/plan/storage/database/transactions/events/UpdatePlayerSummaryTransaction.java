@@ -0,0 +1,202 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.events;
+
+import com.djrapitops.plan.gathering.domain.FinishedSession;
+import com.djrapitops.plan.gathering.domain.GeoInfo;
+import com.djrapitops.plan.gathering.domain.Ping;
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.queries.QueryParameterSetter;
+import com.djrapitops.plan.storage.database.sql.tables.PlayerSummaryTable;
+import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
+import com.djrapitops.plan.storage.database.transactions.ExecBatchStatement;
+import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.Executable;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Transaction for updating {@link PlayerSummaryTable} rows of a player after new data of the player was stored.
+ * <p>
+ * Rows are upserted, so rows that do not exist yet are inserted with the new data,
+ * even if another transaction is writing the same row at the same time.
+ *
+ * @author AuroraLS3
+ */
+public class UpdatePlayerSummaryTransaction extends Transaction {
+
+    private static final String[] PING_COLUMNS = {
+            PlayerSummaryTable.MIN_PING, PlayerSummaryTable.MAX_PING, PlayerSummaryTable.PING_TOTAL, PlayerSummaryTable.PING_COUNT
+    };
+    private static final String PING_SET_CLAUSE = PlayerSummaryTable.MIN_PING + "=CASE WHEN " + PlayerSummaryTable.MIN_PING + IS_NULL +
+            OR + PlayerSummaryTable.MIN_PING + ">? THEN ? ELSE " + PlayerSummaryTable.MIN_PING + " END," +
+            PlayerSummaryTable.MAX_PING + "=CASE WHEN " + PlayerSummaryTable.MAX_PING + IS_NULL +
+            OR + PlayerSummaryTable.MAX_PING + "<? THEN ? ELSE " + PlayerSummaryTable.MAX_PING + " END," +
+            PlayerSummaryTable.PING_TOTAL + '=' + PlayerSummaryTable.PING_TOTAL + "+?," +
+            PlayerSummaryTable.PING_COUNT + '=' + PlayerSummaryTable.PING_COUNT + "+1";
+
+    private final UUID playerUUID;
+    private final ServerUUID serverUUID;
+    private final String[] columns;
+    private final Object[] values;
+    private final String setClause;
+    private final Object[] parameters;
+
+    private Integer userId;
+    private Integer serverId;
+
+    private UpdatePlayerSummaryTransaction(
+            UUID playerUUID, ServerUUID serverUUID,
+            String[] columns, Object[] values,
+            String setClause, Object... parameters
+    ) {
+        this.playerUUID = playerUUID;
+        this.serverUUID = serverUUID;
+        this.columns = columns;
+        this.values = values;
+        this.setClause = setClause;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Update last seen, session count and active playtime of the server and the network after a session.
+     *
+     * @param session Session that was stored.
+     * @return new transaction.
+     */
+    public static UpdatePlayerSummaryTransaction session(FinishedSession session) {
+        String setClause = PlayerSummaryTable.LAST_SEEN + "=CASE WHEN " + PlayerSummaryTable.LAST_SEEN + IS_NULL +
+                OR + PlayerSummaryTable.LAST_SEEN + "<? THEN ? ELSE " + PlayerSummaryTable.LAST_SEEN + " END," +
+                PlayerSummaryTable.SESSION_COUNT + '=' + PlayerSummaryTable.SESSION_COUNT + "+1," +
+                PlayerSummaryTable.ACTIVE_PLAYTIME + '=' + PlayerSummaryTable.ACTIVE_PLAYTIME + "+?";
+        long activePlaytime = session.getEnd() - session.getStart() - session.getAfkTime();
+        return new UpdatePlayerSummaryTransaction(session.getPlayerUUID(), session.getServerUUID(),
+                new String[]{PlayerSummaryTable.LAST_SEEN, PlayerSummaryTable.SESSION_COUNT, PlayerSummaryTable.ACTIVE_PLAYTIME},
+                new Object[]{session.getEnd(), 1, activePlaytime},
+                setClause, session.getEnd(), session.getEnd(), activePlaytime);
+    }
+
+    /**
+     * Update ping of the server and the network after ping was stored.
+     *
+     * @param playerUUID UUID of the player.
+     * @param serverUUID UUID of the Plan server.
+     * @param ping       Ping that was stored.
+     * @return new transaction.
+     */
+    public static UpdatePlayerSummaryTransaction ping(UUID playerUUID, ServerUUID serverUUID, Ping ping) {
+        return new UpdatePlayerSummaryTransaction(playerUUID, serverUUID,
+                PING_COLUMNS, pingValues(ping), PING_SET_CLAUSE, pingParameters(ping));
+    }
+
+    /**
+     * Update ping of the server or the network rows of many players at once after their ping was stored.
+     *
+     * @param dbType        Type of the database.
+     * @param serverUUID    UUID of the Plan server.
+     * @param serverId      id of the server if it is known, see {@link ServerTable#serverIdParameter(Integer)}.
+     * @param pingOfPlayers Ping that was stored. Either all or none of the players need to have a known id.
+     * @param userIds       Known plan_users ids of the players.
+     * @param network       Update the network rows instead of the server rows.
+     * @return Batch that inserts or updates one row of each player.
+     */
+    public static Executable pingBatch(
+            DBType dbType, ServerUUID serverUUID, Integer serverId,
+            Map<UUID, Ping> pingOfPlayers, Map<UUID, Integer> userIds, boolean network
+    ) {
+        Integer anyUserId = userIds.get(pingOfPlayers.keySet().iterator().next());
+        String sql = network ? PlayerSummaryTable.upsertNetworkStatement(dbType, anyUserId, PING_SET_CLAUSE, PING_COLUMNS)
+                : PlayerSummaryTable.upsertStatement(dbType, anyUserId, serverId, PING_SET_CLAUSE, PING_COLUMNS);
+        Object[] serverIdParameter = serverIdParameter(network, serverId, serverUUID);
+        return new ExecBatchStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (Map.Entry<UUID, Ping> entry : pingOfPlayers.entrySet()) {
+                    Ping ping = entry.getValue();
+                    QueryParameterSetter.setParameters(statement, userIdParameter(userIds.get(entry.getKey()), entry.getKey()),
+                            serverIdParameter, pingValues(ping), pingParameters(ping));
+                    statement.addBatch();
+                }
+            }
+        };
+    }
+
+    private static Object[] pingValues(Ping ping) {
+        return new Object[]{ping.getMin(), ping.getMax(), ping.getAverage(), 1};
+    }
+
+    private static Object[] pingParameters(Ping ping) {
+        return new Object[]{ping.getMin(), ping.getMin(), ping.getMax(), ping.getMax(), ping.getAverage()};
+    }
+
+    /**
+     * Update latest geolocation of the player after a geolocation was stored.
+     *
+     * @param playerUUID UUID of the player.
+     * @param geoInfo    Geolocation that was stored.
+     * @return new transaction.
+     */
+    public static UpdatePlayerSummaryTransaction geolocation(UUID playerUUID, GeoInfo geoInfo) {
+        // Geolocation is set first, since MySQL uses already updated values in the rest of the assignments.
+        String newer = PlayerSummaryTable.GEOLOCATION_LAST_USED + IS_NULL + OR + PlayerSummaryTable.GEOLOCATION_LAST_USED + "<=?";
+        String setClause = PlayerSummaryTable.GEOLOCATION + "=CASE WHEN " + newer + " THEN ? ELSE " + PlayerSummaryTable.GEOLOCATION + " END," +
+                PlayerSummaryTable.GEOLOCATION_LAST_USED + "=CASE WHEN " + newer + " THEN ? ELSE " + PlayerSummaryTable.GEOLOCATION_LAST_USED + " END";
+        return new UpdatePlayerSummaryTransaction(playerUUID, null,
+                new String[]{PlayerSummaryTable.GEOLOCATION, PlayerSummaryTable.GEOLOCATION_LAST_USED},
+                new Object[]{geoInfo.getGeolocation(), geoInfo.getDate()},
+                setClause, geoInfo.getDate(), geoInfo.getGeolocation(), geoInfo.getDate(), geoInfo.getDate());
+    }
+
+    @Override
+    protected void performOperations() {
+        userId = lookupUserId(playerUUID).orElse(null);
+        if (serverUUID != null) {
+            serverId = lookupServerId(serverUUID).orElse(null);
+            execute(upsert(false));
+        }
+        execute(upsert(true));
+    }
+
+    private ExecStatement upsert(boolean network) {
+        String sql = network ? PlayerSummaryTable.upsertNetworkStatement(dbType, userId, setClause, columns)
+                : PlayerSummaryTable.upsertStatement(dbType, userId, serverId, setClause, columns);
+        Object userIdParameter = userIdParameter(userId, playerUUID);
+        Object[] serverIdParameter = serverIdParameter(network, serverId, serverUUID);
+        return new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                QueryParameterSetter.setParameters(statement, userIdParameter, serverIdParameter, values, parameters);
+            }
+        };
+    }
+
+    private static Object userIdParameter(Integer userId, UUID playerUUID) {
+        return userId != null ? userId : playerUUID;
+    }
+
+    private static Object[] serverIdParameter(boolean network, Integer serverId, ServerUUID serverUUID) {
+        if (network) return new Object[0]; // Network rows use NETWORK_SERVER_ID in the SQL
+        return new Object[]{serverId != null ? serverId : serverUUID};
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.events;
+
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.sql.tables.*;
+import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Transaction for updating rolled up days and hours after a session that started in them was stored.
+ * <p>
+ * Only rollups that already exist are updated, days that are not closed yet are calculated from sessions when read.
+ *
+ * @author AuroraLS3
+ */
+public class UpdateSessionRollupsTransaction extends Transaction {
+
+    private static final String ROLLUP_START = SessionRollupTable.TABLE_NAME + '.' + SessionRollupTable.DATE + '-' +
+            SessionRollupTable.TABLE_NAME + '.' + SessionRollupTable.TIMEZONE_OFFSET;
+    private static final String ROLLUP_END = ROLLUP_START + '+' + SessionRollupTable.TABLE_NAME + '.' + SessionRollupTable.RESOLUTION;
+
+    private final ServerUUID serverUUID;
+    private final long time;
+
+    /**
+     * Create a new transaction.
+     *
+     * @param serverUUID UUID of the Plan server the session was on.
+     * @param time       Epoch ms the session started.
+     */
+    public UpdateSessionRollupsTransaction(ServerUUID serverUUID, long time) {
+        this.serverUUID = serverUUID;
+        this.time = time;
+    }
+
+    @Override
+    protected void performOperations() {
+        execute(updateRollups(true));
+        execute(updateRollups(false));
+    }
+
+    private ExecStatement updateRollups(boolean network) {
+        String sessionsOfRollup = FROM + SessionsTable.TABLE_NAME + " s" +
+                WHERE + "s." + SessionsTable.SESSION_START + ">=" + ROLLUP_START +
+                AND + "s." + SessionsTable.SESSION_START + '<' + ROLLUP_END +
+                (network ? "" : AND + "s." + SessionsTable.SERVER_ID + '=' + SessionRollupTable.TABLE_NAME + '.' + SessionRollupTable.SERVER_ID);
+        String newPlayersOfRollup = network
+                ? FROM + UsersTable.TABLE_NAME + " u" +
+                WHERE + "u." + UsersTable.REGISTERED + ">=" + ROLLUP_START +
+                AND + "u." + UsersTable.REGISTERED + '<' + ROLLUP_END
+                : FROM + UserInfoTable.TABLE_NAME + " u" +
+                WHERE + "u." + UserInfoTable.REGISTERED + ">=" + ROLLUP_START +
+                AND + "u." + UserInfoTable.REGISTERED + '<' + ROLLUP_END +
+                AND + "u." + UserInfoTable.SERVER_ID + '=' + SessionRollupTable.TABLE_NAME + '.' + SessionRollupTable.SERVER_ID;
+
+        String sql = "UPDATE " + SessionRollupTable.TABLE_NAME + " SET " +
+                SessionRollupTable.UNIQUE_PLAYERS + "=(" + SELECT + "COUNT(DISTINCT s." + SessionsTable.USER_ID + ')' + sessionsOfRollup + ")," +
+                SessionRollupTable.NEW_PLAYERS + "=(" + SELECT + "COUNT(1)" + newPlayersOfRollup + ")," +
+                SessionRollupTable.SESSION_COUNT + "=(" + SELECT + "COUNT(1)" + sessionsOfRollup + ")," +
+                SessionRollupTable.PLAYTIME + "=(" + SELECT + "COALESCE(SUM(s." + SessionsTable.SESSION_END + "-s." + SessionsTable.SESSION_START + "),0)" + sessionsOfRollup + ")," +
+                SessionRollupTable.AFK_TIME + "=(" + SELECT + "COALESCE(SUM(s." + SessionsTable.AFK_TIME + "),0)" + sessionsOfRollup + ')' +
+                WHERE + SessionRollupTable.SERVER_ID + (network ? IS_NULL : "=" + ServerTable.SELECT_SERVER_ID) +
+                // Narrows down the rows with the index before the exact check, time zone offsets are less than a day.
+                AND + SessionRollupTable.DATE + ">=?" +
+                AND + SessionRollupTable.DATE + "<=?" +
+                AND + ROLLUP_START + "<=?" +
+                AND + ROLLUP_END + ">?";
+        return new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                int index = 1;
+                if (!network) statement.setString(index++, serverUUID.toString());
+                statement.setLong(index++, time - TimeUnit.DAYS.toMillis(2L));
+                statement.setLong(index++, time + TimeUnit.DAYS.toMillis(2L));
+                statement.setLong(index++, time);
+                statement.setLong(index, time);
+            }
+        };
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.init;
+
+import com.djrapitops.plan.delivery.domain.DateObj;
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.queries.objects.TPSQueries;
+import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
+import com.djrapitops.plan.storage.database.sql.tables.TPSCompactedTable;
+import com.djrapitops.plan.storage.database.sql.tables.TPSTable;
+import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.Executable;
+import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Transaction for compacting TPS data to {@link TPSCompactedTable} and removing raw data that has been compacted.
+ * <p>
+ * Only closed buckets after the latest compacted bucket are compacted, so each raw row is read once per resolution.
+ *
+ * @author AuroraLS3
+ */
+public class CompactTPSDataTransaction extends ThrowawayTransaction {
+
+    private final ServerUUID serverUUID;
+    private final long deleteRawTPSOlderThanMs;
+
+    public CompactTPSDataTransaction(ServerUUID serverUUID, long deleteRawTPSOlderThanMs) {
+        this.serverUUID = serverUUID;
+        this.deleteRawTPSOlderThanMs = deleteRawTPSOlderThanMs;
+    }
+
+    @Override
+    protected void performOperations() {
+        long now = System.currentTimeMillis();
+        long compactedUntil = now;
+        for (long resolution : TPSCompactedTable.RESOLUTIONS) {
+            long compactAfter = query(TPSQueries.fetchCompactedUntil(serverUUID, resolution)).orElse(0L);
+            long compactBefore = now - now % resolution;
+            if (compactAfter < compactBefore) {
+                execute(compact(resolution, compactAfter, compactBefore));
+            }
+            compactedUntil = Math.min(compactedUntil, compactBefore);
+        }
+
+        int allTimePeak = query(TPSQueries.fetchAllTimePeakPlayerCount(serverUUID)).map(DateObj::getValue).orElse(-1);
+        execute(cleanCompactedRawData(Math.min(now - deleteRawTPSOlderThanMs, compactedUntil), allTimePeak));
+    }
+
+    private Executable compact(long resolution, long after, long before) {
+        // Resolution is inlined so that the grouped expression is identical in SELECT and GROUP BY on all databases.
+        String bucket = "(" + TPSTable.DATE + "-(" + TPSTable.DATE + "%" + resolution + "))";
+        StringBuilder columns = new StringBuilder();
+        StringBuilder aggregates = new StringBuilder();
+        for (String column : TPSCompactedTable.COMPACTED_COLUMNS) {
+            columns.append(',').append(column).append(TPSCompactedTable.MIN_SUFFIX)
+                    .append(',').append(column).append(TPSCompactedTable.AVG_SUFFIX)
+                    .append(',').append(column).append(TPSCompactedTable.MAX_SUFFIX);
+            aggregates.append(',').append(min(column))
+                    .append(",AVG(").append(column).append(')')
+                    .append(',').append(max(column));
+        }
+        String sql = "INSERT INTO " + TPSCompactedTable.TABLE_NAME + " (" +
+                TPSCompactedTable.SERVER_ID + ',' +
+                TPSCompactedTable.RESOLUTION + ',' +
+                TPSCompactedTable.DATE + columns + ") " +
+                SELECT + TPSTable.SERVER_ID + ',' + resolution + ',' + bucket + aggregates +
+                FROM + TPSTable.TABLE_NAME +
+                WHERE + TPSTable.SERVER_ID + '=' + ServerTable.SELECT_SERVER_ID +
+                AND + TPSTable.DATE + ">=?" +
+                AND + TPSTable.DATE + "<?" +
+                GROUP_BY + TPSTable.SERVER_ID + ',' + bucket;
+
+        return new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, after);
+                statement.setLong(3, before);
+            }
+        };
+    }
+
+    private Executable cleanCompactedRawData(long deleteBefore, int allTimePlayerPeak) {
+        String sql = DELETE_FROM + TPSTable.TABLE_NAME +
+                WHERE + TPSTable.DATE + "<?" +
+                AND + TPSTable.PLAYERS_ONLINE + "!=?" +
+                AND + TPSTable.SERVER_ID + '=' + ServerTable.SELECT_SERVER_ID;
+
+        return new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setLong(1, deleteBefore);
+                statement.setInt(2, allTimePlayerPeak);
+                statement.setString(3, serverUUID.toString());
+            }
+        };
+    }
+}
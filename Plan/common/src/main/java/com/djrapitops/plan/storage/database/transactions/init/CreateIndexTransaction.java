@@ -66,6 +66,29 @@ public class CreateIndexTransaction extends Transaction {
 
         createIndex(SessionsTable.TABLE_NAME, "plan_session_join_address_index",
                 SessionsTable.JOIN_ADDRESS_ID);
+
+        createIndex(ActivityIndexSnapshotTable.TABLE_NAME, "plan_activity_snapshots_date_index",
+                ActivityIndexSnapshotTable.SNAPSHOT_DATE
+        );
+        createIndex(ActivityIndexSnapshotValueTable.TABLE_NAME, "plan_activity_snapshot_values_index",
+                ActivityIndexSnapshotValueTable.SNAPSHOT_ID,
+                ActivityIndexSnapshotValueTable.USER_ID
+        );
+        createIndex(SessionRollupTable.TABLE_NAME, "plan_session_rollups_index",
+                SessionRollupTable.SERVER_ID,
+                SessionRollupTable.DATE
+        );
+        createIndex(TPSCompactedTable.TABLE_NAME, "plan_tps_compacted_index",
+                TPSCompactedTable.SERVER_ID,
+                TPSCompactedTable.RESOLUTION,
+                TPSCompactedTable.DATE
+        );
+        // replaced by PlayerSummaryTable.UNIQUE_INDEX
+        dropIndex(PlayerSummaryTable.TABLE_NAME, "plan_player_summaries_user_index");
+        createIndex(PlayerSummaryTable.TABLE_NAME, "plan_player_summaries_last_seen_index",
+                PlayerSummaryTable.SERVER_ID,
+                PlayerSummaryTable.LAST_SEEN
+        );
     }
 
     private void createIndex(String tableName, String indexName, String... indexedColumns) {
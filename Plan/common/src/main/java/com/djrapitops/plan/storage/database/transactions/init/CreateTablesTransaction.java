@@ -60,6 +60,11 @@ public class CreateTablesTransaction extends OperationCriticalTransaction {
         execute(WebUserPreferencesTable.createTableSQL(dbType));
         execute(PluginVersionTable.createTableSQL(dbType));
         execute(AllowlistBounceTable.createTableSQL(dbType));
+        execute(ActivityIndexSnapshotTable.createTableSQL(dbType));
+        execute(ActivityIndexSnapshotValueTable.createTableSQL(dbType));
+        execute(SessionRollupTable.createTableSQL(dbType));
+        execute(TPSCompactedTable.createTableSQL(dbType));
+        execute(PlayerSummaryTable.createTableSQL(dbType));
 
         // DataExtension tables
         execute(ExtensionIconTable.createTableSQL(dbType));
@@ -18,13 +18,17 @@ package com.djrapitops.plan.storage.database.transactions.init;
 
 import com.djrapitops.plan.delivery.domain.DateObj;
 import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.queries.objects.TPSQueries;
 import com.djrapitops.plan.storage.database.sql.tables.PingTable;
 import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
+import com.djrapitops.plan.storage.database.sql.tables.TPSCompactedTable;
 import com.djrapitops.plan.storage.database.sql.tables.TPSTable;
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.Executable;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.RebuildPlayerSummariesTransaction;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -58,7 +62,12 @@ public class RemoveOldSampledDataTransaction extends ThrowawayTransaction {
         Optional<Integer> allTimePeak = query(TPSQueries.fetchAllTimePeakPlayerCount(serverUUID)).map(DateObj::getValue);
 
         execute(cleanTPSTable(allTimePeak.orElse(-1)));
-        execute(cleanPingTable());
+        execute(cleanCompactedTPSTable());
+
+        long pingThreshold = System.currentTimeMillis() - deletePingOlderThanMs;
+        UserIdSet usersWithRemovedPing = query(fetchUsersWithPingBefore(pingThreshold));
+        execute(cleanPingTable(pingThreshold));
+        executeOther(RebuildPlayerSummariesTransaction.pingOfUsers(usersWithRemovedPing));
     }
 
     private Executable cleanTPSTable(int allTimePlayerPeak) {
@@ -77,7 +86,28 @@ public class RemoveOldSampledDataTransaction extends ThrowawayTransaction {
         };
     }
 
-    private Executable cleanPingTable() {
+    private Executable cleanCompactedTPSTable() {
+        String sql = DELETE_FROM + TPSCompactedTable.TABLE_NAME +
+                WHERE + TPSCompactedTable.DATE + "<?" +
+                AND + TPSCompactedTable.SERVER_ID + '=' + ServerTable.SELECT_SERVER_ID;
+
+        return new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setLong(1, System.currentTimeMillis() - deleteTPSOlderThanMs);
+                statement.setString(2, serverUUID.toString());
+            }
+        };
+    }
+
+    private Query<UserIdSet> fetchUsersWithPingBefore(long pingThreshold) {
+        String sql = SELECT + DISTINCT + PingTable.USER_ID + FROM + PingTable.TABLE_NAME +
+                WHERE + PingTable.DATE + "<?" +
+                AND + PingTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID;
+        return db -> db.queryUserIds(sql, PingTable.USER_ID, pingThreshold, serverUUID);
+    }
+
+    private Executable cleanPingTable(long pingThreshold) {
         String sql = DELETE_FROM + PingTable.TABLE_NAME +
                 WHERE + '(' + PingTable.DATE + "<?" +
                 AND + PingTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID + ")" +
@@ -86,7 +116,7 @@ public class RemoveOldSampledDataTransaction extends ThrowawayTransaction {
         return new ExecStatement(sql) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setLong(1, System.currentTimeMillis() - deletePingOlderThanMs);
+                statement.setLong(1, pingThreshold);
                 statement.setString(2, serverUUID.toString());
             }
         };
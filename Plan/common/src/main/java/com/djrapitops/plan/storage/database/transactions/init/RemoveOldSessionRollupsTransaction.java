@@ -0,0 +1,40 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.init;
+
+import com.djrapitops.plan.storage.database.sql.tables.SessionRollupTable;
+import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+public class RemoveOldSessionRollupsTransaction extends ThrowawayTransaction {
+
+    private final long resolution;
+    private final long keepAfter;
+
+    public RemoveOldSessionRollupsTransaction(long resolution, long keepAfter) {
+        this.resolution = resolution;
+        this.keepAfter = keepAfter;
+    }
+
+    @Override
+    protected void performOperations() {
+        execute(DELETE_FROM + SessionRollupTable.TABLE_NAME +
+                WHERE + SessionRollupTable.RESOLUTION + "=" + resolution +
+                AND + SessionRollupTable.DATE + "<" + keepAfter);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.patches;
+
+import com.djrapitops.plan.storage.database.sql.tables.PlayerSummaryTable;
+import com.djrapitops.plan.storage.database.transactions.events.RebuildPlayerSummariesTransaction;
+
+/**
+ * Creates plan_player_summaries with unique index on user and server, and fills it from existing sessions, ping and geolocations.
+ * <p>
+ * Tables created before the index stored the network row with null server id, and concurrent writers could insert
+ * duplicate rows of the same player and server. Every row can be calculated again, so the table is recreated
+ * and rebuilt instead of removing the duplicates and null server ids one by one.
+ * Tables without activity index column are recreated the same way, the column is filled by {@link com.djrapitops.plan.storage.upkeep.ActivityIndexSnapshotTask}.
+ *
+ * @author AuroraLS3
+ */
+public class PlayerSummaryTablePatch extends Patch {
+
+    @Override
+    public boolean hasBeenApplied() {
+        return hasIndex(PlayerSummaryTable.TABLE_NAME, PlayerSummaryTable.UNIQUE_INDEX)
+                && hasColumn(PlayerSummaryTable.TABLE_NAME, PlayerSummaryTable.ACTIVITY_INDEX);
+    }
+
+    @Override
+    protected void applyPatch() {
+        dropTable(PlayerSummaryTable.TABLE_NAME);
+        execute(PlayerSummaryTable.createTableSQL(dbType));
+        execute(PlayerSummaryTable.createUniqueIndexSQL());
+        executeOther(RebuildPlayerSummariesTransaction.all());
+    }
+}
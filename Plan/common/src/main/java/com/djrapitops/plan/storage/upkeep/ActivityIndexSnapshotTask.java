@@ -0,0 +1,109 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.upkeep;
+
+import com.djrapitops.plan.TaskSystem;
+import com.djrapitops.plan.exceptions.database.DBOpException;
+import com.djrapitops.plan.identification.ServerInfo;
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.TimeSettings;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexSnapshotQueries;
+import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
+import com.djrapitops.plan.storage.database.transactions.events.RemoveActivityIndexSnapshotsTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.StoreActivityIndexSnapshotTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.UpdateActivityIndexSummariesTransaction;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import net.playeranalytics.plugin.scheduling.RunnableFactory;
+import net.playeranalytics.plugin.scheduling.TimeAmount;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task for storing weekly snapshots of activity indexes used by the activity graphs.
+ * <p>
+ * Current activity index shown on players table is stored on the same run.
+ * Network snapshots and activity indexes are only stored by the proxy server, or by every server if no proxy is installed.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class ActivityIndexSnapshotTask extends TaskSystem.Task {
+
+    private final PlanConfig config;
+    private final DBSystem dbSystem;
+    private final ServerInfo serverInfo;
+    private final ErrorLogger errorLogger;
+
+    @Inject
+    public ActivityIndexSnapshotTask(
+            PlanConfig config,
+            DBSystem dbSystem,
+            ServerInfo serverInfo,
+            ErrorLogger errorLogger
+    ) {
+        this.config = config;
+        this.dbSystem = dbSystem;
+        this.serverInfo = serverInfo;
+        this.errorLogger = errorLogger;
+    }
+
+    @Override
+    public void run() {
+        Database database = dbSystem.getDatabase();
+        try {
+            if (database.getState() != Database.State.OPEN) return;
+
+            long now = System.currentTimeMillis();
+            long threshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
+            long after = now - TimeAmount.MONTH.toMillis(2L);
+
+            ServerUUID serverUUID = serverInfo.getServerUUID();
+            storeMissingSnapshots(database, serverUUID, now, after, threshold);
+            database.executeTransaction(new UpdateActivityIndexSummariesTransaction(serverUUID, now, threshold));
+            if (serverInfo.getServer().isProxy() || database.query(ServerQueries.fetchProxyServers()).isEmpty()) {
+                storeMissingSnapshots(database, null, now, after, threshold);
+                database.executeTransaction(new UpdateActivityIndexSummariesTransaction(null, now, threshold));
+            }
+            database.executeTransaction(RemoveActivityIndexSnapshotsTransaction.olderThan(now - TimeAmount.MONTH.toMillis(3L)));
+        } catch (DBOpException e) {
+            errorLogger.error(e);
+        }
+    }
+
+    private void storeMissingSnapshots(Database database, ServerUUID serverUUID, long now, long after, long threshold) {
+        Set<Long> snapshotDates = database.query(ActivityIndexSnapshotQueries.fetchSnapshotDates(serverUUID, after, threshold));
+        for (Long weekStart : ActivityIndexSnapshotQueries.getWeekStartsBetween(after, now)) {
+            if (!snapshotDates.contains(weekStart)) {
+                database.executeTransaction(new StoreActivityIndexSnapshotTransaction(serverUUID, weekStart, threshold));
+            }
+        }
+    }
+
+    @Override
+    public void register(RunnableFactory runnableFactory) {
+        long delay = TimeAmount.toTicks(ThreadLocalRandom.current().nextInt(60) + 30L, TimeUnit.SECONDS);
+        long period = TimeAmount.toTicks(1L, TimeUnit.HOURS);
+        runnableFactory.create(this).runTaskTimerAsynchronously(delay, period);
+    }
+}
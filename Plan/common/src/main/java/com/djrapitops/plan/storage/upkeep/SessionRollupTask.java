@@ -0,0 +1,125 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.upkeep;
+
+import com.djrapitops.plan.TaskSystem;
+import com.djrapitops.plan.exceptions.database.DBOpException;
+import com.djrapitops.plan.identification.ServerInfo;
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.queries.analysis.SessionRollupQueries;
+import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
+import com.djrapitops.plan.storage.database.transactions.events.StoreSessionRollupsTransaction;
+import com.djrapitops.plan.storage.database.transactions.init.RemoveOldSessionRollupsTransaction;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import net.playeranalytics.plugin.scheduling.RunnableFactory;
+import net.playeranalytics.plugin.scheduling.TimeAmount;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task for rolling up sessions of closed days and hours, used by calendar and player count graphs.
+ * <p>
+ * Days that have not been rolled up are calculated from sessions when read, so this task only
+ * needs to catch up with the days and hours that have closed since last run.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class SessionRollupTask extends TaskSystem.Task {
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1L);
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1L);
+
+    // Calendar shows two years, hourly graphs show a week.
+    private static final long DAILY_ROLLUP_RANGE = TimeUnit.DAYS.toMillis(731L);
+    private static final long HOURLY_ROLLUP_RANGE = TimeUnit.DAYS.toMillis(8L);
+
+    private final PlanConfig config;
+    private final DBSystem dbSystem;
+    private final ServerInfo serverInfo;
+    private final ErrorLogger errorLogger;
+
+    @Inject
+    public SessionRollupTask(
+            PlanConfig config,
+            DBSystem dbSystem,
+            ServerInfo serverInfo,
+            ErrorLogger errorLogger
+    ) {
+        this.config = config;
+        this.dbSystem = dbSystem;
+        this.serverInfo = serverInfo;
+        this.errorLogger = errorLogger;
+    }
+
+    @Override
+    public void run() {
+        Database database = dbSystem.getDatabase();
+        try {
+            if (database.getState() != Database.State.OPEN) return;
+
+            long now = System.currentTimeMillis();
+            long timeZoneOffset = config.getTimeZone().getOffset(now);
+            boolean storeNetworkRollups = serverInfo.getServer().isProxy() || database.query(ServerQueries.fetchProxyServers()).isEmpty();
+
+            ServerUUID serverUUID = serverInfo.getServerUUID();
+            storeMissingRollups(database, serverUUID, timeZoneOffset, DAY, now - DAILY_ROLLUP_RANGE, now);
+            storeMissingRollups(database, serverUUID, timeZoneOffset, HOUR, now - HOURLY_ROLLUP_RANGE, now);
+            if (storeNetworkRollups) {
+                storeMissingRollups(database, null, timeZoneOffset, DAY, now - DAILY_ROLLUP_RANGE, now);
+                storeMissingRollups(database, null, timeZoneOffset, HOUR, now - HOURLY_ROLLUP_RANGE, now);
+            }
+
+            // Extra day is kept in case of different time zone offsets.
+            database.executeTransaction(new RemoveOldSessionRollupsTransaction(DAY, now - DAILY_ROLLUP_RANGE - DAY));
+            database.executeTransaction(new RemoveOldSessionRollupsTransaction(HOUR, now - HOURLY_ROLLUP_RANGE - DAY));
+        } catch (DBOpException e) {
+            errorLogger.error(e);
+        }
+    }
+
+    private void storeMissingRollups(Database database, ServerUUID serverUUID, long timeZoneOffset, long resolution, long after, long now) {
+        long firstBucket = SessionRollupQueries.getBucketStart(after, timeZoneOffset, resolution);
+        long openBucket = SessionRollupQueries.getBucketStart(now, timeZoneOffset, resolution);
+        Set<Long> rolledUp = database.query(SessionRollupQueries.fetchRollupDates(serverUUID, timeZoneOffset, resolution, firstBucket, openBucket));
+
+        long missingFrom = -1;
+        for (long bucket = firstBucket; bucket <= openBucket; bucket += resolution) {
+            boolean missing = bucket != openBucket && !rolledUp.contains(bucket);
+            if (missing && missingFrom == -1) {
+                missingFrom = bucket;
+            } else if (!missing && missingFrom != -1) {
+                database.executeTransaction(new StoreSessionRollupsTransaction(serverUUID, timeZoneOffset, resolution, missingFrom, bucket));
+                missingFrom = -1;
+            }
+        }
+    }
+
+    @Override
+    public void register(RunnableFactory runnableFactory) {
+        long delay = TimeAmount.toTicks(ThreadLocalRandom.current().nextInt(60) + 30L, TimeUnit.SECONDS);
+        long period = TimeAmount.toTicks(10L, TimeUnit.MINUTES);
+        runnableFactory.create(this).runTaskTimerAsynchronously(delay, period);
+    }
+}
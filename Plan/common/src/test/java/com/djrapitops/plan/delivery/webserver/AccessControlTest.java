@@ -102,6 +102,7 @@ class AccessControlTest {
                 Arguments.of("/v1/graph?type=punchCard&server=" + TestConstants.SERVER_UUID_STRING + "", WebPermission.PAGE_SERVER_ONLINE_ACTIVITY_GRAPHS_PUNCHCARD, 200, 403),
                 Arguments.of("/v1/graph?type=joinAddressByDay&server=" + TestConstants.SERVER_UUID_STRING + "&after=0&before=" + 123456L + "", WebPermission.PAGE_SERVER_JOIN_ADDRESSES_GRAPHS_TIME, 200, 403),
                 Arguments.of("/v1/players?server=" + TestConstants.SERVER_UUID_STRING + "", WebPermission.PAGE_SERVER_PLAYERS, 200, 403),
+                Arguments.of("/v1/playersTablePage?server=" + TestConstants.SERVER_UUID_STRING + "", WebPermission.PAGE_SERVER_PLAYERS, 200, 403),
                 Arguments.of("/v1/kills?server=" + TestConstants.SERVER_UUID_STRING + "", WebPermission.PAGE_SERVER_PLAYER_VERSUS_KILL_LIST, 200, 403),
                 Arguments.of("/v1/pingTable?server=" + TestConstants.SERVER_UUID_STRING + "", WebPermission.PAGE_SERVER_GEOLOCATIONS_PING_PER_COUNTRY, 200, 403),
                 Arguments.of("/v1/sessions?server=" + TestConstants.SERVER_UUID_STRING + "", WebPermission.PAGE_SERVER_SESSIONS_LIST, 200, 403),
@@ -132,6 +133,7 @@ class AccessControlTest {
                 Arguments.of("/v1/player?player=" + TestConstants.PLAYER_TWO_NAME + "", WebPermission.ACCESS_PLAYER, 400, 403),
                 Arguments.of("/players", WebPermission.ACCESS_PLAYERS, 200, 403),
                 Arguments.of("/v1/players", WebPermission.ACCESS_PLAYERS, 200, 403),
+                Arguments.of("/v1/playersTablePage", WebPermission.ACCESS_PLAYERS, 200, 403),
                 Arguments.of("/query", WebPermission.ACCESS_QUERY, 200, 403),
                 Arguments.of("/v1/filters", WebPermission.ACCESS_QUERY, 200, 403),
                 Arguments.of("/v1/query", WebPermission.ACCESS_QUERY, 400, 403),
@@ -141,6 +143,9 @@ class AccessControlTest {
                 Arguments.of("/v1/query?q=%5B%7B%22kind%22%3A%22geolocations%22%2C%22parameters%22%3A%7B%22selected%22%3A%22%5B%5C%22FIN%5C%22%5D%22%7D%7D%5D&view=" + QUERY_VIEW_SIMPLE, WebPermission.PAGE_NETWORK_GEOLOCATIONS_MAP, 200, 403),
                 Arguments.of("/v1/query?q=%5B%7B%22kind%22%3A%22geolocations%22%2C%22parameters%22%3A%7B%22selected%22%3A%22%5B%5C%22FIN%5C%22%5D%22%7D%7D%5D&view=" + QUERY_VIEW_SIMPLE, WebPermission.PAGE_SERVER_GEOLOCATIONS_MAP, 200, 403),
                 Arguments.of("/v1/errors", WebPermission.ACCESS_ERRORS, 200, 403),
+                Arguments.of("/v1/debug/extensions", WebPermission.ACCESS_ERRORS, 200, 403),
+                Arguments.of("/v1/debug/queries", WebPermission.ACCESS_ERRORS, 200, 403),
+                Arguments.of("/v1/debug/json", WebPermission.ACCESS_ERRORS, 200, 403),
                 Arguments.of("/errors", WebPermission.ACCESS_ERRORS, 200, 403),
                 Arguments.of("/v1/network/listServers", WebPermission.PAGE_NETWORK_PERFORMANCE, 200, 403),
                 Arguments.of("/v1/network/serverOptions", WebPermission.PAGE_NETWORK_PERFORMANCE, 200, 403),
@@ -0,0 +1,163 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.delivery.formatting.Formatters;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.djrapitops.plan.storage.file.PlanFiles;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import utilities.TestPluginLogger;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class AsyncJSONResolverServiceTest {
+
+    private AsyncJSONResolverService UNDER_TEST;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) {
+        PlanFiles files = Mockito.mock(PlanFiles.class);
+        when(files.getJSONStorageDirectory()).thenReturn(tempDir);
+        PlanConfig config = Mockito.mock(PlanConfig.class);
+        when(config.get(WebserverSettings.REDUCED_REFRESH_BARRIER)).thenReturn(TimeUnit.SECONDS.toMillis(15L));
+        when(config.get(WebserverSettings.INVALIDATE_MEMORY_CACHE)).thenReturn(TimeUnit.MINUTES.toMillis(5L));
+
+        JSONStorage storage = new JSONFileStorage(files, value -> Long.toString(value), new TestPluginLogger());
+        UNDER_TEST = new AsyncJSONResolverService(config, Mockito.mock(Formatters.class), storage, Mockito.mock(ErrorLogger.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        UNDER_TEST.disable();
+    }
+
+    @Test
+    void concurrentRequestsGenerateJSONOnce() throws Exception {
+        int requests = 8;
+        AtomicInteger generations = new AtomicInteger();
+        CountDownLatch generationStarted = new CountDownLatch(1);
+        CountDownLatch releaseGeneration = new CountDownLatch(1);
+        List<Thread> requesterThreads = new CopyOnWriteArrayList<>();
+        ExecutorService requesters = Executors.newFixedThreadPool(requests, runnable -> {
+            Thread thread = new Thread(runnable);
+            requesterThreads.add(thread);
+            return thread;
+        });
+        try {
+            Callable<JSONStorage.StoredJSON> request = () -> UNDER_TEST.resolve(Optional.empty(), DataID.SERVERS, () -> {
+                generationStarted.countDown();
+                awaitQuietly(releaseGeneration);
+                return Collections.singletonMap("value", generations.incrementAndGet());
+            });
+            List<Future<JSONStorage.StoredJSON>> results = new ArrayList<>();
+            results.add(requesters.submit(request));
+            assertTrue(generationStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < requests; i++) {
+                results.add(requesters.submit(request));
+            }
+            awaitAllWaiting(requesterThreads, requests);
+            releaseGeneration.countDown();
+
+            Set<Long> timestamps = new HashSet<>();
+            for (Future<JSONStorage.StoredJSON> result : results) {
+                timestamps.add(result.get(10, TimeUnit.SECONDS).timestamp);
+            }
+
+            assertEquals(1, generations.get());
+            assertEquals(1, timestamps.size());
+            assertEquals(1L, UNDER_TEST.getMetrics().get(DataID.SERVERS).getGenerations());
+            assertEquals(requests, UNDER_TEST.getMetrics().get(DataID.SERVERS).getServes());
+        } finally {
+            releaseGeneration.countDown();
+            requesters.shutdownNow();
+        }
+    }
+
+    private static void awaitAllWaiting(List<Thread> threads, int expectedThreads) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5L);
+        while (System.currentTimeMillis() < timeout) {
+            if (threads.size() == expectedThreads && threads.stream()
+                    .allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+                return;
+            }
+            Thread.sleep(10L);
+        }
+        fail("Requests did not start waiting for the generated json");
+    }
+
+    @Test
+    void requestedJSONIsPreWarmedBeforeExpiry() {
+        AtomicInteger generations = new AtomicInteger();
+        Supplier<Object> creator = () -> Collections.singletonMap("value", generations.incrementAndGet());
+        UNDER_TEST.resolve(Optional.of(System.currentTimeMillis()), DataID.SERVERS, creator);
+        assertEquals(1, generations.get());
+
+        // Generated json is not close to expiring
+        assertEquals(0, UNDER_TEST.preWarm(1000L, 10, 0L));
+        assertEquals(1, generations.get());
+
+        // Generated json expires within the next 10 minutes
+        assertEquals(1, UNDER_TEST.preWarm(1000L, 10, TimeUnit.MINUTES.toMillis(10L)));
+        assertEquals(2, generations.get());
+    }
+
+    @Test
+    void jsonRequestedWithoutTimestampIsNotPreWarmed() {
+        AtomicInteger generations = new AtomicInteger();
+        Supplier<Object> creator = () -> Collections.singletonMap("value", generations.incrementAndGet());
+        UNDER_TEST.resolve(Optional.empty(), DataID.SERVERS, creator);
+
+        assertEquals(0, UNDER_TEST.preWarm(1000L, 10, TimeUnit.MINUTES.toMillis(10L)));
+        assertEquals(1, generations.get());
+    }
+
+    @Test
+    void interactiveGenerationIsOrderedBeforeExports() {
+        PriorityQueue<AsyncJSONResolverService.GenerationTask> queue = new PriorityQueue<>();
+        AsyncJSONResolverService.GenerationTask export = new AsyncJSONResolverService.GenerationTask(AsyncJSONResolverService.Priority.EXPORT, 0, () -> {});
+        AsyncJSONResolverService.GenerationTask interactive = new AsyncJSONResolverService.GenerationTask(AsyncJSONResolverService.Priority.INTERACTIVE, 1, () -> {});
+        AsyncJSONResolverService.GenerationTask laterInteractive = new AsyncJSONResolverService.GenerationTask(AsyncJSONResolverService.Priority.INTERACTIVE, 2, () -> {});
+        queue.add(export);
+        queue.add(laterInteractive);
+        queue.add(interactive);
+
+        assertEquals(interactive, queue.poll());
+        assertEquals(laterInteractive, queue.poll());
+        assertEquals(export, queue.poll());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
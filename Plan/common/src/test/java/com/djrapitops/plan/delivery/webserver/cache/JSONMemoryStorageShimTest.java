@@ -0,0 +1,100 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.djrapitops.plan.storage.file.PlanFiles;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import utilities.TestPluginLogger;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class JSONMemoryStorageShimTest {
+
+    private JSONMemoryStorageShim UNDER_TEST;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) {
+        PlanFiles files = Mockito.mock(PlanFiles.class);
+        when(files.getJSONStorageDirectory()).thenReturn(tempDir);
+        PlanConfig config = Mockito.mock(PlanConfig.class);
+        when(config.get(WebserverSettings.INVALIDATE_MEMORY_CACHE)).thenReturn(TimeUnit.MINUTES.toMillis(5L));
+        when(config.get(WebserverSettings.MEMORY_CACHE_MAX_SIZE_MB)).thenReturn(1);
+
+        UNDER_TEST = new JSONMemoryStorageShim(config, new JSONFileStorage(files, value -> Long.toString(value), new TestPluginLogger()));
+    }
+
+    @Test
+    void newestCachedIsFetched() {
+        long timestamp = System.currentTimeMillis();
+        UNDER_TEST.storeJson("Identifier", "{\"value\":1}", timestamp - 2000L);
+        JSONStorage.StoredJSON middle = UNDER_TEST.storeJson("Identifier", "{\"value\":2}", timestamp - 1000L);
+        JSONStorage.StoredJSON newest = UNDER_TEST.storeJson("Identifier", "{\"value\":3}", timestamp);
+
+        assertEquals(newest, UNDER_TEST.fetchJSON("Identifier").orElseThrow(AssertionError::new));
+        assertEquals(middle, UNDER_TEST.fetchJsonMadeBefore("Identifier", timestamp).orElseThrow(AssertionError::new));
+        assertEquals(newest, UNDER_TEST.fetchJsonMadeAfter("Identifier", timestamp - 1000L).orElseThrow(AssertionError::new));
+        assertFalse(UNDER_TEST.fetchJsonMadeAfter("Identifier", timestamp).isPresent());
+        assertEquals(Optional.of(timestamp), UNDER_TEST.getTimestamp("Identifier"));
+    }
+
+    @Test
+    void identifierIsCaseInsensitive() {
+        long timestamp = System.currentTimeMillis();
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", "{\"value\":1}", timestamp);
+
+        assertEquals(stored, UNDER_TEST.fetchJSON("identifier").orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void olderCachedAreInvalidated() {
+        long timestamp = System.currentTimeMillis();
+        UNDER_TEST.storeJson("Identifier", "{\"value\":1}", timestamp - 1000L);
+        UNDER_TEST.storeJson("Identifier", "{\"value\":2}", timestamp);
+
+        UNDER_TEST.invalidateOlder("Identifier", timestamp);
+
+        assertFalse(UNDER_TEST.fetchJsonMadeBefore("Identifier", timestamp).isPresent());
+        assertEquals(1L, UNDER_TEST.getCache().estimatedSize());
+    }
+
+    @Test
+    void cacheIsBoundedByJsonSize() {
+        String largeValue = StringUtils.repeat("abcdefghijklmnopqrstuvwxyz", 10_000);
+        long timestamp = System.currentTimeMillis();
+        for (int i = 0; i < 20; i++) {
+            UNDER_TEST.storeJson("Identifier" + i, "{\"value\":\"" + largeValue + i + "\"}", timestamp);
+        }
+        UNDER_TEST.getCache().cleanUp();
+
+        long weightedSize = UNDER_TEST.getCache().policy().eviction()
+                .orElseThrow(AssertionError::new)
+                .weightedSize().orElseThrow();
+        assertTrue(weightedSize <= 1024L * 1024L, () -> "Cache held " + weightedSize + " bytes");
+        assertTrue(UNDER_TEST.getCache().estimatedSize() < 20);
+    }
+}
@@ -24,6 +24,7 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 import utilities.TestPluginLogger;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -34,7 +35,9 @@ import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.Mockito.when;
@@ -70,7 +73,7 @@ class JSONStorageTest {
         File file = findTheFile().orElseThrow(AssertionError::new);
         assertEquals("Identifier-" + stored.timestamp + ".json", file.getName());
         try (Stream<String> lines = Files.lines(file.toPath())) {
-            List<String> expected = Collections.singletonList(stored.json);
+            List<String> expected = Collections.singletonList(stored.getJson());
             List<String> result = lines.collect(Collectors.toList());
             assertEquals(expected, result);
         }
@@ -83,7 +86,7 @@ class JSONStorageTest {
         File file = findTheFile().orElseThrow(AssertionError::new);
         assertEquals("Identifier-" + stored.timestamp + ".json", file.getName());
         try (Stream<String> lines = Files.lines(file.toPath())) {
-            List<String> expected = Collections.singletonList(stored.json);
+            List<String> expected = Collections.singletonList(stored.getJson());
             List<String> result = lines.collect(Collectors.toList());
             assertEquals(expected, result);
         }
@@ -98,7 +101,7 @@ class JSONStorageTest {
         assertEquals(timestamp, stored.timestamp);
         assertEquals("Identifier-" + timestamp + ".json", file.getName());
         try (Stream<String> lines = Files.lines(file.toPath())) {
-            List<String> expected = Collections.singletonList(stored.json);
+            List<String> expected = Collections.singletonList(stored.getJson());
             List<String> result = lines.collect(Collectors.toList());
             assertEquals(expected, result);
         }
@@ -113,7 +116,7 @@ class JSONStorageTest {
         assertEquals(timestamp, stored.timestamp);
         assertEquals("Identifier-" + timestamp + ".json", file.getName());
         try (Stream<String> lines = Files.lines(file.toPath())) {
-            List<String> expected = Collections.singletonList(stored.json);
+            List<String> expected = Collections.singletonList(stored.getJson());
             List<String> result = lines.collect(Collectors.toList());
             assertEquals(expected, result);
         }
@@ -124,7 +127,7 @@ class JSONStorageTest {
         assertFalse(UNDER_TEST.fetchJSON("Identifier").isPresent());
         stringDataIsStoredWithTimestamp();
         JSONStorage.StoredJSON found = UNDER_TEST.fetchJSON("Identifier").orElseThrow(AssertionError::new);
-        assertEquals("data", found.json);
+        assertEquals("data", found.getJson());
     }
 
     @Test
@@ -178,4 +181,48 @@ class JSONStorageTest {
         UNDER_TEST.storeJson(DataID.SESSIONS_OVERVIEW.of(ServerUUID.randomUUID()), Collections.singletonList("data"), timestamp);
         assertFalse(UNDER_TEST.fetchJsonMadeBefore(DataID.SESSIONS_OVERVIEW.name(), timestamp + TimeUnit.DAYS.toMillis(1L)).isPresent());
     }
+
+    @Test
+    void newestStoredIsFetched() {
+        long timestamp = System.currentTimeMillis();
+        UNDER_TEST.storeJson("Identifier", Collections.singletonList("old"), timestamp - 1000L);
+        JSONStorage.StoredJSON newest = UNDER_TEST.storeJson("Identifier", Collections.singletonList("new"), timestamp);
+
+        assertEquals(newest, UNDER_TEST.fetchJSON("Identifier").orElseThrow(AssertionError::new));
+        assertEquals(Optional.of(timestamp), UNDER_TEST.getTimestamp("Identifier"));
+    }
+
+    @Test
+    void olderFilesAreInvalidated() {
+        long timestamp = System.currentTimeMillis();
+        UNDER_TEST.storeJson("Identifier", Collections.singletonList("old"), timestamp - 1000L);
+        JSONStorage.StoredJSON newest = UNDER_TEST.storeJson("Identifier", Collections.singletonList("new"), timestamp);
+
+        UNDER_TEST.invalidateOlder("Identifier", timestamp);
+
+        assertFalse(UNDER_TEST.fetchJsonMadeBefore("Identifier", timestamp).isPresent());
+        assertEquals(newest, UNDER_TEST.fetchJSON("Identifier").orElseThrow(AssertionError::new));
+        assertEquals(1, Optional.ofNullable(tempDir.toFile().listFiles()).map(files -> files.length).orElse(0));
+    }
+
+    @Test
+    void previouslyStoredFilesAreFound() {
+        long timestamp = System.currentTimeMillis();
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", Collections.singletonList("data"), timestamp);
+
+        PlanFiles files = Mockito.mock(PlanFiles.class);
+        when(files.getJSONStorageDirectory()).thenReturn(tempDir);
+        JSONStorage restarted = new JSONFileStorage(files, value -> Long.toString(value), new TestPluginLogger());
+
+        assertEquals(stored, restarted.fetchJSON("Identifier").orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void storedJSONIsCompressedAheadOfTime() throws IOException {
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", Collections.singletonList("data"));
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(stored.getGzippedBytes()))) {
+            assertArrayEquals(stored.getBytes(), in.readAllBytes());
+        }
+    }
 }
\ No newline at end of file
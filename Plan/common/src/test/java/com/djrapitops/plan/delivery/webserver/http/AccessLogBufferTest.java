@@ -0,0 +1,62 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link AccessLogBuffer}.
+ *
+ * @author AuroraLS3
+ */
+class AccessLogBufferTest {
+
+    private static AccessLogEntry entry(long timestamp) {
+        return new AccessLogEntry(timestamp, "127.0.0.1", "GET", "/", 200);
+    }
+
+    @Test
+    void oldestEntriesAreDroppedWhenFull() {
+        AccessLogBuffer buffer = new AccessLogBuffer(3);
+        for (long i = 0; i < 5; i++) {
+            buffer.add(entry(i));
+        }
+
+        assertEquals(2L, buffer.getAndResetDropped());
+        assertEquals(0L, buffer.getAndResetDropped());
+        List<Long> remaining = buffer.drain(10).stream().map(AccessLogEntry::getTimestamp).collect(Collectors.toList());
+        assertEquals(List.of(2L, 3L, 4L), remaining);
+    }
+
+    @Test
+    void drainIsLimitedToBatchSize() {
+        AccessLogBuffer buffer = new AccessLogBuffer(10);
+        for (long i = 0; i < 5; i++) {
+            buffer.add(entry(i));
+        }
+
+        assertEquals(2, buffer.drain(2).size());
+        assertEquals(3, buffer.size());
+        assertEquals(3, buffer.drain(10).size());
+        assertEquals(0, buffer.size());
+    }
+}
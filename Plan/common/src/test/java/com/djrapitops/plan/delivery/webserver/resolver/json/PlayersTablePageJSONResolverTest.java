@@ -0,0 +1,151 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.resolver.json;
+
+import com.djrapitops.plan.delivery.domain.datatransfer.PlayerListDto;
+import com.djrapitops.plan.delivery.domain.datatransfer.PlayerListPageDto;
+import com.djrapitops.plan.delivery.rendering.json.JSONFactory;
+import com.djrapitops.plan.delivery.web.resolver.exception.BadRequestException;
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import com.djrapitops.plan.delivery.web.resolver.request.URIPath;
+import com.djrapitops.plan.delivery.web.resolver.request.URIQuery;
+import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.identification.Identifiers;
+import com.djrapitops.plan.storage.database.queries.objects.playertable.PlayersTablePage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import utilities.TestConstants;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PlayersTablePageJSONResolverTest {
+
+    private JSONFactory jsonFactory;
+    private Identifiers identifiers;
+    private PlayersTablePageJSONResolver underTest;
+
+    @BeforeEach
+    void setUp() {
+        jsonFactory = Mockito.mock(JSONFactory.class);
+        identifiers = Mockito.mock(Identifiers.class);
+        PlayerListPageDto emptyPage = new PlayerListPageDto(new PlayerListDto(Collections.emptyList(), Collections.emptyList()), 0, 0, 0, null);
+        when(jsonFactory.networkPlayersTablePage(any())).thenReturn(emptyPage);
+        when(jsonFactory.serverPlayersTablePage(any(), any())).thenReturn(emptyPage);
+        underTest = new PlayersTablePageJSONResolver(identifiers, jsonFactory);
+    }
+
+    private Request request(Map<String, String> query) {
+        return new Request("GET", new URIPath("/v1/playersTablePage"), new URIQuery(query), new WebUser(""), Collections.emptyMap(), new byte[0]);
+    }
+
+    private PlayersTablePage resolveNetworkPage(Map<String, String> query) {
+        underTest.resolve(request(query));
+        ArgumentCaptor<PlayersTablePage> page = ArgumentCaptor.forClass(PlayersTablePage.class);
+        verify(jsonFactory).networkPlayersTablePage(page.capture());
+        return page.getValue();
+    }
+
+    @Test
+    void mostRecentlySeenPlayersAreRequestedByDefault() {
+        PlayersTablePage expected = new PlayersTablePage(PlayersTablePage.SortColumn.LAST_SEEN, true, null, 0, 50, null);
+        assertEquals(expected, resolveNetworkPage(Collections.emptyMap()));
+    }
+
+    @Test
+    void sortOrderSearchAndPageAreRequested() {
+        Map<String, String> query = new HashMap<>();
+        query.put("sort", "playerName");
+        query.put("order", "asc");
+        query.put("search", "Pla_er%");
+        query.put("page", "2");
+        query.put("size", "10");
+
+        // Wildcards are escaped when the page is queried, not here
+        PlayersTablePage expected = new PlayersTablePage(PlayersTablePage.SortColumn.PLAYER_NAME, false, "Pla_er%", 20, 10, null);
+        assertEquals(expected, resolveNetworkPage(query));
+    }
+
+    @Test
+    void cursorIsRequestedInsteadOfPage() {
+        PlayersTablePage.Cursor cursor = new PlayersTablePage.Cursor(TestConstants.PLAYER_ONE_UUID, "1234");
+        Map<String, String> query = new HashMap<>();
+        query.put("sort", "registered");
+        query.put("page", "3");
+        query.put("cursor", cursor.encode());
+
+        PlayersTablePage expected = new PlayersTablePage(PlayersTablePage.SortColumn.REGISTERED, true, null, 0, 50, cursor);
+        assertEquals(expected, resolveNetworkPage(query));
+    }
+
+    @Test
+    void serverPageIsRequestedForServer() {
+        Request request = request(Collections.singletonMap("server", TestConstants.SERVER_UUID_STRING));
+        when(identifiers.getServerUUID(request)).thenReturn(TestConstants.SERVER_UUID);
+
+        underTest.resolve(request);
+
+        PlayersTablePage expected = new PlayersTablePage(PlayersTablePage.SortColumn.LAST_SEEN, true, null, 0, 50, null);
+        verify(jsonFactory).serverPlayersTablePage(eq(TestConstants.SERVER_UUID), eq(expected));
+    }
+
+    @Test
+    void cursorOfAnotherColumnIsBadRequest() {
+        PlayersTablePage.Cursor nameCursor = new PlayersTablePage.Cursor(TestConstants.PLAYER_ONE_UUID, "Player");
+        Map<String, String> query = new HashMap<>();
+        query.put("sort", "registered");
+        query.put("cursor", nameCursor.encode());
+        Request request = request(query);
+
+        assertThrows(BadRequestException.class, () -> underTest.resolve(request));
+    }
+
+    @Test
+    void cursorOfActivityIndexIsBadRequest() {
+        PlayersTablePage.Cursor activityCursor = new PlayersTablePage.Cursor(TestConstants.PLAYER_ONE_UUID, "2.5");
+        Map<String, String> query = new HashMap<>();
+        query.put("sort", "activityIndex");
+        query.put("cursor", activityCursor.encode());
+        Request request = request(query);
+
+        assertThrows(BadRequestException.class, () -> underTest.resolve(request));
+    }
+
+    @Test
+    void invalidParametersAreBadRequests() {
+        List<Map<String, String>> invalidQueries = Arrays.asList(
+                Collections.singletonMap("sort", "uuid"),
+                Collections.singletonMap("order", "random"),
+                Collections.singletonMap("cursor", "not-a-cursor"),
+                Collections.singletonMap("page", "-1"),
+                Collections.singletonMap("size", "1001"),
+                Collections.singletonMap("size", "ten")
+        );
+        for (Map<String, String> query : invalidQueries) {
+            Request request = request(query);
+            assertThrows(BadRequestException.class, () -> underTest.resolve(request), query::toString);
+        }
+    }
+}
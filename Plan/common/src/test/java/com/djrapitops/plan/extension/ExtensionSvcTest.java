@@ -0,0 +1,154 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension;
+
+import com.djrapitops.plan.component.ComponentSvc;
+import com.djrapitops.plan.extension.annotation.NumberProvider;
+import com.djrapitops.plan.extension.annotation.PluginInfo;
+import com.djrapitops.plan.extension.implementation.ExtensionRegister;
+import com.djrapitops.plan.extension.implementation.ExtensionUpdateHealth;
+import com.djrapitops.plan.identification.ServerInfo;
+import com.djrapitops.plan.identification.UUIDUtility;
+import com.djrapitops.plan.processing.Processing;
+import com.djrapitops.plan.settings.config.ExtensionSettings;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import utilities.TestConstants;
+import utilities.TestPluginLogger;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for time budget handling of {@link ExtensionSvc}.
+ * <p>
+ * The class is public, since the extensions below are called through MethodHandles.
+ *
+ * @author AuroraLS3
+ */
+public class ExtensionSvcTest {
+
+    private static final long BUDGET_MS = 100L;
+
+    private ExtensionSvc underTest;
+    private BlockingExtension blocking;
+
+    @BeforeEach
+    void setUp() {
+        PlanConfig config = Mockito.mock(PlanConfig.class);
+        when(config.get(DataGatheringSettings.EXTENSION_THREADS)).thenReturn(1);
+        when(config.get(DataGatheringSettings.EXTENSION_TIME_BUDGET)).thenReturn(BUDGET_MS);
+        ExtensionSettings extensionSettings = Mockito.mock(ExtensionSettings.class);
+        when(extensionSettings.hasSection(anyString())).thenReturn(true);
+        when(extensionSettings.isEnabled(anyString())).thenReturn(true);
+        when(config.getExtensionSettings()).thenReturn(extensionSettings);
+
+        Database database = Mockito.mock(Database.class);
+        doReturn(CompletableFuture.completedFuture(null)).when(database).executeTransaction(any());
+        DBSystem dbSystem = Mockito.mock(DBSystem.class);
+        when(dbSystem.getDatabase()).thenReturn(database);
+        ServerInfo serverInfo = Mockito.mock(ServerInfo.class);
+        when(serverInfo.getServerUUID()).thenReturn(TestConstants.SERVER_UUID);
+
+        underTest = new ExtensionSvc(config, dbSystem, Mockito.mock(ComponentSvc.class), serverInfo,
+                Mockito.mock(Processing.class), Mockito.mock(ExtensionRegister.class), Mockito.mock(UUIDUtility.class),
+                new TestPluginLogger(), Mockito.mock(ErrorLogger.class));
+        blocking = new BlockingExtension();
+    }
+
+    @AfterEach
+    void tearDown() {
+        blocking.release.countDown();
+        underTest.disableUpdates();
+    }
+
+    @Test
+    void updateThatDoesNotStartWithinBudgetIsCountedAsQueuedTimeout() throws Exception {
+        underTest.register(blocking);
+        CompletableFuture<Void> firstUpdate = CompletableFuture.runAsync(() -> underTest.updateServerValues(CallEvents.MANUAL));
+        assertTrue(blocking.started.await(5, TimeUnit.SECONDS));
+
+        // The only update thread is busy, so both of these updates wait in the queue.
+        underTest.register(new QuickExtension());
+        underTest.updateServerValues(CallEvents.MANUAL);
+        firstUpdate.get(5, TimeUnit.SECONDS);
+
+        Map<String, ExtensionUpdateHealth> health = underTest.getExtensionHealth();
+        ExtensionUpdateHealth ofBlocking = health.get("Blocking");
+        assertEquals(1L, ofBlocking.getOverBudgetCount());
+        assertEquals(1L, ofBlocking.getQueuedTimeoutCount());
+        ExtensionUpdateHealth ofQuick = health.get("Quick");
+        assertEquals(0L, ofQuick.getOverBudgetCount());
+        assertEquals(1L, ofQuick.getQueuedTimeoutCount());
+        assertEquals(0L, ofQuick.getUpdateCount());
+    }
+
+    @Test
+    void updateWithinBudgetIsNotCountedAsTimeout() {
+        underTest.register(new QuickExtension());
+        underTest.updateServerValues(CallEvents.MANUAL);
+
+        ExtensionUpdateHealth ofQuick = underTest.getExtensionHealth().get("Quick");
+        assertEquals(1L, ofQuick.getUpdateCount());
+        assertEquals(0L, ofQuick.getOverBudgetCount());
+        assertEquals(0L, ofQuick.getQueuedTimeoutCount());
+    }
+
+    @PluginInfo(name = "Blocking")
+    public static class BlockingExtension implements DataExtension {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @NumberProvider(text = "a number")
+        public long value() {
+            started.countDown();
+            // Keeps the update thread busy after the update is cancelled, like an extension that ignores interrupts.
+            while (release.getCount() > 0) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                    // Keep blocking until released
+                }
+            }
+            return 1L;
+        }
+    }
+
+    @PluginInfo(name = "Quick")
+    public static class QuickExtension implements DataExtension {
+        @NumberProvider(text = "a number")
+        public long value() {
+            return 1L;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ExtensionUpdateHealth}.
+ *
+ * @author AuroraLS3
+ */
+class ExtensionUpdateHealthTest {
+
+    private static final long BUDGET = 100L;
+
+    @Test
+    void extensionIsSkippedAfterGoingOverBudgetRepeatedly() {
+        ExtensionUpdateHealth health = new ExtensionUpdateHealth();
+        long now = 1000L;
+
+        assertEquals(0L, health.recordOverBudget(now));
+        assertEquals(0L, health.recordOverBudget(now));
+        assertFalse(health.shouldSkip(now));
+
+        assertEquals(ExtensionUpdateHealth.BASE_BACKOFF_MS, health.recordOverBudget(now));
+        assertTrue(health.shouldSkip(now + 1));
+        assertFalse(health.shouldSkip(now + ExtensionUpdateHealth.BASE_BACKOFF_MS));
+        assertEquals(1L, health.getSkippedCount());
+        assertEquals(3L, health.getOverBudgetCount());
+    }
+
+    @Test
+    void skipDoublesWhenUpdateAfterSkipGoesOverBudget() {
+        ExtensionUpdateHealth health = new ExtensionUpdateHealth();
+        for (int i = 0; i < ExtensionUpdateHealth.OVER_BUDGET_LIMIT; i++) {
+            health.recordOverBudget(0L);
+        }
+
+        assertEquals(2 * ExtensionUpdateHealth.BASE_BACKOFF_MS, health.recordOverBudget(0L));
+        assertEquals(4 * ExtensionUpdateHealth.BASE_BACKOFF_MS, health.recordOverBudget(0L));
+    }
+
+    @Test
+    void skipIsCappedAtMaximum() {
+        ExtensionUpdateHealth health = new ExtensionUpdateHealth();
+        long backoff = 0L;
+        for (int i = 0; i < 100; i++) {
+            backoff = health.recordOverBudget(0L);
+        }
+        assertEquals(ExtensionUpdateHealth.MAX_BACKOFF_MS, backoff);
+    }
+
+    @Test
+    void updateWithinBudgetResetsOverBudgetStreak() {
+        ExtensionUpdateHealth health = new ExtensionUpdateHealth();
+        health.recordOverBudget(0L);
+        health.recordOverBudget(0L);
+        health.recordUpdate(10L, BUDGET);
+
+        assertEquals(0L, health.recordOverBudget(0L));
+        assertEquals(0L, health.recordOverBudget(0L));
+        assertFalse(health.shouldSkip(0L));
+    }
+
+    @Test
+    void updatesAreRecordedToHistogram() {
+        ExtensionUpdateHealth health = new ExtensionUpdateHealth();
+        health.recordUpdate(0L, BUDGET);
+        health.recordUpdate(7L, BUDGET);
+        health.recordUpdate(20000L, BUDGET);
+
+        List<ExtensionUpdateHealth.Bucket> histogram = health.getHistogram();
+        assertEquals(1L, histogram.get(0).getCount());
+        assertEquals(Long.valueOf(1L), histogram.get(0).getLessThanMs());
+        assertEquals(1L, histogram.get(2).getCount());
+        ExtensionUpdateHealth.Bucket last = histogram.get(histogram.size() - 1);
+        assertNull(last.getLessThanMs());
+        assertEquals(1L, last.getCount());
+
+        assertEquals(3L, health.getUpdateCount());
+        assertEquals(20000L, health.getMaxMs());
+        assertEquals(20007.0 / 3, health.getAverageMs(), 0.001);
+    }
+}
@@ -105,4 +105,15 @@ class AFKTrackerTest {
         long afkTime = underTest.loggedOut(playerUUID, afkThreshold * 2);
         assertEquals(0L, afkTime);
     }
+
+    @Test
+    void afkTimeIsCountedOnlyAfterThreshold() {
+        underTest.performedAction(playerUUID, 0L);
+        for (long time = 50L; time < afkThreshold; time += 50L) {
+            assertEquals(0L, underTest.performedAction(playerUUID, time));
+        }
+        long lastMove = afkThreshold - 50L;
+        assertEquals(afkThreshold, underTest.performedAction(playerUUID, lastMove + afkThreshold));
+        assertEquals(0L, underTest.loggedOut(playerUUID, lastMove + afkThreshold + 50L));
+    }
 }
\ No newline at end of file
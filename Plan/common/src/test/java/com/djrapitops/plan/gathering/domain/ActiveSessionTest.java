@@ -21,6 +21,10 @@ import org.junit.jupiter.api.Test;
 import utilities.RandomData;
 import utilities.TestConstants;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 class ActiveSessionTest {
 
     @Test
@@ -35,4 +39,42 @@ class ActiveSessionTest {
         });
     }
 
+    @Test
+    void mobKillsAndDeathsFromMultipleThreadsAreCounted() throws InterruptedException {
+        ActiveSession session = new ActiveSession(TestConstants.PLAYER_ONE_UUID, TestConstants.SERVER_UUID, System.currentTimeMillis(), "World", "SURVIVAL");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(session::addMobKill);
+            executor.execute(session::addDeath);
+            if (i % 100 == 0) executor.execute(session::getExtraData); // Flushes while counting
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        FinishedSession finishedSession = session.toFinishedSession(System.currentTimeMillis());
+        Assertions.assertEquals(1000, finishedSession.getMobKillCount());
+        Assertions.assertEquals(1000, finishedSession.getDeathCount());
+    }
+
+    @Test
+    void equalsHashCodeAndToStringDoNotFlushPendingCounters() {
+        long start = System.currentTimeMillis();
+        ActiveSession flushed = new ActiveSession(TestConstants.PLAYER_ONE_UUID, TestConstants.SERVER_UUID, start, "World", "SURVIVAL");
+        ActiveSession pending = new ActiveSession(TestConstants.PLAYER_ONE_UUID, TestConstants.SERVER_UUID, start, "World", "SURVIVAL");
+        for (ActiveSession session : new ActiveSession[]{flushed, pending}) {
+            session.addMobKill();
+            session.addDeath();
+        }
+        flushed.getExtraData();
+
+        Assertions.assertEquals(flushed, pending);
+        Assertions.assertEquals(flushed.hashCode(), pending.hashCode());
+        String described = pending.toString();
+        Assertions.assertTrue(described.contains("pendingMobKills=1, pendingDeaths=1"), described);
+        Assertions.assertEquals(described, pending.toString());
+        Assertions.assertEquals(1, pending.getMobKillCount());
+        Assertions.assertEquals(1, pending.getDeathCount());
+    }
+
 }
\ No newline at end of file
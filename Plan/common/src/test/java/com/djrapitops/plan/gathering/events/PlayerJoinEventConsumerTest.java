@@ -32,6 +32,7 @@ import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
 import com.djrapitops.plan.settings.config.paths.ExportSettings;
 import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.SQLDB;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.queries.objects.*;
 import com.djrapitops.plan.storage.database.sql.tables.JoinAddressTable;
 import com.djrapitops.plan.storage.database.sql.tables.WorldTable;
@@ -268,7 +269,7 @@ class PlayerJoinEventConsumerTest {
         underTest.onJoinGameServer(join);
         waitUntilDatabaseIsDone(database);
 
-        Set<Integer> result = database.query(UserInfoQueries.userIdsOfNonOperators());
+        UserIdSet result = database.query(UserInfoQueries.userIdsOfNonOperators());
         assertTrue(result.isEmpty());
         result = database.query(UserInfoQueries.userIdsOfOperators());
         assertEquals(1, result.size());
@@ -32,6 +32,7 @@ import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
 import com.djrapitops.plan.settings.config.paths.ExportSettings;
 import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.SQLDB;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.queries.objects.JoinAddressQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
 import com.djrapitops.plan.storage.database.queries.objects.UserInfoQueries;
@@ -55,7 +56,6 @@ import utilities.mocks.objects.TestPlayerData;
 import java.io.File;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -165,7 +165,7 @@ class PlayerLeaveEventConsumerTest {
         underTest.onLeaveGameServer(leave);
         waitUntilDatabaseIsDone(database);
 
-        Set<Integer> result = database.query(UserInfoQueries.userIdsOfBanned());
+        UserIdSet result = database.query(UserInfoQueries.userIdsOfBanned());
         assertEquals(1, result.size());
         result = database.query(UserInfoQueries.userIdsOfNotBanned());
         assertEquals(0, result.size());
@@ -0,0 +1,76 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.gathering.timed;
+
+import com.djrapitops.plan.gathering.domain.Ping;
+import com.djrapitops.plan.utilities.analysis.Median;
+import org.junit.jupiter.api.Test;
+import utilities.RandomData;
+import utilities.TestConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link PingAggregator}.
+ *
+ * @author AuroraLS3
+ */
+class PingAggregatorTest {
+
+    @Test
+    void medianMatchesSortedMedian() {
+        for (int size = 1; size <= PingAggregator.WINDOW_SIZE; size++) {
+            int[] values = new int[size];
+            List<Integer> expectedValues = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                values[i] = RandomData.randomInt(1, 50); // Small range so that there are duplicates
+                expectedValues.add(values[i]);
+            }
+            double expected = Median.forList(expectedValues).calculate();
+
+            assertEquals(expected, PingAggregator.median(values, size), () -> "Wrong median for " + expectedValues);
+        }
+    }
+
+    @Test
+    void allPlayersAreAggregatedWhenWindowCompletes() {
+        PingAggregator aggregator = new PingAggregator();
+        aggregator.startRecording(TestConstants.PLAYER_ONE_UUID);
+        aggregator.startRecording(TestConstants.PLAYER_TWO_UUID);
+
+        for (int i = 1; i < PingAggregator.WINDOW_SIZE; i++) {
+            aggregator.addPing(TestConstants.PLAYER_ONE_UUID, i, i);
+            assertFalse(aggregator.completeSample());
+        }
+        aggregator.addPing(TestConstants.PLAYER_ONE_UUID, PingAggregator.WINDOW_SIZE, 5000); // Out of accepted range
+        assertTrue(aggregator.completeSample());
+
+        Map<UUID, Ping> aggregated = aggregator.aggregateWindow(TestConstants.SERVER_UUID);
+        Ping expected = new Ping(PingAggregator.WINDOW_SIZE, TestConstants.SERVER_UUID, 1, PingAggregator.WINDOW_SIZE - 1, 15);
+        assertEquals(expected, aggregated.get(TestConstants.PLAYER_ONE_UUID));
+        assertFalse(aggregated.containsKey(TestConstants.PLAYER_TWO_UUID), "Player without samples was aggregated");
+
+        // Next window starts empty
+        assertTrue(aggregator.aggregateWindow(TestConstants.SERVER_UUID).isEmpty());
+        assertEquals(2, aggregator.getRecordedPlayers().size());
+    }
+}
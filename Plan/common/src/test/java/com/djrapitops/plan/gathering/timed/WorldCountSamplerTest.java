@@ -0,0 +1,115 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.gathering.timed;
+
+import com.djrapitops.plan.gathering.ServerSensor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link WorldCountSampler}.
+ *
+ * @author AuroraLS3
+ */
+class WorldCountSamplerTest {
+
+    private final List<String> worlds = new ArrayList<>(List.of("world", "world_nether", "world_the_end"));
+    private final Map<String, Integer> entities = Map.of("world", 100, "world_nether", 20, "world_the_end", 3);
+    private final List<String> countedWorlds = new ArrayList<>();
+
+    private final ServerSensor<String> serverSensor = new ServerSensor<>() {
+        @Override
+        public boolean supportsDirectTPS() {
+            return false;
+        }
+
+        @Override
+        public int getOnlinePlayerCount() {
+            return 0;
+        }
+
+        @Override
+        public Iterable<String> getWorlds() {
+            return worlds;
+        }
+
+        @Override
+        public int getEntityCount(String world) {
+            countedWorlds.add(world);
+            return entities.get(world);
+        }
+
+        @Override
+        public int getChunkCount(String world) {
+            return 1;
+        }
+    };
+
+    @Test
+    void oneWorldIsCountedPerSample() {
+        WorldCountSampler<String> underTest = new WorldCountSampler<>(serverSensor, worlds.size());
+
+        underTest.pulse();
+        assertEquals(List.of("world"), countedWorlds);
+        assertArrayEquals(new int[]{100, 1}, underTest.getTotals());
+
+        underTest.pulse();
+        underTest.pulse();
+        underTest.pulse();
+        assertEquals(List.of("world", "world_nether", "world_the_end", "world"), countedWorlds);
+        assertArrayEquals(new int[]{123, 3}, underTest.getTotals());
+    }
+
+    @Test
+    void unloadedWorldsAreNotCounted() {
+        WorldCountSampler<String> underTest = new WorldCountSampler<>(serverSensor, worlds.size());
+        for (int i = 0; i < worlds.size(); i++) {
+            underTest.pulse();
+        }
+
+        worlds.remove("world_nether");
+        assertArrayEquals(new int[]{103, 2}, underTest.getTotals());
+    }
+
+    @Test
+    void singleWorldIsCountedOncePerMinute() {
+        worlds.retainAll(List.of("world"));
+        WorldCountSampler<String> underTest = new WorldCountSampler<>(serverSensor, 60);
+
+        for (int second = 0; second < 180; second++) {
+            underTest.pulse();
+        }
+        assertEquals(List.of("world", "world", "world"), countedWorlds);
+    }
+
+    @Test
+    void worldsAreCountedOncePerRound() {
+        WorldCountSampler<String> underTest = new WorldCountSampler<>(serverSensor, 60);
+
+        for (int second = 0; second < 60; second++) {
+            underTest.pulse();
+        }
+        assertEquals(List.of("world", "world_nether", "world_the_end"), countedWorlds);
+        assertArrayEquals(new int[]{123, 3}, underTest.getTotals());
+    }
+}
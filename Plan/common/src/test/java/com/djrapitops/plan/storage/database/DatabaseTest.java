@@ -37,6 +37,7 @@ import com.djrapitops.plan.storage.database.queries.ServerAggregateQueries;
 import com.djrapitops.plan.storage.database.queries.containers.ContainerFetchQueries;
 import com.djrapitops.plan.storage.database.queries.objects.*;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.NetworkTablePlayersQuery;
+import com.djrapitops.plan.storage.database.queries.objects.playertable.PlayersTablePage;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.ServerTablePlayersQuery;
 import com.djrapitops.plan.storage.database.sql.building.Sql;
 import com.djrapitops.plan.storage.database.sql.tables.JoinAddressTable;
@@ -126,6 +127,27 @@ public interface DatabaseTest extends DatabaseTestPreparer {
         assertQueryIsEmpty(db(), SessionQueries.fetchSessionsOfPlayer(playerUUID));
     }
 
+    @Test
+    default void registeredPlayerIdIsCachedUntilRemoval() {
+        IdentityCache identities = ((SQLDB) db()).getIdentityCache();
+        saveUserTwo();
+        db().executeTransaction(new StoreServerPlayerTransaction(playerUUID, RandomData::randomTime,
+                TestConstants.PLAYER_ONE_NAME, serverUUID(), TestConstants.GET_PLAYER_HOSTNAME));
+
+        Optional<Integer> expected = db().query(UserIdentifierQueries.fetchUserId(playerUUID));
+        assertTrue(expected.isPresent());
+        assertEquals(expected, identities.getUserId(playerUUID));
+
+        FinishedSession session = RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID);
+        saveTwoWorlds();
+        db().executeTransaction(new StoreSessionTransaction(session));
+        assertEquals(db().query(ServerQueries.fetchServerIds()).get(serverUUID()), identities.getServerId(serverUUID()).orElse(null));
+        assertEquals(1, db().query(SessionQueries.fetchSessionsOfPlayer(playerUUID)).get(serverUUID()).size());
+
+        db().executeTransaction(new RemovePlayerTransaction(playerUUID));
+        assertFalse(identities.getUserId(playerUUID).isPresent());
+    }
+
     default <T extends Map<?, ?>> void assertQueryIsEmpty(Database database, Query<T> query) {
         assertTrue(database.query(query).isEmpty());
     }
@@ -335,11 +357,52 @@ public interface DatabaseTest extends DatabaseTestPreparer {
                 TestConstants.PLAYER_TWO_NAME, serverUUID(), TestConstants.GET_PLAYER_HOSTNAME));
         db().executeTransaction(new StoreSessionTransaction(RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID)));
 
-        List<TablePlayer> result = db().query(new ServerTablePlayersQuery(serverUUID(), System.currentTimeMillis(), 10L, 1));
+        List<TablePlayer> result = db().query(new ServerTablePlayersQuery(serverUUID(), System.currentTimeMillis(), 1));
         assertEquals(1, result.size(), () -> "Incorrect query result: " + result);
         assertNotEquals(Collections.emptyList(), result);
     }
 
+    @Test
+    default void serverTablePlayersQueryPagesMatchFullSortedList() {
+        for (int i = 0; i < 5; i++) {
+            db().executeTransaction(new StoreServerPlayerTransaction(UUID.randomUUID(), RandomData::randomTime,
+                    "Player" + i, serverUUID(), TestConstants.GET_PLAYER_HOSTNAME));
+        }
+        long now = System.currentTimeMillis();
+        PlayersTablePage allPlayers = new PlayersTablePage(PlayersTablePage.SortColumn.REGISTERED, true, null, 0, 10, null);
+        List<UUID> expected = db().query(new ServerTablePlayersQuery(serverUUID(), now, allPlayers))
+                .stream().map(TablePlayer::getPlayerUUID).collect(Collectors.toList());
+        assertEquals(5, expected.size());
+        assertEquals(5, (int) db().query(ServerTablePlayersQuery.countPlayers(serverUUID(), allPlayers)));
+
+        List<UUID> byCursor = new ArrayList<>();
+        List<UUID> byOffset = new ArrayList<>();
+        PlayersTablePage.Cursor cursor = null;
+        for (int pageNumber = 0; pageNumber < 3; pageNumber++) {
+            PlayersTablePage cursorPage = new PlayersTablePage(PlayersTablePage.SortColumn.REGISTERED, true, null, 0, 2, cursor);
+            List<TablePlayer> players = db().query(new ServerTablePlayersQuery(serverUUID(), now, cursorPage));
+            players.stream().map(TablePlayer::getPlayerUUID).forEach(byCursor::add);
+            cursor = cursorPage.nextCursor(players).orElse(null);
+
+            PlayersTablePage offsetPage = new PlayersTablePage(PlayersTablePage.SortColumn.REGISTERED, true, null, pageNumber * 2, 2, null);
+            db().query(new ServerTablePlayersQuery(serverUUID(), now, offsetPage))
+                    .stream().map(TablePlayer::getPlayerUUID).forEach(byOffset::add);
+        }
+        assertEquals(expected, byCursor);
+        assertEquals(expected, byOffset);
+
+        PlayersTablePage search = new PlayersTablePage(PlayersTablePage.SortColumn.PLAYER_NAME, false, "player3", 0, 10, null);
+        assertEquals(1, (int) db().query(ServerTablePlayersQuery.countPlayers(serverUUID(), search)));
+        assertEquals(1, db().query(new ServerTablePlayersQuery(serverUUID(), now, search)).size());
+
+        // Wildcards are searched for as is
+        for (String wildcardSearch : Arrays.asList("%", "_layer", "player!")) {
+            PlayersTablePage wildcards = new PlayersTablePage(PlayersTablePage.SortColumn.PLAYER_NAME, false, wildcardSearch, 0, 10, null);
+            assertEquals(0, (int) db().query(ServerTablePlayersQuery.countPlayers(serverUUID(), wildcards)), wildcardSearch);
+            assertEquals(0, db().query(new ServerTablePlayersQuery(serverUUID(), now, wildcards)).size(), wildcardSearch);
+        }
+    }
+
     @Test
     default void networkTablePlayersQueryQueriesAtLeastOnePlayer() {
         db().executeTransaction(new StoreWorldNameTransaction(serverUUID(), worlds[0]));
@@ -350,7 +413,7 @@ public interface DatabaseTest extends DatabaseTestPreparer {
                 TestConstants.PLAYER_TWO_NAME, serverUUID(), TestConstants.GET_PLAYER_HOSTNAME));
         db().executeTransaction(new StoreSessionTransaction(RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID)));
 
-        List<TablePlayer> result = db().query(new NetworkTablePlayersQuery(System.currentTimeMillis(), 10L, 1));
+        List<TablePlayer> result = db().query(new NetworkTablePlayersQuery(System.currentTimeMillis(), 1));
         assertEquals(1, result.size(), () -> "Incorrect query result: " + result);
     }
 
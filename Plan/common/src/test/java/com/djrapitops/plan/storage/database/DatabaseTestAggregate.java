@@ -21,6 +21,7 @@ import com.djrapitops.plan.storage.database.queries.*;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerRetentionQueriesTest;
 import com.djrapitops.plan.storage.database.queries.analysis.TopListQueriesTest;
 import com.djrapitops.plan.storage.database.queries.objects.PluginMetadataQueriesTest;
+import com.djrapitops.plan.storage.database.transactions.GroupCommitTransactionTest;
 import com.djrapitops.plan.storage.database.transactions.commands.ChangeUserUUIDTransactionTest;
 import com.djrapitops.plan.storage.database.transactions.commands.CombineUserTransactionTest;
 import com.djrapitops.plan.storage.database.transactions.patches.AfterBadJoinAddressDataCorrectionPatchTest;
@@ -44,6 +45,7 @@ public interface DatabaseTestAggregate extends
         JoinAddressQueriesTest,
         ChangeUserUUIDTransactionTest,
         CombineUserTransactionTest,
+        GroupCommitTransactionTest,
         ExtensionQueryResultTableDataQueryTest,
         BadJoinAddressDataCorrectionPatchTest,
         AfterBadJoinAddressDataCorrectionPatchTest,
@@ -0,0 +1,96 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.identification.ServerUUID;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link IdentityCache}.
+ *
+ * @author AuroraLS3
+ */
+class IdentityCacheTest {
+
+    @Test
+    void idsCanBeFoundInBothDirections() {
+        IdentityCache identities = new IdentityCache();
+        UUID playerUUID = UUID.randomUUID();
+        ServerUUID serverUUID = ServerUUID.randomUUID();
+        identities.cacheUser(playerUUID, 5);
+        identities.cacheServer(serverUUID, 2);
+
+        assertEquals(Optional.of(5), identities.getUserId(playerUUID));
+        assertEquals(Optional.of(playerUUID), identities.getPlayerUUID(5));
+        assertEquals(Optional.of(2), identities.getServerId(serverUUID));
+        assertEquals(Optional.of(serverUUID), identities.getServerUUID(2));
+    }
+
+    @Test
+    void leastRecentlyUsedPlayerIsDropped() {
+        IdentityCache identities = new IdentityCache(2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        identities.cacheUser(first, 1);
+        identities.cacheUser(second, 2);
+        identities.getUserId(first);
+        identities.cacheUser(third, 3);
+
+        assertEquals(2, identities.getUserCount());
+        assertTrue(identities.getUserId(first).isPresent());
+        assertFalse(identities.getUserId(second).isPresent());
+        assertFalse(identities.getPlayerUUID(2).isPresent());
+        assertTrue(identities.getUserId(third).isPresent());
+    }
+
+    @Test
+    void changedIdReplacesBothDirections() {
+        IdentityCache identities = new IdentityCache();
+        UUID oldUUID = UUID.randomUUID();
+        UUID newUUID = UUID.randomUUID();
+        identities.cacheUser(oldUUID, 1);
+        identities.cacheUser(newUUID, 1);
+
+        assertFalse(identities.getUserId(oldUUID).isPresent());
+        assertEquals(Optional.of(newUUID), identities.getPlayerUUID(1));
+        assertEquals(1, identities.getUserCount());
+    }
+
+    @Test
+    void removedIdsAreNotFound() {
+        IdentityCache identities = new IdentityCache();
+        UUID playerUUID = UUID.randomUUID();
+        ServerUUID serverUUID = ServerUUID.randomUUID();
+        identities.cacheUser(playerUUID, 1);
+        identities.cacheServer(serverUUID, 1);
+
+        identities.removeUser(playerUUID);
+        assertFalse(identities.getUserId(playerUUID).isPresent());
+        assertFalse(identities.getPlayerUUID(1).isPresent());
+        assertTrue(identities.getServerId(serverUUID).isPresent());
+
+        identities.clear();
+        assertFalse(identities.getServerId(serverUUID).isPresent());
+        assertFalse(identities.hasServers());
+    }
+}
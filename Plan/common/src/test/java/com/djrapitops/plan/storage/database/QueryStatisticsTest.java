@@ -0,0 +1,74 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link QueryStatistics}.
+ *
+ * @author AuroraLS3
+ */
+class QueryStatisticsTest {
+
+    @Test
+    void fetchSizeIsNotChangedWithoutHistory() {
+        QueryStatistics statistics = new QueryStatistics();
+        statistics.record(String.class, "SELECT 1", 0, 5000);
+
+        assertEquals(1000, statistics.getFetchSize(String.class, 1000));
+    }
+
+    @Test
+    void fetchSizeFollowsAverageRows() {
+        QueryStatistics statistics = new QueryStatistics();
+        for (int i = 0; i < QueryStatistics.FETCH_SIZE_MIN_EXECUTIONS; i++) {
+            statistics.record(String.class, "SELECT 1", 0, 3000);
+        }
+
+        assertEquals(4096, statistics.getFetchSize(String.class, 1000));
+        assertEquals(5000, statistics.getFetchSize(String.class, 5000));
+    }
+
+    @Test
+    void fetchSizeIsCapped() {
+        QueryStatistics statistics = new QueryStatistics();
+        for (int i = 0; i < QueryStatistics.FETCH_SIZE_MIN_EXECUTIONS; i++) {
+            statistics.record(String.class, "SELECT 1", 0, 1_000_000);
+        }
+
+        assertEquals(QueryStatistics.MAX_FETCH_SIZE, statistics.getFetchSize(String.class, 1000));
+    }
+
+    @Test
+    void slowestQueriesAreFirst() {
+        QueryStatistics statistics = new QueryStatistics();
+        statistics.record(String.class, "SELECT 1", TimeUnit.MILLISECONDS.toNanos(5), 1);
+        statistics.record(Integer.class, "SELECT 2", TimeUnit.MILLISECONDS.toNanos(50), 1);
+        statistics.record(Long.class, "SELECT 3", TimeUnit.MILLISECONDS.toNanos(20), 1);
+
+        List<QueryStatistics.Entry> slowest = statistics.getSlowest(2);
+        assertEquals(2, slowest.size());
+        assertEquals("SELECT 2", slowest.get(0).getSql());
+        assertEquals("SELECT 3", slowest.get(1).getSql());
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.storage.database.transactions.GroupCommitTransaction;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link TransactionGroupCommitter}.
+ *
+ * @author AuroraLS3
+ */
+class TransactionGroupCommitterTest {
+
+    private SQLDB db;
+    private ExecutorService lane;
+    private ScheduledExecutorService timer;
+    private GroupCommitStatistics statistics;
+    private List<Transaction> executed;
+
+    @BeforeEach
+    void setUp() {
+        db = mock(SQLDB.class);
+        when(db.getState()).thenReturn(Database.State.OPEN);
+        executed = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> executed.add(invocation.getArgument(0)))
+                .when(db).executeOnTransactionThread(any());
+
+        lane = Executors.newSingleThreadExecutor();
+        timer = Executors.newSingleThreadScheduledExecutor();
+        statistics = new GroupCommitStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        lane.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    private TransactionGroupCommitter committer(int maxBatchSize, long maxLingerMs) {
+        return new TransactionGroupCommitter(db, () -> lane, () -> timer, maxBatchSize, maxLingerMs, statistics);
+    }
+
+    private List<CompletableFuture<?>> submit(TransactionGroupCommitter committer, int count) {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(committer.submit(new TestTransaction(), new StackTraceElement[0]));
+        }
+        return futures;
+    }
+
+    private static void await(List<CompletableFuture<?>> futures) throws Exception {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void transactionsArrivingDuringLingerAreCommittedAsOneGroup() throws Exception {
+        TransactionGroupCommitter committer = committer(64, 200);
+
+        await(submit(committer, 10));
+
+        assertEquals(1, executed.size());
+        assertEquals(10, ((GroupCommitTransaction) executed.get(0)).getSize());
+        assertEquals(1, statistics.getCommitCount());
+        assertEquals(10, statistics.getCommittedTransactionCount());
+    }
+
+    @Test
+    void fullBatchIsCommittedWithoutWaitingForLinger() throws Exception {
+        TransactionGroupCommitter committer = committer(5, TimeUnit.MINUTES.toMillis(10));
+
+        await(submit(committer, 5));
+
+        assertEquals(1, executed.size());
+        assertEquals(5, ((GroupCommitTransaction) executed.get(0)).getSize());
+    }
+
+    @Test
+    void lingeringDoesNotBlockOtherTransactionsOnTheLane() throws Exception {
+        TransactionGroupCommitter committer = committer(64, TimeUnit.MINUTES.toMillis(10));
+
+        List<CompletableFuture<?>> grouped = submit(committer, 1);
+        CompletableFuture.runAsync(() -> {}, lane).get(10, TimeUnit.SECONDS);
+        assertFalse(grouped.get(0).isDone());
+
+        committer.flush();
+        await(grouped);
+        assertEquals(1, executed.size());
+    }
+
+    @Test
+    void laterTransactionsOfSameKeyAndBarriersAreExecutedAfterLingeringGroup() throws Exception {
+        List<Object> order = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> order.add(invocation.getArgument(0))).when(db).executeOnTransactionThread(any());
+        TransactionGroupCommitter committer = committer(64, TimeUnit.MINUTES.toMillis(10));
+        UUID playerUUID = UUID.randomUUID();
+
+        Transaction grouped = new KeyedTransaction(playerUUID);
+        CompletableFuture<?> groupedDone = committer.submit(grouped, new StackTraceElement[0]);
+        committer.flush(UUID.randomUUID()); // Transactions of other keys do not wait for the group
+        CompletableFuture.runAsync(() -> {}, lane).get(10, TimeUnit.SECONDS);
+        assertFalse(groupedDone.isDone());
+
+        committer.flush(playerUUID);
+        CompletableFuture<Void> keyed = CompletableFuture.runAsync(() -> order.add("keyed"), lane);
+        Transaction groupedAfterKeyed = new KeyedTransaction(playerUUID);
+        CompletableFuture<?> groupedAfterKeyedDone = committer.submit(groupedAfterKeyed, new StackTraceElement[0]);
+        committer.flush();
+        CompletableFuture<Void> barrier = CompletableFuture.runAsync(() -> order.add("barrier"), lane);
+        CompletableFuture.allOf(groupedDone, keyed, groupedAfterKeyedDone, barrier).get(10, TimeUnit.SECONDS);
+
+        assertEquals(Arrays.asList(grouped, "keyed", groupedAfterKeyed, "barrier"), order);
+    }
+
+    @Test
+    void nothingIsLingeredWhileClosing() throws Exception {
+        when(db.getState()).thenReturn(Database.State.CLOSING);
+        TransactionGroupCommitter committer = committer(64, TimeUnit.MINUTES.toMillis(10));
+
+        await(submit(committer, 1));
+        assertEquals(1, executed.size());
+    }
+
+    @Test
+    void failedGroupIsRetriedOneByOne() throws Exception {
+        doAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            if (transaction instanceof GroupCommitTransaction) throw new IllegalStateException("Test failure");
+            return executed.add(transaction);
+        }).when(db).executeOnTransactionThread(any());
+        TransactionGroupCommitter committer = committer(3, TimeUnit.MINUTES.toMillis(10));
+
+        await(submit(committer, 3));
+
+        assertEquals(3, executed.size());
+        assertTrue(executed.stream().noneMatch(GroupCommitTransaction.class::isInstance));
+        assertEquals(1, statistics.getFallbackCount());
+        verify(db, never()).handleTransactionError(any(), any(), any());
+        verify(db).transactionsFinished(eq(3));
+    }
+
+    @Test
+    void submittingAfterLaneShutdownIsRejected() {
+        lane.shutdown();
+        TransactionGroupCommitter committer = committer(1, 0);
+
+        assertThrows(RejectedExecutionException.class, () -> committer.submit(new TestTransaction(), new StackTraceElement[0]));
+    }
+
+    private static class TestTransaction extends Transaction {
+        @Override
+        protected void performOperations() {
+            // Not executed in these tests
+        }
+    }
+
+    private static class KeyedTransaction extends TestTransaction {
+        private final UUID playerUUID;
+
+        KeyedTransaction(UUID playerUUID) {
+            this.playerUUID = playerUUID;
+        }
+
+        @Override
+        public Optional<Object> getOrderingKey() {
+            return Optional.of(playerUUID);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TransactionLanes}.
+ *
+ * @author AuroraLS3
+ */
+class TransactionLanesTest {
+
+    private static final int TRANSACTION_COUNT = 100_000;
+    private static final int PLAYER_COUNT = 400;
+    private static final int SERVER_COUNT = 8;
+
+    @Test
+    void transactionsOfSameKeyUseSameLane() {
+        TransactionLanes lanes = new TransactionLanes(Executors::newSingleThreadExecutor, 4);
+        try {
+            UUID playerUUID = UUID.randomUUID();
+            assertEquals(lanes.getLaneIndex(new KeyedTransaction(playerUUID)), lanes.getLaneIndex(new KeyedTransaction(playerUUID)));
+            assertEquals(-1, lanes.getLaneIndex(new KeyedTransaction(null)));
+        } finally {
+            lanes.shutdownNow();
+        }
+    }
+
+    @Test
+    void globalTransactionWaitsForAllLanes() throws Exception {
+        TransactionLanes lanes = new TransactionLanes(Executors::newSingleThreadExecutor, 4);
+        try {
+            AtomicInteger finishedBefore = new AtomicInteger(0);
+            CountDownLatch release = new CountDownLatch(1);
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    awaitQuietly(release);
+                    finishedBefore.incrementAndGet();
+                }, lanes.getExecutor(new KeyedTransaction(UUID.randomUUID()))));
+            }
+            AtomicInteger seenByGlobal = new AtomicInteger(-1);
+            CompletableFuture<Void> global = CompletableFuture.runAsync(() -> seenByGlobal.set(finishedBefore.get()),
+                    lanes.getExecutor(new KeyedTransaction(null)));
+            AtomicBoolean globalDoneBeforeNext = new AtomicBoolean(false);
+            CompletableFuture<Void> after = CompletableFuture.runAsync(() -> globalDoneBeforeNext.set(global.isDone()),
+                    lanes.getExecutor(new KeyedTransaction(UUID.randomUUID())));
+
+            release.countDown();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+            global.get(10, TimeUnit.SECONDS);
+            after.get(10, TimeUnit.SECONDS);
+
+            assertEquals(16, seenByGlobal.get());
+            assertTrue(globalDoneBeforeNext.get());
+        } finally {
+            lanes.shutdownNow();
+        }
+    }
+
+    @Test
+    void unfinishedBarriersDoNotBlockAfterShutdown() {
+        TransactionLanes lanes = new TransactionLanes(Executors::newSingleThreadExecutor, 3);
+        CountDownLatch block = new CountDownLatch(1);
+        lanes.getLane(0).execute(() -> awaitQuietly(block));
+        lanes.getExecutor(new KeyedTransaction(null)).execute(() -> {});
+
+        List<Runnable> unfinished = lanes.shutdownNow();
+        block.countDown();
+
+        assertEquals(1, unfinished.size());
+        // Leader of the barrier should now run without waiting for lanes that no longer exist.
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> unfinished.get(0).run());
+    }
+
+    /**
+     * Pushes 100k mixed transactions through different lane counts.
+     * <p>
+     * Every transaction simulates a short database round-trip, player and server transactions are
+     * sharded while 1% of the transactions have no key and act as barriers.
+     */
+    @ParameterizedTest(name = "{0} lanes")
+    @ValueSource(ints = {1, 2, 4, 8})
+    void mixedTransactionStressTest(int laneCount) throws Exception {
+        TransactionLanes lanes = new TransactionLanes(Executors::newSingleThreadExecutor, laneCount);
+        try {
+            List<UUID> players = new ArrayList<>();
+            for (int i = 0; i < PLAYER_COUNT; i++) players.add(UUID.randomUUID());
+            List<UUID> servers = new ArrayList<>();
+            for (int i = 0; i < SERVER_COUNT; i++) servers.add(UUID.randomUUID());
+
+            Map<Object, AtomicInteger> lastExecuted = new ConcurrentHashMap<>();
+            Map<Object, Integer> lastSubmitted = new HashMap<>();
+            AtomicInteger outOfOrder = new AtomicInteger(0);
+            AtomicInteger finished = new AtomicInteger(0);
+            AtomicInteger barriersNotSeeingEarlierWrites = new AtomicInteger(0);
+            AtomicInteger running = new AtomicInteger(0);
+            AtomicInteger mostRunningAtOnce = new AtomicInteger(0);
+            Random random = new Random(laneCount);
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>(TRANSACTION_COUNT);
+            for (int i = 0; i < TRANSACTION_COUNT; i++) {
+                int roll = random.nextInt(100);
+                Object key;
+                if (roll < 1) {
+                    key = null;
+                } else if (roll < 5) {
+                    key = servers.get(random.nextInt(SERVER_COUNT));
+                } else {
+                    key = players.get(random.nextInt(PLAYER_COUNT));
+                }
+                Object orderKey = key != null ? key : "global";
+                int sequence = lastSubmitted.merge(orderKey, 1, Integer::sum);
+                int submittedBefore = i;
+
+                futures.add(CompletableFuture.runAsync(() -> {
+                    mostRunningAtOnce.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    // Barrier has to see every transaction submitted before it, and none submitted after it.
+                    if (key == null && finished.get() != submittedBefore) barriersNotSeeingEarlierWrites.incrementAndGet();
+                    simulateRoundTrip();
+                    int previous = lastExecuted.computeIfAbsent(orderKey, k -> new AtomicInteger(0)).getAndSet(sequence);
+                    if (previous != sequence - 1) outOfOrder.incrementAndGet();
+                    running.decrementAndGet();
+                    finished.incrementAndGet();
+                }, lanes.getExecutor(new KeyedTransaction(key))));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.MINUTES);
+
+            assertEquals(TRANSACTION_COUNT, finished.get());
+            assertEquals(0, outOfOrder.get(), "Transactions of same key were executed out of order");
+            assertEquals(0, barriersNotSeeingEarlierWrites.get(), "Transactions without key did not wait for other transactions");
+            if (laneCount == 1) {
+                assertEquals(1, mostRunningAtOnce.get());
+            } else {
+                assertTrue(mostRunningAtOnce.get() > 1, "Lanes did not execute any transactions at the same time");
+                assertTrue(mostRunningAtOnce.get() <= laneCount, () -> mostRunningAtOnce.get() + " transactions were executed at once on " + laneCount + " lanes");
+            }
+        } finally {
+            lanes.shutdownNow();
+        }
+    }
+
+    private static void simulateRoundTrip() {
+        long until = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(5);
+        while (System.nanoTime() < until) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class KeyedTransaction extends Transaction {
+        private final Object key;
+
+        KeyedTransaction(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public Optional<Object> getOrderingKey() {
+            return Optional.ofNullable(key);
+        }
+
+        @Override
+        protected void performOperations() {
+            // Not executed in these tests
+        }
+    }
+}
@@ -22,14 +22,18 @@ import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
 import com.djrapitops.plan.gathering.domain.FinishedSession;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
 import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexSnapshotQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.NetworkTablePlayersQuery;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.ServerTablePlayersQuery;
 import com.djrapitops.plan.storage.database.sql.tables.SessionsTable;
 import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
+import com.djrapitops.plan.storage.database.transactions.events.StoreActivityIndexSnapshotTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.StoreServerPlayerTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.StoreSessionTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.StoreWorldNameTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.UpdateActivityIndexSummariesTransaction;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 import utilities.RandomData;
@@ -40,7 +44,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -85,7 +91,8 @@ public interface ActivityIndexQueriesTest extends DatabaseTestPreparer {
 
         ActivityIndex javaCalculation = new ActivityIndex(sessions, date, playtimeThreshold);
 
-        List<TablePlayer> players = db().query(new ServerTablePlayersQuery(serverUUID(), date, playtimeThreshold, 5));
+        db().executeTransaction(new UpdateActivityIndexSummariesTransaction(serverUUID(), date, playtimeThreshold));
+        List<TablePlayer> players = db().query(new ServerTablePlayersQuery(serverUUID(), date, 5));
         Optional<TablePlayer> found = players.stream().filter(tp -> playerUUID.equals(tp.getPlayerUUID())).findFirst();
         assertTrue(found.isPresent());
         Optional<ActivityIndex> currentActivityIndex = found.get().getCurrentActivityIndex();
@@ -132,7 +139,8 @@ public interface ActivityIndexQueriesTest extends DatabaseTestPreparer {
 
         ActivityIndex javaCalculation = new ActivityIndex(sessions, date, playtimeThreshold);
 
-        List<TablePlayer> players = db().query(new ServerTablePlayersQuery(serverUUID(), date, playtimeThreshold, 5));
+        db().executeTransaction(new UpdateActivityIndexSummariesTransaction(serverUUID(), date, playtimeThreshold));
+        List<TablePlayer> players = db().query(new ServerTablePlayersQuery(serverUUID(), date, 5));
         Optional<TablePlayer> found = players.stream().filter(tp -> playerUUID.equals(tp.getPlayerUUID())).findFirst();
         assertTrue(found.isPresent());
         Optional<ActivityIndex> currentActivityIndex = found.get().getCurrentActivityIndex();
@@ -178,7 +186,8 @@ public interface ActivityIndexQueriesTest extends DatabaseTestPreparer {
 
         ActivityIndex javaCalculation = new ActivityIndex(sessions, date, playtimeThreshold);
 
-        List<TablePlayer> players = db().query(new NetworkTablePlayersQuery(date, playtimeThreshold, 5));
+        db().executeTransaction(new UpdateActivityIndexSummariesTransaction(null, date, playtimeThreshold));
+        List<TablePlayer> players = db().query(new NetworkTablePlayersQuery(date, 5));
         Optional<TablePlayer> found = players.stream().filter(tp -> playerUUID.equals(tp.getPlayerUUID())).findFirst();
         assertTrue(found.isPresent());
         Optional<ActivityIndex> currentActivityIndex = found.get().getCurrentActivityIndex();
@@ -266,4 +275,38 @@ public interface ActivityIndexQueriesTest extends DatabaseTestPreparer {
         Integer result = db().query(ActivityIndexQueries.fetchRegularPlayerCount(System.currentTimeMillis(), serverUUID(), playtimeThreshold));
         assertEquals(expected, result);
     }
+
+    @Test
+    default void activityIndexSnapshotMatchesCalculation() throws Exception {
+        storeSessions(session -> true);
+        long weekStart = ActivityIndexSnapshotQueries.getWeekStart(System.currentTimeMillis());
+        long playtimeThreshold = TimeUnit.HOURS.toMillis(5L);
+
+        db().executeTransaction(new StoreActivityIndexSnapshotTransaction(serverUUID(), weekStart, playtimeThreshold)).get();
+        db().executeTransaction(new StoreActivityIndexSnapshotTransaction(null, weekStart, playtimeThreshold)).get();
+
+        Map<String, Integer> expected = db().query(ActivityIndexQueries.fetchActivityIndexGroupingsOn(weekStart, serverUUID(), playtimeThreshold));
+        Map<String, Integer> result = db().query(ActivityIndexSnapshotQueries.fetchActivityIndexGroupings(serverUUID(), weekStart, weekStart, playtimeThreshold)).get(weekStart);
+        assertEquals(expected, result);
+
+        Map<String, Integer> expectedNetwork = db().query(NetworkActivityIndexQueries.fetchActivityIndexGroupingsOn(weekStart, playtimeThreshold));
+        Map<String, Integer> resultNetwork = db().query(ActivityIndexSnapshotQueries.fetchNetworkActivityIndexGroupings(weekStart, weekStart, playtimeThreshold)).get(weekStart);
+        assertEquals(expectedNetwork, resultNetwork);
+    }
+
+    @Test
+    default void activityIndexSnapshotIsRemovedWhenOlderSessionIsStored() throws Exception {
+        storeSessions(session -> true);
+        long weekStart = ActivityIndexSnapshotQueries.getWeekStart(System.currentTimeMillis());
+        long playtimeThreshold = TimeUnit.HOURS.toMillis(5L);
+
+        db().executeTransaction(new StoreActivityIndexSnapshotTransaction(serverUUID(), weekStart, playtimeThreshold)).get();
+        assertEquals(Set.of(weekStart), db().query(ActivityIndexSnapshotQueries.fetchSnapshotDates(serverUUID(), weekStart, playtimeThreshold)));
+
+        long sessionStart = weekStart - TimeUnit.DAYS.toMillis(1L);
+        FinishedSession session = RandomData.randomSession(serverUUID(), worlds, sessionStart, playerUUID, player2UUID);
+        db().executeTransaction(new StoreSessionTransaction(session)).get();
+
+        assertTrue(db().query(ActivityIndexSnapshotQueries.fetchSnapshotDates(serverUUID(), weekStart, playtimeThreshold)).isEmpty());
+    }
 }
\ No newline at end of file
@@ -19,9 +19,12 @@ package com.djrapitops.plan.storage.database.queries;
 import com.djrapitops.plan.delivery.domain.DateObj;
 import com.djrapitops.plan.delivery.domain.auth.User;
 import com.djrapitops.plan.delivery.domain.datatransfer.preferences.Preferences;
+import com.djrapitops.plan.gathering.domain.CompactedTPS;
 import com.djrapitops.plan.gathering.domain.FinishedSession;
 import com.djrapitops.plan.gathering.domain.GeoInfo;
 import com.djrapitops.plan.gathering.domain.TPS;
+import com.djrapitops.plan.gathering.domain.builders.TPSBuilder;
+import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
 import com.djrapitops.plan.storage.database.SQLiteDB;
@@ -29,6 +32,7 @@ import com.djrapitops.plan.storage.database.queries.objects.*;
 import com.djrapitops.plan.storage.database.transactions.BackupCopyTransaction;
 import com.djrapitops.plan.storage.database.transactions.commands.StoreWebUserTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.*;
+import com.djrapitops.plan.storage.database.transactions.init.CompactTPSDataTransaction;
 import com.djrapitops.plan.storage.database.transactions.webuser.StoreWebUserPreferencesTransaction;
 import com.djrapitops.plan.utilities.PassEncryptUtil;
 import com.google.common.util.concurrent.MoreExecutors;
@@ -41,8 +45,11 @@ import java.io.File;
 import java.nio.file.Files;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 public interface DatabaseBackupTest extends DatabaseTestPreparer {
 
@@ -111,6 +118,42 @@ public interface DatabaseBackupTest extends DatabaseTestPreparer {
         }
     }
 
+    @Test
+    default void backupContainsCompactedTPSData() throws Exception {
+        long start = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2L);
+        start = start - start % TimeUnit.HOURS.toMillis(1L);
+        for (int i = 0; i < 120; i++) {
+            db().executeTransaction(new TPSStoreTransaction(serverUUID(), TPSBuilder.get()
+                    .date(start + TimeUnit.MINUTES.toMillis(i))
+                    .tps(20.0 - i % 5)
+                    .playersOnline(i % 10)
+                    .usedCPU(i % 7)
+                    .usedMemory(1000L + i % 11)
+                    .entities(i % 13)
+                    .chunksLoaded(i % 17)
+                    .freeDiskSpace(5000L - i)
+                    .toTPS()));
+        }
+        db().executeTransaction(new CompactTPSDataTransaction(serverUUID(), TimeUnit.DAYS.toMillis(1L)));
+        Map<ServerUUID, List<CompactedTPS>> compacted = db().query(LargeFetchQueries.fetchAllCompactedTPSData());
+        assertFalse(compacted.isEmpty());
+
+        File tempFile = Files.createTempFile(system().getPlanFiles().getDataFolder().toPath(), "backup-", ".db").toFile();
+        tempFile.deleteOnExit();
+        SQLiteDB backup = dbSystem().getSqLiteFactory().usingFile(tempFile);
+        backup.setTransactionExecutorServiceProvider(MoreExecutors::newDirectExecutorService);
+        try {
+            backup.init();
+
+            backup.executeTransaction(new BackupCopyTransaction(db(), backup));
+
+            assertEquals(compacted, backup.query(LargeFetchQueries.fetchAllCompactedTPSData()));
+            assertQueryResultIsEqual(db(), backup, TPSQueries.fetchTPSDataOfServerInResolution(start, start + TimeUnit.HOURS.toMillis(2L), TimeUnit.HOURS.toMillis(1L), serverUUID()));
+        } finally {
+            backup.close();
+        }
+    }
+
     default <T> void assertQueryResultIsEqual(Database one, Database two, Query<T> query) {
         assertEquals(one.query(query), two.query(query));
     }
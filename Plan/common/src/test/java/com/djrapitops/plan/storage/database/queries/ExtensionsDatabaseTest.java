@@ -35,6 +35,9 @@ import com.djrapitops.plan.gathering.domain.ActiveSession;
 import com.djrapitops.plan.gathering.domain.WorldTimes;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
+import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionProviderTable;
+import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionServerValueTable;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
 import com.djrapitops.plan.storage.database.transactions.commands.RemoveEverythingTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.PlayerRegisterTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.StoreSessionTransaction;
@@ -54,6 +57,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
+import static com.djrapitops.plan.storage.database.sql.building.Sql.DELETE_FROM;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -73,6 +77,7 @@ public interface ExtensionsDatabaseTest extends DatabaseTestPreparer {
         extensionService.unregister(new ConditionalExtension());
         extensionService.unregister(new TableExtension());
         extensionService.unregister(new ThrowingExtension());
+        extensionService.unregister(new ChangingExtension());
     }
 
     @Test
@@ -151,6 +156,72 @@ public interface ExtensionsDatabaseTest extends DatabaseTestPreparer {
         OptionalAssert.equals("Something", playerData.getString("stringVal").map(ExtensionStringData::getFormattedValue));
     }
 
+    @Test
+    default void changedExtensionValuesReplaceStoredValues() {
+        db().executeTransaction(new PlayerRegisterTransaction(playerUUID, System::currentTimeMillis, TestConstants.PLAYER_ONE_NAME));
+
+        ExtensionSvc extensionService = extensionService();
+
+        extensionService.register(new ChangingExtension());
+
+        ChangingExtension.value = 1L;
+        ChangingExtension.text = "First";
+        extensionService.updatePlayerValues(playerUUID, TestConstants.PLAYER_ONE_NAME, CallEvents.MANUAL);
+        extensionService.updateServerValues(CallEvents.MANUAL);
+
+        ChangingExtension.value = 2L;
+        ChangingExtension.text = "Second";
+        extensionService.updatePlayerValues(playerUUID, TestConstants.PLAYER_ONE_NAME, CallEvents.MANUAL);
+        extensionService.updateServerValues(CallEvents.MANUAL);
+
+        List<ExtensionData> ofPlayer = db().query(new ExtensionPlayerDataQuery(playerUUID)).get(serverUUID());
+        assertTrue(ofPlayer != null && !ofPlayer.isEmpty() && !ofPlayer.get(0).getTabs().isEmpty(), "There was no player data");
+        ExtensionTabData playerTab = ofPlayer.get(0).getTabs().get(0);
+        OptionalAssert.equals("2", playerTab.getNumber("playerValue").map(data -> data.getFormattedValue(Object::toString)));
+        OptionalAssert.equals("Second", playerTab.getString("playerText").map(ExtensionStringData::getFormattedValue));
+
+        List<ExtensionData> ofServer = db().query(new ExtensionServerDataQuery(serverUUID()));
+        assertTrue(!ofServer.isEmpty() && !ofServer.get(0).getTabs().isEmpty(), "There was no server data");
+        ExtensionTabData serverTab = ofServer.get(0).getTabs().get(0);
+        OptionalAssert.equals("2", serverTab.getNumber("serverValue").map(data -> data.getFormattedValue(Object::toString)));
+        OptionalAssert.equals("Second", serverTab.getString("serverText").map(ExtensionStringData::getFormattedValue));
+    }
+
+    @Test
+    default void extensionValuesAreStoredAfterProvidersAreRemoved() {
+        ExtensionSvc extensionService = extensionService();
+        extensionService.register(new ChangingExtension());
+
+        ChangingExtension.value = 1L;
+        ChangingExtension.text = "First";
+        extensionService.updateServerValues(CallEvents.MANUAL);
+
+        // Another server or /plan db restore removes the providers this server has already stored.
+        db().executeTransaction(new Transaction() {
+            @Override
+            protected void performOperations() {
+                execute(DELETE_FROM + ExtensionServerValueTable.TABLE_NAME);
+                execute(DELETE_FROM + ExtensionProviderTable.TABLE_NAME);
+            }
+        });
+
+        TestErrorLogger.throwErrors(false);
+        try {
+            ChangingExtension.value = 2L;
+            ChangingExtension.text = "Second";
+            extensionService.updateServerValues(CallEvents.MANUAL); // Fails, providers were stored earlier
+            extensionService.updateServerValues(CallEvents.MANUAL);
+        } finally {
+            TestErrorLogger.throwErrors(true);
+        }
+
+        List<ExtensionData> ofServer = db().query(new ExtensionServerDataQuery(serverUUID()));
+        assertTrue(!ofServer.isEmpty() && !ofServer.get(0).getTabs().isEmpty(), "There was no server data");
+        ExtensionTabData serverTab = ofServer.get(0).getTabs().get(0);
+        OptionalAssert.equals("2", serverTab.getNumber("serverValue").map(data -> data.getFormattedValue(Object::toString)));
+        OptionalAssert.equals("Second", serverTab.getString("serverText").map(ExtensionStringData::getFormattedValue));
+    }
+
     @Test
     default void extensionServerValuesAreStored() {
         ExtensionSvc extensionService = extensionService();
@@ -545,6 +616,33 @@ public interface ExtensionsDatabaseTest extends DatabaseTestPreparer {
         }
     }
 
+    @PluginInfo(name = "ChangingExtension")
+    class ChangingExtension implements DataExtension {
+
+        static long value = 1L;
+        static String text = "First";
+
+        @NumberProvider(text = "a number")
+        public long playerValue(UUID playerUUID) {
+            return value;
+        }
+
+        @StringProvider(text = "a string")
+        public String playerText(UUID playerUUID) {
+            return text;
+        }
+
+        @NumberProvider(text = "a number")
+        public long serverValue() {
+            return value;
+        }
+
+        @StringProvider(text = "a string")
+        public String serverText() {
+            return text;
+        }
+    }
+
     @PluginInfo(name = "PlayerExtension")
     class PlayerExtension implements DataExtension {
         @NumberProvider(text = "a number", showInPlayerTable = true)
@@ -21,6 +21,7 @@ import com.djrapitops.plan.settings.locale.lang.FilterLang;
 import com.djrapitops.plan.settings.locale.lang.HtmlLang;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
 import com.djrapitops.plan.storage.database.queries.filter.Filter;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.queries.filter.filters.PluginBooleanGroupFilter;
 import com.djrapitops.plan.utilities.java.Maps;
 import org.junit.jupiter.api.DynamicTest;
@@ -102,7 +103,7 @@ public interface FilterQueryTest extends DatabaseTestPreparer {
         assertAll(Arrays.stream(filter.getExpectedParameters())
                 .map(parameter -> () -> assertTrue(setParameters.contains(parameter), () -> "Incorrect test setup: Parameter '" + parameter + "' was not set for filter " + filter.getKind())));
 
-        Set<Integer> matchingUserIds = filter.getMatchingUserIds(input);
+        UserIdSet matchingUserIds = filter.getMatchingUserIds(input);
         assertNotNull(matchingUserIds);
     }
 }
@@ -22,6 +22,7 @@ import com.djrapitops.plan.gathering.domain.GeoInfo;
 import com.djrapitops.plan.gathering.domain.Ping;
 import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.queries.objects.BaseUserQueries;
 import com.djrapitops.plan.storage.database.queries.objects.GeoInfoQueries;
 import com.djrapitops.plan.storage.database.queries.objects.PingQueries;
@@ -206,8 +207,8 @@ public interface GeolocationQueriesTest extends DatabaseTestPreparer {
             save(playerUUID, geoInfo);
         }
 
-        Set<Integer> expected = Set.of(db().query(BaseUserQueries.fetchUserId(playerUUID)).orElseThrow(AssertionError::new));
-        Set<Integer> result = db().query(GeoInfoQueries.userIdsOfPlayersWithGeolocations(
+        UserIdSet expected = UserIdSet.of(db().query(BaseUserQueries.fetchUserId(playerUUID)).orElseThrow(AssertionError::new));
+        UserIdSet result = db().query(GeoInfoQueries.userIdsOfPlayersWithGeolocations(
                 Collections.singletonList(savedData.get(0).getGeolocation()))
         );
         assertEquals(expected, result);
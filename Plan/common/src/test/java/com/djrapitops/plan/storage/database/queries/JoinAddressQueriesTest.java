@@ -22,6 +22,7 @@ import com.djrapitops.plan.gathering.domain.event.JoinAddress;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.queries.objects.BaseUserQueries;
 import com.djrapitops.plan.storage.database.queries.objects.JoinAddressQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
@@ -75,8 +76,8 @@ public interface JoinAddressQueriesTest extends DatabaseTestPreparer {
         session.getExtraData().remove(JoinAddress.class);
         db().executeTransaction(new StoreSessionTransaction(session));
 
-        Set<Integer> expected = Set.of(db().query(BaseUserQueries.fetchUserId(playerUUID)).orElseThrow(AssertionError::new));
-        Set<Integer> result = db().query(JoinAddressQueries.userIdsOfPlayersWithJoinAddresses(List.of(JoinAddressTable.DEFAULT_VALUE_FOR_LOOKUP)));
+        UserIdSet expected = UserIdSet.of(db().query(BaseUserQueries.fetchUserId(playerUUID)).orElseThrow(AssertionError::new));
+        UserIdSet result = db().query(JoinAddressQueries.userIdsOfPlayersWithJoinAddresses(List.of(JoinAddressTable.DEFAULT_VALUE_FOR_LOOKUP)));
 
         assertEquals(expected, result);
 
@@ -186,8 +187,8 @@ public interface JoinAddressQueriesTest extends DatabaseTestPreparer {
 
         String expectedJoinAddress = StringUtils.truncate(joinAddress, JoinAddressTable.JOIN_ADDRESS_MAX_LENGTH);
 
-        Set<Integer> expected = Set.of(db().query(BaseUserQueries.fetchUserId(playerUUID)).orElseThrow(AssertionError::new));
-        Set<Integer> result = db().query(JoinAddressQueries.userIdsOfPlayersWithJoinAddresses(List.of(expectedJoinAddress)));
+        UserIdSet expected = UserIdSet.of(db().query(BaseUserQueries.fetchUserId(playerUUID)).orElseThrow(AssertionError::new));
+        UserIdSet result = db().query(JoinAddressQueries.userIdsOfPlayersWithJoinAddresses(List.of(expectedJoinAddress)));
 
         assertEquals(expected, result);
 
@@ -210,8 +211,8 @@ public interface JoinAddressQueriesTest extends DatabaseTestPreparer {
 
         String expectedJoinAddress = StringUtils.truncate(joinAddress, JoinAddressTable.JOIN_ADDRESS_MAX_LENGTH);
 
-        Set<Integer> expected = Set.of(db().query(BaseUserQueries.fetchUserId(playerUUID)).orElseThrow(AssertionError::new));
-        Set<Integer> result = db().query(JoinAddressQueries.userIdsOfPlayersWithJoinAddresses(List.of(expectedJoinAddress)));
+        UserIdSet expected = UserIdSet.of(db().query(BaseUserQueries.fetchUserId(playerUUID)).orElseThrow(AssertionError::new));
+        UserIdSet result = db().query(JoinAddressQueries.userIdsOfPlayersWithJoinAddresses(List.of(expectedJoinAddress)));
 
         assertEquals(expected, result);
 
@@ -305,8 +306,8 @@ public interface JoinAddressQueriesTest extends DatabaseTestPreparer {
     default void joinAddressFilterUUIDsAreFetched() {
         latestJoinAddressIsUpdatedUponSecondSession();
 
-        Set<Integer> expected = Set.of(db().query(BaseUserQueries.fetchUserId(playerUUID)).orElseThrow(AssertionError::new));
-        Set<Integer> result = db().query(JoinAddressQueries.userIdsOfPlayersWithJoinAddresses(
+        UserIdSet expected = UserIdSet.of(db().query(BaseUserQueries.fetchUserId(playerUUID)).orElseThrow(AssertionError::new));
+        UserIdSet result = db().query(JoinAddressQueries.userIdsOfPlayersWithJoinAddresses(
                 List.of(TestConstants.GET_PLAYER_HOSTNAME.get().toLowerCase()))
         );
         assertEquals(expected, result);
@@ -316,8 +317,8 @@ public interface JoinAddressQueriesTest extends DatabaseTestPreparer {
     default void joinAddressFilterUUIDsAreFetchedWhenUnknown() {
         joinAddressCanBeUnknown();
 
-        Set<Integer> expected = Set.of(db().query(BaseUserQueries.fetchUserId(playerUUID)).orElseThrow(AssertionError::new));
-        Set<Integer> result = db().query(JoinAddressQueries.userIdsOfPlayersWithJoinAddresses(
+        UserIdSet expected = UserIdSet.of(db().query(BaseUserQueries.fetchUserId(playerUUID)).orElseThrow(AssertionError::new));
+        UserIdSet result = db().query(JoinAddressQueries.userIdsOfPlayersWithJoinAddresses(
                 List.of(JoinAddressTable.DEFAULT_VALUE_FOR_LOOKUP))
         );
         assertEquals(expected, result);
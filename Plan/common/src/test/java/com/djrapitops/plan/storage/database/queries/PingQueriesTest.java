@@ -19,10 +19,15 @@ package com.djrapitops.plan.storage.database.queries;
 import com.djrapitops.plan.delivery.domain.DateObj;
 import com.djrapitops.plan.gathering.domain.BaseUser;
 import com.djrapitops.plan.gathering.domain.Ping;
+import com.djrapitops.plan.identification.Server;
+import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
 import com.djrapitops.plan.storage.database.queries.objects.BaseUserQueries;
 import com.djrapitops.plan.storage.database.queries.objects.PingQueries;
+import com.djrapitops.plan.storage.database.sql.tables.PlayerSummaryTable;
+import com.djrapitops.plan.storage.database.transactions.StoreServerInformationTransaction;
 import com.djrapitops.plan.storage.database.transactions.commands.RemoveEverythingTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.PingBatchStoreTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.PingStoreTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.PlayerRegisterTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.StoreServerPlayerTransaction;
@@ -30,11 +35,15 @@ import org.junit.jupiter.api.Test;
 import utilities.RandomData;
 import utilities.TestConstants;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.djrapitops.plan.storage.database.sql.building.Sql.FROM;
+import static com.djrapitops.plan.storage.database.sql.building.Sql.SELECT;
+import static org.junit.jupiter.api.Assertions.*;
 
 public interface PingQueriesTest extends DatabaseTestPreparer {
 
@@ -71,6 +80,93 @@ public interface PingQueriesTest extends DatabaseTestPreparer {
         assertEquals(expected, result);
     }
 
+    @Test
+    default void pingOfManyPlayersIsStoredInOneTransaction() throws ExecutionException, InterruptedException {
+        prepareForPingStorage();
+
+        long date = RandomData.randomTime();
+        Map<UUID, Ping> aggregated = new HashMap<>();
+        aggregated.put(playerUUID, new Ping(date, serverUUID(), 5, 20, 10));
+        aggregated.put(player2UUID, new Ping(date, serverUUID(), 30, 60, 45)); // Not registered yet
+        db().executeTransaction(new PingBatchStoreTransaction(serverUUID(), aggregated)).get();
+
+        Map<UUID, List<Ping>> expected = new HashMap<>();
+        aggregated.forEach((uuid, ping) -> expected.put(uuid, Collections.singletonList(ping)));
+        Map<UUID, List<Ping>> fetched = db().query(PingQueries.fetchAllPingData());
+        assertEquals(expected, fetched);
+    }
+
+    @Test
+    default void pingOfManyPlayersUpdatesSummaryRowsOfEachPlayer() throws ExecutionException, InterruptedException {
+        prepareForPingStorage();
+
+        long date = RandomData.randomTime();
+        Map<UUID, Ping> aggregated = new HashMap<>();
+        aggregated.put(playerUUID, new Ping(date, serverUUID(), 5, 20, 10));
+        aggregated.put(player2UUID, new Ping(date, serverUUID(), 30, 60, 45)); // Not registered yet
+        db().executeTransaction(new PingBatchStoreTransaction(serverUUID(), aggregated)).get();
+        db().executeTransaction(new PingBatchStoreTransaction(serverUUID(), aggregated)).get();
+
+        String sql = SELECT + PlayerSummaryTable.PING_COUNT + ',' + PlayerSummaryTable.MAX_PING +
+                FROM + PlayerSummaryTable.TABLE_NAME;
+        List<Integer> pingCounts = new ArrayList<>();
+        List<Integer> maxPings = new ArrayList<>();
+        db().query(new QueryAllStatement<>(sql) {
+            @Override
+            public Object processResults(ResultSet set) throws SQLException {
+                while (set.next()) {
+                    pingCounts.add(set.getInt(PlayerSummaryTable.PING_COUNT));
+                    maxPings.add(set.getInt(PlayerSummaryTable.MAX_PING));
+                }
+                return null;
+            }
+        });
+
+        assertEquals(Arrays.asList(2, 2, 2, 2), pingCounts, "Expected server and network rows of both players");
+        Collections.sort(maxPings);
+        assertEquals(Arrays.asList(20, 20, 60, 60), maxPings);
+    }
+
+    @Test
+    default void pingOfTwoServersKeepsOneSummaryRowPerServer() throws ExecutionException, InterruptedException {
+        prepareForPingStorage();
+        db().executeTransaction(new StoreServerInformationTransaction(new Server(
+                TestConstants.SERVER_TWO_UUID, TestConstants.SERVER_TWO_NAME, "", TestConstants.VERSION
+        ))).get();
+
+        // Batches of both servers write the same network row.
+        long date = RandomData.randomTime();
+        List<Future<?>> stored = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            for (ServerUUID server : Arrays.asList(serverUUID(), TestConstants.SERVER_TWO_UUID)) {
+                Map<UUID, Ping> ping = Collections.singletonMap(playerUUID, new Ping(date + i, server, 5, 20, 10));
+                stored.add(db().executeTransaction(new PingBatchStoreTransaction(server, ping)));
+            }
+        }
+        for (Future<?> future : stored) {
+            future.get();
+        }
+
+        String sql = SELECT + PlayerSummaryTable.SERVER_ID + ',' + PlayerSummaryTable.PING_COUNT +
+                FROM + PlayerSummaryTable.TABLE_NAME;
+        Map<Integer, Integer> pingCounts = db().query(new QueryAllStatement<>(sql) {
+            @Override
+            public Map<Integer, Integer> processResults(ResultSet set) throws SQLException {
+                Map<Integer, Integer> counts = new HashMap<>();
+                while (set.next()) {
+                    Integer previous = counts.put(set.getInt(PlayerSummaryTable.SERVER_ID), set.getInt(PlayerSummaryTable.PING_COUNT));
+                    assertNull(previous, () -> "Duplicate summary row, rows before it " + counts);
+                }
+                return counts;
+            }
+        });
+
+        assertEquals(3, pingCounts.size(), () -> "Expected rows of two servers and network, got " + pingCounts);
+        assertEquals(10, pingCounts.get(PlayerSummaryTable.NETWORK_SERVER_ID));
+        pingCounts.remove(PlayerSummaryTable.NETWORK_SERVER_ID);
+        assertEquals(Arrays.asList(5, 5), new ArrayList<>(pingCounts.values()));
+    }
+
     @Test
     default void singlePingIsStored() throws ExecutionException, InterruptedException {
         prepareForPingStorage();
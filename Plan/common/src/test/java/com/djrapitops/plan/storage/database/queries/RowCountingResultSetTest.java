@@ -0,0 +1,61 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link RowCountingResultSet}.
+ *
+ * @author AuroraLS3
+ */
+class RowCountingResultSetTest {
+
+    @Test
+    void rowsReadWithNextAreCounted() throws SQLException {
+        ResultSet set = Mockito.mock(ResultSet.class);
+        when(set.next()).thenReturn(true, true, true, false);
+        when(set.wasNull()).thenReturn(true);
+        when(set.getInt(1)).thenReturn(5);
+
+        RowCountingResultSet underTest = new RowCountingResultSet(set);
+        while (underTest.next()) {
+            assertEquals(5, underTest.getInt(1));
+            assertTrue(underTest.wasNull());
+        }
+
+        assertEquals(3L, underTest.getRows());
+    }
+
+    @Test
+    void exceptionsOfResultSetArePassedOn() throws SQLException {
+        ResultSet set = Mockito.mock(ResultSet.class);
+        SQLException expected = new SQLException("Test");
+        when(set.next()).thenThrow(expected);
+
+        RowCountingResultSet underTest = new RowCountingResultSet(set);
+        assertSame(expected, assertThrows(SQLException.class, underTest::next));
+        assertEquals(0L, underTest.getRows());
+    }
+}
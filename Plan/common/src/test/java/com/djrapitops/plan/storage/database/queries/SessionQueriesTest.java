@@ -16,6 +16,7 @@
  */
 package com.djrapitops.plan.storage.database.queries;
 
+import com.djrapitops.plan.delivery.domain.SessionRollup;
 import com.djrapitops.plan.delivery.domain.TablePlayer;
 import com.djrapitops.plan.delivery.domain.container.PlayerContainer;
 import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
@@ -23,11 +24,14 @@ import com.djrapitops.plan.gathering.domain.*;
 import com.djrapitops.plan.identification.Server;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
+import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.SessionRollupQueries;
 import com.djrapitops.plan.storage.database.queries.containers.PlayerContainerQuery;
 import com.djrapitops.plan.storage.database.queries.objects.BaseUserQueries;
 import com.djrapitops.plan.storage.database.queries.objects.KillQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
 import com.djrapitops.plan.storage.database.queries.objects.WorldTimesQueries;
+import com.djrapitops.plan.storage.database.queries.objects.playertable.NetworkTablePlayersQuery;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.ServerTablePlayersQuery;
 import com.djrapitops.plan.storage.database.sql.tables.WorldTable;
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
@@ -46,6 +50,7 @@ import utilities.TestConstants;
 import java.sql.PreparedStatement;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -417,10 +422,8 @@ public interface SessionQueriesTest extends DatabaseTestPreparer {
         player1Sessions.forEach(session -> db().executeTransaction(new StoreSessionTransaction(session)));
         player2Sessions.forEach(session -> db().executeTransaction(new StoreSessionTransaction(session)));
 
-        long playtimeThreshold = RandomData.randomLong(TimeUnit.HOURS.toMillis(1L), TimeUnit.DAYS.toMillis(2L));
-
         PlayerContainer playerContainer = db().query(new PlayerContainerQuery(playerUUID));
-        TablePlayer tablePlayer = db().query(new ServerTablePlayersQuery(serverUUID(), System.currentTimeMillis(), playtimeThreshold, 5))
+        TablePlayer tablePlayer = db().query(new ServerTablePlayersQuery(serverUUID(), System.currentTimeMillis(), 5))
                 .stream().filter(player -> playerUUID.equals(player.getPlayerUUID())).findAny()
                 .orElseThrow(AssertionError::new);
 
@@ -440,8 +443,10 @@ public interface SessionQueriesTest extends DatabaseTestPreparer {
         long time = System.currentTimeMillis();
         long playtimeThreshold = RandomData.randomLong(TimeUnit.HOURS.toMillis(1L), TimeUnit.DAYS.toMillis(2L));
 
+        db().executeTransaction(new UpdateActivityIndexSummariesTransaction(serverUUID(), time, playtimeThreshold));
+
         PlayerContainer playerContainer = db().query(new PlayerContainerQuery(playerUUID));
-        TablePlayer tablePlayer = db().query(new ServerTablePlayersQuery(serverUUID(), time, playtimeThreshold, 5))
+        TablePlayer tablePlayer = db().query(new ServerTablePlayersQuery(serverUUID(), time, 5))
                 .stream().filter(player -> playerUUID.equals(player.getPlayerUUID())).findAny()
                 .orElseThrow(AssertionError::new);
 
@@ -503,4 +508,87 @@ public interface SessionQueriesTest extends DatabaseTestPreparer {
         Map<UUID, Long> result = db().query(SessionQueries.lastSeen(serverUUID()));
         assertEquals(expected, result);
     }
+
+    @Test
+    default void sessionRollupsMatchCalculationFromSessions() throws Exception {
+        prepareForSessionSave();
+        for (FinishedSession session : RandomData.randomSessions(serverUUID(), worlds, playerUUID, player2UUID)) {
+            db().executeTransaction(new StoreSessionTransaction(session));
+        }
+
+        long day = TimeUnit.DAYS.toMillis(1L);
+        long now = System.currentTimeMillis();
+        long firstDay = SessionRollupQueries.getBucketStart(now - TimeUnit.DAYS.toMillis(70L), 0, day);
+        long today = SessionRollupQueries.getBucketStart(now, 0, day);
+        db().executeTransaction(new StoreSessionRollupsTransaction(serverUUID(), 0, day, firstDay, today)).get();
+        db().executeTransaction(new StoreSessionRollupsTransaction(null, 0, day, firstDay, today)).get();
+
+        for (ServerUUID rollupServerUUID : Arrays.asList(serverUUID(), null)) {
+            Map<Long, SessionRollup> expected = db().query(SessionRollupQueries.aggregateSessions(rollupServerUUID, 0, day, firstDay, now + 1));
+            Map<Long, SessionRollup> result = db().query(SessionRollupQueries.fetchSessionRollups(rollupServerUUID, 0, day, firstDay, now))
+                    .entrySet().stream()
+                    .filter(entry -> !SessionRollup.empty(entry.getKey()).equals(entry.getValue()))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            assertEquals(expected, result);
+        }
+
+        Map<Long, Integer> expectedUniquePerDay = db().query(PlayerCountQueries.uniquePlayerCounts(firstDay, now, 0, serverUUID()));
+        Map<Long, Integer> uniquePerDay = db().query(SessionRollupQueries.fetchSessionRollups(serverUUID(), 0, day, firstDay, now))
+                .values().stream()
+                .filter(rollup -> rollup.getUniquePlayers() > 0)
+                .collect(Collectors.toMap(SessionRollup::getDate, SessionRollup::getUniquePlayers));
+        assertEquals(expectedUniquePerDay, uniquePerDay);
+    }
+
+    @Test
+    default void sessionRollupIsUpdatedWhenSessionIsStored() throws Exception {
+        prepareForSessionSave();
+
+        long day = TimeUnit.DAYS.toMillis(1L);
+        long now = System.currentTimeMillis();
+        long firstDay = SessionRollupQueries.getBucketStart(now - TimeUnit.DAYS.toMillis(10L), 0, day);
+        long today = SessionRollupQueries.getBucketStart(now, 0, day);
+        db().executeTransaction(new StoreSessionRollupsTransaction(serverUUID(), 0, day, firstDay, today)).get();
+        db().executeTransaction(new StoreSessionRollupsTransaction(null, 0, day, firstDay, today)).get();
+
+        long sessionStart = today - 3 * day + TimeUnit.HOURS.toMillis(1L);
+        FinishedSession session = RandomData.randomSession(serverUUID(), worlds, sessionStart, playerUUID, player2UUID);
+        db().executeTransaction(new StoreSessionTransaction(session)).get();
+
+        long sessionDay = today - 3 * day;
+        for (ServerUUID rollupServerUUID : Arrays.asList(serverUUID(), null)) {
+            SessionRollup expected = db().query(SessionRollupQueries.aggregateSessions(rollupServerUUID, 0, day, sessionDay, sessionDay + day)).get(sessionDay);
+            SessionRollup result = db().query(SessionRollupQueries.fetchStoredRollups(rollupServerUUID, 0, day, sessionDay, sessionDay + day)).get(sessionDay);
+            assertEquals(expected, result);
+            assertEquals(1, result.getSessionCount());
+        }
+    }
+
+    @Test
+    default void playerSummariesMatchCalculationFromStoredData() throws Exception {
+        prepareForSessionSave();
+        for (FinishedSession session : RandomData.randomSessions(serverUUID(), worlds, playerUUID, player2UUID)) {
+            db().executeTransaction(new StoreSessionTransaction(session));
+        }
+        db().executeTransaction(new PingStoreTransaction(playerUUID, serverUUID(), RandomData.randomIntDateObjects()));
+        db().executeTransaction(new PingStoreTransaction(playerUUID, serverUUID(), RandomData.randomIntDateObjects()));
+        db().executeTransaction(new StoreGeoInfoTransaction(playerUUID, new GeoInfo("Finland", 1000L)));
+        db().executeTransaction(new StoreGeoInfoTransaction(playerUUID, new GeoInfo("Sweden", 3000L)));
+        db().executeTransaction(new StoreGeoInfoTransaction(playerUUID, new GeoInfo("Norway", 2000L)));
+
+        long now = System.currentTimeMillis();
+        List<TablePlayer> serverTable = db().query(new ServerTablePlayersQuery(serverUUID(), now, 5));
+        List<TablePlayer> networkTable = db().query(new NetworkTablePlayersQuery(now, 5));
+
+        db().executeTransaction(RebuildPlayerSummariesTransaction.all()).get();
+
+        assertEquals(serverTable, db().query(new ServerTablePlayersQuery(serverUUID(), now, 5)));
+        assertEquals(networkTable, db().query(new NetworkTablePlayersQuery(now, 5)));
+        TablePlayer player = serverTable.stream()
+                .filter(tablePlayer -> playerUUID.equals(tablePlayer.getPlayerUUID())).findAny()
+                .orElseThrow(AssertionError::new);
+        assertEquals(Optional.of("Sweden"), player.getGeolocation());
+        int expectedSessionCount = new SessionsMutator(db().query(SessionQueries.fetchSessionsOfPlayer(playerUUID)).get(serverUUID())).count();
+        assertEquals(Optional.of(expectedSessionCount), player.getSessionCount());
+    }
 }
@@ -24,6 +24,7 @@ import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
 import com.djrapitops.plan.storage.database.queries.objects.TPSQueries;
 import com.djrapitops.plan.storage.database.transactions.commands.RemoveEverythingTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.TPSStoreTransaction;
+import com.djrapitops.plan.storage.database.transactions.init.CompactTPSDataTransaction;
 import com.djrapitops.plan.utilities.comparators.TPSComparator;
 import com.djrapitops.plan.utilities.java.Lists;
 import net.playeranalytics.plugin.server.PluginLogger;
@@ -31,6 +32,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import utilities.RandomData;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -139,4 +141,37 @@ public interface TPSQueriesTest extends DatabaseTestPreparer {
         assertTrue(result.isPresent());
         assertEquals(stored2.getDate(), result.get());
     }
+
+    @Test
+    default void compactedTPSDataMatchesRawData() {
+        long hour = TimeUnit.HOURS.toMillis(1L);
+        long start = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(3L);
+        start -= start % hour;
+        List<TPS> stored = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            stored.add(TPSBuilder.get()
+                    .date(start + TimeUnit.MINUTES.toMillis(i))
+                    .tps(20.0 - i % 5)
+                    .playersOnline(i)
+                    .usedCPU(i % 7)
+                    .usedMemory(1000L + i % 11)
+                    .entities(i % 13)
+                    .chunksLoaded(i % 17)
+                    .freeDiskSpace(5000L - i)
+                    .toTPS());
+        }
+        for (TPS tps : stored) {
+            db().executeTransaction(new TPSStoreTransaction(serverUUID(), tps));
+        }
+
+        long end = start + 2 * hour;
+        long resolution = TimeUnit.MINUTES.toMillis(20L);
+        List<TPS> expected = db().query(TPSQueries.fetchTPSDataOfServerInResolution(start, end, resolution, serverUUID()));
+
+        db().executeTransaction(new CompactTPSDataTransaction(serverUUID(), TimeUnit.DAYS.toMillis(1L)));
+
+        assertEquals(expected, db().query(TPSQueries.fetchTPSDataOfServerInResolution(start, end, resolution, serverUUID())));
+        // Raw data is removed except for the all time peak, the other 5 minute buckets are read from compacted data.
+        assertEquals(24, db().query(TPSQueries.fetchTPSDataOfServer(start, end, serverUUID())).size());
+    }
 }
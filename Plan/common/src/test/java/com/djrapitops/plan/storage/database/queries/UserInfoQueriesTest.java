@@ -19,6 +19,7 @@ package com.djrapitops.plan.storage.database.queries;
 import com.djrapitops.plan.gathering.domain.BaseUser;
 import com.djrapitops.plan.gathering.domain.UserInfo;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
+import com.djrapitops.plan.storage.database.queries.filter.UserIdSet;
 import com.djrapitops.plan.storage.database.queries.objects.BaseUserQueries;
 import com.djrapitops.plan.storage.database.queries.objects.UserIdentifierQueries;
 import com.djrapitops.plan.storage.database.queries.objects.UserInfoQueries;
@@ -202,8 +203,8 @@ public interface UserInfoQueriesTest extends DatabaseTestPreparer {
             }
         }).get();
 
-        Set<Integer> expected = Set.of(db().query(BaseUserQueries.fetchUserId(player2UUID)).orElseThrow(AssertionError::new));
-        Set<Integer> result = db().query(BaseUserQueries.userIdsOfRegisteredBetween(2500L, 7500L));
+        UserIdSet expected = UserIdSet.of(db().query(BaseUserQueries.fetchUserId(player2UUID)).orElseThrow(AssertionError::new));
+        UserIdSet result = db().query(BaseUserQueries.userIdsOfRegisteredBetween(2500L, 7500L));
         assertEquals(expected, result);
     }
 
@@ -0,0 +1,62 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link UserIdSet}.
+ *
+ * @author AuroraLS3
+ */
+class UserIdSetTest {
+
+    @Test
+    void retainAllIntersects() {
+        UserIdSet userIds = UserIdSet.of(1, 2, 3, 70, 300_000);
+        userIds.retainAll(UserIdSet.of(2, 70, 71, 300_000));
+
+        assertEquals(UserIdSet.of(2, 70, 300_000), userIds);
+        assertEquals(3, userIds.size());
+    }
+
+    @Test
+    void addAllUnites() {
+        UserIdSet userIds = UserIdSet.of(1, 2);
+        userIds.addAll(UserIdSet.of(2, 5));
+
+        assertEquals(UserIdSet.of(1, 2, 5), userIds);
+        assertTrue(userIds.contains(5));
+        assertFalse(userIds.contains(3));
+    }
+
+    @Test
+    void emptyAfterDisjointIntersection() {
+        UserIdSet userIds = UserIdSet.of(1, 2);
+        userIds.retainAll(UserIdSet.of(3));
+
+        assertTrue(userIds.isEmpty());
+        assertEquals("", userIds.join(","));
+    }
+
+    @Test
+    void joinIsInAscendingOrder() {
+        assertEquals("1,9,64,65", UserIdSet.of(65, 1, 64, 9).join(","));
+    }
+}
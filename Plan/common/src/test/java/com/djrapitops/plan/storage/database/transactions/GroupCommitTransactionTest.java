@@ -0,0 +1,69 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions;
+
+import com.djrapitops.plan.delivery.domain.DateObj;
+import com.djrapitops.plan.gathering.domain.Ping;
+import com.djrapitops.plan.gathering.domain.TPS;
+import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
+import com.djrapitops.plan.storage.database.queries.objects.PingQueries;
+import com.djrapitops.plan.storage.database.queries.objects.TPSQueries;
+import com.djrapitops.plan.storage.database.transactions.events.PingStoreTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.TPSStoreTransaction;
+import com.djrapitops.plan.utilities.comparators.TPSComparator;
+import org.junit.jupiter.api.Test;
+import utilities.RandomData;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link GroupCommitTransaction}.
+ *
+ * @author AuroraLS3
+ */
+public interface GroupCommitTransactionTest extends DatabaseTestPreparer {
+
+    @Test
+    default void groupedTransactionsAreStored() {
+        List<TPS> expectedTPS = RandomData.randomTPS();
+        DateObj<Integer> pingSample = RandomData.randomIntDateObject(1, 4001);
+        int pingValue = pingSample.getValue();
+
+        List<Transaction> grouped = new ArrayList<>();
+        for (TPS tps : expectedTPS) {
+            grouped.add(new TPSStoreTransaction(serverUUID(), tps));
+        }
+        PingStoreTransaction pingStore = new PingStoreTransaction(playerUUID, serverUUID(), Collections.singletonList(pingSample));
+        grouped.add(pingStore);
+
+        GroupCommitTransaction groupCommit = new GroupCommitTransaction(grouped);
+        executeTransactions(groupCommit);
+        assertTrue(groupCommit.wasSuccessful());
+        assertTrue(pingStore.wasSuccessful());
+
+        expectedTPS.sort(new TPSComparator());
+        assertEquals(expectedTPS, db().query(TPSQueries.fetchTPSDataOfServer(Long.MIN_VALUE, Long.MAX_VALUE, serverUUID())));
+
+        Map<UUID, List<Ping>> expectedPing = Collections.singletonMap(playerUUID, Collections.singletonList(
+                new Ping(pingSample.getDate(), serverUUID(), pingValue, pingValue, pingValue)
+        ));
+        assertEquals(expectedPing, db().query(PingQueries.fetchAllPingData()));
+    }
+}
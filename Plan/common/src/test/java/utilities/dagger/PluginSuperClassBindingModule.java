@@ -86,6 +86,7 @@ public class PluginSuperClassBindingModule {
         when(mock.getWorlds()).thenCallRealMethod();
         when(mock.getChunkCount(Mockito.any())).thenCallRealMethod();
         when(mock.getEntityCount(Mockito.any())).thenCallRealMethod();
+        when(mock.supportsFastWorldCounts()).thenCallRealMethod();
         when(mock.getTPS()).thenCallRealMethod();
         return mock;
     }
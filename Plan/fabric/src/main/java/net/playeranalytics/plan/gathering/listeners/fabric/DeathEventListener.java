@@ -22,7 +22,6 @@ import com.djrapitops.plan.gathering.domain.ActiveSession;
 import com.djrapitops.plan.gathering.domain.PlayerKill;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.processing.Processing;
-import com.djrapitops.plan.processing.processors.player.MobKillProcessor;
 import com.djrapitops.plan.processing.processors.player.PlayerKillProcessor;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
@@ -93,10 +92,11 @@ public class DeathEventListener implements FabricListener {
 
                 ServerPlayerEntity player = foundKiller.get();
 
-                Runnable processor = victim instanceof ServerPlayerEntity
-                        ? new PlayerKillProcessor(getKiller(player), getVictim((ServerPlayerEntity) victim), serverInfo.getServerIdentifier(), findWeapon(player), time)
-                        : new MobKillProcessor(player.getUuid());
-                processing.submitCritical(processor);
+                if (victim instanceof ServerPlayerEntity) {
+                    processing.submitCritical(new PlayerKillProcessor(getKiller(player), getVictim((ServerPlayerEntity) victim), serverInfo.getServerIdentifier(), findWeapon(player), time));
+                } else {
+                    SessionCache.getCachedSession(player.getUuid()).ifPresent(ActiveSession::addMobKill);
+                }
             } catch (Exception | NoSuchMethodError e) {
                 errorLogger.error(e, ErrorContext.builder().related(getClass(), victim, killer).build());
             }
@@ -24,13 +24,14 @@
 package net.playeranalytics.plan.gathering.timed;
 
 import com.djrapitops.plan.TaskSystem;
-import com.djrapitops.plan.delivery.domain.DateObj;
+import com.djrapitops.plan.gathering.domain.Ping;
+import com.djrapitops.plan.gathering.timed.PingAggregator;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.transactions.events.PingStoreTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.PingBatchStoreTransaction;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.server.dedicated.MinecraftDedicatedServer;
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -53,7 +54,7 @@ import java.util.concurrent.TimeUnit;
 public class FabricPingCounter extends TaskSystem.Task implements FabricListener {
 
     private final Map<UUID, Long> startRecording;
-    private final Map<UUID, List<DateObj<Integer>>> playerHistory;
+    private final PingAggregator pingAggregator;
 
     private final Listeners listeners;
     private final PlanConfig config;
@@ -77,7 +78,7 @@ public class FabricPingCounter extends TaskSystem.Task implements FabricListener
         this.serverInfo = serverInfo;
         this.server = server;
         startRecording = new ConcurrentHashMap<>();
-        playerHistory = new HashMap<>();
+        pingAggregator = new PingAggregator();
         ServerPlayConnectionEvents.JOIN.register((handler, sender, minecraftServer) -> onPlayerJoin(handler.player));
         ServerPlayConnectionEvents.DISCONNECT.register((handler, minecraftServer) -> onPlayerQuit(handler.player));
     }
@@ -98,12 +99,10 @@ public class FabricPingCounter extends TaskSystem.Task implements FabricListener
             }
         }
 
-        Iterator<Map.Entry<UUID, List<DateObj<Integer>>>> iterator = playerHistory.entrySet().iterator();
+        Iterator<UUID> iterator = pingAggregator.getRecordedPlayers().iterator();
 
         while (iterator.hasNext()) {
-            Map.Entry<UUID, List<DateObj<Integer>>> entry = iterator.next();
-            UUID uuid = entry.getKey();
-            List<DateObj<Integer>> history = entry.getValue();
+            UUID uuid = iterator.next();
             ServerPlayerEntity player = server.getPlayerManager().getPlayer(uuid);
             if (player != null) {
                 int ping = getPing(player);
@@ -111,17 +110,18 @@ public class FabricPingCounter extends TaskSystem.Task implements FabricListener
                     // Don't accept bad values
                     continue;
                 }
-                history.add(new DateObj<>(time, ping));
-                if (history.size() >= 30) {
-                    dbSystem.getDatabase().executeTransaction(
-                            new PingStoreTransaction(uuid, serverInfo.getServerUUID(), new ArrayList<>(history))
-                    );
-                    history.clear();
-                }
+                pingAggregator.addPing(uuid, time, ping);
             } else {
                 iterator.remove();
             }
         }
+
+        if (pingAggregator.completeSample()) {
+            Map<UUID, Ping> aggregated = pingAggregator.aggregateWindow(serverInfo.getServerUUID());
+            if (!aggregated.isEmpty()) {
+                dbSystem.getDatabase().executeTransaction(new PingBatchStoreTransaction(serverInfo.getServerUUID(), aggregated));
+            }
+        }
     }
 
     @Override
@@ -137,11 +137,11 @@ public class FabricPingCounter extends TaskSystem.Task implements FabricListener
     }
 
     public void addPlayer(UUID uuid) {
-        playerHistory.put(uuid, new ArrayList<>());
+        pingAggregator.startRecording(uuid);
     }
 
     public void removePlayer(ServerPlayerEntity player) {
-        playerHistory.remove(player.getUuid());
+        pingAggregator.stopRecording(player.getUuid());
         startRecording.remove(player.getUuid());
     }
 
@@ -170,7 +170,7 @@ public class FabricPingCounter extends TaskSystem.Task implements FabricListener
     }
 
     public void clear() {
-        playerHistory.clear();
+        pingAggregator.clear();
     }
 
     @Override
@@ -36,7 +36,6 @@ import com.djrapitops.plan.gathering.domain.ActiveSession;
 import com.djrapitops.plan.gathering.domain.PlayerKill;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.processing.Processing;
-import com.djrapitops.plan.processing.processors.player.MobKillProcessor;
 import com.djrapitops.plan.processing.processors.player.PlayerKillProcessor;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
@@ -105,7 +104,7 @@ public class DeathEventListener implements Listener {
             }
             Player killer = foundKiller.get();
 
-            processing.submitCritical(new MobKillProcessor(killer.getUniqueId()));
+            SessionCache.getCachedSession(killer.getUniqueId()).ifPresent(ActiveSession::addMobKill);
         } catch (Exception e) {
             errorLogger.error(e, ErrorContext.builder().related(event, dead).build());
         }
@@ -30,13 +30,13 @@ import cn.nukkit.event.Listener;
 import cn.nukkit.event.player.PlayerJoinEvent;
 import cn.nukkit.event.player.PlayerQuitEvent;
 import com.djrapitops.plan.TaskSystem;
-import com.djrapitops.plan.delivery.domain.DateObj;
+import com.djrapitops.plan.gathering.domain.Ping;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.transactions.events.PingStoreTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.PingBatchStoreTransaction;
 import net.playeranalytics.plugin.scheduling.RunnableFactory;
 import net.playeranalytics.plugin.scheduling.TimeAmount;
 import net.playeranalytics.plugin.server.Listeners;
@@ -56,7 +56,7 @@ import java.util.concurrent.TimeUnit;
 public class NukkitPingCounter extends TaskSystem.Task implements Listener {
 
     private final Map<UUID, Long> startRecording;
-    private final Map<UUID, List<DateObj<Integer>>> playerHistory;
+    private final PingAggregator pingAggregator;
 
     private final Listeners listeners;
     private final PlanConfig config;
@@ -75,7 +75,7 @@ public class NukkitPingCounter extends TaskSystem.Task implements Listener {
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
         startRecording = new ConcurrentHashMap<>();
-        playerHistory = new HashMap<>();
+        pingAggregator = new PingAggregator();
     }
 
     @Override
@@ -91,12 +91,10 @@ public class NukkitPingCounter extends TaskSystem.Task implements Listener {
             }
         }
 
-        Iterator<Map.Entry<UUID, List<DateObj<Integer>>>> iterator = playerHistory.entrySet().iterator();
+        Iterator<UUID> iterator = pingAggregator.getRecordedPlayers().iterator();
 
         while (iterator.hasNext()) {
-            Map.Entry<UUID, List<DateObj<Integer>>> entry = iterator.next();
-            UUID uuid = entry.getKey();
-            List<DateObj<Integer>> history = entry.getValue();
+            UUID uuid = iterator.next();
             Optional<Player> player = Server.getInstance().getPlayer(uuid);
             if (player.isPresent()) {
                 int ping = player.get().getPing();
@@ -104,17 +102,18 @@ public class NukkitPingCounter extends TaskSystem.Task implements Listener {
                     // Don't accept bad values
                     continue;
                 }
-                history.add(new DateObj<>(time, ping));
-                if (history.size() >= 30) {
-                    dbSystem.getDatabase().executeTransaction(
-                            new PingStoreTransaction(uuid, serverInfo.getServerUUID(), new ArrayList<>(history))
-                    );
-                    history.clear();
-                }
+                pingAggregator.addPing(uuid, time, ping);
             } else {
                 iterator.remove();
             }
         }
+
+        if (pingAggregator.completeSample()) {
+            Map<UUID, Ping> aggregated = pingAggregator.aggregateWindow(serverInfo.getServerUUID());
+            if (!aggregated.isEmpty()) {
+                dbSystem.getDatabase().executeTransaction(new PingBatchStoreTransaction(serverInfo.getServerUUID(), aggregated));
+            }
+        }
     }
 
     @Override
@@ -129,11 +128,11 @@ public class NukkitPingCounter extends TaskSystem.Task implements Listener {
     }
 
     public void addPlayer(UUID uuid) {
-        playerHistory.put(uuid, new ArrayList<>());
+        pingAggregator.startRecording(uuid);
     }
 
     public void removePlayer(Player player) {
-        playerHistory.remove(player.getUniqueId());
+        pingAggregator.stopRecording(player.getUniqueId());
         startRecording.remove(player.getUniqueId());
     }
 
@@ -153,6 +152,6 @@ public class NukkitPingCounter extends TaskSystem.Task implements Listener {
     }
 
     public void clear() {
-        playerHistory.clear();
+        pingAggregator.clear();
     }
 }
@@ -23,7 +23,6 @@ import com.djrapitops.plan.gathering.domain.ActiveSession;
 import com.djrapitops.plan.gathering.domain.PlayerKill;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.processing.Processing;
-import com.djrapitops.plan.processing.processors.player.MobKillProcessor;
 import com.djrapitops.plan.processing.processors.player.PlayerKillProcessor;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
@@ -90,10 +89,11 @@ public class SpongeDeathListener {
             }
             Player killer = foundKiller.get();
 
-            Runnable processor = dead instanceof Player
-                    ? new PlayerKillProcessor(getKiller(killer), getVictim((Player) dead), serverInfo.getServerIdentifier(), findWeapon(event), time)
-                    : new MobKillProcessor(killer.uniqueId());
-            processing.submitCritical(processor);
+            if (dead instanceof Player) {
+                processing.submitCritical(new PlayerKillProcessor(getKiller(killer), getVictim((Player) dead), serverInfo.getServerIdentifier(), findWeapon(event), time));
+            } else {
+                SessionCache.getCachedSession(killer.uniqueId()).ifPresent(ActiveSession::addMobKill);
+            }
         } catch (Exception e) {
             errorLogger.error(e, ErrorContext.builder().related(event, dead).build());
         }
@@ -24,13 +24,13 @@
 package com.djrapitops.plan.gathering.timed;
 
 import com.djrapitops.plan.TaskSystem;
-import com.djrapitops.plan.delivery.domain.DateObj;
+import com.djrapitops.plan.gathering.domain.Ping;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.transactions.events.PingStoreTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.PingBatchStoreTransaction;
 import net.playeranalytics.plugin.scheduling.RunnableFactory;
 import net.playeranalytics.plugin.scheduling.TimeAmount;
 import net.playeranalytics.plugin.server.Listeners;
@@ -53,7 +53,7 @@ import java.util.concurrent.TimeUnit;
 public class SpongePingCounter extends TaskSystem.Task {
 
     private final Map<UUID, Long> startRecording;
-    private final Map<UUID, List<DateObj<Integer>>> playerHistory;
+    private final PingAggregator pingAggregator;
 
     private final Listeners listeners;
     private final PlanConfig config;
@@ -71,7 +71,7 @@ public class SpongePingCounter extends TaskSystem.Task {
         this.config = config;
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
-        playerHistory = new HashMap<>();
+        pingAggregator = new PingAggregator();
         startRecording = new ConcurrentHashMap<>();
     }
 
@@ -88,12 +88,10 @@ public class SpongePingCounter extends TaskSystem.Task {
             }
         }
 
-        Iterator<Map.Entry<UUID, List<DateObj<Integer>>>> iterator = playerHistory.entrySet().iterator();
+        Iterator<UUID> iterator = pingAggregator.getRecordedPlayers().iterator();
 
         while (iterator.hasNext()) {
-            Map.Entry<UUID, List<DateObj<Integer>>> entry = iterator.next();
-            UUID uuid = entry.getKey();
-            List<DateObj<Integer>> history = entry.getValue();
+            UUID uuid = iterator.next();
             Optional<ServerPlayer> player = Sponge.server().player(uuid);
             if (player.isPresent()) {
                 int ping = getPing(player.get());
@@ -101,17 +99,18 @@ public class SpongePingCounter extends TaskSystem.Task {
                     // Don't accept bad values
                     continue;
                 }
-                history.add(new DateObj<>(time, ping));
-                if (history.size() >= 30) {
-                    dbSystem.getDatabase().executeTransaction(
-                            new PingStoreTransaction(uuid, serverInfo.getServerUUID(), new ArrayList<>(history))
-                    );
-                    history.clear();
-                }
+                pingAggregator.addPing(uuid, time, ping);
             } else {
                 iterator.remove();
             }
         }
+
+        if (pingAggregator.completeSample()) {
+            Map<UUID, Ping> aggregated = pingAggregator.aggregateWindow(serverInfo.getServerUUID());
+            if (!aggregated.isEmpty()) {
+                dbSystem.getDatabase().executeTransaction(new PingBatchStoreTransaction(serverInfo.getServerUUID(), aggregated));
+            }
+        }
     }
 
     @Override
@@ -126,11 +125,11 @@ public class SpongePingCounter extends TaskSystem.Task {
     }
 
     public void addPlayer(UUID uuid) {
-        playerHistory.put(uuid, new ArrayList<>());
+        pingAggregator.startRecording(uuid);
     }
 
     public void removePlayer(Player player) {
-        playerHistory.remove(player.uniqueId());
+        pingAggregator.stopRecording(player.uniqueId());
         startRecording.remove(player.uniqueId());
     }
 
@@ -154,6 +153,6 @@ public class SpongePingCounter extends TaskSystem.Task {
     }
 
     public void clear() {
-        playerHistory.clear();
+        pingAggregator.clear();
     }
 }
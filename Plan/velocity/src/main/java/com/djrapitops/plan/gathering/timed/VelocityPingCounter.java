@@ -25,13 +25,13 @@ package com.djrapitops.plan.gathering.timed;
 
 import com.djrapitops.plan.PlanVelocity;
 import com.djrapitops.plan.TaskSystem;
-import com.djrapitops.plan.delivery.domain.DateObj;
+import com.djrapitops.plan.gathering.domain.Ping;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.transactions.events.PingStoreTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.PingBatchStoreTransaction;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.connection.DisconnectEvent;
 import com.velocitypowered.api.event.player.ServerConnectedEvent;
@@ -57,7 +57,7 @@ import java.util.concurrent.TimeUnit;
 public class VelocityPingCounter extends TaskSystem.Task {
 
     private final Map<UUID, Long> startRecording;
-    final Map<UUID, List<DateObj<Integer>>> playerHistory;
+    final PingAggregator pingAggregator;
 
     private final Listeners listeners;
     private final PlanVelocity plugin;
@@ -79,7 +79,7 @@ public class VelocityPingCounter extends TaskSystem.Task {
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
         startRecording = new ConcurrentHashMap<>();
-        playerHistory = new HashMap<>();
+        pingAggregator = new PingAggregator();
     }
 
     @Override
@@ -95,12 +95,10 @@ public class VelocityPingCounter extends TaskSystem.Task {
             }
         }
 
-        Iterator<Map.Entry<UUID, List<DateObj<Integer>>>> iterator = playerHistory.entrySet().iterator();
+        Iterator<UUID> iterator = pingAggregator.getRecordedPlayers().iterator();
 
         while (iterator.hasNext()) {
-            Map.Entry<UUID, List<DateObj<Integer>>> entry = iterator.next();
-            UUID uuid = entry.getKey();
-            List<DateObj<Integer>> history = entry.getValue();
+            UUID uuid = iterator.next();
             Player player = plugin.getProxy().getPlayer(uuid).orElse(null);
             if (player != null) {
                 int ping = getPing(player);
@@ -108,17 +106,18 @@ public class VelocityPingCounter extends TaskSystem.Task {
                     // Don't accept bad values
                     continue;
                 }
-                history.add(new DateObj<>(time, ping));
-                if (history.size() >= 30) {
-                    dbSystem.getDatabase().executeTransaction(
-                            new PingStoreTransaction(uuid, serverInfo.getServerUUID(), new ArrayList<>(history))
-                    );
-                    history.clear();
-                }
+                pingAggregator.addPing(uuid, time, ping);
             } else {
                 iterator.remove();
             }
         }
+
+        if (pingAggregator.completeSample()) {
+            Map<UUID, Ping> aggregated = pingAggregator.aggregateWindow(serverInfo.getServerUUID());
+            if (!aggregated.isEmpty()) {
+                dbSystem.getDatabase().executeTransaction(new PingBatchStoreTransaction(serverInfo.getServerUUID(), aggregated));
+            }
+        }
     }
 
     @Override
@@ -133,11 +132,11 @@ public class VelocityPingCounter extends TaskSystem.Task {
     }
 
     void addPlayer(UUID playerUuid) {
-        playerHistory.put(playerUuid, new ArrayList<>());
+        pingAggregator.startRecording(playerUuid);
     }
 
     public void removePlayer(Player player) {
-        playerHistory.remove(player.getUniqueId());
+        pingAggregator.stopRecording(player.getUniqueId());
     }
 
     private int getPing(Player player) {
@@ -160,6 +159,6 @@ public class VelocityPingCounter extends TaskSystem.Task {
     }
 
     public void clear() {
-        playerHistory.clear();
+        pingAggregator.clear();
     }
 }
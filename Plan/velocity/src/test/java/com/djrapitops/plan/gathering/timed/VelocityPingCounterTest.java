@@ -60,12 +60,12 @@ class VelocityPingCounterTest {
     void offlinePlayerIsRemovedFromPlayerHistory() {
         VelocityPingCounter counter = new VelocityPingCounter(Mockito.mock(Listeners.class), plugin, null, null, null);
 
-        assertTrue(counter.playerHistory.isEmpty());
+        assertTrue(counter.pingAggregator.isEmpty());
         counter.addPlayer(player.getUniqueId());
-        assertFalse(counter.playerHistory.isEmpty());
+        assertFalse(counter.pingAggregator.isEmpty());
 
         counter.run();
-        assertTrue(counter.playerHistory.isEmpty());
+        assertTrue(counter.pingAggregator.isEmpty());
     }
 
 }
\ No newline at end of file